@@ -0,0 +1,202 @@
+package no.unit.nva.doi.datacite.bootstrap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.DoiClient;
+import no.unit.nva.doi.DoiClientFactory;
+import no.unit.nva.doi.datacite.clients.DataCiteStubServer;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Local harness measuring the cold start of a handler's DoiClient, with the dependencies created without warm-ups as
+ * before, and with {@link HandlerBootstrap} warming up JSON, TLS and the shared HttpClient, sequentially after the
+ * dependencies are created or in parallel with creating them.
+ *
+ * <p>Every run is a new JVM, like a new Lambda container. It waits for a simulated Secrets Manager call, parses the
+ * customer secrets and builds the client, which is the init time, and then makes the DataCite requests of a
+ * findable DOI event against a {@link DataCiteStubServer} in this JVM, which is the first invoke time. The median of
+ * the runs of each mode is printed.
+ *
+ * <p>Run with {@code ./gradlew :assign-doi-datacite:jmhBootstrap}, and configure it with the system properties
+ * {@code bootstrap.runs} and {@code bootstrap.secretLatencyMillis}, like {@code -Pbootstrap.runs=20}.
+ */
+public final class HandlerBootstrapHarness {
+
+    public static final String RUNS = "bootstrap.runs";
+    public static final String SECRET_LATENCY_MILLIS = "bootstrap.secretLatencyMillis";
+    private static final int DEFAULT_RUNS = 10;
+    private static final int DEFAULT_SECRET_LATENCY_MILLIS = 150;
+    private static final int RESPONSE_PADDING = 1024;
+    private static final int MODE_ARGUMENT = 0;
+    private static final int PORT_ARGUMENT = 1;
+    private static final int SECRET_LATENCY_ARGUMENT = 2;
+    private static final int INIT_FIELD = 0;
+    private static final int FIRST_INVOKE_FIELD = 1;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final String FIELD_SEPARATOR = " ";
+    private static final String JAVA = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    private static final String CLASS_PATH_OPTION = "-cp";
+    private static final String SYSTEM_PROPERTY_FORMAT = "-D%s=%s";
+    private static final String SETTINGS_FORMAT = "%d runs per mode, simulated secret fetch %d ms%n%n";
+    private static final String HEADER_FORMAT = "%-12s %14s %20s %14s%n";
+    private static final String ROW_FORMAT = "%-12s %14.1f %20.1f %14.1f%n";
+    private static final String CHILD_FAILED = "Run in mode %s exited with %d";
+    private static final Doi EXISTING_DOI = Doi.builder()
+        .withPrefix(DataCiteStubServer.PREFIX)
+        .withSuffix("bootstrap")
+        .build();
+    private static final URI LANDING_PAGE = URI.create("https://example.net/publication/bootstrap");
+    private static final String METADATA = "<resource xmlns=\"http://datacite.org/schema/kernel-4\"/>";
+
+    private HandlerBootstrapHarness() {
+    }
+
+    /**
+     * Without arguments, run every mode in new JVMs and print the results. With arguments, run once in this JVM and
+     * print the init and first invoke times in nanoseconds.
+     *
+     * @param args nothing, or the mode, the port of the stub and the simulated secret fetch latency in milliseconds.
+     * @throws Exception when the stub cannot be started, or a run fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            compareModes();
+        } else {
+            runOnce(Mode.valueOf(args[MODE_ARGUMENT]), Integer.parseInt(args[PORT_ARGUMENT]),
+                Duration.ofMillis(Long.parseLong(args[SECRET_LATENCY_ARGUMENT])));
+        }
+    }
+
+    private static void compareModes() throws Exception {
+        int runs = Integer.getInteger(RUNS, DEFAULT_RUNS);
+        int secretLatencyMillis = Integer.getInteger(SECRET_LATENCY_MILLIS, DEFAULT_SECRET_LATENCY_MILLIS);
+        System.out.printf(SETTINGS_FORMAT, runs, secretLatencyMillis);
+
+        Path trustStore = Files.createTempFile("datacite-stub", ".p12");
+        Map<Mode, List<long[]>> results = new EnumMap<>(Mode.class);
+        try (DataCiteStubServer stub = new DataCiteStubServer(Duration.ZERO, RESPONSE_PADDING)) {
+            Map<String, String> trustStoreProperties = DataCiteStubServer.writeTrustStore(trustStore);
+            for (int run = 0; run < runs; run++) {
+                for (Mode mode : Mode.values()) {
+                    results.computeIfAbsent(mode, key -> new ArrayList<>())
+                        .add(runInNewJvm(mode, stub.getPort(), secretLatencyMillis, trustStoreProperties));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(trustStore);
+        }
+
+        System.out.printf(HEADER_FORMAT, "mode", "init ms", "first invoke ms", "total ms");
+        results.forEach((mode, times) -> System.out.printf(ROW_FORMAT, mode,
+            medianMillis(times, INIT_FIELD),
+            medianMillis(times, FIRST_INVOKE_FIELD),
+            medianMillis(times, INIT_FIELD) + medianMillis(times, FIRST_INVOKE_FIELD)));
+    }
+
+    private static long[] runInNewJvm(Mode mode, int port, int secretLatencyMillis,
+                                      Map<String, String> trustStoreProperties)
+        throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(JAVA);
+        command.add(CLASS_PATH_OPTION);
+        command.add(System.getProperty("java.class.path"));
+        trustStoreProperties.forEach((key, value) -> command.add(String.format(SYSTEM_PROPERTY_FORMAT, key, value)));
+        command.add(HandlerBootstrapHarness.class.getName());
+        command.add(mode.name());
+        command.add(String.valueOf(port));
+        command.add(String.valueOf(secretLatencyMillis));
+
+        Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        String lastLine = null;
+        try (BufferedReader output = new BufferedReader(
+            new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String line = output.readLine(); line != null; line = output.readLine()) {
+                lastLine = line;
+            }
+        }
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(String.format(CHILD_FAILED, mode, exitCode));
+        }
+        String[] fields = lastLine.split(FIELD_SEPARATOR);
+        return new long[]{Long.parseLong(fields[INIT_FIELD]), Long.parseLong(fields[FIRST_INVOKE_FIELD])};
+    }
+
+    private static void runOnce(Mode mode, int port, Duration secretLatency) throws ClientException {
+        final long start = System.nanoTime();
+        DoiClient client = mode == Mode.NO_WARM_UPS
+            ? createClient(port, secretLatency, false)
+            : HandlerBootstrap.builder()
+                .withJsonWarmUp(DraftDoiDto.class, DoiStateDto.class)
+                .withTlsWarmUp()
+                .withParallelWarmUps(mode == Mode.PARALLEL)
+                .build()
+                .bootstrap(() -> createClient(port, secretLatency, true));
+        final long initialised = System.nanoTime();
+
+        client.getDoi(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI);
+        client.updateMetadata(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, METADATA);
+        client.setLandingPage(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, LANDING_PAGE);
+        long invoked = System.nanoTime();
+
+        System.out.println((initialised - start) + FIELD_SEPARATOR + (invoked - initialised));
+    }
+
+    private static DoiClient createClient(int port, Duration secretLatency, boolean buildSharedHttpClient) {
+        fetchSecret(secretLatency);
+        DataCiteConfigurationFactory configurationFactory =
+            new DataCiteConfigurationFactory(DataCiteStubServer.configurationJson());
+        DataCiteConnectionFactory connectionFactory = DataCiteConnectionFactory.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withMdsApiHostName(DataCiteStubServer.HOST)
+            .withRestApiHostName(DataCiteStubServer.HOST)
+            .withApiPort(port)
+            .withPreemptiveAuthentication(true)
+            .build();
+        if (buildSharedHttpClient) {
+            HandlerBootstrap.buildSharedHttpClient(connectionFactory);
+        }
+        return DoiClientFactory.getClient(configurationFactory, connectionFactory);
+    }
+
+    private static void fetchSecret(Duration secretLatency) {
+        try {
+            Thread.sleep(secretLatency.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static double medianMillis(List<long[]> times, int field) {
+        List<Long> values = new ArrayList<>();
+        times.forEach(time -> values.add(time[field]));
+        Collections.sort(values);
+        return values.get(values.size() / 2) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * How the dependencies are created.
+     */
+    private enum Mode {
+        NO_WARM_UPS,
+        SEQUENTIAL,
+        PARALLEL
+    }
+}
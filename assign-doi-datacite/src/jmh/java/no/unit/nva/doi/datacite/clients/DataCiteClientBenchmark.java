@@ -0,0 +1,120 @@
+package no.unit.nva.doi.datacite.clients;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.models.Doi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the {@link DataCiteClient} operations against a {@link DataCiteStubServer}, with pre-emptive and challenged
+ * authentication, and of constructing the HttpClient of a connection factory.
+ *
+ * <p>The stub answers without latency by default, so that the client's own cost of authentication, TLS and body
+ * handling dominates. The connections and handshakes observed by the stub are printed after each trial. Use
+ * {@link DataCiteClientLoadBenchmark} for latency percentiles at fixed concurrency.
+ *
+ * <p>Run with {@code ./gradlew :assign-doi-datacite:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCiteClientBenchmark {
+
+    private static final Doi EXISTING_DOI = Doi.builder()
+        .withPrefix(DataCiteStubServer.PREFIX)
+        .withSuffix("benchmark")
+        .build();
+    private static final URI LANDING_PAGE = URI.create("https://example.net/publication/benchmark");
+    private static final String METADATA = "<resource xmlns=\"http://datacite.org/schema/kernel-4\"/>";
+    private static final String STUB_STATISTICS = "%nStub: %d requests, %d connections, %d TLS handshakes%n";
+
+    @Param({"true", "false"})
+    public boolean preemptiveAuthentication;
+
+    @Param({"0"})
+    public int latencyMillis;
+
+    @Param({"256", "65536"})
+    public int responsePadding;
+
+    private DataCiteStubServer stub;
+    private DataCiteConfigurationFactory configurationFactory;
+    private DataCiteClient client;
+
+    /**
+     * Start the stub and create the client.
+     *
+     * @throws IOException              if the stub cannot be started.
+     * @throws GeneralSecurityException if the stub's key store cannot be read.
+     */
+    @Setup
+    public void startStub() throws IOException, GeneralSecurityException {
+        stub = new DataCiteStubServer(Duration.ofMillis(latencyMillis), responsePadding);
+        configurationFactory = stub.createConfigurationFactory();
+        client = stub.createClient(preemptiveAuthentication);
+    }
+
+    /**
+     * Print what the stub observed, and stop it.
+     *
+     * @throws IOException if the stub cannot be stopped.
+     */
+    @TearDown
+    public void stopStub() throws IOException {
+        System.out.printf(STUB_STATISTICS, stub.getRequests(), stub.getConnections(), stub.getHandshakes());
+        stub.close();
+    }
+
+    @Benchmark
+    public Doi createDoi() throws ClientException {
+        return client.createDoi(DataCiteStubServer.CUSTOMER_ID);
+    }
+
+    @Benchmark
+    public DoiStateDto getDoi() throws ClientException {
+        return client.getDoi(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI);
+    }
+
+    @Benchmark
+    public void updateMetadata() throws ClientException {
+        client.updateMetadata(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, METADATA);
+    }
+
+    @Benchmark
+    public void setLandingPage() throws ClientException {
+        client.setLandingPage(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, LANDING_PAGE);
+    }
+
+    /**
+     * A connection from a new connection factory, which builds a new HttpClient, and with challenged authentication
+     * also the customer's authenticator.
+     *
+     * @return the connection.
+     */
+    @Benchmark
+    public DataCiteMdsConnection connectionFromNewConnectionFactory() {
+        return stub.createConnectionFactory(configurationFactory, preemptiveAuthentication)
+            .getAuthenticatedMdsConnection(DataCiteStubServer.CUSTOMER_ID);
+    }
+}
@@ -0,0 +1,202 @@
+package no.unit.nva.doi.datacite.clients;
+
+import java.io.PrintStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.models.Doi;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Load test of {@link DataCiteClient} against a {@link DataCiteStubServer} with latency, driving each operation from a
+ * fixed number of threads, and reporting throughput, latency percentiles and the connections and TLS handshakes
+ * observed by the stub.
+ *
+ * <p>Unlike {@link DataCiteClientBenchmark}, which measures the client's own cost, this shows how the client behaves
+ * when requests wait for DataCite: whether connections are reused, and how latency grows with concurrency. Each
+ * concurrency level uses a new client, and only the connections and handshakes opened after its warm-up are counted,
+ * so that a client reusing its connections under load reports none.
+ *
+ * <p>Run with {@code ./gradlew :assign-doi-datacite:jmhLoad}, and configure it with the system properties
+ * {@code load.latencyMillis}, {@code load.concurrency}, {@code load.warmupSeconds}, {@code load.durationSeconds} and
+ * {@code load.preemptiveAuthentication}, like {@code -Pload.concurrency=1,16}.
+ */
+public final class DataCiteClientLoadBenchmark {
+
+    public static final String LATENCY_MILLIS = "load.latencyMillis";
+    public static final String CONCURRENCY = "load.concurrency";
+    public static final String WARMUP_SECONDS = "load.warmupSeconds";
+    public static final String DURATION_SECONDS = "load.durationSeconds";
+    public static final String PREEMPTIVE_AUTHENTICATION = "load.preemptiveAuthentication";
+    private static final int DEFAULT_LATENCY_MILLIS = 20;
+    private static final String DEFAULT_CONCURRENCY = "1,8,32";
+    private static final int DEFAULT_WARMUP_SECONDS = 5;
+    private static final int DEFAULT_DURATION_SECONDS = 10;
+    private static final String DEFAULT_PREEMPTIVE_AUTHENTICATION = "true";
+    private static final int RESPONSE_PADDING = 1024;
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String LIST_SEPARATOR = ",";
+    private static final String HEADER_FORMAT = "%-16s %11s %10s %9s %9s %9s %9s %9s %7s %11s %10s%n";
+    private static final String ROW_FORMAT = "%-16s %11d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %11d %10d%n";
+    private static final String SETTINGS_FORMAT =
+        "Stub latency %d ms, warm-up %d s, measurement %d s, pre-emptive authentication %b%n%n";
+    private static final Doi EXISTING_DOI = Doi.builder()
+        .withPrefix(DataCiteStubServer.PREFIX)
+        .withSuffix("load")
+        .build();
+    private static final URI LANDING_PAGE = URI.create("https://example.net/publication/load");
+    private static final String METADATA = "<resource xmlns=\"http://datacite.org/schema/kernel-4\"/>";
+
+    private final DataCiteStubServer stub;
+    private final boolean preemptiveAuthentication;
+    private final Duration warmup;
+    private final Duration duration;
+    private final PrintStream out;
+
+    private DataCiteClientLoadBenchmark(DataCiteStubServer stub, boolean preemptiveAuthentication, Duration warmup,
+                                        Duration duration, PrintStream out) {
+        this.stub = stub;
+        this.preemptiveAuthentication = preemptiveAuthentication;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.out = out;
+    }
+
+    /**
+     * Run every operation at every concurrency level, and print one line of results per run.
+     *
+     * @param args not used, the load test is configured with system properties.
+     * @throws Exception when the stub cannot be started, or a load thread fails unexpectedly.
+     */
+    public static void main(String[] args) throws Exception {
+        int latencyMillis = Integer.getInteger(LATENCY_MILLIS, DEFAULT_LATENCY_MILLIS);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger(WARMUP_SECONDS, DEFAULT_WARMUP_SECONDS));
+        Duration duration = Duration.ofSeconds(Integer.getInteger(DURATION_SECONDS, DEFAULT_DURATION_SECONDS));
+        boolean preemptiveAuthentication = Boolean.parseBoolean(
+            System.getProperty(PREEMPTIVE_AUTHENTICATION, DEFAULT_PREEMPTIVE_AUTHENTICATION));
+        List<Integer> concurrencyLevels = Arrays.stream(
+            System.getProperty(CONCURRENCY, DEFAULT_CONCURRENCY).split(LIST_SEPARATOR))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .collect(Collectors.toList());
+
+        System.out.printf(SETTINGS_FORMAT, latencyMillis, warmup.toSeconds(), duration.toSeconds(),
+            preemptiveAuthentication);
+        try (DataCiteStubServer stub = new DataCiteStubServer(Duration.ofMillis(latencyMillis), RESPONSE_PADDING)) {
+            new DataCiteClientLoadBenchmark(stub, preemptiveAuthentication, warmup, duration, System.out)
+                .run(concurrencyLevels);
+        }
+    }
+
+    private void run(List<Integer> concurrencyLevels) throws InterruptedException, ExecutionException {
+        out.printf(HEADER_FORMAT, "operation", "concurrency", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms",
+            "max ms", "errors", "connections", "handshakes");
+        for (Map.Entry<String, Operation> operation : operations().entrySet()) {
+            for (int concurrency : concurrencyLevels) {
+                runOperation(operation.getKey(), operation.getValue(), concurrency);
+            }
+        }
+    }
+
+    private void runOperation(String name, Operation operation, int concurrency)
+        throws InterruptedException, ExecutionException {
+        DataCiteClient client = stub.createClient(preemptiveAuthentication);
+        drive(client, operation, concurrency, warmup);
+        stub.resetCounters();
+        List<LoadResult> results = drive(client, operation, concurrency, duration);
+        long connections = stub.getConnections();
+        long handshakes = stub.getHandshakes();
+
+        Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+        long errors = 0;
+        for (LoadResult result : results) {
+            latencies.add(result.latencies);
+            errors += result.errors;
+        }
+        double operationsPerSecond = latencies.getTotalCount() * NANOS_PER_SECOND / duration.toNanos();
+        out.printf(ROW_FORMAT, name, concurrency, operationsPerSecond,
+            millis(latencies.getValueAtPercentile(50)),
+            millis(latencies.getValueAtPercentile(90)),
+            millis(latencies.getValueAtPercentile(99)),
+            millis(latencies.getValueAtPercentile(99.9)),
+            millis(latencies.getMaxValue()),
+            errors, connections, handshakes);
+    }
+
+    private static List<LoadResult> drive(DataCiteClient client, Operation operation, int concurrency,
+                                          Duration duration) throws InterruptedException, ExecutionException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService threads = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Callable<LoadResult>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(() -> runUntil(client, operation, deadline));
+            }
+            List<LoadResult> results = new ArrayList<>();
+            for (Future<LoadResult> result : threads.invokeAll(workers)) {
+                results.add(result.get());
+            }
+            return results;
+        } finally {
+            threads.shutdown();
+        }
+    }
+
+    private static LoadResult runUntil(DataCiteClient client, Operation operation, long deadline) {
+        LoadResult result = new LoadResult();
+        long start = System.nanoTime();
+        while (deadline - start > 0) {
+            try {
+                operation.run(client);
+                long end = System.nanoTime();
+                result.latencies.recordValue(end - start);
+                start = end;
+            } catch (ClientException e) {
+                result.errors++;
+                start = System.nanoTime();
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, Operation> operations() {
+        Map<String, Operation> operations = new LinkedHashMap<>();
+        operations.put("createDoi", client -> client.createDoi(DataCiteStubServer.CUSTOMER_ID));
+        operations.put("getDoi", client -> client.getDoi(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI));
+        operations.put("updateMetadata",
+            client -> client.updateMetadata(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, METADATA));
+        operations.put("setLandingPage",
+            client -> client.setLandingPage(DataCiteStubServer.CUSTOMER_ID, EXISTING_DOI, LANDING_PAGE));
+        return operations;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+
+        void run(DataCiteClient client) throws ClientException;
+    }
+
+    private static class LoadResult {
+
+        private final Histogram latencies = new Histogram(SIGNIFICANT_DIGITS);
+        private long errors;
+    }
+}
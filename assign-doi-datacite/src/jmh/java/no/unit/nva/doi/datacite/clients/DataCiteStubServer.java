@@ -0,0 +1,361 @@
+package no.unit.nva.doi.datacite.clients;
+
+import static java.util.Objects.isNull;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLServerSocket;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.TrustManagerFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+
+/**
+ * In-process stand-in for the DataCite MDS and REST APIs, answering every request after a configurable latency, and
+ * counting the TCP connections and TLS handshakes of its clients.
+ *
+ * <p>The stub serves HTTP/1.1 with keep-alive over TLS, with a self-signed certificate for {@code localhost} from
+ * {@code datacite-stub.p12}. MDS requests without an {@code Authorization} header are challenged with a {@code 401},
+ * like DataCite does, so that both pre-emptive and challenged authentication can be measured. Request bodies must have
+ * a {@code Content-Length}.
+ *
+ * <p>The key store was created with {@code keytool -genkeypair -keystore datacite-stub.p12 -storetype PKCS12
+ * -alias datacite-stub -keyalg EC -dname "CN=localhost" -ext "SAN=dns:localhost,ip:127.0.0.1" -validity 36500}.
+ */
+public class DataCiteStubServer implements AutoCloseable {
+
+    public static final String HOST = "localhost";
+    public static final URI CUSTOMER_ID = URI.create("https://example.net/customer/id/1234");
+    public static final String PREFIX = "10.5072";
+    private static final String KEY_STORE = "datacite-stub.p12";
+    private static final char[] KEY_STORE_PASSWORD = "datacite-stub".toCharArray();
+    private static final String PKCS12 = "PKCS12";
+    private static final String TLS = "TLS";
+    private static final String TRUST_STORE = "javax.net.ssl.trustStore";
+    private static final String TRUST_STORE_PASSWORD = "javax.net.ssl.trustStorePassword";
+    private static final String TRUST_STORE_TYPE = "javax.net.ssl.trustStoreType";
+    private static final String CONFIG_TEMPLATE = "[{\"customerId\":\"%s\",\"customerDoiPrefix\":\"%s\","
+        + "\"dataCiteMdsClientUrl\":\"https://%s\",\"dataCiteMdsClientUsername\":\"stub.user\","
+        + "\"dataCiteMdsClientPassword\":\"stub-password\"}]";
+    private static final String DOI_JSON_TEMPLATE = "{\"data\":{\"id\":\"%1$s\",\"type\":\"dois\",\"attributes\":"
+        + "{\"doi\":\"%1$s\",\"prefix\":\"%2$s\",\"suffix\":\"%3$s\",\"state\":\"%4$s\","
+        + "\"url\":\"https://example.net/%3$s\",\"descriptions\":[{\"description\":\"%5$s\"}]}}}";
+    private static final String DOIS_PATH = "/dois";
+    private static final String MDS_OK = "OK";
+    private static final String CRLF = "\r\n";
+    private static final String HEADER_SEPARATOR = ":";
+    private static final String CONTENT_LENGTH = "content-length";
+    private static final String AUTHORIZATION = "authorization";
+    private static final String JSON_API = "application/vnd.api+json";
+    private static final String TEXT_PLAIN = "text/plain;charset=UTF-8";
+    private static final String BASIC_CHALLENGE = "WWW-Authenticate: Basic realm=\"mds.datacite.org\"" + CRLF;
+    private static final String NO_HEADERS = "";
+    private static final String DRAFT = "draft";
+    private static final String FINDABLE = "findable";
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String DELETE = "DELETE";
+    private static final String PADDING = "x";
+    private static final int BACKLOG = 1024;
+    private static final int CONTENT_LENGTH_UNKNOWN = 0;
+    private static final int END_OF_STREAM = -1;
+    private static final int LINE_FEED = '\n';
+    private static final int CARRIAGE_RETURN = '\r';
+
+    private final Duration latency;
+    private final String description;
+    private final SSLContext sslContext;
+    private final SSLServerSocket serverSocket;
+    private final ExecutorService connectionHandlers = Executors.newCachedThreadPool(DataCiteStubServer::daemon);
+    private final Set<Socket> openSockets = ConcurrentHashMap.newKeySet();
+    private final LongAdder connections = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong createdDois = new AtomicLong();
+
+    /**
+     * Start a stub on a free port of the loopback interface.
+     *
+     * @param latency           how long the stub waits before answering each request.
+     * @param responsePadding   number of characters added to the description of every DOI returned by the REST API,
+     *                          to vary the size of the bodies the client handles.
+     * @throws IOException              if the server socket cannot be opened.
+     * @throws GeneralSecurityException if the key store cannot be read.
+     */
+    public DataCiteStubServer(Duration latency, int responsePadding) throws IOException, GeneralSecurityException {
+        this.latency = latency;
+        this.description = PADDING.repeat(responsePadding);
+        this.sslContext = createSslContext();
+        this.serverSocket = (SSLServerSocket) sslContext.getServerSocketFactory()
+            .createServerSocket(0, BACKLOG, InetAddress.getLoopbackAddress());
+        connectionHandlers.execute(this::acceptConnections);
+    }
+
+    private static SSLContext createSslContext() throws IOException, GeneralSecurityException {
+        KeyStore keyStore = KeyStore.getInstance(PKCS12);
+        try (InputStream input = DataCiteStubServer.class.getClassLoader().getResourceAsStream(KEY_STORE)) {
+            keyStore.load(input, KEY_STORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, KEY_STORE_PASSWORD);
+        TrustManagerFactory trustManagers = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagers.init(keyStore);
+        SSLContext sslContext = SSLContext.getInstance(TLS);
+        sslContext.init(keyManagers.getKeyManagers(), trustManagers.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * SSL context trusting the certificate of the stub, for the HttpClients of the benchmarked clients.
+     *
+     * @return SSL context.
+     */
+    public SSLContext getSslContext() {
+        return sslContext;
+    }
+
+    public DataCiteConfigurationFactory createConfigurationFactory() {
+        return new DataCiteConfigurationFactory(configurationJson());
+    }
+
+    /**
+     * Customer secrets of the stub's customer, as stored in Secrets Manager.
+     *
+     * @return the secrets as JSON.
+     */
+    public static String configurationJson() {
+        return String.format(CONFIG_TEMPLATE, CUSTOMER_ID, PREFIX, HOST);
+    }
+
+    /**
+     * Write the stub's key store to a file, for other JVMs to trust the stub.
+     *
+     * @param file where the key store is written.
+     * @return system properties making the file the default trust store of a JVM.
+     * @throws IOException if the key store cannot be written.
+     */
+    public static Map<String, String> writeTrustStore(Path file) throws IOException {
+        try (InputStream input = DataCiteStubServer.class.getClassLoader().getResourceAsStream(KEY_STORE)) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return Map.of(
+            TRUST_STORE, file.toString(),
+            TRUST_STORE_PASSWORD, String.valueOf(KEY_STORE_PASSWORD),
+            TRUST_STORE_TYPE, PKCS12);
+    }
+
+    /**
+     * Create a connection factory for this stub, with a new HttpClient builder trusting the stub.
+     *
+     * @param configurationFactory     configuration of the stub's customer.
+     * @param preemptiveAuthentication whether credentials are sent without waiting for a challenge.
+     * @return connection factory.
+     */
+    public DataCiteConnectionFactory createConnectionFactory(DataCiteConfigurationFactory configurationFactory,
+                                                             boolean preemptiveAuthentication) {
+        return DataCiteConnectionFactory.builder()
+            .withHttpClientBuilder(HttpClient.newBuilder().sslContext(sslContext))
+            .withConfigurationFactory(configurationFactory)
+            .withMdsApiHostName(HOST)
+            .withRestApiHostName(HOST)
+            .withApiPort(getPort())
+            .withPreemptiveAuthentication(preemptiveAuthentication)
+            .build();
+    }
+
+    /**
+     * Create a client of this stub, without retries, caches or any other optional feature.
+     *
+     * @param preemptiveAuthentication whether credentials are sent without waiting for a challenge.
+     * @return client.
+     */
+    public DataCiteClient createClient(boolean preemptiveAuthentication) {
+        DataCiteConfigurationFactory configurationFactory = createConfigurationFactory();
+        return new DataCiteClient(configurationFactory,
+            createConnectionFactory(configurationFactory, preemptiveAuthentication));
+    }
+
+    public long getConnections() {
+        return connections.sum();
+    }
+
+    public long getHandshakes() {
+        return handshakes.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Reset the counters, for example between a warm-up and a measurement. Open connections are not counted again.
+     */
+    public void resetCounters() {
+        connections.reset();
+        handshakes.reset();
+        requests.reset();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+        connectionHandlers.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        try {
+            while (!serverSocket.isClosed()) {
+                SSLSocket socket = (SSLSocket) serverSocket.accept();
+                connections.increment();
+                socket.addHandshakeCompletedListener(event -> handshakes.increment());
+                socket.setTcpNoDelay(true);
+                openSockets.add(socket);
+                connectionHandlers.execute(() -> serve(socket));
+            }
+        } catch (SocketException e) {
+            // closed
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+            OutputStream output = socket.getOutputStream();
+            String requestLine = readLine(input);
+            while (!isNull(requestLine) && !requestLine.isEmpty()) {
+                Map<String, String> headers = readHeaders(input);
+                input.readNBytes(contentLength(headers));
+                requests.increment();
+                Thread.sleep(latency.toMillis());
+                output.write(respond(requestLine, headers));
+                output.flush();
+                requestLine = readLine(input);
+            }
+        } catch (IOException e) {
+            // the client closed the connection
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            openSockets.remove(socket);
+        }
+    }
+
+    private byte[] respond(String requestLine, Map<String, String> headers) {
+        String[] methodAndPath = requestLine.split(" ");
+        String method = methodAndPath[0];
+        String path = methodAndPath[1];
+        if (path.startsWith(DOIS_PATH)) {
+            return respondAsRestApi(method, path);
+        }
+        if (!headers.containsKey(AUTHORIZATION)) {
+            return response(401, TEXT_PLAIN, BASIC_CHALLENGE, NO_HEADERS);
+        }
+        return DELETE.equals(method) || GET.equals(method)
+            ? response(200, TEXT_PLAIN, NO_HEADERS, MDS_OK)
+            : response(201, TEXT_PLAIN, NO_HEADERS, MDS_OK);
+    }
+
+    private byte[] respondAsRestApi(String method, String path) {
+        if (POST.equals(method)) {
+            String suffix = "stub-" + createdDois.incrementAndGet();
+            return response(201, JSON_API, NO_HEADERS, doiJson(PREFIX, suffix, DRAFT));
+        }
+        if (DELETE.equals(method)) {
+            return response(204, JSON_API, NO_HEADERS, NO_HEADERS);
+        }
+        String doi = URLDecoder.decode(path.substring(DOIS_PATH.length() + 1), StandardCharsets.UTF_8);
+        int separator = doi.indexOf('/');
+        return response(200, JSON_API, NO_HEADERS,
+            doiJson(doi.substring(0, separator), doi.substring(separator + 1), FINDABLE));
+    }
+
+    private String doiJson(String prefix, String suffix, String state) {
+        return String.format(DOI_JSON_TEMPLATE, prefix + "/" + suffix, prefix, suffix, state, description);
+    }
+
+    private static byte[] response(int status, String contentType, String extraHeaders, String body) {
+        byte[] bodyBytes = body.getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + " Stub" + CRLF
+            + "Content-Type: " + contentType + CRLF
+            + "Content-Length: " + bodyBytes.length + CRLF
+            + extraHeaders
+            + CRLF;
+        ByteArrayOutputStream response = new ByteArrayOutputStream(head.length() + bodyBytes.length);
+        response.writeBytes(head.getBytes(StandardCharsets.US_ASCII));
+        response.writeBytes(bodyBytes);
+        return response.toByteArray();
+    }
+
+    private static Map<String, String> readHeaders(InputStream input) throws IOException {
+        Map<String, String> headers = new TreeMap<>();
+        String line = readLine(input);
+        while (!isNull(line) && !line.isEmpty()) {
+            int separator = line.indexOf(HEADER_SEPARATOR);
+            headers.put(line.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                line.substring(separator + 1).trim());
+            line = readLine(input);
+        }
+        return headers;
+    }
+
+    private static int contentLength(Map<String, String> headers) {
+        String contentLength = headers.get(CONTENT_LENGTH);
+        return isNull(contentLength) ? CONTENT_LENGTH_UNKNOWN : Integer.parseInt(contentLength);
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int character = input.read();
+        if (character == END_OF_STREAM) {
+            return null;
+        }
+        while (character != LINE_FEED && character != END_OF_STREAM) {
+            if (character != CARRIAGE_RETURN) {
+                line.append((char) character);
+            }
+            character = input.read();
+        }
+        return line.toString();
+    }
+
+    private static Thread daemon(Runnable runnable) {
+        Thread thread = new Thread(runnable, DataCiteStubServer.class.getSimpleName());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,67 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.client.utils.URIBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per request cost of creating the URI of a DOI resource, with a precomputed {@link EndpointUri} compared to how the
+ * MDS and REST connections built them before.
+ *
+ * <p>Run with {@code ./gradlew :assign-doi-datacite:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EndpointUriBenchmark {
+
+    private static final String HOST = "mds.test.datacite.org";
+    private static final int PORT = 443;
+    private static final String PATH = "metadata";
+
+    @Param({"10.5072/nva-0a1b2c3d", "10.5072/nva {escaped} <suffix>"})
+    public String doi;
+
+    private EndpointUri endpoint;
+
+    @Setup
+    public void createEndpoint() {
+        endpoint = EndpointUri.https(HOST, PORT, PATH);
+    }
+
+    @Benchmark
+    public URI precomputedEndpoint() {
+        return endpoint.resolve(doi);
+    }
+
+    @Benchmark
+    public URI uriBuilderPerRequest() throws URISyntaxException {
+        return new URIBuilder()
+            .setScheme(EndpointUri.HTTPS_SCHEME)
+            .setHost(HOST)
+            .setPort(PORT)
+            .setPath(PATH + EndpointUri.SEPARATOR + doi)
+            .build();
+    }
+
+    @Benchmark
+    public URI uriConstructorPerRequest() throws URISyntaxException {
+        return new URI(EndpointUri.HTTPS_SCHEME, null, HOST, PORT,
+            EndpointUri.SEPARATOR + PATH + EndpointUri.SEPARATOR + doi, null, null);
+    }
+}
@@ -0,0 +1,97 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import static nva.commons.core.JsonUtils.objectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of reading the state of a DOI from a GET /dois/{id} response, streaming the body chunks through {@link
+ * DoiAttributesParser} compared to decoding the body to a String and building a JSON tree, as
+ * {@code BodyHandlers.ofString()} and a Jackson tree model did before.
+ *
+ * <p>The interesting number is {@code gc.alloc.rate.norm}, the bytes allocated per operation, reported by the gc
+ * profiler. Run with {@code ./gradlew :assign-doi-datacite:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoiAttributesParsingBenchmark {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final String DOCUMENT_TEMPLATE = "{\"data\":{\"id\":\"10.5072/nva-0a1b2c3d\",\"type\":\"dois\","
+        + "\"attributes\":{\"doi\":\"10.5072/nva-0a1b2c3d\",\"prefix\":\"10.5072\",\"suffix\":\"nva-0a1b2c3d\","
+        + "\"titles\":[{\"title\":\"An example publication\"}],\"publisher\":\"NVA\",\"publicationYear\":2021,"
+        + "\"url\":\"https://example.net/nva/publication/203124124\",\"xml\":\"%s\",\"isActive\":true,"
+        + "\"state\":\"findable\"},\"relationships\":{\"client\":{\"data\":{\"id\":\"unit.nva\","
+        + "\"type\":\"clients\"}}}}}";
+    private static final String DATA_FIELD = "data";
+    private static final String ATTRIBUTES_FIELD = "attributes";
+    private static final String DOI_FIELD = "doi";
+    private static final String STATE_FIELD = "state";
+    private static final String URL_FIELD = "url";
+    private static final String XML_ELEMENT = "<title xml:lang=\"en\">An example publication</title>";
+
+    @Param({"1024", "32768"})
+    public int xmlSize;
+
+    private byte[] body;
+    private List<ByteBuffer> chunks;
+
+    /**
+     * Create a response body with base64 encoded XML of the given size, and split it in chunks like the HttpClient
+     * delivers them.
+     */
+    @Setup
+    public void createResponseBody() {
+        StringBuilder xml = new StringBuilder(xmlSize + XML_ELEMENT.length());
+        while (xml.length() < xmlSize) {
+            xml.append(XML_ELEMENT);
+        }
+        String encodedXml = Base64.getEncoder().encodeToString(xml.toString().getBytes(StandardCharsets.UTF_8));
+        body = String.format(DOCUMENT_TEMPLATE, encodedXml).getBytes(StandardCharsets.UTF_8);
+        chunks = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            chunks.add(ByteBuffer.wrap(body, offset, Math.min(CHUNK_SIZE, body.length - offset)));
+        }
+    }
+
+    @Benchmark
+    public DoiStateDto stringAndJsonTree() throws IOException {
+        JsonNode tree = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        JsonNode attributes = tree.path(DATA_FIELD).path(ATTRIBUTES_FIELD);
+        return new DoiStateDto(attributes.path(DOI_FIELD).textValue(), attributes.path(STATE_FIELD).textValue(),
+            attributes.path(URL_FIELD).textValue());
+    }
+
+    @Benchmark
+    public DoiStateDto streamingParser() throws IOException {
+        DoiAttributesParser parser = new DoiAttributesParser();
+        for (ByteBuffer chunk : chunks) {
+            parser.feed(chunk.duplicate());
+        }
+        DoiAttributes attributes = parser.finish();
+        return DoiStateDto.fromAttributes(attributes);
+    }
+}
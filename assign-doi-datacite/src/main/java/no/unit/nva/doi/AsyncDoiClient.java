@@ -0,0 +1,85 @@
+package no.unit.nva.doi;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.doi.datacite.clients.AsyncDataCiteClient;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Non-blocking variant of NVAs supported DOI operations.
+ *
+ * <p>Every operation returns immediately with a {@link CompletableFuture}, so that many requests can be in flight
+ * without holding a thread each for the Registry Agency latency. Failures complete the future exceptionally with a
+ * {@link ClientException} as cause, from the same exception hierarchy as the blocking {@link DoiClient}.
+ *
+ * @see DoiClient
+ * @see AsyncDataCiteClient
+ */
+public interface AsyncDoiClient {
+
+    /**
+     * Create a DOI with an auto-generated suffix in the specified customer repository.
+     *
+     * @param customerId NVAs customerId
+     * @return future completed with {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()}) from provider
+     * @see DoiClient#createDoi(URI)
+     */
+    CompletableFuture<Doi> createDoi(URI customerId);
+
+    /**
+     * Creates a draft DOI.
+     *
+     * @param customerId NVA customerId
+     * @param doiProxy   a {@link URI} for custom DOI proxies (default being https://doi.org/.
+     * @return future completed with a Doi.
+     * @see DoiClient#createDoi(URI, URI)
+     */
+    CompletableFuture<Doi> createDoi(URI customerId, URI doiProxy);
+
+    /**
+     * Update metadata for a DOI.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml datacite schema serialized xml as string
+     * @return future completed when the metadata is stored.
+     * @see DoiClient#updateMetadata(URI, Doi, String)
+     */
+    CompletableFuture<Void> updateMetadata(URI customerId, Doi doi, String metadataDataCiteXml);
+
+    /**
+     * Set landing page for a Doi. This will also turns the DOI into findable state!
+     *
+     * @param customerId NVAs customerId
+     * @param doi        {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param url        Location of landing page.
+     * @return future completed when the landing page is registered.
+     * @see DoiClient#setLandingPage(URI, Doi, URI)
+     */
+    @SuppressWarnings("PMD.LinguisticNaming") // Same name as the blocking DoiClient operation.
+    CompletableFuture<Void> setLandingPage(URI customerId, Doi doi, URI url);
+
+    /**
+     * Delete metadata from DOI.
+     *
+     * @param customerId NVAs customerId
+     * @param doi        {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @return future completed when the metadata is deleted.
+     * @see DoiClient#deleteMetadata(URI, Doi)
+     */
+    CompletableFuture<Void> deleteMetadata(URI customerId, Doi doi);
+
+    /**
+     * Delete a DOI which is in draft.
+     *
+     * @param customerId NVAs customerId
+     * @param doi        {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @return future completed when the DOI is deleted.
+     * @see DoiClient#deleteDraftDoi(URI, Doi)
+     */
+    CompletableFuture<Void> deleteDraftDoi(URI customerId, Doi doi);
+
+    CompletableFuture<DoiStateDto> getDoi(URI customerId, Doi doi);
+}
@@ -1,6 +1,10 @@
 package no.unit.nva.doi;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.function.Supplier;
 
 import no.unit.nva.doi.datacite.clients.DataCiteClient;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
@@ -55,6 +59,52 @@ public interface DoiClient {
      */
     void updateMetadata(URI customerId, Doi doi, String metadataDataCiteXml) throws ClientException;
 
+    /**
+     * Update metadata for a DOI from XML which is already encoded, without decoding it into a String first.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml datacite schema serialized xml encoded with UTF-8
+     * @throws ClientException Error while communicating with Registry Agency
+     * @see #updateMetadata(URI, Doi, String)
+     */
+    void updateMetadata(URI customerId, Doi doi, byte[] metadataDataCiteXml) throws ClientException;
+
+    /**
+     * Update metadata for a DOI from the remaining bytes of a buffer.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml datacite schema serialized xml encoded with UTF-8
+     * @throws ClientException Error while communicating with Registry Agency
+     * @see #updateMetadata(URI, Doi, String)
+     */
+    void updateMetadata(URI customerId, Doi doi, ByteBuffer metadataDataCiteXml) throws ClientException;
+
+    /**
+     * Update metadata for a DOI, streaming the xml to the Registry Agency as it is read.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml supplies a new stream of datacite schema serialized xml encoded with UTF-8 every
+     *                            time the request is sent
+     * @throws ClientException Error while communicating with Registry Agency
+     * @see #updateMetadata(URI, Doi, String)
+     */
+    void updateMetadata(URI customerId, Doi doi, Supplier<? extends InputStream> metadataDataCiteXml)
+        throws ClientException;
+
+    /**
+     * Update metadata for a DOI, streaming the xml from a file.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml file with datacite schema serialized xml encoded with UTF-8
+     * @throws ClientException Error while communicating with Registry Agency
+     * @see #updateMetadata(URI, Doi, String)
+     */
+    void updateMetadata(URI customerId, Doi doi, Path metadataDataCiteXml) throws ClientException;
+
     /**
      * Set landing page for a Doi. This will also turns the DOI into findable state!
      *
@@ -68,6 +118,19 @@ public interface DoiClient {
      */
     void setLandingPage(URI customerId, Doi doi, URI url) throws ClientException;
 
+    /**
+     * Update metadata and set landing page for a DOI in one request to the Registry Agency. This turns the DOI into
+     * findable state, like {@link #updateMetadata(URI, Doi, String)} followed by
+     * {@link #setLandingPage(URI, Doi, URI)}, but the DOI is never left with only one of them updated.
+     *
+     * @param customerId          NVAs customerId
+     * @param doi                 {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param metadataDataCiteXml datacite schema serialized xml as string
+     * @param landingPage         Location of landing page.
+     * @throws ClientException Error while communicating with Registry Agency
+     */
+    void publishDoi(URI customerId, Doi doi, String metadataDataCiteXml, URI landingPage) throws ClientException;
+
     /**
      * Delete metadata from DOI.
      *
@@ -1,11 +1,15 @@
 package no.unit.nva.doi;
 
+import no.unit.nva.doi.batch.BatchDoiClient;
+import no.unit.nva.doi.datacite.clients.AsyncDataCiteClient;
 import no.unit.nva.doi.datacite.clients.DataCiteClient;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakers;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
 
 /**
- * Factory for obtaining a {@link DoiClient}.
+ * Factory for obtaining a {@link DoiClient}, an {@link AsyncDoiClient} or a {@link BatchDoiClient}.
  *
  * <p>Currently only supporting DataCite.
  *
@@ -16,8 +20,41 @@ public final class DoiClientFactory {
     private DoiClientFactory() {
     }
 
+    /**
+     * Get a client which retries transient DataCite failures with the default {@link RetryingExecutor}, and fails
+     * fast with the default {@link CircuitBreakers} while DataCite is failing. Use {@link DataCiteClient#builder()} for
+     * other settings.
+     *
+     * @param configFactory        DataCite configuration factory
+     * @param mdsConnectionFactory DataCite connection factory
+     * @return DoiClient
+     */
     public static DoiClient getClient(DataCiteConfigurationFactory configFactory,
                                       DataCiteConnectionFactory mdsConnectionFactory) {
-        return new DataCiteClient(configFactory, mdsConnectionFactory);
+        return DataCiteClient.builder()
+            .withConfigurationFactory(configFactory)
+            .withConnectionFactory(mdsConnectionFactory)
+            .withRetryingExecutor(RetryingExecutor.withDefaults())
+            .withCircuitBreakers(CircuitBreakers.withDefaults())
+            .build();
+    }
+
+    public static AsyncDoiClient getAsyncClient(DataCiteConfigurationFactory configFactory,
+                                                DataCiteConnectionFactory connectionFactory) {
+        return new AsyncDataCiteClient(configFactory, connectionFactory);
+    }
+
+    /**
+     * Get a client running DOI operations for many items, with at most {@code maximumConcurrency} requests in flight.
+     *
+     * @param configFactory      DataCite configuration factory
+     * @param connectionFactory  DataCite connection factory, shared with single item operations
+     * @param maximumConcurrency maximum number of requests in flight
+     * @return BatchDoiClient
+     */
+    public static BatchDoiClient getBatchClient(DataCiteConfigurationFactory configFactory,
+                                                DataCiteConnectionFactory connectionFactory,
+                                                int maximumConcurrency) {
+        return new BatchDoiClient(getAsyncClient(configFactory, connectionFactory), maximumConcurrency);
     }
 }
@@ -0,0 +1,124 @@
+package no.unit.nva.doi.batch;
+
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import no.unit.nva.doi.AsyncDoiClient;
+import no.unit.nva.doi.DoiClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs DOI operations for many items with a bounded number of requests in flight.
+ *
+ * <p>Items are sent through an {@link AsyncDoiClient}, so a batch uses the same connections and authentication as
+ * single DOI operations. At most {@code maximumConcurrency} requests are in flight at any time; the calling thread
+ * waits for a free slot before sending the next item, and returns once every item has completed.
+ *
+ * <p>A failing item does not stop the batch. The outcome of every item is reported in the returned
+ * {@link BatchReport}.
+ *
+ * @see DoiClient
+ */
+public class BatchDoiClient {
+
+    public static final String ILLEGAL_MAXIMUM_CONCURRENCY = "Maximum concurrency must be positive";
+    public static final String BATCH_COMPLETED_LOG = "Batch of {} items completed with {} failures";
+    private static final Logger logger = LoggerFactory.getLogger(BatchDoiClient.class);
+
+    private final AsyncDoiClient asyncDoiClient;
+    private final int maximumConcurrency;
+
+    /**
+     * Construct a {@link BatchDoiClient}.
+     *
+     * @param asyncDoiClient     client sending the requests.
+     * @param maximumConcurrency maximum number of requests in flight.
+     */
+    public BatchDoiClient(AsyncDoiClient asyncDoiClient, int maximumConcurrency) {
+        if (maximumConcurrency <= 0) {
+            throw new IllegalArgumentException(ILLEGAL_MAXIMUM_CONCURRENCY);
+        }
+        this.asyncDoiClient = asyncDoiClient;
+        this.maximumConcurrency = maximumConcurrency;
+    }
+
+    /**
+     * Update metadata for every item.
+     *
+     * @param items items with DataCite XML as payload.
+     * @return report with the outcome of every item.
+     * @see DoiClient#updateMetadata(URI, no.unit.nva.doi.models.Doi, String)
+     */
+    public BatchReport<String> updateMetadata(Collection<BatchItem<String>> items) {
+        return execute(items,
+            item -> asyncDoiClient.updateMetadata(item.getCustomerId(), item.getDoi(), item.getPayload()));
+    }
+
+    /**
+     * Set landing page for every item.
+     *
+     * @param items items with the landing page as payload.
+     * @return report with the outcome of every item.
+     * @see DoiClient#setLandingPage(URI, no.unit.nva.doi.models.Doi, URI)
+     */
+    @SuppressWarnings("PMD.LinguisticNaming") // Same name as the single DoiClient operation.
+    public BatchReport<URI> setLandingPage(Collection<BatchItem<URI>> items) {
+        return execute(items,
+            item -> asyncDoiClient.setLandingPage(item.getCustomerId(), item.getDoi(), item.getPayload()));
+    }
+
+    public int getMaximumConcurrency() {
+        return maximumConcurrency;
+    }
+
+    private <T> BatchReport<T> execute(Collection<BatchItem<T>> items,
+                                       Function<BatchItem<T>, CompletableFuture<Void>> operation) {
+        Semaphore inFlightRequests = new Semaphore(maximumConcurrency);
+        List<CompletableFuture<BatchItemResult<T>>> pendingResults = new ArrayList<>(items.size());
+        for (BatchItem<T> item : items) {
+            pendingResults.add(submit(item, operation, inFlightRequests));
+        }
+        BatchReport<T> report = new BatchReport<>(
+            pendingResults.stream().map(CompletableFuture::join).collect(toList()));
+        logger.info(BATCH_COMPLETED_LOG, items.size(), report.getFailed().size());
+        return report;
+    }
+
+    private <T> CompletableFuture<BatchItemResult<T>> submit(BatchItem<T> item,
+                                                             Function<BatchItem<T>, CompletableFuture<Void>> operation,
+                                                             Semaphore inFlightRequests) {
+        try {
+            inFlightRequests.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(BatchItemResult.failure(item, e));
+        }
+        try {
+            return operation.apply(item)
+                .handle((ignored, error) -> toResult(item, error))
+                .whenComplete((result, error) -> inFlightRequests.release());
+        } catch (RuntimeException e) {
+            inFlightRequests.release();
+            return CompletableFuture.completedFuture(BatchItemResult.failure(item, e));
+        }
+    }
+
+    private static <T> BatchItemResult<T> toResult(BatchItem<T> item, Throwable error) {
+        if (isNull(error)) {
+            return BatchItemResult.success(item);
+        }
+        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+        if (cause instanceof Exception) {
+            return BatchItemResult.failure(item, (Exception) cause);
+        }
+        throw new CompletionException(cause);
+    }
+}
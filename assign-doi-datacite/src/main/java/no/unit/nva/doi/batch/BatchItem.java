@@ -0,0 +1,41 @@
+package no.unit.nva.doi.batch;
+
+import java.net.URI;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * One DOI operation in a batch: the customer, the DOI and the payload to send for it.
+ *
+ * @param <T> payload type, e.g. DataCite XML for metadata or a landing page {@link URI}.
+ */
+public class BatchItem<T> {
+
+    private final URI customerId;
+    private final Doi doi;
+    private final T payload;
+
+    /**
+     * Construct a {@link BatchItem}.
+     *
+     * @param customerId NVAs customerId
+     * @param doi        {@link Doi} containing prefix/suffix ({@link Doi#toIdentifier()})
+     * @param payload    payload for the operation
+     */
+    public BatchItem(URI customerId, Doi doi, T payload) {
+        this.customerId = customerId;
+        this.doi = doi;
+        this.payload = payload;
+    }
+
+    public URI getCustomerId() {
+        return customerId;
+    }
+
+    public Doi getDoi() {
+        return doi;
+    }
+
+    public T getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,57 @@
+package no.unit.nva.doi.batch;
+
+import static java.util.Objects.isNull;
+import java.util.Optional;
+import java.util.OptionalInt;
+import no.unit.nva.doi.datacite.clients.exception.UpstreamApiException;
+
+/**
+ * Outcome of one {@link BatchItem}.
+ *
+ * <p>A failed item carries the exception it failed with, and the HTTP status code when the Registry Agency answered
+ * with an unsuccessful response.
+ *
+ * @param <T> payload type of the item.
+ */
+public final class BatchItemResult<T> {
+
+    private final BatchItem<T> item;
+    private final Exception exception;
+
+    private BatchItemResult(BatchItem<T> item, Exception exception) {
+        this.item = item;
+        this.exception = exception;
+    }
+
+    public static <T> BatchItemResult<T> success(BatchItem<T> item) {
+        return new BatchItemResult<>(item, null);
+    }
+
+    public static <T> BatchItemResult<T> failure(BatchItem<T> item, Exception exception) {
+        return new BatchItemResult<>(item, exception);
+    }
+
+    public BatchItem<T> getItem() {
+        return item;
+    }
+
+    public boolean isSuccess() {
+        return isNull(exception);
+    }
+
+    public Optional<Exception> getException() {
+        return Optional.ofNullable(exception);
+    }
+
+    /**
+     * HTTP status code of the unsuccessful response from the Registry Agency.
+     *
+     * @return status code, or empty if the item succeeded or failed before a response was received.
+     */
+    public OptionalInt getStatusCode() {
+        if (exception instanceof UpstreamApiException) {
+            return OptionalInt.of(((UpstreamApiException) exception).getStatusCode());
+        }
+        return OptionalInt.empty();
+    }
+}
@@ -0,0 +1,40 @@
+package no.unit.nva.doi.batch;
+
+import static java.util.stream.Collectors.toList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Per-item outcome of a batch, in the same order as the submitted items.
+ *
+ * @param <T> payload type of the items.
+ */
+public class BatchReport<T> {
+
+    private final List<BatchItemResult<T>> results;
+
+    public BatchReport(List<BatchItemResult<T>> results) {
+        this.results = Collections.unmodifiableList(results);
+    }
+
+    public List<BatchItemResult<T>> getResults() {
+        return results;
+    }
+
+    public List<BatchItemResult<T>> getSucceeded() {
+        return filterResults(BatchItemResult::isSuccess);
+    }
+
+    public List<BatchItemResult<T>> getFailed() {
+        return filterResults(result -> !result.isSuccess());
+    }
+
+    public boolean isAllSucceeded() {
+        return results.stream().allMatch(BatchItemResult::isSuccess);
+    }
+
+    private List<BatchItemResult<T>> filterResults(Predicate<BatchItemResult<T>> predicate) {
+        return results.stream().filter(predicate).collect(toList());
+    }
+}
@@ -0,0 +1,228 @@
+package no.unit.nva.doi.datacite.bootstrap;
+
+import static nva.commons.core.JsonUtils.objectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.net.ssl.SSLContext;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the dependencies of a Lambda handler and warms up what its first event would otherwise initialise, like
+ * Jackson's deserializers of the event and the TLS stack of the HttpClient.
+ *
+ * <p>By default the warm-ups run on the calling thread after the dependencies are created. With
+ * {@link Builder#withParallelWarmUps(boolean)} they instead run on the warm-up executor, by default the common
+ * {@link ForkJoinPool}, while the calling thread creates the dependencies, which is mostly waiting for the customer
+ * secrets from Secrets Manager. How much that saves depends on the CPUs of the function, since the warm-ups compete
+ * with creating the dependencies, so it is off until measured on the deployed functions.
+ *
+ * <p>A warm-up only does ahead of time what would otherwise be done on first use, so a warm-up which fails is logged
+ * and ignored. A parallel warm-up which has not completed within the warm-up timeout is logged and left to complete
+ * in the background, instead of delaying the handler.
+ */
+public final class HandlerBootstrap {
+
+    public static final String JSON = "json";
+    public static final String TLS = "tls";
+    public static final Duration DEFAULT_WARM_UP_TIMEOUT = Duration.ofSeconds(3);
+    public static final boolean DEFAULT_PARALLEL_WARM_UPS = false;
+    public static final String BOOTSTRAPPED_LOG = "Created handler dependencies in {} ms";
+    public static final String WARMED_UP_LOG = "Warmed up {} in {} ms";
+    public static final String WARM_UP_FAILED_LOG = "Warming up {} failed";
+    public static final String WARM_UP_TIMED_OUT_LOG = "Warming up {} did not complete within {} ms";
+    private static final Logger logger = LoggerFactory.getLogger(HandlerBootstrap.class);
+
+    private final Map<String, WarmUp> warmUps;
+    private final Executor executor;
+    private final Duration warmUpTimeout;
+    private final boolean parallelWarmUps;
+
+    private HandlerBootstrap(Builder builder) {
+        this.warmUps = Map.copyOf(builder.warmUps);
+        this.executor = builder.executor;
+        this.warmUpTimeout = builder.warmUpTimeout;
+        this.parallelWarmUps = builder.parallelWarmUps;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create the dependencies on the calling thread, and run the warm-ups. Parallel warm-ups run while the
+     * dependencies are created, and are awaited until they complete or time out.
+     *
+     * @param <T>          the type of the dependencies.
+     * @param dependencies creates the dependencies, like the handler's DoiClient.
+     * @return the dependencies.
+     */
+    public <T> T bootstrap(Supplier<T> dependencies) {
+        if (!parallelWarmUps) {
+            T result = createDependencies(dependencies);
+            warmUps.forEach(HandlerBootstrap::runWarmUp);
+            return result;
+        }
+        Map<String, CompletableFuture<Void>> running = warmUps.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, warmUp -> startWarmUp(warmUp.getKey(), warmUp.getValue())));
+        T result = createDependencies(dependencies);
+        awaitWarmUps(running);
+        return result;
+    }
+
+    /**
+     * Warm-up constructing and caching the deserializer of a handler's input and the serializer of its output in the
+     * shared {@link nva.commons.core.JsonUtils#objectMapper}.
+     *
+     * @param inputType  the type of the handler's input.
+     * @param outputType the type of the handler's output.
+     * @return the warm-up.
+     */
+    public static WarmUp jsonWarmUp(Class<?> inputType, Class<?> outputType) {
+        return () -> {
+            objectMapper.readerFor(inputType);
+            objectMapper.writerFor(outputType);
+        };
+    }
+
+    /**
+     * Warm-up loading the trusted certificates of the default {@link SSLContext}, its cipher suites, and the classes
+     * of the HttpClient builders. It does not build an HttpClient, since the connection factory is created with the
+     * dependencies; use {@link #buildSharedHttpClient(DataCiteConnectionFactory)} for that.
+     *
+     * @return the warm-up.
+     */
+    public static WarmUp tlsWarmUp() {
+        return () -> {
+            attempt(SSLContext::getDefault).orElseThrow().createSSLEngine();
+            HttpClient.newBuilder();
+            HttpRequest.newBuilder();
+        };
+    }
+
+    /**
+     * Build the HttpClient a connection factory shares between all customers when authenticating pre-emptively, which
+     * the first request would otherwise build, starting its selector thread. Without pre-emptive authentication the
+     * clients are built per customer on first use, and nothing is built.
+     *
+     * @param connectionFactory the connection factory of the handler's DoiClient.
+     */
+    public static void buildSharedHttpClient(DataCiteConnectionFactory connectionFactory) {
+        if (connectionFactory.isPreemptiveAuthentication()) {
+            connectionFactory.getSharedHttpClient();
+        }
+    }
+
+    private static <T> T createDependencies(Supplier<T> dependencies) {
+        long start = System.nanoTime();
+        T result = dependencies.get();
+        logger.info(BOOTSTRAPPED_LOG, millisSince(start));
+        return result;
+    }
+
+    private CompletableFuture<Void> startWarmUp(String name, WarmUp warmUp) {
+        return CompletableFuture.runAsync(() -> runWarmUp(name, warmUp), executor);
+    }
+
+    private static void runWarmUp(String name, WarmUp warmUp) {
+        long start = System.nanoTime();
+        try {
+            warmUp.run();
+            logger.info(WARMED_UP_LOG, name, millisSince(start));
+        } catch (RuntimeException e) {
+            logger.warn(WARM_UP_FAILED_LOG, name, e);
+        }
+    }
+
+    private void awaitWarmUps(Map<String, CompletableFuture<Void>> running) {
+        CompletableFuture.allOf(running.values().toArray(CompletableFuture[]::new))
+            .completeOnTimeout(null, warmUpTimeout.toNanos(), TimeUnit.NANOSECONDS)
+            .join();
+        running.forEach((name, warmUp) -> {
+            if (!warmUp.isDone()) {
+                logger.warn(WARM_UP_TIMED_OUT_LOG, name, warmUpTimeout.toMillis());
+            }
+        });
+    }
+
+    private static long millisSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Initialises something ahead of its first use.
+     */
+    @FunctionalInterface
+    public interface WarmUp {
+
+        void run();
+    }
+
+    public static final class Builder {
+
+        private final Map<String, WarmUp> warmUps = new ConcurrentHashMap<>();
+        private Executor executor = ForkJoinPool.commonPool();
+        private Duration warmUpTimeout = DEFAULT_WARM_UP_TIMEOUT;
+        private boolean parallelWarmUps = DEFAULT_PARALLEL_WARM_UPS;
+
+        private Builder() {
+        }
+
+        /**
+         * Run a warm-up while the dependencies are created.
+         *
+         * @param name   name of the warm-up, used when logging.
+         * @param warmUp the warm-up.
+         * @return the builder.
+         */
+        public Builder withWarmUp(String name, WarmUp warmUp) {
+            this.warmUps.put(name, warmUp);
+            return this;
+        }
+
+        public Builder withJsonWarmUp(Class<?> inputType, Class<?> outputType) {
+            return withWarmUp(JSON, jsonWarmUp(inputType, outputType));
+        }
+
+        public Builder withTlsWarmUp() {
+            return withWarmUp(TLS, tlsWarmUp());
+        }
+
+        public Builder withExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder withWarmUpTimeout(Duration warmUpTimeout) {
+            this.warmUpTimeout = warmUpTimeout;
+            return this;
+        }
+
+        /**
+         * Run the warm-ups on the warm-up executor while the dependencies are created, instead of on the calling
+         * thread after them.
+         *
+         * @param parallelWarmUps {@code true} to run the warm-ups in parallel with creating the dependencies.
+         * @return the builder.
+         */
+        public Builder withParallelWarmUps(boolean parallelWarmUps) {
+            this.parallelWarmUps = parallelWarmUps;
+            return this;
+        }
+
+        public HandlerBootstrap build() {
+            return new HandlerBootstrap(this);
+        }
+    }
+}
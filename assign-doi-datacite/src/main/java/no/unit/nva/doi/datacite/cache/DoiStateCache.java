@@ -0,0 +1,152 @@
+package no.unit.nva.doi.datacite.cache;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Cache of the DataCite state of DOIs, so that repeated lookups of the same DOI do not reach DataCite.
+ *
+ * <p>DOIs are case insensitive, so entries are keyed by the lower case identifier of the DOI. An entry is kept for at
+ * most the time to live after it was cached, also when it is read often, since the state may be changed outside of
+ * this client. When the cache is full, the least recently used entry is evicted.
+ *
+ * <p>The client writes its own changes of a DOI's state through the cache, so that a lookup after a change returns
+ * the new state.
+ */
+public class DoiStateCache {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final String DRAFT = "draft";
+    public static final String REGISTERED = "registered";
+    public static final String FINDABLE = "findable";
+    private static final ExpiringCache<String, CachedDoiState> NO_CACHE = null;
+
+    private final ExpiringCache<String, CachedDoiState> entries;
+    private final Duration timeToLive;
+    private final Clock clock;
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param maximumSize maximum number of DOIs before the least recently used DOI is evicted.
+     * @param timeToLive  how long the state of a DOI is cached.
+     */
+    public DoiStateCache(int maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache with a custom clock, for testing.
+     *
+     * @param maximumSize maximum number of DOIs before the least recently used DOI is evicted.
+     * @param timeToLive  how long the state of a DOI is cached.
+     * @param clock       clock used to decide expiry.
+     */
+    public DoiStateCache(int maximumSize, Duration timeToLive, Clock clock) {
+        this(new ExpiringCache<>(maximumSize, timeToLive, clock), timeToLive, clock);
+    }
+
+    private DoiStateCache(ExpiringCache<String, CachedDoiState> entries, Duration timeToLive, Clock clock) {
+        this.entries = entries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+    }
+
+    public static DoiStateCache withDefaults() {
+        return new DoiStateCache(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    public static DoiStateCache disabled() {
+        return new DoiStateCache(NO_CACHE, DEFAULT_TIME_TO_LIVE, Clock.systemUTC());
+    }
+
+    public boolean isEnabled() {
+        return nonNull(entries);
+    }
+
+    /**
+     * Get the cached state of a DOI.
+     *
+     * @param doi the DOI
+     * @return the state, or empty when the DOI is not cached or its entry has expired.
+     */
+    public Optional<DoiStateDto> get(Doi doi) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        String key = toKey(doi);
+        CachedDoiState cached = entries.get(key);
+        if (isNull(cached)) {
+            return Optional.empty();
+        }
+        if (cached.isOlderThan(clock.instant().minus(timeToLive))) {
+            entries.invalidate(key);
+            return Optional.empty();
+        }
+        return Optional.of(cached.getState());
+    }
+
+    /**
+     * Cache the state of a DOI, as read from or written to DataCite.
+     *
+     * @param doi   the DOI
+     * @param state the state of the DOI.
+     */
+    public void put(Doi doi, DoiStateDto state) {
+        if (isEnabled()) {
+            entries.put(toKey(doi), new CachedDoiState(state, clock.instant()));
+        }
+    }
+
+    /**
+     * Cache a new state of a DOI after changing it in DataCite.
+     *
+     * @param doi   the DOI
+     * @param state the new state, like {@link #FINDABLE}.
+     */
+    public void put(Doi doi, String state) {
+        put(doi, new DoiStateDto(doi.toIdentifier(), state));
+    }
+
+    /**
+     * Remove the state of a DOI, when it is deleted or its new state is unknown.
+     *
+     * @param doi the DOI
+     */
+    public void invalidate(Doi doi) {
+        if (isEnabled()) {
+            entries.invalidate(toKey(doi));
+        }
+    }
+
+    private static String toKey(Doi doi) {
+        return doi.toIdentifier().toLowerCase(Locale.ROOT);
+    }
+
+    private static class CachedDoiState {
+
+        private final DoiStateDto state;
+        private final Instant cached;
+
+        public CachedDoiState(DoiStateDto state, Instant cached) {
+            this.state = state;
+            this.cached = cached;
+        }
+
+        public DoiStateDto getState() {
+            return state;
+        }
+
+        public boolean isOlderThan(Instant instant) {
+            return cached.isBefore(instant);
+        }
+    }
+}
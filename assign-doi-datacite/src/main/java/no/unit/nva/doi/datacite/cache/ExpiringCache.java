@@ -0,0 +1,184 @@
+package no.unit.nva.doi.datacite.cache;
+
+import static java.util.Objects.isNull;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Small thread safe cache with a maximum size and idle expiry.
+ *
+ * <p>Entries are kept in least-recently-used order. When the cache is full, the least recently used entry is evicted
+ * to make room for a new one. Entries which have not been read or written for longer than the configured idle
+ * expiry are removed on the next access.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ExpiringCache<K, V> {
+
+    public static final String ILLEGAL_MAXIMUM_SIZE = "Maximum size must be positive";
+    public static final String ILLEGAL_IDLE_EXPIRY = "Idle expiry must be positive";
+    private static final boolean ACCESS_ORDER = true;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maximumSize;
+    private final Duration idleExpiry;
+    private final Clock clock;
+    private final Map<K, CacheEntry<V>> entries;
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param maximumSize maximum number of entries before the least recently used entry is evicted.
+     * @param idleExpiry  how long an entry may stay unused before it expires.
+     */
+    public ExpiringCache(int maximumSize, Duration idleExpiry) {
+        this(maximumSize, idleExpiry, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache with a custom clock, for testing.
+     *
+     * @param maximumSize maximum number of entries before the least recently used entry is evicted.
+     * @param idleExpiry  how long an entry may stay unused before it expires.
+     * @param clock       clock used to decide expiry.
+     */
+    public ExpiringCache(int maximumSize, Duration idleExpiry, Clock clock) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException(ILLEGAL_MAXIMUM_SIZE);
+        }
+        if (idleExpiry.isNegative() || idleExpiry.isZero()) {
+            throw new IllegalArgumentException(ILLEGAL_IDLE_EXPIRY);
+        }
+        this.maximumSize = maximumSize;
+        this.idleExpiry = idleExpiry;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, ACCESS_ORDER);
+    }
+
+    /**
+     * Returns the cached value for the key, creating and caching a new value if it is missing or expired.
+     *
+     * @param key           the key
+     * @param valueSupplier creates the value for a key that is not cached.
+     * @return the cached or newly created value.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> valueSupplier) {
+        synchronized (entries) {
+            Objects.requireNonNull(key);
+            Instant now = clock.instant();
+            removeExpiredEntries(now);
+            CacheEntry<V> entry = entries.get(key);
+            if (isNull(entry)) {
+                entry = new CacheEntry<>(valueSupplier.apply(key), now);
+                entries.put(key, entry);
+                evictLeastRecentlyUsedEntries();
+            }
+            entry.touch(now);
+            return entry.getValue();
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, or {@code null} if it is missing or expired.
+     *
+     * @param key the key
+     * @return the cached value or {@code null}.
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            Instant now = clock.instant();
+            removeExpiredEntries(now);
+            CacheEntry<V> entry = entries.get(key);
+            if (isNull(entry)) {
+                return null;
+            }
+            entry.touch(now);
+            return entry.getValue();
+        }
+    }
+
+    /**
+     * Stores a value, replacing any previous value for the key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        synchronized (entries) {
+            Objects.requireNonNull(key);
+            Instant now = clock.instant();
+            removeExpiredEntries(now);
+            entries.put(key, new CacheEntry<>(value, now));
+            evictLeastRecentlyUsedEntries();
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Number of entries currently in the cache, not counting expired entries.
+     *
+     * @return number of live entries.
+     */
+    public int size() {
+        synchronized (entries) {
+            removeExpiredEntries(clock.instant());
+            return entries.size();
+        }
+    }
+
+    private void removeExpiredEntries(Instant now) {
+        Instant oldestAllowedAccess = now.minus(idleExpiry);
+        entries.values().removeIf(entry -> entry.getLastAccess().isBefore(oldestAllowedAccess));
+    }
+
+    private void evictLeastRecentlyUsedEntries() {
+        Iterator<Entry<K, CacheEntry<V>>> leastRecentlyUsedFirst = entries.entrySet().iterator();
+        while (entries.size() > maximumSize && leastRecentlyUsedFirst.hasNext()) {
+            leastRecentlyUsedFirst.next();
+            leastRecentlyUsedFirst.remove();
+        }
+    }
+
+    private static class CacheEntry<V> {
+
+        private final V value;
+        private Instant lastAccess;
+
+        public CacheEntry(V value, Instant created) {
+            this.value = value;
+            this.lastAccess = created;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        public Instant getLastAccess() {
+            return lastAccess;
+        }
+
+        public void touch(Instant now) {
+            this.lastAccess = now;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package no.unit.nva.doi.datacite.clients;
+
+import static java.util.Objects.nonNull;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_COMMUNICATION_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_CREATING_DOI_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_DELETING_DOI_METADATA_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_DELETING_DOI_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_GETTING_DOI_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_SETTING_DOI_URL_TEMPLATE;
+import static no.unit.nva.doi.datacite.clients.DataCiteClient.ERROR_UPDATING_METADATA_FOR_DOI_TEMPLATE;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import no.unit.nva.doi.AsyncDoiClient;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
+import no.unit.nva.doi.datacite.clients.exception.DeleteDraftDoiException;
+import no.unit.nva.doi.datacite.clients.exception.DeleteMetadataException;
+import no.unit.nva.doi.datacite.clients.exception.GetDoiException;
+import no.unit.nva.doi.datacite.clients.exception.SetLandingPageException;
+import no.unit.nva.doi.datacite.clients.exception.UpdateMetadataException;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteMdsConfigValidationFailedException;
+import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.models.Doi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A non-blocking DoiClient implementation towards Registry Agency DataCite.
+ *
+ * <p>Requests are sent with {@link java.net.http.HttpClient#sendAsync}, so no thread is held while waiting for
+ * DataCite. Unsuccessful responses and transport failures are mapped to the same exceptions as {@link DataCiteClient}
+ * throws, and complete the returned future exceptionally with the exception as cause. So do the failures of preparing
+ * a request, like a customer without credentials.
+ *
+ * @see AsyncDoiClient
+ */
+public class AsyncDataCiteClient implements AsyncDoiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncDataCiteClient.class);
+    private final DataCiteConnectionFactory dataCiteApiConnectionFactory;
+    private final DataCiteConfigurationFactory configFactory;
+
+    public AsyncDataCiteClient(DataCiteConfigurationFactory configFactory,
+                               DataCiteConnectionFactory connectionFactory) {
+        this.configFactory = configFactory;
+        this.dataCiteApiConnectionFactory = connectionFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Doi> createDoi(URI customerId) {
+        return createDoi(customerId, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Doi> createDoi(URI customerId, URI doiProxy) {
+        String doiPrefix;
+        try {
+            doiPrefix = configFactory.getConfig(customerId).getCustomerDoiPrefix();
+        } catch (DataCiteMdsConfigValidationFailedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return sendAsync("createDoi",
+            () -> dataCiteApiConnectionFactory.getAuthenticatedRestConnection(customerId).createDoiAsync())
+            .thenApply(response -> {
+                if (isUnsuccessfulResponse(response)) {
+                    String responseBody = response.body().getUnparsedBody();
+                    logger.error(ERROR_CREATING_DOI_TEMPLATE, doiPrefix, response.statusCode(), responseBody);
+                    throw new CompletionException(
+                        new CreateDoiException(doiPrefix, response.statusCode(), responseBody));
+                }
+                return DraftDoiDto.fromAttributes(response.body()).toDoi(doiProxy);
+            });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> updateMetadata(URI customerId, Doi doi, String metadataDataCiteXml) {
+        return sendAsync("updateMetadata",
+            () -> prepareAuthenticatedMdsDataCiteConnection(customerId)
+                .postMetadataAsync(doi.toIdentifier(), metadataDataCiteXml))
+            .thenAccept(response -> requireSuccessfulResponse(response, doi,
+                ERROR_UPDATING_METADATA_FOR_DOI_TEMPLATE, UpdateMetadataException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> setLandingPage(URI customerId, Doi doi, URI landingPage) {
+        return sendAsync("setLandingPage",
+            () -> prepareAuthenticatedMdsDataCiteConnection(customerId)
+                .registerUrlAsync(doi.toIdentifier(), landingPage.toASCIIString()))
+            .thenAccept(response -> requireSuccessfulResponse(response, doi,
+                ERROR_SETTING_DOI_URL_TEMPLATE, SetLandingPageException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> deleteMetadata(URI customerId, Doi doi) {
+        return sendAsync("deleteMetadata",
+            () -> prepareAuthenticatedMdsDataCiteConnection(customerId).deleteMetadataAsync(doi.toIdentifier()))
+            .thenAccept(response -> requireSuccessfulResponse(response, doi,
+                ERROR_DELETING_DOI_METADATA_TEMPLATE, DeleteMetadataException::new));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> deleteDraftDoi(URI customerId, Doi doi) {
+        return sendAsync("deleteDraftDoi",
+            () -> prepareAuthenticatedMdsDataCiteConnection(customerId).deleteDoiAsync(doi.toIdentifier()))
+            .thenAccept(response -> requireSuccessfulResponse(response, doi,
+                ERROR_DELETING_DOI_TEMPLATE, DeleteDraftDoiException::new));
+    }
+
+    @Override
+    public CompletableFuture<DoiStateDto> getDoi(URI customerId, Doi doi) {
+        return sendAsync("getDoi",
+            () -> dataCiteApiConnectionFactory.getAuthenticatedRestConnection(customerId)
+                .getDoiAsync(doi.toIdentifier()))
+            .thenApply(response -> {
+                if (isUnsuccessfulResponse(response)) {
+                    logger.error(ERROR_GETTING_DOI_TEMPLATE, doi.toIdentifier(), response.statusCode());
+                    throw new CompletionException(new GetDoiException(doi, response.statusCode()));
+                }
+                return DoiStateDto.fromAttributes(response.body());
+            });
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendAsync(String doiClientMethodName,
+                                                             Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        try {
+            return request.get()
+                .exceptionally(error -> {
+                    throw createTransportFailure(doiClientMethodName, error);
+                });
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void requireSuccessfulResponse(HttpResponse<String> response, Doi doi, String errorTemplate,
+                                           UnsuccessfulResponseException exceptionFactory) {
+        if (isUnsuccessfulResponse(response)) {
+            logger.error(errorTemplate, doi.toIdentifier(), response.statusCode());
+            throw new CompletionException(exceptionFactory.create(doi, response.statusCode(), response.body()));
+        }
+    }
+
+    private CompletionException createTransportFailure(String doiClientMethodName, Throwable error) {
+        Throwable cause = error instanceof CompletionException && nonNull(error.getCause())
+            ? error.getCause()
+            : error;
+        if (cause instanceof Exception) {
+            return new CompletionException(logAndCreateClientException(doiClientMethodName, (Exception) cause));
+        }
+        return new CompletionException(cause);
+    }
+
+    private DataCiteMdsConnection prepareAuthenticatedMdsDataCiteConnection(URI customerId) {
+        return dataCiteApiConnectionFactory.getAuthenticatedMdsConnection(customerId);
+    }
+
+    private ClientException logAndCreateClientException(String doiClientMethodName, Exception parentException) {
+        logger.error(ERROR_COMMUNICATION_TEMPLATE, doiClientMethodName);
+        return new ClientException(doiClientMethodName, parentException);
+    }
+
+    private boolean isUnsuccessfulResponse(HttpResponse<?> response) {
+        return response.statusCode() / 100 != 2;
+    }
+
+    /**
+     * Creates the exception for an unsuccessful MDS response, from (the start of) its body.
+     */
+    @FunctionalInterface
+    private interface UnsuccessfulResponseException {
+
+        ClientException create(Doi doi, int statusCode, String responseBody);
+    }
+}
@@ -1,25 +1,43 @@
 package no.unit.nva.doi.datacite.clients;
 
+import static java.util.Objects.nonNull;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
 import no.unit.nva.doi.DoiClient;
+import no.unit.nva.doi.datacite.cache.DoiStateCache;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakers;
+import no.unit.nva.doi.datacite.clients.exception.CircuitBreakerOpenException;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
 import no.unit.nva.doi.datacite.clients.exception.DeleteDraftDoiException;
 import no.unit.nva.doi.datacite.clients.exception.DeleteMetadataException;
 import no.unit.nva.doi.datacite.clients.exception.GetDoiException;
+import no.unit.nva.doi.datacite.clients.exception.PublishDoiException;
 import no.unit.nva.doi.datacite.clients.exception.SetLandingPageException;
 import no.unit.nva.doi.datacite.clients.exception.UpdateMetadataException;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor.HttpRequestAttempt;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
 import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientConfig;
 import no.unit.nva.doi.datacite.restclient.DataCiteRestConnection;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
 import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
 import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.datacite.suffix.DoiSuffixGenerator;
 import no.unit.nva.doi.models.Doi;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,6 +47,19 @@ import org.slf4j.LoggerFactory;
  *
  * <p>Notice in DataCite APIs, de-listed state is registered.
  *
+ * <p>With an enabled {@link DoiStateCache}, {@link #getDoi(URI, Doi)} returns the cached state of a DOI without
+ * reaching DataCite. The state changes made by this client are written through the cache: a created DOI is a draft,
+ * setting the landing page or publishing makes it findable, deleting the metadata makes it registered, and updating
+ * the metadata or deleting a draft removes the DOI from the cache.
+ *
+ * <p>With conditional {@link LandingPageRegistrations}, {@link #setLandingPage(URI, Doi, URI)} does not register a
+ * landing page the DOI is already findable at.
+ *
+ * <p>{@link #createDoiWithGeneratedSuffix(URI, URI)} returns a draft DOI with a suffix from the client's
+ * {@link DoiSuffixGenerator} right away, and registers it with DataCite without blocking.
+ *
+ * <p>The optional behaviours are configured with {@link #builder()}, and are all off by default.
+ *
  * @see DoiClient
  */
 public class DataCiteClient implements DoiClient {
@@ -41,8 +72,10 @@ public class DataCiteClient implements DoiClient {
     public static final String ERROR_DELETING_DOI = "Error deleting DOI";
     public static final String ERROR_COMMUNICATION_TEMPLATE = "Error during API communication: ({})";
     public static final String ERROR_GETTING_DOI = "Error getting DOI";
+    public static final String ERROR_PUBLISHING_DOI = "Error publishing DOI";
     public static final String COLON_SPACE = ": ";
     public static final String PREFIX_TEMPLATE_ENTRY = "{}";
+    public static final String SKIPPING_REGISTERED_LANDING_PAGE_LOG = "DOI {} is already findable at {}";
 
     public static final String DOI_AND_HTTP_STATUS_TEMPLATE_ENTRIES = COLON_SPACE
         + PREFIX_TEMPLATE_ENTRY
@@ -62,6 +95,9 @@ public class DataCiteClient implements DoiClient {
     public static final String ERROR_GETTING_DOI_TEMPLATE =
             ERROR_GETTING_DOI
             + DOI_AND_HTTP_STATUS_TEMPLATE_ENTRIES;
+    public static final String ERROR_PUBLISHING_DOI_TEMPLATE =
+        ERROR_PUBLISHING_DOI
+            + DOI_AND_HTTP_STATUS_TEMPLATE_ENTRIES;
 
     private static final String HTTP_FAILED_RESPONSE_MESSAGE = "{}";
     public static final String ERROR_CREATING_DOI_TEMPLATE =
@@ -72,13 +108,33 @@ public class DataCiteClient implements DoiClient {
     private static final Logger logger = LoggerFactory.getLogger(DataCiteClient.class);
     private final DataCiteConnectionFactory dataCiteApiConnectionFactory;
     private final DataCiteConfigurationFactory configFactory;
+    private final RetryingExecutor retryingExecutor;
+    private final CircuitBreakers circuitBreakers;
+    private final DoiStateCache doiStateCache;
+    private final LandingPageRegistrations landingPageRegistrations;
+    private final DoiSuffixGenerator doiSuffixGenerator;
 
     public DataCiteClient(DataCiteConfigurationFactory configFactory,
                           DataCiteConnectionFactory connectionFactory
 
     ) {
-        this.configFactory = configFactory;
-        this.dataCiteApiConnectionFactory = connectionFactory;
+        this(builder()
+            .withConfigurationFactory(configFactory)
+            .withConnectionFactory(connectionFactory));
+    }
+
+    private DataCiteClient(Builder builder) {
+        this.configFactory = builder.configFactory;
+        this.dataCiteApiConnectionFactory = builder.connectionFactory;
+        this.retryingExecutor = builder.retryingExecutor;
+        this.circuitBreakers = builder.circuitBreakers;
+        this.doiStateCache = builder.doiStateCache;
+        this.landingPageRegistrations = builder.landingPageRegistrations;
+        this.doiSuffixGenerator = builder.doiSuffixGenerator;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -98,29 +154,98 @@ public class DataCiteClient implements DoiClient {
         try {
             DataCiteRestConnection connection = prepareAuthenticatedDataCiteRestConnection(customerId);
             String doiPrefix = customerConfigInfo.getCustomerDoiPrefix();
-            HttpResponse<String> response = sendDraftDoiRequest(connection, doiPrefix);
-            DraftDoiDto responseBody = DraftDoiDto.fromJson(response.body());
+            HttpResponse<DoiAttributes> response = sendDraftDoiRequest(connection, doiPrefix);
+            DraftDoiDto responseBody = DraftDoiDto.fromAttributes(response.body());
 
-            return responseBody.toDoi(doiProxy);
+            Doi doi = responseBody.toDoi(doiProxy);
+            doiStateCache.put(doi, DoiStateCache.DRAFT);
+            return doi;
         } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("createDoi", e);
         }
     }
 
+    /**
+     * Create a draft DOI with a suffix generated by the client, without waiting for DataCite to register it.
+     *
+     * @param customerId NVA customer id
+     * @param doiProxy   the proxy of the returned DOI, or {@code null} for the default proxy.
+     * @return the DOI, which can be used right away, and its pending registration.
+     * @throws ClientException when the configuration of the customer is invalid.
+     * @see DraftDoiRegistration
+     */
+    public DraftDoiRegistration createDoiWithGeneratedSuffix(URI customerId, URI doiProxy) throws ClientException {
+        String doiPrefix = configFactory.getConfig(customerId).getCustomerDoiPrefix();
+        DataCiteRestConnection connection = prepareAuthenticatedDataCiteRestConnection(customerId);
+        String suffix = doiSuffixGenerator.generate();
+        Doi doi = DraftDoiDto.create(doiPrefix, suffix).toDoi(doiProxy);
+        CompletableFuture<Doi> registration = connection.createDoiAsync(suffix)
+            .exceptionally(failure -> {
+                throw createTransportFailure("createDoiWithGeneratedSuffix", failure);
+            })
+            .thenApply(response -> registeredDraftDoi(doi, doiPrefix, response));
+        return new DraftDoiRegistration(doi, registration);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void updateMetadata(URI customerId, Doi doi, String metadataDataCiteXml) throws ClientException {
+        updateMetadata(customerId, doi, (connection, identifier) ->
+            connection.postMetadata(identifier, metadataDataCiteXml));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateMetadata(URI customerId, Doi doi, byte[] metadataDataCiteXml) throws ClientException {
+        updateMetadata(customerId, doi, (connection, identifier) ->
+            connection.postMetadata(identifier, metadataDataCiteXml));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateMetadata(URI customerId, Doi doi, ByteBuffer metadataDataCiteXml) throws ClientException {
+        updateMetadata(customerId, doi, (connection, identifier) ->
+            connection.postMetadata(identifier, metadataDataCiteXml));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateMetadata(URI customerId, Doi doi, Supplier<? extends InputStream> metadataDataCiteXml)
+        throws ClientException {
+        updateMetadata(customerId, doi, (connection, identifier) ->
+            connection.postMetadata(identifier, metadataDataCiteXml));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateMetadata(URI customerId, Doi doi, Path metadataDataCiteXml) throws ClientException {
+        BodyPublisher metadata = openMetadataFile(metadataDataCiteXml);
+        updateMetadata(customerId, doi, (connection, identifier) -> connection.postMetadata(identifier, metadata));
+    }
+
+    private void updateMetadata(URI customerId, Doi doi, MetadataPost metadataPost) throws ClientException {
         try {
-            var response = prepareAuthenticatedMdsDataCiteConnection(customerId)
-                .postMetadata(doi.toIdentifier(), metadataDataCiteXml);
+            var connection = prepareAuthenticatedMdsDataCiteConnection(customerId);
+            var response = send(DoiClientOperation.UPDATE_METADATA, connection.getHost(),
+                () -> metadataPost.post(connection, doi.toIdentifier()));
             if (isUnsuccessfulResponse(response)) {
                 logger.error(ERROR_UPDATING_METADATA_FOR_DOI_TEMPLATE, doi.toIdentifier(), response.statusCode());
-                throw new UpdateMetadataException(doi, response.statusCode());
+                throw new UpdateMetadataException(doi, response.statusCode(), response.body());
             }
-        } catch (IOException | URISyntaxException | InterruptedException e) {
+        } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("updateMetadata", e);
+        } finally {
+            doiStateCache.invalidate(doi);
         }
     }
 
@@ -129,31 +254,81 @@ public class DataCiteClient implements DoiClient {
      */
     @Override
     public void setLandingPage(URI customerId, Doi doi, URI landingPage) throws ClientException {
+        if (isFindableAt(doi, landingPage)) {
+            logger.debug(SKIPPING_REGISTERED_LANDING_PAGE_LOG, doi.toIdentifier(), landingPage);
+            landingPageRegistrations.recordSkipped();
+            return;
+        }
+        doiStateCache.invalidate(doi);
         try {
-            var response = prepareAuthenticatedMdsDataCiteConnection(customerId)
-                .registerUrl(doi.toIdentifier(), landingPage.toASCIIString());
+            var connection = prepareAuthenticatedMdsDataCiteConnection(customerId);
+            var response = send(DoiClientOperation.SET_LANDING_PAGE, connection.getHost(),
+                () -> connection.registerUrl(doi.toIdentifier(), landingPage.toASCIIString()));
             if (isUnsuccessfulResponse(response)) {
                 logger.error(ERROR_SETTING_DOI_URL_TEMPLATE, doi.toIdentifier(), response.statusCode());
-                throw new SetLandingPageException(doi, response.statusCode());
+                throw new SetLandingPageException(doi, response.statusCode(), response.body());
             }
-        } catch (IOException | URISyntaxException | InterruptedException e) {
+            landingPageRegistrations.recordSent(doi, landingPage);
+            doiStateCache.put(doi, new DoiStateDto(doi.toIdentifier(), DoiStateCache.FINDABLE,
+                landingPage.toASCIIString()));
+        } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("setLandingPage", e);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Sends the metadata and the landing page in one PUT request to the DataCite REST API, with the publish event.
+     */
+    @Override
+    public void publishDoi(URI customerId, Doi doi, String metadataDataCiteXml, URI landingPage)
+        throws ClientException {
+        doiStateCache.invalidate(doi);
+        try {
+            var connection = prepareAuthenticatedDataCiteRestConnection(customerId);
+            var response = send(DoiClientOperation.PUBLISH_DOI, connection.getHost(),
+                () -> connection.publishDoi(doi.toIdentifier(), landingPage.toASCIIString(), metadataDataCiteXml));
+            if (isUnsuccessfulResponse(response)) {
+                logger.error(ERROR_PUBLISHING_DOI_TEMPLATE, doi.toIdentifier(), response.statusCode());
+                throw new PublishDoiException(doi, response.statusCode(), response.body().getUnparsedBody());
+            }
+            landingPageRegistrations.recordSent(doi, landingPage);
+            doiStateCache.put(doi, new DoiStateDto(doi.toIdentifier(), DoiStateCache.FINDABLE,
+                landingPage.toASCIIString()));
+        } catch (IOException | InterruptedException e) {
+            throw logAndCreateClientException("publishDoi", e);
+        }
+    }
+
+    private boolean isFindableAt(Doi doi, URI landingPage) {
+        if (!landingPageRegistrations.isConditional()) {
+            return false;
+        }
+        return landingPageRegistrations.isRegistered(doi, landingPage)
+               || doiStateCache.get(doi)
+                   .filter(state -> DoiStateCache.FINDABLE.equals(state.getState()))
+                   .filter(state -> landingPage.toASCIIString().equals(state.getUrl()))
+                   .isPresent();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void deleteMetadata(URI customerId, Doi doi) throws ClientException {
+        doiStateCache.invalidate(doi);
+        landingPageRegistrations.forget(doi);
         try {
-            var response = prepareAuthenticatedMdsDataCiteConnection(customerId)
-                .deleteMetadata(doi.toIdentifier());
+            var connection = prepareAuthenticatedMdsDataCiteConnection(customerId);
+            var response = send(DoiClientOperation.DELETE_METADATA, connection.getHost(),
+                () -> connection.deleteMetadata(doi.toIdentifier()));
             if (isUnsuccessfulResponse(response)) {
                 logger.error(ERROR_DELETING_DOI_METADATA_TEMPLATE, doi.toIdentifier(), response.statusCode());
-                throw new DeleteMetadataException(doi, response.statusCode());
+                throw new DeleteMetadataException(doi, response.statusCode(), response.body());
             }
-        } catch (IOException | URISyntaxException | InterruptedException e) {
+            doiStateCache.put(doi, DoiStateCache.REGISTERED);
+        } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("deleteMetadata", e);
         }
     }
@@ -164,44 +339,87 @@ public class DataCiteClient implements DoiClient {
     @Override
     public void deleteDraftDoi(URI customerId, Doi doi) throws ClientException {
         try {
-            var response = prepareAuthenticatedMdsDataCiteConnection(customerId)
-                .deleteDoi(doi.toIdentifier());
+            var connection = prepareAuthenticatedMdsDataCiteConnection(customerId);
+            var response = send(DoiClientOperation.DELETE_DRAFT_DOI, connection.getHost(),
+                () -> connection.deleteDoi(doi.toIdentifier()));
             if (isUnsuccessfulResponse(response)) {
                 logger.error(ERROR_DELETING_DOI_TEMPLATE, doi.toIdentifier(), response.statusCode());
-                throw new DeleteDraftDoiException(doi, response.statusCode());
+                throw new DeleteDraftDoiException(doi, response.statusCode(), response.body());
             }
-        } catch (IOException | URISyntaxException | InterruptedException e) {
+        } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("deleteDraftDoi", e);
+        } finally {
+            doiStateCache.invalidate(doi);
+            landingPageRegistrations.forget(doi);
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Returns the cached state when the DOI is in the {@link DoiStateCache}, and caches the state read from
+     * DataCite otherwise.
+     */
     @Override
     public DoiStateDto getDoi(URI customerId, Doi doi) throws ClientException {
+        Optional<DoiStateDto> cachedState = doiStateCache.get(doi);
+        if (cachedState.isPresent()) {
+            return cachedState.get();
+        }
         try {
-            var response = prepareAuthenticatedDataCiteRestConnection(customerId)
-                .getDoi(doi.toIdentifier());
+            var connection = prepareAuthenticatedDataCiteRestConnection(customerId);
+            var response = send(DoiClientOperation.GET_DOI, connection.getHost(),
+                () -> connection.getDoi(doi.toIdentifier()));
             if (isUnsuccessfulResponse(response)) {
                 logger.error(ERROR_GETTING_DOI_TEMPLATE, doi.toIdentifier(), response.statusCode());
                 throw new GetDoiException(doi, response.statusCode());
             }
-            return DoiStateDto.fromJson(response.body());
+            DoiStateDto state = DoiStateDto.fromAttributes(response.body());
+            doiStateCache.put(doi, state);
+            return state;
         } catch (IOException | InterruptedException e) {
             throw logAndCreateClientException("getDoi", e);
         }
     }
 
-    private HttpResponse<String> sendDraftDoiRequest(DataCiteRestConnection connection, String prefix)
-        throws IOException, InterruptedException, CreateDoiException {
-        HttpResponse<String> response = connection.createDoi();
+    private HttpResponse<DoiAttributes> sendDraftDoiRequest(DataCiteRestConnection connection, String prefix)
+        throws IOException, InterruptedException, CreateDoiException,
+               CircuitBreakerOpenException {
+        HttpResponse<DoiAttributes> response = send(DoiClientOperation.CREATE_DOI, connection.getHost(),
+            connection::createDoi);
         if (isUnsuccessfulResponse(response)) {
             throw handleUnsuccessfulResponse(prefix, response);
         }
         return response;
     }
 
-    private CreateDoiException handleUnsuccessfulResponse(String prefix, HttpResponse<String> response) {
-        logger.error(ERROR_CREATING_DOI_TEMPLATE, prefix, response.statusCode(), response.body());
-        return new CreateDoiException(prefix, response.statusCode(), response.body());
+    private Doi registeredDraftDoi(Doi doi, String prefix, HttpResponse<DoiAttributes> response) {
+        if (isUnsuccessfulResponse(response)) {
+            throw new CompletionException(handleUnsuccessfulResponse(prefix, response));
+        }
+        doiStateCache.put(doi, DoiStateCache.DRAFT);
+        return doi;
+    }
+
+    private CompletionException createTransportFailure(String doiClientMethodName, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && nonNull(failure.getCause())
+            ? failure.getCause()
+            : failure;
+        if (cause instanceof Exception) {
+            return new CompletionException(logAndCreateClientException(doiClientMethodName, (Exception) cause));
+        }
+        return new CompletionException(cause);
+    }
+
+    private <T> HttpResponse<T> send(DoiClientOperation operation, String host, HttpRequestAttempt<T> request)
+        throws CircuitBreakerOpenException, IOException, InterruptedException {
+        return circuitBreakers.execute(host, operation, () -> retryingExecutor.execute(operation, request));
+    }
+
+    private CreateDoiException handleUnsuccessfulResponse(String prefix, HttpResponse<DoiAttributes> response) {
+        String responseBody = response.body().getUnparsedBody();
+        logger.error(ERROR_CREATING_DOI_TEMPLATE, prefix, response.statusCode(), responseBody);
+        return new CreateDoiException(prefix, response.statusCode(), responseBody);
     }
 
     private DataCiteMdsConnection prepareAuthenticatedMdsDataCiteConnection(URI customerId) {
@@ -212,12 +430,116 @@ public class DataCiteClient implements DoiClient {
         return dataCiteApiConnectionFactory.getAuthenticatedRestConnection(customerId);
     }
 
+    private BodyPublisher openMetadataFile(Path metadataDataCiteXml) throws ClientException {
+        try {
+            return BodyPublishers.ofFile(metadataDataCiteXml);
+        } catch (FileNotFoundException e) {
+            throw logAndCreateClientException("updateMetadata", e);
+        }
+    }
+
     private ClientException logAndCreateClientException(String doiClientMethodName, Exception parentException) {
         logger.error(ERROR_COMMUNICATION_TEMPLATE, doiClientMethodName);
         return new ClientException(doiClientMethodName, parentException);
     }
 
-    private boolean isUnsuccessfulResponse(HttpResponse<String> response) {
+    private boolean isUnsuccessfulResponse(HttpResponse<?> response) {
         return response.statusCode() / 100 != 2;
     }
+
+    /**
+     * Posts metadata for a DOI in one of the body representations supported by {@link DataCiteMdsConnection}.
+     */
+    @FunctionalInterface
+    private interface MetadataPost {
+
+        HttpResponse<String> post(DataCiteMdsConnection connection, String doiIdentifier)
+            throws IOException, InterruptedException;
+    }
+
+    /**
+     * Builder for {@link DataCiteClient}.
+     */
+    public static final class Builder {
+
+        private DataCiteConfigurationFactory configFactory;
+        private DataCiteConnectionFactory connectionFactory;
+        private RetryingExecutor retryingExecutor = RetryingExecutor.noRetries();
+        private CircuitBreakers circuitBreakers = CircuitBreakers.disabled();
+        private DoiStateCache doiStateCache = DoiStateCache.disabled();
+        private LandingPageRegistrations landingPageRegistrations = LandingPageRegistrations.unconditional();
+        private DoiSuffixGenerator doiSuffixGenerator = DoiSuffixGenerator.withDefaults();
+
+        private Builder() {
+        }
+
+        public Builder withConfigurationFactory(DataCiteConfigurationFactory configFactory) {
+            this.configFactory = configFactory;
+            return this;
+        }
+
+        public Builder withConnectionFactory(DataCiteConnectionFactory connectionFactory) {
+            this.connectionFactory = connectionFactory;
+            return this;
+        }
+
+        /**
+         * Retry transient DataCite failures.
+         *
+         * @param retryingExecutor decides which failed requests are retried, and when.
+         * @return the builder
+         */
+        public Builder withRetryingExecutor(RetryingExecutor retryingExecutor) {
+            this.retryingExecutor = retryingExecutor;
+            return this;
+        }
+
+        /**
+         * Fail fast with a {@link CircuitBreakerOpenException} while DataCite is failing.
+         *
+         * @param circuitBreakers circuit breakers per DataCite host and operation.
+         * @return the builder
+         */
+        public Builder withCircuitBreakers(CircuitBreakers circuitBreakers) {
+            this.circuitBreakers = circuitBreakers;
+            return this;
+        }
+
+        /**
+         * Answer {@link DataCiteClient#getDoi(URI, Doi)} from a cache of DOI states.
+         *
+         * @param doiStateCache cache of DOI states, updated by the client's own changes.
+         * @return the builder
+         */
+        public Builder withDoiStateCache(DoiStateCache doiStateCache) {
+            this.doiStateCache = doiStateCache;
+            return this;
+        }
+
+        /**
+         * Skip registering landing pages DOIs are already findable at.
+         *
+         * @param landingPageRegistrations decides which landing page registrations are sent, and counts them.
+         * @return the builder
+         */
+        public Builder withLandingPageRegistrations(LandingPageRegistrations landingPageRegistrations) {
+            this.landingPageRegistrations = landingPageRegistrations;
+            return this;
+        }
+
+        /**
+         * Generate the suffixes of {@link DataCiteClient#createDoiWithGeneratedSuffix(URI, URI)}.
+         *
+         * @param doiSuffixGenerator generates the suffixes of new DOIs.
+         * @return the builder
+         */
+        public Builder withDoiSuffixGenerator(DoiSuffixGenerator doiSuffixGenerator) {
+            this.doiSuffixGenerator = doiSuffixGenerator;
+            return this;
+        }
+
+        public DataCiteClient build() {
+            return new DataCiteClient(this);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package no.unit.nva.doi.datacite.clients;
+
+import no.unit.nva.doi.DoiClient;
+
+/**
+ * The operations of {@link DoiClient}, used to configure behaviour per operation.
+ *
+ * <p>An operation is idempotent when repeating the same request leaves DataCite in the same state as sending it once.
+ * Creating a draft DOI is not idempotent, as every request reserves a new DOI. Deleting is not treated as idempotent
+ * either, since a repeated delete fails once the first one has succeeded.
+ */
+public enum DoiClientOperation {
+    CREATE_DOI("createDoi", false),
+    UPDATE_METADATA("updateMetadata", true),
+    SET_LANDING_PAGE("setLandingPage", true),
+    PUBLISH_DOI("publishDoi", true),
+    DELETE_METADATA("deleteMetadata", false),
+    DELETE_DRAFT_DOI("deleteDraftDoi", false),
+    GET_DOI("getDoi", true);
+
+    private final String methodName;
+    private final boolean idempotent;
+
+    DoiClientOperation(String methodName, boolean idempotent) {
+        this.methodName = methodName;
+        this.idempotent = idempotent;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+}
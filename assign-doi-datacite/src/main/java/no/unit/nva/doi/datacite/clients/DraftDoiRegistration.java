@@ -0,0 +1,35 @@
+package no.unit.nva.doi.datacite.clients;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * A draft DOI with a suffix generated by the client, and its pending registration with DataCite.
+ *
+ * <p>The DOI is known before DataCite has registered it, so it can be used right away while the registration
+ * completes. The registration completes with the DOI once DataCite has registered it. It completes exceptionally with
+ * a {@link CreateDoiException} when DataCite rejects the DOI, with status code 422 or 409 when the generated DOI is
+ * taken, and with a {@link ClientException} when DataCite cannot be reached. A DOI whose registration failed is not
+ * registered, and should be replaced by a new one from {@link DataCiteClient#createDoiWithGeneratedSuffix(URI, URI)}.
+ */
+public class DraftDoiRegistration {
+
+    private final Doi doi;
+    private final CompletableFuture<Doi> registration;
+
+    public DraftDoiRegistration(Doi doi, CompletableFuture<Doi> registration) {
+        this.doi = doi;
+        this.registration = registration;
+    }
+
+    public Doi getDoi() {
+        return doi;
+    }
+
+    public CompletableFuture<Doi> getRegistration() {
+        return registration;
+    }
+}
@@ -0,0 +1,99 @@
+package no.unit.nva.doi.datacite.clients;
+
+import static java.util.Objects.nonNull;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.doi.datacite.cache.ExpiringCache;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Decides whether {@link DataCiteClient#setLandingPage(URI, Doi, URI)} registers the landing page of a DOI, and counts
+ * the registrations sent and skipped.
+ *
+ * <p>Unconditional registrations are always sent. Conditional registrations remember the landing page last registered
+ * for each DOI, and are skipped when the DOI is already findable at the same landing page. The client also skips a
+ * registration when its cached state of the DOI is findable at the same landing page. Deleting the metadata or the
+ * draft of a DOI forgets its landing page.
+ *
+ * <p>Only use conditional registrations when this client is the only one registering landing pages of the DOIs, since
+ * changes made elsewhere are not noticed.
+ */
+public class LandingPageRegistrations {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_IDLE_EXPIRY = Duration.ofDays(1);
+    private static final ExpiringCache<String, String> NO_REGISTRATIONS = null;
+
+    private final ExpiringCache<String, String> registeredLandingPages;
+    private final LongAdder sentRegistrations = new LongAdder();
+    private final LongAdder skippedRegistrations = new LongAdder();
+
+    public LandingPageRegistrations(ExpiringCache<String, String> registeredLandingPages) {
+        this.registeredLandingPages = registeredLandingPages;
+    }
+
+    public static LandingPageRegistrations unconditional() {
+        return new LandingPageRegistrations(NO_REGISTRATIONS);
+    }
+
+    public static LandingPageRegistrations conditional() {
+        return new LandingPageRegistrations(new ExpiringCache<>(DEFAULT_MAXIMUM_SIZE, DEFAULT_IDLE_EXPIRY));
+    }
+
+    public boolean isConditional() {
+        return nonNull(registeredLandingPages);
+    }
+
+    /**
+     * Whether the landing page of a DOI was last registered as the given landing page.
+     *
+     * @param doi         the DOI
+     * @param landingPage the landing page about to be registered.
+     * @return {@code true} if registering the landing page can be skipped.
+     */
+    public boolean isRegistered(Doi doi, URI landingPage) {
+        return isConditional() && landingPage.toASCIIString().equals(registeredLandingPages.get(toKey(doi)));
+    }
+
+    /**
+     * Remember a landing page DataCite has registered.
+     *
+     * @param doi         the DOI
+     * @param landingPage the registered landing page.
+     */
+    public void recordSent(Doi doi, URI landingPage) {
+        sentRegistrations.increment();
+        if (isConditional()) {
+            registeredLandingPages.put(toKey(doi), landingPage.toASCIIString());
+        }
+    }
+
+    public void recordSkipped() {
+        skippedRegistrations.increment();
+    }
+
+    /**
+     * Forget the landing page of a DOI, which must be registered again to make the DOI findable.
+     *
+     * @param doi the DOI
+     */
+    public void forget(Doi doi) {
+        if (isConditional()) {
+            registeredLandingPages.invalidate(toKey(doi));
+        }
+    }
+
+    public long getSentRegistrations() {
+        return sentRegistrations.sum();
+    }
+
+    public long getSkippedRegistrations() {
+        return skippedRegistrations.sum();
+    }
+
+    private static String toKey(Doi doi) {
+        return doi.toIdentifier().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,151 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count based circuit breaker for one DataCite host and operation.
+ *
+ * <p>While {@link State#CLOSED} every call is permitted and its outcome recorded in a sliding window. When the
+ * failure rate or the slow call rate in the window reaches its threshold, the breaker turns {@link State#OPEN} and
+ * rejects every call. Once the wait duration has passed it turns {@link State#HALF_OPEN} and permits a few trial
+ * calls, whose outcome decide whether it closes or opens again.
+ *
+ * @see CircuitBreakerConfig
+ */
+public class CircuitBreaker {
+
+    public static final String STATE_TRANSITION_LOG = "Circuit breaker {} changed from {} to {}";
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final CircuitBreakerConfig config;
+    private final LongSupplier nanoClock;
+    private final Object lock = new Object();
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recordedCalls;
+    private int nextIndex;
+    private int failedCallCount;
+    private int slowCallCount;
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermitsIssued;
+
+    /**
+     * Construct a closed {@link CircuitBreaker}.
+     *
+     * @param name      name used when logging state changes.
+     * @param config    thresholds and timing of the breaker.
+     * @param nanoClock source of monotonic time in nanoseconds, like {@link System#nanoTime()}.
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        int capacity = Math.max(config.getSlidingWindowSize(), config.getPermittedCallsInHalfOpenState());
+        this.failedCalls = new boolean[capacity];
+        this.slowCalls = new boolean[capacity];
+    }
+
+    public State getState() {
+        synchronized (lock) {
+            return state;
+        }
+    }
+
+    /**
+     * Ask for permission to make a call.
+     *
+     * @return {@code true} if the call may be made, {@code false} if it must be rejected.
+     */
+    public boolean tryAcquirePermission() {
+        synchronized (lock) {
+            if (state == State.OPEN && waitInOpenStateHasPassed()) {
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                return issueHalfOpenPermit();
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param failed   whether the call failed.
+     * @param duration how long the call took.
+     */
+    public void onResult(boolean failed, Duration duration) {
+        boolean slow = duration.compareTo(config.getSlowCallDurationThreshold()) >= 0;
+        synchronized (lock) {
+            if (state == State.OPEN) {
+                return;
+            }
+            record(failed, slow);
+            if (state == State.HALF_OPEN && recordedCalls >= config.getPermittedCallsInHalfOpenState()) {
+                transitionTo(thresholdsAreReached() ? State.OPEN : State.CLOSED);
+            } else if (state == State.CLOSED && recordedCalls >= config.getMinimumNumberOfCalls()
+                       && thresholdsAreReached()) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private boolean issueHalfOpenPermit() {
+        if (halfOpenPermitsIssued >= config.getPermittedCallsInHalfOpenState() && waitInOpenStateHasPassed()) {
+            // Trial calls that never reported a result must not keep the breaker half-open forever.
+            transitionTo(State.HALF_OPEN);
+        }
+        if (halfOpenPermitsIssued < config.getPermittedCallsInHalfOpenState()) {
+            halfOpenPermitsIssued++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean waitInOpenStateHasPassed() {
+        return nanoClock.getAsLong() - openedAtNanos >= config.getWaitDurationInOpenState().toNanos();
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recordedCalls == failedCalls.length) {
+            failedCallCount -= failedCalls[nextIndex] ? 1 : 0;
+            slowCallCount -= slowCalls[nextIndex] ? 1 : 0;
+        } else {
+            recordedCalls++;
+        }
+        failedCalls[nextIndex] = failed;
+        slowCalls[nextIndex] = slow;
+        failedCallCount += failed ? 1 : 0;
+        slowCallCount += slow ? 1 : 0;
+        nextIndex = (nextIndex + 1) % failedCalls.length;
+    }
+
+    private boolean thresholdsAreReached() {
+        double failureRate = (double) failedCallCount / recordedCalls;
+        double slowCallRate = (double) slowCallCount / recordedCalls;
+        return failureRate >= config.getFailureRateThreshold()
+               || slowCallRate >= config.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State newState) {
+        logger.warn(STATE_TRANSITION_LOG, name, state, newState);
+        state = newState;
+        recordedCalls = 0;
+        nextIndex = 0;
+        failedCallCount = 0;
+        slowCallCount = 0;
+        halfOpenPermitsIssued = 0;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
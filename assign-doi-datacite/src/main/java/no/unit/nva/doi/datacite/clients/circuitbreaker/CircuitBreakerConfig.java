@@ -0,0 +1,157 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import java.time.Duration;
+
+/**
+ * When a {@link CircuitBreaker} opens, and how it recovers.
+ *
+ * <p>The breaker looks at the outcome of the last {@code slidingWindowSize} calls. Once at least
+ * {@code minimumNumberOfCalls} have been made, it opens when the share of failed calls reaches
+ * {@code failureRateThreshold}, or the share of calls slower than {@code slowCallDurationThreshold} reaches
+ * {@code slowCallRateThreshold}. After {@code waitDurationInOpenState} it lets {@code permittedCallsInHalfOpenState}
+ * trial calls through, and closes again if they stay below the thresholds.
+ */
+public final class CircuitBreakerConfig {
+
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+    public static final Duration DEFAULT_SLOW_CALL_DURATION_THRESHOLD = Duration.ofSeconds(5);
+    public static final int DEFAULT_SLIDING_WINDOW_SIZE = 10;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 5;
+    public static final Duration DEFAULT_WAIT_DURATION_IN_OPEN_STATE = Duration.ofSeconds(30);
+    public static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 2;
+    public static final String ILLEGAL_RATE_THRESHOLD = "Rate thresholds must be greater than 0 and at most 1";
+    public static final String ILLEGAL_CALL_COUNT = "Window size and call counts must be positive";
+    public static final String ILLEGAL_MINIMUM_NUMBER_OF_CALLS =
+        "Minimum number of calls cannot be larger than the sliding window";
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDurationThreshold;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final Duration waitDurationInOpenState;
+    private final int permittedCallsInHalfOpenState;
+
+    private CircuitBreakerConfig(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationThreshold = builder.slowCallDurationThreshold;
+        this.slidingWindowSize = builder.slidingWindowSize;
+        this.minimumNumberOfCalls = builder.minimumNumberOfCalls;
+        this.waitDurationInOpenState = builder.waitDurationInOpenState;
+        this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CircuitBreakerConfig defaultConfig() {
+        return builder().build();
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double getSlowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration getSlowCallDurationThreshold() {
+        return slowCallDurationThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public Duration getWaitDurationInOpenState() {
+        return waitDurationInOpenState;
+    }
+
+    public int getPermittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    public static final class Builder {
+
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private Duration slowCallDurationThreshold = DEFAULT_SLOW_CALL_DURATION_THRESHOLD;
+        private int slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private int minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+        private Duration waitDurationInOpenState = DEFAULT_WAIT_DURATION_IN_OPEN_STATE;
+        private int permittedCallsInHalfOpenState = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+
+        private Builder() {
+        }
+
+        public Builder withFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = requireValidRate(failureRateThreshold);
+            return this;
+        }
+
+        public Builder withSlowCallRateThreshold(double slowCallRateThreshold) {
+            this.slowCallRateThreshold = requireValidRate(slowCallRateThreshold);
+            return this;
+        }
+
+        public Builder withSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+            return this;
+        }
+
+        public Builder withSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = requirePositive(slidingWindowSize);
+            return this;
+        }
+
+        public Builder withMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = requirePositive(minimumNumberOfCalls);
+            return this;
+        }
+
+        public Builder withWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+            return this;
+        }
+
+        public Builder withPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = requirePositive(permittedCallsInHalfOpenState);
+            return this;
+        }
+
+        /**
+         * Build the configuration.
+         *
+         * @return a CircuitBreakerConfig
+         * @throws IllegalArgumentException if the minimum number of calls is larger than the sliding window.
+         */
+        public CircuitBreakerConfig build() {
+            if (minimumNumberOfCalls > slidingWindowSize) {
+                throw new IllegalArgumentException(ILLEGAL_MINIMUM_NUMBER_OF_CALLS);
+            }
+            return new CircuitBreakerConfig(this);
+        }
+
+        private static double requireValidRate(double rate) {
+            if (rate <= 0 || rate > 1) {
+                throw new IllegalArgumentException(ILLEGAL_RATE_THRESHOLD);
+            }
+            return rate;
+        }
+
+        private static int requirePositive(int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException(ILLEGAL_CALL_COUNT);
+            }
+            return count;
+        }
+    }
+}
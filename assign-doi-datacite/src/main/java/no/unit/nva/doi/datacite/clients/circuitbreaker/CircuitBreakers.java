@@ -0,0 +1,101 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import static java.util.Objects.isNull;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import no.unit.nva.doi.datacite.clients.DoiClientOperation;
+import no.unit.nva.doi.datacite.clients.exception.CircuitBreakerOpenException;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor.HttpRequestAttempt;
+
+/**
+ * One {@link CircuitBreaker} per DataCite host and {@link DoiClientOperation}, so that an outage of the MDS API does
+ * not stop calls to the REST API, and a failing operation does not stop the others.
+ *
+ * <p>A call fails when it ends with a transport failure or a 5xx response. Other error responses mean DataCite is
+ * up, and do not count as failures.
+ */
+public class CircuitBreakers {
+
+    public static final String NAME_SEPARATOR = "/";
+    private static final int FIRST_SERVER_ERROR_STATUS_CODE = 500;
+    private static final CircuitBreakerConfig NO_CIRCUIT_BREAKERS = null;
+
+    private final CircuitBreakerConfig config;
+    private final LongSupplier nanoClock;
+    private final Map<String, CircuitBreaker> circuitBreakersByName = new ConcurrentHashMap<>();
+
+    public CircuitBreakers(CircuitBreakerConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Constructor for testing.
+     *
+     * @param config    configuration of every circuit breaker.
+     * @param nanoClock source of monotonic time in nanoseconds.
+     */
+    public CircuitBreakers(CircuitBreakerConfig config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+    }
+
+    public static CircuitBreakers withDefaults() {
+        return new CircuitBreakers(CircuitBreakerConfig.defaultConfig());
+    }
+
+    public static CircuitBreakers disabled() {
+        return new CircuitBreakers(NO_CIRCUIT_BREAKERS);
+    }
+
+    /**
+     * Send the request unless the circuit breaker of the host and operation is open, and record its outcome.
+     *
+     * @param <T>       the type of the response body.
+     * @param host      DataCite host the request is sent to.
+     * @param operation the DoiClient operation the request belongs to.
+     * @param request   sends the request.
+     * @return the response.
+     * @throws CircuitBreakerOpenException when the circuit breaker rejects the request.
+     * @throws IOException                 IOException
+     * @throws InterruptedException        InterruptedException
+     */
+    public <T> HttpResponse<T> execute(String host, DoiClientOperation operation, HttpRequestAttempt<T> request)
+        throws CircuitBreakerOpenException, IOException, InterruptedException {
+        if (isNull(config)) {
+            return request.send();
+        }
+        CircuitBreaker circuitBreaker = getCircuitBreaker(host, operation);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new CircuitBreakerOpenException(host, operation.getMethodName());
+        }
+        long start = nanoClock.getAsLong();
+        try {
+            HttpResponse<T> response = request.send();
+            circuitBreaker.onResult(response.statusCode() >= FIRST_SERVER_ERROR_STATUS_CODE, elapsedSince(start));
+            return response;
+        } catch (IOException e) {
+            circuitBreaker.onResult(true, elapsedSince(start));
+            throw e;
+        }
+    }
+
+    /**
+     * Get the circuit breaker of a host and operation.
+     *
+     * @param host      DataCite host.
+     * @param operation DoiClient operation.
+     * @return the same CircuitBreaker for every call with the same host and operation.
+     */
+    public CircuitBreaker getCircuitBreaker(String host, DoiClientOperation operation) {
+        String name = host + NAME_SEPARATOR + operation.getMethodName();
+        return circuitBreakersByName.computeIfAbsent(name, key -> new CircuitBreaker(key, config, nanoClock));
+    }
+
+    private Duration elapsedSince(long start) {
+        return Duration.ofNanos(nanoClock.getAsLong() - start);
+    }
+}
@@ -0,0 +1,30 @@
+package no.unit.nva.doi.datacite.clients.exception;
+
+import nva.commons.core.JacocoGenerated;
+
+/**
+ * Exception thrown without contacting DataCite while the circuit breaker of a host and operation is open.
+ */
+@JacocoGenerated
+public class CircuitBreakerOpenException extends ClientException {
+
+    public static final String CIRCUIT_BREAKER_OPEN_MESSAGE =
+        "Circuit breaker open for %s towards %s, not sending request";
+
+    private final String host;
+    private final String doiClientMethodName;
+
+    public CircuitBreakerOpenException(String host, String doiClientMethodName) {
+        super(String.format(CIRCUIT_BREAKER_OPEN_MESSAGE, doiClientMethodName, host));
+        this.host = host;
+        this.doiClientMethodName = doiClientMethodName;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public String getDoiClientMethodName() {
+        return doiClientMethodName;
+    }
+}
@@ -0,0 +1,23 @@
+package no.unit.nva.doi.datacite.clients.exception;
+
+import no.unit.nva.doi.models.Doi;
+import nva.commons.core.JacocoGenerated;
+
+@JacocoGenerated
+public class PublishDoiException extends UpstreamApiException {
+
+    private final Doi doi;
+
+    public PublishDoiException(Doi doi, int statusCode) {
+        this(doi, statusCode, null);
+    }
+
+    public PublishDoiException(Doi doi, int statusCode, String responseBody) {
+        super(statusCode, formatResponseMessage(doi.toIdentifier(), statusCode, responseBody));
+        this.doi = doi;
+    }
+
+    public Doi getDoi() {
+        return doi;
+    }
+}
@@ -9,7 +9,11 @@ public class SetLandingPageException extends UpstreamApiException {
     private final Doi doi;
 
     public SetLandingPageException(Doi doi, int statusCode) {
-        super(statusCode, String.format(ERROR_MESSAGE_FORMAT, doi.toIdentifier(), statusCode));
+        this(doi, statusCode, null);
+    }
+
+    public SetLandingPageException(Doi doi, int statusCode, String responseBody) {
+        super(statusCode, formatResponseMessage(doi.toIdentifier(), statusCode, responseBody));
         this.doi = doi;
     }
 
@@ -9,7 +9,11 @@ public class UpdateMetadataException extends UpstreamApiException {
     private final Doi doi;
 
     public UpdateMetadataException(Doi doi, int statusCode) {
-        super(statusCode, String.format(ERROR_MESSAGE_FORMAT, doi.toIdentifier(), statusCode));
+        this(doi, statusCode, null);
+    }
+
+    public UpdateMetadataException(Doi doi, int statusCode, String responseBody) {
+        super(statusCode, formatResponseMessage(doi.toIdentifier(), statusCode, responseBody));
         this.doi = doi;
     }
 
@@ -1,5 +1,6 @@
 package no.unit.nva.doi.datacite.clients.exception;
 
+import static java.util.Objects.isNull;
 import nva.commons.core.JacocoGenerated;
 
 /**
@@ -9,6 +10,7 @@ import nva.commons.core.JacocoGenerated;
 public class UpstreamApiException extends ClientException {
 
     protected static final String ERROR_MESSAGE_FORMAT = "%s (%s)";
+    protected static final String ERROR_MESSAGE_WITH_DETAILS_FORMAT = ERROR_MESSAGE_FORMAT + ": %s";
 
     private final int statusCode;
 
@@ -17,6 +19,21 @@ public class UpstreamApiException extends ClientException {
         this.statusCode = statusCode;
     }
 
+    /**
+     * Format the message of an unsuccessful response.
+     *
+     * @param subject      what the request was about, like a DOI.
+     * @param statusCode   http status code of the response.
+     * @param responseBody (the start of) the response body, or {@code null} or empty when there is none.
+     * @return the message.
+     */
+    protected static String formatResponseMessage(String subject, int statusCode, String responseBody) {
+        if (isNull(responseBody) || responseBody.isBlank()) {
+            return String.format(ERROR_MESSAGE_FORMAT, subject, statusCode);
+        }
+        return String.format(ERROR_MESSAGE_WITH_DETAILS_FORMAT, subject, statusCode, responseBody);
+    }
+
     /**
      * Retrieve http status code from upstream API.
      *
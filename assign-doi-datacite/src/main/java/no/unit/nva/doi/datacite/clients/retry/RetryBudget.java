@@ -0,0 +1,64 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+/**
+ * Limits retries across all operations of a client, so that retries cannot multiply the load on DataCite during an
+ * outage.
+ *
+ * <p>The budget holds up to {@code maximumTokens} tokens and starts full. Every retry spends one token, and every
+ * successful request earns {@code tokensPerSuccess} back. With the defaults, at most one retry per ten successful
+ * requests is allowed once the initial tokens are spent.
+ */
+public class RetryBudget {
+
+    public static final int DEFAULT_MAXIMUM_TOKENS = 20;
+    public static final double DEFAULT_TOKENS_PER_SUCCESS = 0.1;
+    private static final double RETRY_COST = 1.0;
+
+    private final double maximumTokens;
+    private final double tokensPerSuccess;
+    private final Object lock = new Object();
+    private double tokens;
+
+    /**
+     * Construct a {@link RetryBudget}.
+     *
+     * @param maximumTokens    maximum number of retries that can be saved up.
+     * @param tokensPerSuccess tokens earned back by each successful request.
+     */
+    public RetryBudget(int maximumTokens, double tokensPerSuccess) {
+        this.maximumTokens = maximumTokens;
+        this.tokensPerSuccess = tokensPerSuccess;
+        this.tokens = maximumTokens;
+    }
+
+    public static RetryBudget defaultBudget() {
+        return new RetryBudget(DEFAULT_MAXIMUM_TOKENS, DEFAULT_TOKENS_PER_SUCCESS);
+    }
+
+    /**
+     * Spend a token for a retry, if there is one left.
+     *
+     * @return {@code true} if the retry may be sent.
+     */
+    public boolean tryAcquireRetry() {
+        synchronized (lock) {
+            if (tokens < RETRY_COST) {
+                return false;
+            }
+            tokens -= RETRY_COST;
+            return true;
+        }
+    }
+
+    public void recordSuccess() {
+        synchronized (lock) {
+            tokens = Math.min(maximumTokens, tokens + tokensPerSuccess);
+        }
+    }
+
+    public double getAvailableTokens() {
+        synchronized (lock) {
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import java.net.HttpURLConnection;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * How many times, and how long apart, a DataCite request may be attempted.
+ *
+ * <p>The delay before retry number {@code n} is drawn uniformly between zero and
+ * {@code min(maximumDelay, baseDelay * 2^(n-1))} ("full jitter"), so that clients failing together do not retry
+ * together. When DataCite answers with a {@code Retry-After} header, that delay is used instead, unless it is longer
+ * than {@code maximumDelay}, in which case the request is not retried.
+ */
+public final class RetryPolicy {
+
+    public static final int TOO_MANY_REQUESTS = 429;
+    public static final Set<Integer> DEFAULT_RETRYABLE_STATUS_CODES = Set.of(
+        TOO_MANY_REQUESTS,
+        HttpURLConnection.HTTP_BAD_GATEWAY,
+        HttpURLConnection.HTTP_UNAVAILABLE,
+        HttpURLConnection.HTTP_GATEWAY_TIMEOUT);
+    public static final int DEFAULT_MAXIMUM_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(200);
+    public static final Duration DEFAULT_MAXIMUM_DELAY = Duration.ofSeconds(2);
+    public static final String ILLEGAL_MAXIMUM_ATTEMPTS = "Maximum attempts must be positive";
+    private static final int MAXIMUM_BACKOFF_SHIFT = 30;
+
+    private final int maximumAttempts;
+    private final Duration baseDelay;
+    private final Duration maximumDelay;
+    private final Set<Integer> retryableStatusCodes;
+
+    private RetryPolicy(Builder builder) {
+        this.maximumAttempts = builder.maximumAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maximumDelay = builder.maximumDelay;
+        this.retryableStatusCodes = Set.copyOf(builder.retryableStatusCodes);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static RetryPolicy defaultPolicy() {
+        return builder().build();
+    }
+
+    public static RetryPolicy noRetries() {
+        return builder().withMaximumAttempts(1).build();
+    }
+
+    public int getMaximumAttempts() {
+        return maximumAttempts;
+    }
+
+    public Duration getMaximumDelay() {
+        return maximumDelay;
+    }
+
+    public boolean isRetryableStatusCode(int statusCode) {
+        return retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * Upper bound of the jittered delay before a retry.
+     *
+     * @param retryNumber 1 for the first retry, 2 for the second, and so on.
+     * @return the exponential backoff, capped at the maximum delay.
+     */
+    public Duration backoffCeiling(int retryNumber) {
+        int shift = Math.min(retryNumber - 1, MAXIMUM_BACKOFF_SHIFT);
+        long backoffMillis = baseDelay.toMillis() << shift;
+        return backoffMillis < 0 || backoffMillis > maximumDelay.toMillis()
+            ? maximumDelay
+            : Duration.ofMillis(backoffMillis);
+    }
+
+    public static final class Builder {
+
+        private int maximumAttempts = DEFAULT_MAXIMUM_ATTEMPTS;
+        private Duration baseDelay = DEFAULT_BASE_DELAY;
+        private Duration maximumDelay = DEFAULT_MAXIMUM_DELAY;
+        private Set<Integer> retryableStatusCodes = DEFAULT_RETRYABLE_STATUS_CODES;
+
+        private Builder() {
+        }
+
+        /**
+         * Total number of attempts, including the first one.
+         *
+         * @param maximumAttempts number of attempts, 1 disables retries.
+         * @return the builder
+         */
+        public Builder withMaximumAttempts(int maximumAttempts) {
+            if (maximumAttempts <= 0) {
+                throw new IllegalArgumentException(ILLEGAL_MAXIMUM_ATTEMPTS);
+            }
+            this.maximumAttempts = maximumAttempts;
+            return this;
+        }
+
+        public Builder withBaseDelay(Duration baseDelay) {
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        public Builder withMaximumDelay(Duration maximumDelay) {
+            this.maximumDelay = maximumDelay;
+            return this;
+        }
+
+        public Builder withRetryableStatusCodes(Set<Integer> retryableStatusCodes) {
+            this.retryableStatusCodes = retryableStatusCodes;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            return new RetryPolicy(this);
+        }
+    }
+}
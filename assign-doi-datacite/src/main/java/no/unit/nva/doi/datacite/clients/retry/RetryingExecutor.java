@@ -0,0 +1,244 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import no.unit.nva.doi.datacite.clients.DoiClientOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a DataCite request and retries it according to the {@link RetryPolicy} of its {@link DoiClientOperation}.
+ *
+ * <p>Idempotent operations are retried on transport failures and on the retryable status codes of their policy.
+ * Operations which are not idempotent, like creating a draft DOI, are only retried when DataCite rejected the
+ * request with 429 Too Many Requests, since the request was then not processed. All retries are paid from one shared
+ * {@link RetryBudget}.
+ */
+public class RetryingExecutor {
+
+    public static final String RETRY_AFTER_HEADER = "Retry-After";
+    public static final String RETRYING_AFTER_STATUS_LOG = "Retrying {} in {} ms after status {} (attempt {} of {})";
+    public static final String RETRYING_AFTER_EXCEPTION_LOG = "Retrying {} in {} ms after {} (attempt {} of {})";
+    private static final int HTTP_STATUS_CLASS = 100;
+    private static final int SUCCESSFUL_STATUS_CLASS = 2;
+    private static final Duration LONGER_THAN_ANY_DELAY = Duration.ofSeconds(Long.MAX_VALUE);
+    private static final Logger logger = LoggerFactory.getLogger(RetryingExecutor.class);
+
+    private final Map<DoiClientOperation, RetryPolicy> policies;
+    private final RetryPolicy defaultPolicy;
+    private final RetryBudget retryBudget;
+    private final Sleeper sleeper;
+    private final DoubleSupplier jitter;
+    private final Clock clock;
+
+    private RetryingExecutor(Builder builder) {
+        this.policies = new EnumMap<>(builder.policies);
+        this.defaultPolicy = builder.defaultPolicy;
+        this.retryBudget = builder.retryBudget;
+        this.sleeper = builder.sleeper;
+        this.jitter = builder.jitter;
+        this.clock = builder.clock;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static RetryingExecutor noRetries() {
+        return builder().withDefaultPolicy(RetryPolicy.noRetries()).build();
+    }
+
+    public static RetryingExecutor withDefaults() {
+        return builder().build();
+    }
+
+    public RetryPolicy getPolicy(DoiClientOperation operation) {
+        return policies.getOrDefault(operation, defaultPolicy);
+    }
+
+    /**
+     * Send the request, retrying it while the policy of the operation allows.
+     *
+     * @param <T>       the type of the response body.
+     * @param operation the DoiClient operation the request belongs to.
+     * @param request   sends one attempt of the request.
+     * @return the first response which is not retried.
+     * @throws IOException          when the last attempt failed with a transport failure.
+     * @throws InterruptedException when interrupted while sending or waiting.
+     */
+    public <T> HttpResponse<T> execute(DoiClientOperation operation, HttpRequestAttempt<T> request)
+        throws IOException, InterruptedException {
+        RetryPolicy policy = getPolicy(operation);
+        for (int attempt = 1; ; attempt++) {
+            Optional<HttpResponse<T>> response = sendAttempt(operation, policy, attempt, request);
+            if (response.isPresent()) {
+                Optional<Duration> retryDelay = retryDelayAfterResponse(operation, policy, attempt, response.get());
+                if (retryDelay.isEmpty()) {
+                    recordOutcome(response.get());
+                    return response.get();
+                }
+                logger.warn(RETRYING_AFTER_STATUS_LOG, operation.getMethodName(), retryDelay.get().toMillis(),
+                    response.get().statusCode(), attempt, policy.getMaximumAttempts());
+                sleeper.sleep(retryDelay.get());
+            }
+        }
+    }
+
+    private <T> Optional<HttpResponse<T>> sendAttempt(DoiClientOperation operation, RetryPolicy policy, int attempt,
+                                                      HttpRequestAttempt<T> request)
+        throws IOException, InterruptedException {
+        try {
+            return Optional.of(request.send());
+        } catch (IOException e) {
+            waitBeforeRetryOrRethrow(operation, policy, attempt, e);
+            return Optional.empty();
+        }
+    }
+
+    private void waitBeforeRetryOrRethrow(DoiClientOperation operation, RetryPolicy policy, int attempt,
+                                          IOException exception) throws IOException, InterruptedException {
+        boolean retry = operation.isIdempotent()
+            && attempt < policy.getMaximumAttempts()
+            && retryBudget.tryAcquireRetry();
+        if (!retry) {
+            throw exception;
+        }
+        Duration delay = jitteredBackoff(policy, attempt);
+        logger.warn(RETRYING_AFTER_EXCEPTION_LOG, operation.getMethodName(), delay.toMillis(), exception.toString(),
+            attempt, policy.getMaximumAttempts());
+        sleeper.sleep(delay);
+    }
+
+    private Optional<Duration> retryDelayAfterResponse(DoiClientOperation operation, RetryPolicy policy,
+                                                       int attempt, HttpResponse<?> response) {
+        if (!isRetryableResponse(operation, policy, response.statusCode())
+            || attempt >= policy.getMaximumAttempts()) {
+            return Optional.empty();
+        }
+        Duration delay = retryAfter(response).orElseGet(() -> jitteredBackoff(policy, attempt));
+        if (delay.compareTo(policy.getMaximumDelay()) > 0 || !retryBudget.tryAcquireRetry()) {
+            return Optional.empty();
+        }
+        return Optional.of(delay);
+    }
+
+    private boolean isRetryableResponse(DoiClientOperation operation, RetryPolicy policy, int statusCode) {
+        boolean retryableForOperation = operation.isIdempotent() || statusCode == RetryPolicy.TOO_MANY_REQUESTS;
+        return retryableForOperation && policy.isRetryableStatusCode(statusCode);
+    }
+
+    private void recordOutcome(HttpResponse<?> response) {
+        if (response.statusCode() / HTTP_STATUS_CLASS == SUCCESSFUL_STATUS_CLASS) {
+            retryBudget.recordSuccess();
+        }
+    }
+
+    private Duration jitteredBackoff(RetryPolicy policy, int retryNumber) {
+        long ceilingMillis = policy.backoffCeiling(retryNumber).toMillis();
+        return Duration.ofMillis((long) (jitter.getAsDouble() * ceilingMillis));
+    }
+
+    private Optional<Duration> retryAfter(HttpResponse<?> response) {
+        return response.headers().firstValue(RETRY_AFTER_HEADER).flatMap(this::parseRetryAfter);
+    }
+
+    private Optional<Duration> parseRetryAfter(String value) {
+        String trimmed = value.trim();
+        if (trimmed.chars().allMatch(Character::isDigit) && !trimmed.isEmpty()) {
+            return Optional.of(parseRetryAfterSeconds(trimmed));
+        }
+        try {
+            ZonedDateTime retryAt = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            Duration untilRetry = Duration.between(clock.instant(), retryAt.toInstant());
+            return Optional.of(untilRetry.isNegative() ? Duration.ZERO : untilRetry);
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Seconds too many for a long are longer than any maximum delay, so the response is returned without retrying.
+     */
+    private static Duration parseRetryAfterSeconds(String seconds) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(seconds));
+        } catch (NumberFormatException e) {
+            return LONGER_THAN_ANY_DELAY;
+        }
+    }
+
+    /**
+     * Sends one attempt of a request.
+     *
+     * @param <T> the type of the response body.
+     */
+    @FunctionalInterface
+    public interface HttpRequestAttempt<T> {
+
+        HttpResponse<T> send() throws IOException, InterruptedException;
+    }
+
+    public static final class Builder {
+
+        private final Map<DoiClientOperation, RetryPolicy> policies;
+        private RetryPolicy defaultPolicy = RetryPolicy.defaultPolicy();
+        private RetryBudget retryBudget = RetryBudget.defaultBudget();
+        private Sleeper sleeper = Sleeper.THREAD_SLEEPER;
+        private DoubleSupplier jitter = () -> ThreadLocalRandom.current().nextDouble();
+        private Clock clock = Clock.systemUTC();
+
+        private Builder() {
+            this.policies = new EnumMap<>(DoiClientOperation.class);
+        }
+
+        public Builder withPolicy(DoiClientOperation operation, RetryPolicy policy) {
+            this.policies.put(operation, policy);
+            return this;
+        }
+
+        public Builder withDefaultPolicy(RetryPolicy defaultPolicy) {
+            this.defaultPolicy = defaultPolicy;
+            return this;
+        }
+
+        public Builder withRetryBudget(RetryBudget retryBudget) {
+            this.retryBudget = retryBudget;
+            return this;
+        }
+
+        public Builder withSleeper(Sleeper sleeper) {
+            this.sleeper = sleeper;
+            return this;
+        }
+
+        /**
+         * Source of jitter, returning values in the range [0, 1).
+         *
+         * @param jitter random number supplier.
+         * @return the builder
+         */
+        public Builder withJitter(DoubleSupplier jitter) {
+            this.jitter = jitter;
+            return this;
+        }
+
+        public Builder withClock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public RetryingExecutor build() {
+            return new RetryingExecutor(this);
+        }
+    }
+}
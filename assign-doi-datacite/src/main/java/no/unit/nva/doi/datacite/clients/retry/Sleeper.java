@@ -0,0 +1,14 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import java.time.Duration;
+
+/**
+ * Waits between retries. Replaced in tests to avoid real waiting.
+ */
+@FunctionalInterface
+public interface Sleeper {
+
+    Sleeper THREAD_SLEEPER = duration -> Thread.sleep(duration.toMillis());
+
+    void sleep(Duration duration) throws InterruptedException;
+}
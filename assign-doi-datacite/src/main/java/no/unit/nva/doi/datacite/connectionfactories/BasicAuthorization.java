@@ -0,0 +1,42 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+
+/**
+ * Creates HTTP Basic authorization header values from a customer's DataCite repository credentials.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc7617">RFC 7617: The 'Basic' HTTP Authentication Scheme</a>
+ */
+public final class BasicAuthorization {
+
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final String BASIC_SCHEME_PREFIX = "Basic ";
+    private static final String COLON = ":";
+
+    private BasicAuthorization() {
+    }
+
+    /**
+     * Create the value for the Authorization header.
+     *
+     * @param credentials customer configuration with DataCite repository username and password.
+     * @return header value in the form {@code Basic base64(username:password)}.
+     */
+    public static String headerValue(DataCiteMdsClientSecretConfig credentials) {
+        return headerValue(credentials.getDataCiteMdsClientUsername(), credentials.getDataCiteMdsClientPassword());
+    }
+
+    /**
+     * Create the value for the Authorization header.
+     *
+     * @param username DataCite repository username
+     * @param password DataCite repository password
+     * @return header value in the form {@code Basic base64(username:password)}.
+     */
+    public static String headerValue(String username, String password) {
+        byte[] userPass = (username + COLON + password).getBytes(StandardCharsets.UTF_8);
+        return BASIC_SCHEME_PREFIX + Base64.getEncoder().encodeToString(userPass);
+    }
+}
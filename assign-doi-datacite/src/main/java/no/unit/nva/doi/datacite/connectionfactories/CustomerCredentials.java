@@ -0,0 +1,42 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import java.net.PasswordAuthentication;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+
+/**
+ * Credential material derived once from a customer's secret configuration, and reused for every request until the
+ * configuration changes.
+ */
+public final class CustomerCredentials {
+
+    private final String username;
+    private final String password;
+    private final String authorizationHeader;
+    private final PasswordAuthentication passwordAuthentication;
+
+    public CustomerCredentials(DataCiteMdsClientSecretConfig source) {
+        this.username = source.getDataCiteMdsClientUsername();
+        this.password = source.getDataCiteMdsClientPassword();
+        this.authorizationHeader = BasicAuthorization.headerValue(username, password);
+        this.passwordAuthentication = new PasswordAuthentication(username, password.toCharArray());
+    }
+
+    /**
+     * Whether these credentials have the same username and password as the given configuration.
+     *
+     * @param secretConfig the customer's current secret configuration.
+     * @return {@code true} if the credentials can be reused.
+     */
+    public boolean hasSameCredentialsAs(DataCiteMdsClientSecretConfig secretConfig) {
+        return username.equals(secretConfig.getDataCiteMdsClientUsername())
+               && password.equals(secretConfig.getDataCiteMdsClientPassword());
+    }
+
+    public String getAuthorizationHeader() {
+        return authorizationHeader;
+    }
+
+    public PasswordAuthentication getPasswordAuthentication() {
+        return passwordAuthentication;
+    }
+}
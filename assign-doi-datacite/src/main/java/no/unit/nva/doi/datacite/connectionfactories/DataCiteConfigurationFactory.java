@@ -1,6 +1,7 @@
 package no.unit.nva.doi.datacite.connectionfactories;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static nva.commons.core.JsonUtils.objectMapper;
 import static nva.commons.core.attempt.Try.attempt;
 import java.io.IOException;
@@ -8,6 +9,8 @@ import java.net.URI;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientConfig;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
@@ -19,6 +22,10 @@ import nva.commons.secrets.SecretsReader;
  * <p>{@link #getConfig(URI)} for obtaining configuration for a specific customer, and
  * {@link #getCredentials(URI)} for obtaining secret configuration, but this is restricted for implementations scoped
  * under package {@link no.unit.nva.doi.datacite.connectionfactories}.
+ *
+ * <p>{@link #reload()} reads the configuration again, so that rotated secrets are picked up. Credentials derived from
+ * the previous configuration, like the cached Basic authorization headers of {@link PasswordAuthenticationFactory},
+ * are then derived again on their next use.
  */
 public class DataCiteConfigurationFactory {
 
@@ -27,7 +34,10 @@ public class DataCiteConfigurationFactory {
     public static final String ERROR_NOT_PRESENT_IN_CONFIG = " not present in config";
     public static final String ERROR_HAS_INVALID_CONFIGURATION = " has invalid configuration!";
 
-    private Map<URI, DataCiteMdsClientSecretConfig> customerConfigurations = new ConcurrentHashMap<>();
+    private static final Supplier<String> NOTHING_TO_RELOAD = null;
+
+    private final Supplier<String> secretConfigSource;
+    private final AtomicReference<Map<URI, DataCiteMdsClientSecretConfig>> customerConfigurations;
 
     /**
      * Construct a new DataCite configuration factory.
@@ -37,11 +47,16 @@ public class DataCiteConfigurationFactory {
      * @param secretKey     secret's key
      */
     public DataCiteConfigurationFactory(SecretsReader secretsReader, String secretName, String secretKey) {
-        this(fetchSecret(secretsReader, secretName, secretKey));
+        this(() -> fetchSecret(secretsReader, secretName, secretKey));
     }
 
     public DataCiteConfigurationFactory(String jsonConfig) {
-        parseConfig(jsonConfig);
+        this(() -> jsonConfig);
+    }
+
+    private DataCiteConfigurationFactory(Supplier<String> secretConfigSource) {
+        this.secretConfigSource = secretConfigSource;
+        this.customerConfigurations = new AtomicReference<>(parseConfig(secretConfigSource.get()));
     }
 
     /**
@@ -50,7 +65,22 @@ public class DataCiteConfigurationFactory {
      * @param testSecretConfigs Pre populated DataCite configuration.
      */
     protected DataCiteConfigurationFactory(Map<URI, DataCiteMdsClientSecretConfig> testSecretConfigs) {
-        this.customerConfigurations = testSecretConfigs;
+        this.secretConfigSource = NOTHING_TO_RELOAD;
+        this.customerConfigurations = new AtomicReference<>(testSecretConfigs);
+    }
+
+    /**
+     * Read the configuration again from the secret, or JSON, the factory was created with.
+     *
+     * <p>The previous configuration is kept if the new one cannot be parsed. Factories created with pre populated
+     * secrets have nothing to reload.
+     *
+     * @throws IllegalStateException if the configuration cannot be parsed.
+     */
+    public void reload() {
+        if (nonNull(secretConfigSource)) {
+            customerConfigurations.set(parseConfig(secretConfigSource.get()));
+        }
     }
 
     /**
@@ -61,7 +91,7 @@ public class DataCiteConfigurationFactory {
      * @throws DataCiteMdsConfigValidationFailedException no valid customer configuration
      */
     public DataCiteMdsClientConfig getConfig(URI customerId) throws DataCiteMdsConfigValidationFailedException {
-        DataCiteMdsClientSecretConfig value = customerConfigurations.get(customerId);
+        DataCiteMdsClientSecretConfig value = customerConfigurations.get().get(customerId);
         if (isNull(value)) {
             throw new DataCiteMdsConfigValidationFailedException(customerId + ERROR_NOT_PRESENT_IN_CONFIG);
         }
@@ -81,7 +111,7 @@ public class DataCiteConfigurationFactory {
      * @return number of configured customers
      */
     public int getNumbersOfConfiguredCustomers() {
-        return customerConfigurations.size();
+        return customerConfigurations.get().size();
     }
 
     /**
@@ -92,7 +122,7 @@ public class DataCiteConfigurationFactory {
      * @throws NoCredentialsForCustomerRuntimeException missing credentials configuration in secret config.
      */
     protected DataCiteMdsClientSecretConfig getCredentials(URI customerId) {
-        return Optional.ofNullable(customerConfigurations.get(customerId))
+        return Optional.ofNullable(customerConfigurations.get().get(customerId))
             .filter(DataCiteMdsClientSecretConfig::isFullyConfigured)
             .orElseThrow(NoCredentialsForCustomerRuntimeException::new);
     }
@@ -101,19 +131,22 @@ public class DataCiteConfigurationFactory {
         return attempt(() -> secretsReader.fetchSecret(secretName, secretKey)).orElseThrow();
     }
 
-    private void parseConfig(String secretConfig) {
+    private static Map<URI, DataCiteMdsClientSecretConfig> parseConfig(String secretConfig) {
         try {
+            Map<URI, DataCiteMdsClientSecretConfig> configurations = new ConcurrentHashMap<>();
             var secretConfigurations =
                 Optional.ofNullable(objectMapper.readValue(secretConfig, DataCiteMdsClientSecretConfig[].class));
-            secretConfigurations.ifPresent(this::populateCustomerConfigurationMap);
+            secretConfigurations.ifPresent(configs -> populateCustomerConfigurationMap(configurations, configs));
+            return configurations;
         } catch (IOException e) {
             throw new IllegalStateException("Could not parse secret configuration");
         }
     }
 
-    private void populateCustomerConfigurationMap(DataCiteMdsClientSecretConfig[] dataCiteMdsClientConfigs) {
+    private static void populateCustomerConfigurationMap(Map<URI, DataCiteMdsClientSecretConfig> configurations,
+                                                         DataCiteMdsClientSecretConfig[] dataCiteMdsClientConfigs) {
         for (DataCiteMdsClientSecretConfig dataCiteMdsClientSecretConfig : dataCiteMdsClientConfigs) {
-            customerConfigurations.put(
+            configurations.put(
                 dataCiteMdsClientSecretConfig.getCustomerId(), dataCiteMdsClientSecretConfig);
         }
     }
@@ -6,12 +6,15 @@ import java.net.PasswordAuthentication;
 import java.net.URI;
 import java.net.URL;
 import java.net.http.HttpClient;
-import java.net.http.HttpClient.Builder;
 import java.net.http.HttpClient.Version;
 import java.time.Duration;
+import no.unit.nva.doi.datacite.cache.ExpiringCache;
+import no.unit.nva.doi.datacite.hedging.RequestHedgers;
 import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
 import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
-import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import no.unit.nva.doi.datacite.metrics.ConnectionMetrics;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import no.unit.nva.doi.datacite.ratelimit.CustomerRateLimiters;
 import no.unit.nva.doi.datacite.restclient.DataCiteRestConnection;
 
 /**
@@ -26,17 +29,43 @@ import no.unit.nva.doi.datacite.restclient.DataCiteRestConnection;
  * <p>Use {@link #getAuthenticatedMdsConnection(URI)}}
  * or {@link #getAuthenticatedRestConnection(URI)} to construct a new authenticated API connection.
  *
+ * <p>The authenticated {@link HttpClient} for each customer is kept in a bounded {@link ExpiringCache}, so that
+ * subsequent connections for the same customer reuse its connection pool and open HTTP/2 connections instead of
+ * paying for a new TCP and TLS handshake on every DOI operation.
+ *
+ * <p>With {@link Builder#withPreemptiveAuthentication(boolean)} the factory instead uses one shared HttpClient for all
+ * customers, and each connection sends a precomputed Basic authorization header with every request. This removes the
+ * extra 401 challenge round-trip the {@link Authenticator} needs before credentials are sent.
+ *
+ * <p>With {@link Builder#withRateLimiters(CustomerRateLimiters)} every connection of a customer shares the customer's
+ * rate limiter, so that requests are held back instead of being sent only to be throttled by DataCite.
+ *
+ * <p>With {@link Builder#withRequestHedgers(RequestHedgers)} the connections send a second request for slow reads of
+ * DOIs and metadata, and use whichever response comes first.
+ *
+ * <p>Credentials and authorization headers are derived once per customer by the {@link PasswordAuthenticationFactory},
+ * and derived again when the customer's configuration is reloaded.
+ *
  * @see #createNvaCustomerAuthenticator(URI)
  */
 public class DataCiteConnectionFactory {
 
     public static final PasswordAuthentication DO_NOT_SEND_CREDENTIALS = null;
+    public static final int DEFAULT_MAXIMUM_CACHED_HTTP_CLIENTS = 100;
+    public static final Duration DEFAULT_HTTP_CLIENT_IDLE_EXPIRY = Duration.ofMinutes(15);
+    public static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
     private final PasswordAuthenticationFactory authenticationFactory;
     private final String mdsApiHostName;
     private final String restApiHostName;
     private final int apiPort;
-    private final Builder httpBuilder;
+    private final HttpClient.Builder httpBuilder;
     private final DataCiteConfigurationFactory configurationFactory;
+    private final ExpiringCache<URI, HttpClient> httpClients;
+    private final boolean preemptiveAuthentication;
+    private final CustomerRateLimiters rateLimiters;
+    private final RequestHedgers requestHedgers;
+    private final MeterRegistry meterRegistry;
+    private HttpClient sharedHttpClient;
 
     /**
      * Creates a dataciteConnectionFactory.
@@ -68,12 +97,51 @@ public class DataCiteConnectionFactory {
                                      String mdsApiHostName,
                                      String restApiHostName,
                                      int apiPort) {
-        this.authenticationFactory = new PasswordAuthenticationFactory(configurationFactory);
-        this.mdsApiHostName = mdsApiHostName;
-        this.restApiHostName = restApiHostName;
-        this.apiPort = apiPort;
-        this.httpBuilder = httpBuilder;
-        this.configurationFactory = configurationFactory;
+        this(httpBuilder, configurationFactory, mdsApiHostName, restApiHostName, apiPort,
+            new ExpiringCache<>(DEFAULT_MAXIMUM_CACHED_HTTP_CLIENTS, DEFAULT_HTTP_CLIENT_IDLE_EXPIRY));
+    }
+
+    /**
+     * Constructor for overriding how authenticated HttpClients are cached.
+     *
+     * @param httpBuilder          HttpClient to override security configuration
+     * @param configurationFactory DataCiteConfiguration Factory
+     * @param mdsApiHostName       the MDS API hostname
+     * @param restApiHostName      the REST API hostname
+     * @param apiPort              MDS API port
+     * @param httpClientCache      cache of authenticated HttpClients per customer
+     */
+    public DataCiteConnectionFactory(HttpClient.Builder httpBuilder,
+                                     DataCiteConfigurationFactory configurationFactory,
+                                     String mdsApiHostName,
+                                     String restApiHostName,
+                                     int apiPort,
+                                     ExpiringCache<URI, HttpClient> httpClientCache) {
+        this(builder()
+            .withHttpClientBuilder(httpBuilder)
+            .withConfigurationFactory(configurationFactory)
+            .withMdsApiHostName(mdsApiHostName)
+            .withRestApiHostName(restApiHostName)
+            .withApiPort(apiPort)
+            .withHttpClientCache(httpClientCache));
+    }
+
+    private DataCiteConnectionFactory(Builder builder) {
+        this.authenticationFactory = new PasswordAuthenticationFactory(builder.configurationFactory);
+        this.mdsApiHostName = builder.mdsApiHostName;
+        this.restApiHostName = builder.restApiHostName;
+        this.apiPort = builder.apiPort;
+        this.httpBuilder = builder.httpBuilder;
+        this.configurationFactory = builder.configurationFactory;
+        this.httpClients = builder.httpClientCache;
+        this.preemptiveAuthentication = builder.preemptiveAuthentication;
+        this.rateLimiters = builder.rateLimiters;
+        this.requestHedgers = builder.requestHedgers;
+        this.meterRegistry = builder.meterRegistry;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -84,29 +152,106 @@ public class DataCiteConnectionFactory {
      * @throws NoCredentialsForCustomerRuntimeException if customer has no credentials configured.
      */
     public DataCiteMdsConnection getAuthenticatedMdsConnection(URI customerId) {
-        HttpClient httpClient = getAuthenticatedHttpClientForDatacite(customerId);
-        return new DataCiteMdsConnection(httpClient, mdsApiHostName, apiPort);
+        DataCiteMdsConnection.Builder connection = DataCiteMdsConnection.builder()
+            .withHost(mdsApiHostName)
+            .withPort(apiPort)
+            .withRateLimiter(rateLimiters.forCustomer(customerId))
+            .withRequestHedgers(requestHedgers)
+            .withConnectionMetrics(connectionMetrics(mdsApiHostName, customerId));
+        if (preemptiveAuthentication) {
+            return connection.withHttpClient(getSharedHttpClient())
+                .withAuthorizationHeader(authenticationFactory.getAuthorizationHeader(customerId))
+                .build();
+        }
+        return connection.withHttpClient(getAuthenticatedHttpClientForDatacite(customerId)).build();
     }
 
+    /**
+     * Get a authenticated connection towards DataCite REST API.
+     *
+     * @param customerId NVA customer id
+     * @return DataCiteRestConnection private connection for provided customerId
+     * @throws NoCredentialsForCustomerRuntimeException if customer has no credentials configured.
+     */
     public DataCiteRestConnection getAuthenticatedRestConnection(URI customerId) {
-        HttpClient httpClient = getAuthenticatedHttpClientForDatacite(customerId);
-        DataCiteMdsClientSecretConfig clientConfigWithCredentials = configurationFactory.getCredentials(customerId);
-        return new DataCiteRestConnection(httpClient, restApiHostName, apiPort, clientConfigWithCredentials);
+        HttpClient httpClient = preemptiveAuthentication
+            ? getSharedHttpClient()
+            : getAuthenticatedHttpClientForDatacite(customerId);
+        return DataCiteRestConnection.builder()
+            .withHttpClient(httpClient)
+            .withHost(restApiHostName)
+            .withPort(apiPort)
+            .withCredentials(configurationFactory.getCredentials(customerId))
+            .withAuthorizationHeader(authenticationFactory.getAuthorizationHeader(customerId))
+            .withRateLimiter(rateLimiters.forCustomer(customerId))
+            .withRequestHedgers(requestHedgers)
+            .withConnectionMetrics(connectionMetrics(restApiHostName, customerId))
+            .build();
+    }
+
+    public boolean isPreemptiveAuthentication() {
+        return preemptiveAuthentication;
     }
 
+    /**
+     * Get the authenticated HttpClient for a customer, reusing a cached client when available.
+     *
+     * @param customerId NVA customer id
+     * @return HttpClient authenticating as the given customer.
+     */
     public HttpClient getAuthenticatedHttpClientForDatacite(URI customerId) {
+        return httpClients.computeIfAbsent(customerId, this::createAuthenticatedHttpClient);
+    }
+
+    /**
+     * Get the HttpClient shared by all customers when using pre-emptive authentication.
+     *
+     * <p>The shared client has no {@link Authenticator}; credentials are sent by the connections. It is the only client
+     * built from the factory's HttpClient builder, which is never given an authenticator: the per customer clients are
+     * built from a copy of the shared client's settings.
+     *
+     * @return HttpClient without authenticator.
+     */
+    public HttpClient getSharedHttpClient() {
+        synchronized (httpBuilder) {
+            if (sharedHttpClient == null) {
+                sharedHttpClient = httpBuilder
+                    .version(Version.HTTP_2)
+                    .connectTimeout(CONNECT_TIMEOUT)
+                    .build();
+            }
+            return sharedHttpClient;
+        }
+    }
+
+    private ConnectionMetrics connectionMetrics(String host, URI customerId) {
+        return new ConnectionMetrics(meterRegistry, host, customerId);
+    }
+
+    private HttpClient createAuthenticatedHttpClient(URI customerId) {
         Authenticator nvaCustomerAuthenticator = createNvaCustomerAuthenticator(customerId);
         return createHttpClientWithAuthenticator(nvaCustomerAuthenticator);
     }
 
     private HttpClient createHttpClientWithAuthenticator(Authenticator nvaCustomerAuthenticator) {
-        return httpBuilder
-            .version(Version.HTTP_2)
-            .connectTimeout(Duration.ofSeconds(2))
+        return newBuilderLike(getSharedHttpClient())
             .authenticator(nvaCustomerAuthenticator)
             .build();
     }
 
+    private static HttpClient.Builder newBuilderLike(HttpClient prototype) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(prototype.version())
+            .followRedirects(prototype.followRedirects())
+            .sslContext(prototype.sslContext())
+            .sslParameters(prototype.sslParameters());
+        prototype.connectTimeout().ifPresent(builder::connectTimeout);
+        prototype.executor().ifPresent(builder::executor);
+        prototype.proxy().ifPresent(builder::proxy);
+        prototype.cookieHandler().ifPresent(builder::cookieHandler);
+        return builder;
+    }
+
     private Authenticator createNvaCustomerAuthenticator(URI customerId) {
         return new Authenticator() {
 
@@ -143,4 +288,112 @@ public class DataCiteConnectionFactory {
             }
         };
     }
+
+    /**
+     * Builder for {@link DataCiteConnectionFactory}.
+     */
+    public static final class Builder {
+
+        private HttpClient.Builder httpBuilder = HttpClient.newBuilder();
+        private DataCiteConfigurationFactory configurationFactory;
+        private String mdsApiHostName;
+        private String restApiHostName;
+        private int apiPort;
+        private ExpiringCache<URI, HttpClient> httpClientCache;
+        private boolean preemptiveAuthentication;
+        private CustomerRateLimiters rateLimiters = CustomerRateLimiters.unlimited();
+        private RequestHedgers requestHedgers = RequestHedgers.disabled();
+        private MeterRegistry meterRegistry = MeterRegistry.NO_OP;
+
+        private Builder() {
+        }
+
+        public Builder withHttpClientBuilder(HttpClient.Builder httpBuilder) {
+            this.httpBuilder = httpBuilder;
+            return this;
+        }
+
+        public Builder withConfigurationFactory(DataCiteConfigurationFactory configurationFactory) {
+            this.configurationFactory = configurationFactory;
+            return this;
+        }
+
+        public Builder withMdsApiHostName(String mdsApiHostName) {
+            this.mdsApiHostName = mdsApiHostName;
+            return this;
+        }
+
+        public Builder withRestApiHostName(String restApiHostName) {
+            this.restApiHostName = restApiHostName;
+            return this;
+        }
+
+        public Builder withApiPort(int apiPort) {
+            this.apiPort = apiPort;
+            return this;
+        }
+
+        public Builder withHttpClientCache(ExpiringCache<URI, HttpClient> httpClientCache) {
+            this.httpClientCache = httpClientCache;
+            return this;
+        }
+
+        /**
+         * Send a precomputed Basic authorization header with every request on one HttpClient shared by all
+         * customers, instead of answering authentication challenges with a per customer {@link Authenticator}.
+         *
+         * @param preemptiveAuthentication {@code true} to authenticate pre-emptively.
+         * @return the builder
+         */
+        public Builder withPreemptiveAuthentication(boolean preemptiveAuthentication) {
+            this.preemptiveAuthentication = preemptiveAuthentication;
+            return this;
+        }
+
+        /**
+         * Make every connection wait for a permit from its customer's rate limiter before sending a request.
+         *
+         * @param rateLimiters rate limiters per customer, shared by the MDS and REST connections.
+         * @return the builder
+         */
+        public Builder withRateLimiters(CustomerRateLimiters rateLimiters) {
+            this.rateLimiters = rateLimiters;
+            return this;
+        }
+
+        /**
+         * Hedge the read-only requests of every connection.
+         *
+         * @param requestHedgers request hedgers shared by the MDS and REST connections of all customers.
+         * @return the builder
+         */
+        public Builder withRequestHedgers(RequestHedgers requestHedgers) {
+            this.requestHedgers = requestHedgers;
+            return this;
+        }
+
+        /**
+         * Measure every request of every connection.
+         *
+         * @param meterRegistry registry receiving the measurements, tagged with operation, host and customer.
+         * @return the builder
+         */
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        /**
+         * Build the connection factory.
+         *
+         * @return a DataCiteConnectionFactory
+         */
+        public DataCiteConnectionFactory build() {
+            if (httpClientCache == null) {
+                httpClientCache = new ExpiringCache<>(DEFAULT_MAXIMUM_CACHED_HTTP_CLIENTS,
+                    DEFAULT_HTTP_CLIENT_IDLE_EXPIRY);
+            }
+            return new DataCiteConnectionFactory(this);
+        }
+    }
 }
@@ -0,0 +1,117 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A DataCite API collection endpoint, like {@code https://mds.datacite.org:443/metadata}, resolved once per connection.
+ *
+ * <p>URIs of resources in the collection are created by appending an escaped DOI to the precomputed endpoint, instead
+ * of assembling and validating scheme, host, port and path again for every request. Characters which are not allowed
+ * in a URI path are percent encoded as UTF-8, while {@code /} is kept as the separator between DOI prefix and suffix.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc3986#section-3.3">RFC 3986: Path</a>
+ */
+public final class EndpointUri {
+
+    public static final String HTTPS_SCHEME = "https";
+    public static final String SEPARATOR = "/";
+    private static final String PATH_CHARACTERS = "abcdefghijklmnopqrstuvwxyz"
+        + "ABCDEFGHIJKLMNOPQRSTUVWXYZ"
+        + "0123456789"
+        + "-._~"
+        + "!$&'()*+,;="
+        + ":@/";
+    private static final boolean[] ALLOWED_IN_PATH = allowedInPath();
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+    private static final char PERCENT = '%';
+    private static final int ASCII_LIMIT = 128;
+    private static final int HIGH_NIBBLE_SHIFT = 4;
+    private static final int NIBBLE_MASK = 0x0F;
+    private static final int BYTE_MASK = 0xFF;
+    private static final int ESCAPED_CHARACTER_LENGTH = 3;
+
+    private final URI collectionUri;
+    private final String resourceUriPrefix;
+
+    private EndpointUri(URI collectionUri) {
+        this.collectionUri = collectionUri;
+        this.resourceUriPrefix = collectionUri.toASCIIString() + SEPARATOR;
+    }
+
+    /**
+     * Resolve an HTTPS endpoint.
+     *
+     * @param host API host without scheme and path.
+     * @param port API port.
+     * @param path path of the collection, without leading or trailing slash, like {@code dois}.
+     * @return the endpoint.
+     * @throws IllegalArgumentException if host, port and path do not make a valid URI.
+     */
+    public static EndpointUri https(String host, int port, String path) {
+        try {
+            return new EndpointUri(new URI(HTTPS_SCHEME, null, host, port, SEPARATOR + path, null, null));
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The URI of the collection itself.
+     *
+     * @return the URI, like {@code https://api.datacite.org:443/dois}.
+     */
+    public URI toUri() {
+        return collectionUri;
+    }
+
+    /**
+     * The URI of a resource in the collection.
+     *
+     * @param doi prefix/suffix, or only the prefix.
+     * @return the URI, like {@code https://api.datacite.org:443/dois/10.5072/abc}.
+     */
+    public URI resolve(String doi) {
+        return URI.create(resourceUriPrefix + escapePath(doi));
+    }
+
+    private static String escapePath(String path) {
+        int firstEscapedIndex = indexOfFirstCharacterToEscape(path);
+        if (firstEscapedIndex == path.length()) {
+            return path;
+        }
+        StringBuilder escaped = new StringBuilder(path.length() * ESCAPED_CHARACTER_LENGTH)
+            .append(path, 0, firstEscapedIndex);
+        byte[] remaining = path.substring(firstEscapedIndex).getBytes(StandardCharsets.UTF_8);
+        for (byte value : remaining) {
+            int unsigned = value & BYTE_MASK;
+            if (isAllowedInPath(unsigned)) {
+                escaped.append((char) unsigned);
+            } else {
+                escaped.append(PERCENT)
+                    .append(HEX_DIGITS[unsigned >> HIGH_NIBBLE_SHIFT])
+                    .append(HEX_DIGITS[unsigned & NIBBLE_MASK]);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static int indexOfFirstCharacterToEscape(String path) {
+        int index = 0;
+        while (index < path.length() && isAllowedInPath(path.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isAllowedInPath(int character) {
+        return character < ASCII_LIMIT && ALLOWED_IN_PATH[character];
+    }
+
+    private static boolean[] allowedInPath() {
+        boolean[] allowed = new boolean[ASCII_LIMIT];
+        PATH_CHARACTERS.chars().forEach(character -> allowed[character] = true);
+        return allowed;
+    }
+}
@@ -1,30 +1,61 @@
 package no.unit.nva.doi.datacite.connectionfactories;
 
+import static java.util.Objects.nonNull;
 import java.net.PasswordAuthentication;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
 
 /**
  * Password authentication factory for providing {@link java.net.Authenticator} for NVA customers.
  *
+ * <p>The {@link PasswordAuthentication} and Basic authorization header of a customer are derived once and reused
+ * until the customer's configuration in {@link DataCiteConfigurationFactory} changes, for instance after
+ * {@link DataCiteConfigurationFactory#reload()}. The returned {@link PasswordAuthentication} is shared, so callers must
+ * not clear its password. The JDK {@link HttpClient} only reads it.
+ *
  * @see DataCiteConnectionFactory
  * @see HttpClient#authenticator()
  */
 public class PasswordAuthenticationFactory {
 
     private final DataCiteConfigurationFactory dataciteConfigurationFactory;
+    private final Map<URI, CustomerCredentials> credentialsByCustomer;
 
     public PasswordAuthenticationFactory(DataCiteConfigurationFactory dataciteConfigurationFactory) {
         this.dataciteConfigurationFactory = dataciteConfigurationFactory;
+        this.credentialsByCustomer = new ConcurrentHashMap<>();
     }
 
     public PasswordAuthentication getCredentials(URI customerId) {
-        return Optional.ofNullable(dataciteConfigurationFactory.getCredentials(customerId))
-            .map(secretConfig -> new PasswordAuthentication(
-                secretConfig.getDataCiteMdsClientUsername(),
-                secretConfig.getDataCiteMdsClientPassword().toCharArray()))
-            .orElseThrow(NoCredentialsForCustomerRuntimeException::new);
+        return getCustomerCredentials(customerId).getPasswordAuthentication();
+    }
+
+    /**
+     * Get the value of the Authorization header for pre-emptive Basic authentication.
+     *
+     * @param customerId NVA customer id
+     * @return header value in the form {@code Basic base64(username:password)}.
+     * @throws NoCredentialsForCustomerRuntimeException if customer has no credentials configured.
+     */
+    public String getAuthorizationHeader(URI customerId) {
+        return getCustomerCredentials(customerId).getAuthorizationHeader();
+    }
+
+    private CustomerCredentials getCustomerCredentials(URI customerId) {
+        DataCiteMdsClientSecretConfig secretConfig =
+            Optional.ofNullable(dataciteConfigurationFactory.getCredentials(customerId))
+                .orElseThrow(NoCredentialsForCustomerRuntimeException::new);
+        CustomerCredentials cached = credentialsByCustomer.get(customerId);
+        if (nonNull(cached) && cached.hasSameCredentialsAs(secretConfig)) {
+            return cached;
+        }
+        CustomerCredentials derived = new CustomerCredentials(secretConfig);
+        credentialsByCustomer.put(customerId, derived);
+        return derived;
     }
 }
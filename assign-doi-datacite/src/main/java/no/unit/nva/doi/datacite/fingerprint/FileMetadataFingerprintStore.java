@@ -0,0 +1,70 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import no.unit.nva.doi.models.Doi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link MetadataFingerprintStore} keeping one file per DOI in a local directory, so that fingerprints outlive the
+ * process as long as the directory does.
+ *
+ * <p>Each file is named by the URL encoded DOI and holds the fingerprint only. Files are replaced atomically, so a
+ * reader never sees a partly written fingerprint. Failures to read or write a file are logged, and the DOI is then
+ * treated as having no fingerprint.
+ */
+public class FileMetadataFingerprintStore implements MetadataFingerprintStore {
+
+    public static final String TEMPORARY_FILE_PREFIX = ".fingerprint";
+    public static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+    private static final String READ_FAILED_LOG = "Failed reading metadata fingerprint of {} from {}";
+    private static final String WRITE_FAILED_LOG = "Failed writing metadata fingerprint of {} to {}";
+    private static final Logger logger = LoggerFactory.getLogger(FileMetadataFingerprintStore.class);
+
+    private final Path directory;
+
+    public FileMetadataFingerprintStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<String> getFingerprint(Doi doi) {
+        Path file = fileOf(doi);
+        try {
+            return Optional.of(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn(READ_FAILED_LOG, doi.toIdentifier(), file, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void putFingerprint(Doi doi, String fingerprint) {
+        Path file = fileOf(doi);
+        try {
+            Files.createDirectories(directory);
+            Path temporaryFile = Files.createTempFile(directory, TEMPORARY_FILE_PREFIX, TEMPORARY_FILE_SUFFIX);
+            try {
+                Files.writeString(temporaryFile, fingerprint, StandardCharsets.UTF_8);
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+        } catch (IOException e) {
+            logger.warn(WRITE_FAILED_LOG, doi.toIdentifier(), file, e);
+        }
+    }
+
+    private Path fileOf(Doi doi) {
+        return directory.resolve(URLEncoder.encode(MetadataFingerprint.keyOf(doi), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import java.time.Duration;
+import java.util.Optional;
+import no.unit.nva.doi.datacite.cache.ExpiringCache;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * {@link MetadataFingerprintStore} kept in memory, for as long as the process lives.
+ *
+ * <p>The store holds at most a maximum number of fingerprints, and forgets the least recently used ones first.
+ */
+public class InMemoryMetadataFingerprintStore implements MetadataFingerprintStore {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final Duration DEFAULT_IDLE_EXPIRY = Duration.ofDays(1);
+
+    private final ExpiringCache<String, String> fingerprints;
+
+    public InMemoryMetadataFingerprintStore() {
+        this(new ExpiringCache<>(DEFAULT_MAXIMUM_SIZE, DEFAULT_IDLE_EXPIRY));
+    }
+
+    public InMemoryMetadataFingerprintStore(ExpiringCache<String, String> fingerprints) {
+        this.fingerprints = fingerprints;
+    }
+
+    @Override
+    public Optional<String> getFingerprint(Doi doi) {
+        return Optional.ofNullable(fingerprints.get(MetadataFingerprint.keyOf(doi)));
+    }
+
+    @Override
+    public void putFingerprint(Doi doi, String fingerprint) {
+        fingerprints.put(MetadataFingerprint.keyOf(doi), fingerprint);
+    }
+}
@@ -0,0 +1,61 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Fingerprints of DataCite XML metadata, telling whether metadata has changed since it was last pushed.
+ *
+ * <p>The fingerprint is the SHA-256 hash of the metadata after normalizing line endings and removing whitespace
+ * between elements and around the document, so that only changes of the content give a new fingerprint.
+ */
+public final class MetadataFingerprint {
+
+    public static final String DIGEST_ALGORITHM = "SHA-256";
+    public static final String HEX_FORMAT = "%064x";
+    private static final Pattern WHITESPACE_BETWEEN_ELEMENTS = Pattern.compile(">\\s+<");
+    private static final Pattern LINE_ENDINGS = Pattern.compile("\\r\\n?");
+    private static final String ADJACENT_ELEMENTS = "><";
+    private static final String LINE_FEED = "\n";
+    private static final int POSITIVE = 1;
+
+    private MetadataFingerprint() {
+    }
+
+    /**
+     * Fingerprint DataCite XML metadata.
+     *
+     * @param metadataDataCiteXml the metadata.
+     * @return the fingerprint as lower case hexadecimal.
+     */
+    public static String compute(String metadataDataCiteXml) {
+        String canonical = WHITESPACE_BETWEEN_ELEMENTS
+            .matcher(LINE_ENDINGS.matcher(metadataDataCiteXml.strip()).replaceAll(LINE_FEED))
+            .replaceAll(ADJACENT_ELEMENTS);
+        byte[] hash = sha256().digest(canonical.getBytes(StandardCharsets.UTF_8));
+        return String.format(HEX_FORMAT, new BigInteger(POSITIVE, hash));
+    }
+
+    /**
+     * The key of a DOI in a {@link MetadataFingerprintStore}. DOIs are case insensitive.
+     *
+     * @param doi the DOI
+     * @return the lower case identifier of the DOI.
+     */
+    public static String keyOf(Doi doi) {
+        return doi.toIdentifier().toLowerCase(Locale.ROOT);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
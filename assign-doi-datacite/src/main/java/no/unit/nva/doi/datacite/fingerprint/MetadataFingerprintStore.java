@@ -0,0 +1,56 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import java.util.Optional;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Remembers the {@link MetadataFingerprint} of the metadata last pushed to DataCite for each DOI, so that pushing the
+ * same metadata again can be skipped.
+ *
+ * <p>A fingerprint must only be stored after DataCite has accepted the metadata. A store failing to read or write a
+ * fingerprint must not fail the caller, since the metadata is then only pushed once more.
+ *
+ * <p>Skipping is only correct when the store sees every push of a DOI's metadata. A store of one process or Lambda
+ * container misses the pushes of the others, and would then skip pushing metadata which another container has since
+ * replaced. Such stores only fit a single writer per DOI. {@link #DISABLED} never skips.
+ */
+public interface MetadataFingerprintStore {
+
+    MetadataFingerprintStore DISABLED = new MetadataFingerprintStore() {
+        @Override
+        public Optional<String> getFingerprint(Doi doi) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void putFingerprint(Doi doi, String fingerprint) {
+        }
+    };
+
+    /**
+     * Get the fingerprint of the metadata last pushed for a DOI.
+     *
+     * @param doi the DOI
+     * @return the fingerprint, or empty if the DOI has no stored fingerprint.
+     */
+    Optional<String> getFingerprint(Doi doi);
+
+    /**
+     * Store the fingerprint of metadata DataCite has accepted for a DOI.
+     *
+     * @param doi         the DOI
+     * @param fingerprint fingerprint of the accepted metadata.
+     */
+    void putFingerprint(Doi doi, String fingerprint);
+
+    /**
+     * Whether the metadata last pushed for a DOI has the given fingerprint.
+     *
+     * @param doi         the DOI
+     * @param fingerprint fingerprint of the metadata about to be pushed.
+     * @return {@code true} if pushing the metadata can be skipped.
+     */
+    default boolean isUnchanged(Doi doi, String fingerprint) {
+        return getFingerprint(doi).filter(fingerprint::equals).isPresent();
+    }
+}
@@ -0,0 +1,136 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import java.time.Duration;
+
+/**
+ * When a {@link RequestHedger} sends a second, identical request.
+ *
+ * <p>The hedge is sent once the first request has been outstanding for {@code hedgeDelay}. With a
+ * {@code hedgeDelayPercentile}, the delay is instead the given percentile of the latencies observed for the last
+ * {@code latencyWindowSize} responses, as soon as at least {@code minimumNumberOfSamples} have been observed. With the
+ * default 95th percentile, roughly one in twenty requests is hedged.
+ */
+public final class HedgingConfig {
+
+    public static final Duration DEFAULT_HEDGE_DELAY = Duration.ofSeconds(1);
+    public static final double DEFAULT_HEDGE_DELAY_PERCENTILE = 0.95;
+    public static final double FIXED_DELAY = 0;
+    public static final int DEFAULT_LATENCY_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_SAMPLES = 20;
+    public static final String ILLEGAL_HEDGE_DELAY = "Hedge delay must be positive";
+    public static final String ILLEGAL_PERCENTILE = "Percentile must be at least 0 and less than 1";
+    public static final String ILLEGAL_SAMPLE_COUNT = "Window size and number of samples must be positive";
+    public static final String ILLEGAL_MINIMUM_NUMBER_OF_SAMPLES =
+        "Minimum number of samples cannot be larger than the latency window";
+
+    private final Duration hedgeDelay;
+    private final double hedgeDelayPercentile;
+    private final int latencyWindowSize;
+    private final int minimumNumberOfSamples;
+
+    private HedgingConfig(Builder builder) {
+        this.hedgeDelay = builder.hedgeDelay;
+        this.hedgeDelayPercentile = builder.hedgeDelayPercentile;
+        this.latencyWindowSize = builder.latencyWindowSize;
+        this.minimumNumberOfSamples = builder.minimumNumberOfSamples;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static HedgingConfig defaultConfig() {
+        return builder().build();
+    }
+
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    public double getHedgeDelayPercentile() {
+        return hedgeDelayPercentile;
+    }
+
+    public int getLatencyWindowSize() {
+        return latencyWindowSize;
+    }
+
+    public int getMinimumNumberOfSamples() {
+        return minimumNumberOfSamples;
+    }
+
+    public boolean isAdaptive() {
+        return hedgeDelayPercentile > FIXED_DELAY;
+    }
+
+    public static final class Builder {
+
+        private Duration hedgeDelay = DEFAULT_HEDGE_DELAY;
+        private double hedgeDelayPercentile = DEFAULT_HEDGE_DELAY_PERCENTILE;
+        private int latencyWindowSize = DEFAULT_LATENCY_WINDOW_SIZE;
+        private int minimumNumberOfSamples = DEFAULT_MINIMUM_NUMBER_OF_SAMPLES;
+
+        private Builder() {
+        }
+
+        /**
+         * Delay before the hedge is sent, until enough latencies have been observed, or always with a
+         * {@link #FIXED_DELAY}.
+         *
+         * @param hedgeDelay delay after sending the first request.
+         * @return the builder
+         */
+        public Builder withHedgeDelay(Duration hedgeDelay) {
+            if (hedgeDelay.isNegative() || hedgeDelay.isZero()) {
+                throw new IllegalArgumentException(ILLEGAL_HEDGE_DELAY);
+            }
+            this.hedgeDelay = hedgeDelay;
+            return this;
+        }
+
+        /**
+         * Percentile of observed latencies used as delay before the hedge is sent.
+         *
+         * @param hedgeDelayPercentile percentile like {@code 0.95}, or {@link #FIXED_DELAY} to always wait for the
+         *                             configured hedge delay.
+         * @return the builder
+         */
+        public Builder withHedgeDelayPercentile(double hedgeDelayPercentile) {
+            if (hedgeDelayPercentile < 0 || hedgeDelayPercentile >= 1) {
+                throw new IllegalArgumentException(ILLEGAL_PERCENTILE);
+            }
+            this.hedgeDelayPercentile = hedgeDelayPercentile;
+            return this;
+        }
+
+        public Builder withLatencyWindowSize(int latencyWindowSize) {
+            this.latencyWindowSize = requirePositive(latencyWindowSize);
+            return this;
+        }
+
+        public Builder withMinimumNumberOfSamples(int minimumNumberOfSamples) {
+            this.minimumNumberOfSamples = requirePositive(minimumNumberOfSamples);
+            return this;
+        }
+
+        /**
+         * Build the configuration.
+         *
+         * @return a HedgingConfig
+         * @throws IllegalArgumentException if the minimum number of samples is larger than the latency window.
+         */
+        public HedgingConfig build() {
+            if (minimumNumberOfSamples > latencyWindowSize) {
+                throw new IllegalArgumentException(ILLEGAL_MINIMUM_NUMBER_OF_SAMPLES);
+            }
+            return new HedgingConfig(this);
+        }
+
+        private static int requirePositive(int count) {
+            if (count <= 0) {
+                throw new IllegalArgumentException(ILLEGAL_SAMPLE_COUNT);
+            }
+            return count;
+        }
+    }
+}
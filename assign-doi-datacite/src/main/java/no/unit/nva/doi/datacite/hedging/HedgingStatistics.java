@@ -0,0 +1,87 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of how often a {@link RequestHedger} sent a hedge, and how often the hedge answered first.
+ *
+ * <p>A high hedge rate means the hedge delay is short compared to the usual latency, and adds load on DataCite. A
+ * low win rate means the hedges rarely help, and the delay could be longer.
+ */
+public final class HedgingStatistics {
+
+    public static final String TO_STRING_FORMAT = "%s: %d requests, %d hedged (%.1f%%), %d won by hedge (%.1f%%), "
+                                                  + "hedge delay %d ms";
+    private static final double PERCENT = 100.0;
+
+    private final String name;
+    private final long requests;
+    private final long hedgedRequests;
+    private final long hedgeWins;
+    private final Duration hedgeDelay;
+
+    /**
+     * Create a snapshot.
+     *
+     * @param name           name of the hedger, like {@code api.datacite.org/getDoi}.
+     * @param requests       number of requests sent through the hedger.
+     * @param hedgedRequests number of requests for which a hedge was sent.
+     * @param hedgeWins      number of hedged requests answered first by the hedge.
+     * @param hedgeDelay     the current delay before a hedge is sent.
+     */
+    public HedgingStatistics(String name, long requests, long hedgedRequests, long hedgeWins, Duration hedgeDelay) {
+        this.name = name;
+        this.requests = requests;
+        this.hedgedRequests = hedgedRequests;
+        this.hedgeWins = hedgeWins;
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getHedgedRequests() {
+        return hedgedRequests;
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Share of requests for which a hedge was sent.
+     *
+     * @return hedged requests divided by requests, or 0 without requests.
+     */
+    public double getHedgeRate() {
+        return ratio(hedgedRequests, requests);
+    }
+
+    /**
+     * Share of hedged requests which were answered first by the hedge.
+     *
+     * @return hedge wins divided by hedged requests, or 0 without hedged requests.
+     */
+    public double getWinRate() {
+        return ratio(hedgeWins, hedgedRequests);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(TO_STRING_FORMAT, name, requests, hedgedRequests, getHedgeRate() * PERCENT, hedgeWins,
+            getWinRate() * PERCENT, hedgeDelay.toMillis());
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+}
@@ -0,0 +1,239 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a second, identical request when the first one is slow, and uses whichever response comes first.
+ *
+ * <p>Only read-only requests may be hedged, since both requests may reach DataCite. The hedge is sent after the
+ * delay decided by the {@link HedgingConfig}, and the slower request is cancelled once the first response arrives.
+ * Cancelling only reaches the HTTP exchange when the request's future passes it on to the future of
+ * {@link java.net.http.HttpClient#sendAsync}, like the futures of {@link #composeCancellable}. Even then, only Java 16
+ * and later abort the exchange, while Java 11, which the functions run on, reads and discards the losing response
+ * in the background. Both requests have taken a rate limiter permit either way.
+ *
+ * <p>The latency of every answered request is recorded for the adaptive hedge delay. A request cancelled because the
+ * other one answered first is recorded with the time until it was cancelled, which is less than its real latency but
+ * keeps slow requests from being left out, which would bias the delay low and make hedges ever more frequent.
+ *
+ * <p>A request failing with a transport failure before the delay is not hedged, but the failure is thrown as without
+ * hedging. Once the hedge has been sent, the first successful response wins, and a failure is only thrown if both
+ * requests fail.
+ */
+public class RequestHedger {
+
+    public static final String HEDGE_LOG = "Hedging {} after {} ms";
+    private static final Logger logger = LoggerFactory.getLogger(RequestHedger.class);
+    private static final int BOTH_REQUESTS = 2;
+
+    private final String name;
+    private final HedgingConfig config;
+    private final LongSupplier nanoClock;
+    private final Object latencyLock = new Object();
+    private final long[] latencies;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private int recordedLatencies;
+    private int nextLatencyIndex;
+
+    /**
+     * Construct a {@link RequestHedger}.
+     *
+     * @param name      name used when logging and in the statistics.
+     * @param config    when hedges are sent.
+     * @param nanoClock source of monotonic time in nanoseconds, like {@link System#nanoTime()}.
+     */
+    public RequestHedger(String name, HedgingConfig config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.latencies = new long[config.getLatencyWindowSize()];
+    }
+
+    /**
+     * Send the request, and send it once more if it has not been answered within the hedge delay.
+     *
+     * @param <T>     the type of the response body.
+     * @param request sends the request without blocking. Called once, or twice when hedging.
+     * @return the first successful response.
+     * @throws IOException          when the request failed before the hedge delay, or both requests failed.
+     * @throws InterruptedException when interrupted while waiting. Both requests are then cancelled.
+     */
+    public <T> HttpResponse<T> send(Supplier<CompletableFuture<HttpResponse<T>>> request)
+        throws IOException, InterruptedException {
+        requests.increment();
+        Duration hedgeDelay = getHedgeDelay();
+        CompletableFuture<HttpResponse<T>> primary = sendRecordingLatency(request);
+        try {
+            return primary.get(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            throw asIOException(e);
+        } catch (TimeoutException e) {
+            return hedge(request, primary, hedgeDelay);
+        } catch (InterruptedException e) {
+            primary.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * The delay before a hedge is sent, which is either fixed or the configured percentile of observed latencies.
+     *
+     * @return the delay.
+     */
+    public Duration getHedgeDelay() {
+        if (!config.isAdaptive()) {
+            return config.getHedgeDelay();
+        }
+        synchronized (latencyLock) {
+            if (recordedLatencies < config.getMinimumNumberOfSamples()) {
+                return config.getHedgeDelay();
+            }
+            long[] sorted = Arrays.copyOf(latencies, recordedLatencies);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(config.getHedgeDelayPercentile() * recordedLatencies) - 1;
+            return Duration.ofNanos(sorted[Math.max(index, 0)]);
+        }
+    }
+
+    /**
+     * Like {@link CompletableFuture#thenCompose}, but cancelling the returned future also cancels the first stage, or
+     * the future of the next request once it has been sent, so that cancelling a hedged request reaches the
+     * HttpClient.
+     *
+     * @param <T>         the type of the result.
+     * @param firstStage  the stage to complete before sending, like acquiring a rate limiter permit.
+     * @param nextRequest sends the request, once the first stage has completed successfully.
+     * @return the future of the request.
+     */
+    public static <T> CompletableFuture<T> composeCancellable(CompletableFuture<?> firstStage,
+                                                              Supplier<CompletableFuture<T>> nextRequest) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<T>> sent = new AtomicReference<>();
+        result.whenComplete((ignored, error) -> cancelWhenCancelled(result, firstStage, sent.get()));
+        firstStage.whenComplete((ignored, error) -> {
+            if (result.isDone()) {
+                return;
+            }
+            if (isNull(error)) {
+                CompletableFuture<T> request = nextRequest.get();
+                sent.set(request);
+                cancelWhenCancelled(result, firstStage, request);
+                request.whenComplete((response, failure) -> complete(result, response, failure));
+            } else {
+                result.completeExceptionally(error);
+            }
+        });
+        return result;
+    }
+
+    public HedgingStatistics getStatistics() {
+        return new HedgingStatistics(name, requests.sum(), hedgedRequests.sum(), hedgeWins.sum(), getHedgeDelay());
+    }
+
+    private <T> HttpResponse<T> hedge(Supplier<CompletableFuture<HttpResponse<T>>> request,
+                                      CompletableFuture<HttpResponse<T>> primary, Duration hedgeDelay)
+        throws IOException, InterruptedException {
+        logger.debug(HEDGE_LOG, name, hedgeDelay.toMillis());
+        hedgedRequests.increment();
+        CompletableFuture<HttpResponse<T>> hedge = sendRecordingLatency(request);
+        CompletableFuture<HttpResponse<T>> firstSuccessful = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((response, error) -> completeWithFirstSuccessful(firstSuccessful, failures, response,
+            error));
+        hedge.whenComplete((response, error) -> completeWithFirstSuccessful(firstSuccessful, failures, response,
+            error));
+        try {
+            HttpResponse<T> response = firstSuccessful.get();
+            if (isAnsweredBy(hedge, response)) {
+                hedgeWins.increment();
+            }
+            return response;
+        } catch (ExecutionException e) {
+            throw asIOException(e);
+        } finally {
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    private static <T> void completeWithFirstSuccessful(CompletableFuture<HttpResponse<T>> firstSuccessful,
+                                                        AtomicInteger failures, HttpResponse<T> response,
+                                                        Throwable error) {
+        if (error == null) {
+            firstSuccessful.complete(response);
+        } else if (failures.incrementAndGet() == BOTH_REQUESTS) {
+            firstSuccessful.completeExceptionally(error);
+        }
+    }
+
+    private static void cancelWhenCancelled(CompletableFuture<?> result, CompletableFuture<?> firstStage,
+                                            CompletableFuture<?> request) {
+        if (result.isCancelled()) {
+            firstStage.cancel(true);
+            if (nonNull(request)) {
+                request.cancel(true);
+            }
+        }
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, T response, Throwable failure) {
+        if (isNull(failure)) {
+            result.complete(response);
+        } else {
+            result.completeExceptionally(failure);
+        }
+    }
+
+    private static <T> boolean isAnsweredBy(CompletableFuture<HttpResponse<T>> request, HttpResponse<T> response) {
+        return request.isDone() && !request.isCompletedExceptionally() && response.equals(request.getNow(null));
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> sendRecordingLatency(
+        Supplier<CompletableFuture<HttpResponse<T>>> request) {
+        long start = nanoClock.getAsLong();
+        CompletableFuture<HttpResponse<T>> response = request.get();
+        response.whenComplete((ignored, error) -> {
+            if (isNull(error) || response.isCancelled()) {
+                recordLatency(nanoClock.getAsLong() - start);
+            }
+        });
+        return response;
+    }
+
+    private void recordLatency(long latencyNanos) {
+        synchronized (latencyLock) {
+            latencies[nextLatencyIndex] = latencyNanos;
+            nextLatencyIndex = (nextLatencyIndex + 1) % latencies.length;
+            recordedLatencies = Math.min(recordedLatencies + 1, latencies.length);
+        }
+    }
+
+    private static IOException asIOException(ExecutionException exception) {
+        Throwable cause = exception.getCause();
+        if (cause instanceof IOException) {
+            return (IOException) cause;
+        }
+        if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,74 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import static java.util.Objects.nonNull;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * One {@link RequestHedger} per DataCite host and read operation, since each has its own latency distribution.
+ *
+ * <p>Hedging is opt-in. The connections only hedge their read-only requests when hedging is enabled, and otherwise
+ * send them once, blocking, as before.
+ */
+public class RequestHedgers {
+
+    public static final String NAME_SEPARATOR = "/";
+    private static final HedgingConfig NO_HEDGING = null;
+
+    private final HedgingConfig config;
+    private final LongSupplier nanoClock;
+    private final Map<String, RequestHedger> requestHedgersByName = new ConcurrentHashMap<>();
+
+    public RequestHedgers(HedgingConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Constructor for testing.
+     *
+     * @param config    configuration of every request hedger.
+     * @param nanoClock source of monotonic time in nanoseconds.
+     */
+    public RequestHedgers(HedgingConfig config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+    }
+
+    public static RequestHedgers withDefaults() {
+        return new RequestHedgers(HedgingConfig.defaultConfig());
+    }
+
+    public static RequestHedgers disabled() {
+        return new RequestHedgers(NO_HEDGING);
+    }
+
+    public boolean isEnabled() {
+        return nonNull(config);
+    }
+
+    /**
+     * Get the request hedger of a host and operation.
+     *
+     * @param host      DataCite host.
+     * @param operation name of the read operation, like {@code getDoi}.
+     * @return the same RequestHedger for every call with the same host and operation.
+     */
+    public RequestHedger getRequestHedger(String host, String operation) {
+        String name = host + NAME_SEPARATOR + operation;
+        return requestHedgersByName.computeIfAbsent(name, key -> new RequestHedger(key, config, nanoClock));
+    }
+
+    /**
+     * Statistics of every request hedger used so far, to tune the hedge delay.
+     *
+     * @return one snapshot per host and operation.
+     */
+    public List<HedgingStatistics> getStatistics() {
+        return requestHedgersByName.values().stream()
+            .map(RequestHedger::getStatistics)
+            .collect(Collectors.toList());
+    }
+}
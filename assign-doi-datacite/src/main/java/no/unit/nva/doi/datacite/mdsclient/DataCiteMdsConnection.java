@@ -1,23 +1,43 @@
 package no.unit.nva.doi.datacite.mdsclient;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import static java.util.Objects.nonNull;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.Builder;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
-import org.apache.http.HttpHeaders;
-import org.apache.http.client.utils.URIBuilder;
+import no.unit.nva.doi.datacite.connectionfactories.EndpointUri;
+import no.unit.nva.doi.datacite.hedging.RequestHedger;
+import no.unit.nva.doi.datacite.hedging.RequestHedgers;
+import no.unit.nva.doi.datacite.metrics.ConnectionMetrics;
+import no.unit.nva.doi.datacite.ratelimit.RateLimiter;
 
 /**
  * DataCiteMdsConnect instance for handling the HTTP communication with DataCite MDS API.
  *
- * <p>The HttpClient provided should have a {@link java.net.Authenticator} associated to do pre-emptive
- * authentication towards the API server.
+ * <p>The HttpClient provided should either have a {@link java.net.Authenticator} associated to answer the
+ * authentication challenge from the API server, or the connection should be given a precomputed Basic authorization
+ * header which is then sent pre-emptively with every request.
+ *
+ * <p>Requests which only change the state of a DOI, like posting metadata or registering a URL, return responses
+ * read with {@link StatusOnlyBodyHandler}: the body is empty when successful, and only its first bytes are kept
+ * otherwise.
+ *
+ * <p>The read-only requests {@link #getDoi(String)} and {@link #getMetadata(String)} are hedged when the connection
+ * is given enabled {@link RequestHedgers}.
+ *
+ * <p>Every request is measured by the connection's {@link ConnectionMetrics}, once per call also when hedged.
  *
  * <p>Use the {@link DataCiteConnectionFactory#getAuthenticatedMdsConnection(URI)}} to construct new instances.
  */
@@ -28,6 +48,7 @@ public class DataCiteMdsConnection {
     public static final String DATACITE_PATH_METADATA = "metadata";
 
     public static final String CHARACTER_SLASH = "/";
+    public static final String CONTENT_TYPE = "Content-Type";
     public static final String APPLICATION_XML_CHARSET_UTF_8 = "application/xml; charset=UTF-8";
     public static final String TEXT_PLAIN_CHARSET_UTF_8 = "text/plain;charset=UTF-8";
     public static final String LANDING_PAGE_BODY_FORMAT = "doi=%s\nurl=%s";
@@ -35,10 +56,22 @@ public class DataCiteMdsConnection {
         "Argument for parameter dataCiteXml cannot be null!";
     public static final String MISSING_DOI_IDENTIFIER_ARGUMENT = "Argument for parameter doi cannot be null!";
     public static final String MISSING_LANDING_PAGE_ARGUMENT = "Argument landingPage cannot be null!";
+    public static final String GET_DOI_OPERATION = "getDoi";
+    public static final String GET_METADATA_OPERATION = "getMetadata";
+    public static final String POST_METADATA_OPERATION = "postMetadata";
+    public static final String DELETE_METADATA_OPERATION = "deleteMetadata";
+    public static final String DELETE_DOI_OPERATION = "deleteDoi";
+    public static final String REGISTER_URL_OPERATION = "registerUrl";
+    private static final BodyHandler<String> STATUS_ONLY_BODY_HANDLER = new StatusOnlyBodyHandler();
 
     private final transient HttpClient httpClient;
     private final String host;
-    private final int port;
+    private final EndpointUri doiEndpoint;
+    private final EndpointUri metadataEndpoint;
+    private final String authorizationHeader;
+    private final RateLimiter rateLimiter;
+    private final RequestHedgers requestHedgers;
+    private final ConnectionMetrics connectionMetrics;
 
     /**
      * Constructor for testability reasons.
@@ -46,9 +79,22 @@ public class DataCiteMdsConnection {
      * @param httpClient HttpClient
      */
     public DataCiteMdsConnection(HttpClient httpClient, String host, int port) {
-        this.httpClient = httpClient;
-        this.host = host;
-        this.port = port;
+        this(builder().withHttpClient(httpClient).withHost(host).withPort(port));
+    }
+
+    private DataCiteMdsConnection(Builder builder) {
+        this.httpClient = builder.httpClient;
+        this.host = builder.host;
+        this.doiEndpoint = EndpointUri.https(builder.host, builder.port, DATACITE_PATH_DOI);
+        this.metadataEndpoint = EndpointUri.https(builder.host, builder.port, DATACITE_PATH_METADATA);
+        this.authorizationHeader = builder.authorizationHeader;
+        this.rateLimiter = builder.rateLimiter;
+        this.requestHedgers = builder.requestHedgers;
+        this.connectionMetrics = builder.connectionMetrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
@@ -58,21 +104,107 @@ public class DataCiteMdsConnection {
      * @param dataCiteXml resource metadata as DataCite XML, encoded with UTF-8.
      * @return HttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> postMetadata(String doi, String dataCiteXml) throws IOException,
-                                                                                    URISyntaxException,
-                                                                                    InterruptedException {
-        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
+    public HttpResponse<String> postMetadata(String doi, String dataCiteXml) throws IOException, InterruptedException {
         Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
-        URI uri = createApiEndpointBase()
-            .setPath(createPathMetadataWithDoiIdentifier(doi))
-            .build();
+        return sendForStatus(POST_METADATA_OPERATION,
+            createPostMetadataRequest(doi, BodyPublishers.ofString(dataCiteXml)));
+    }
 
-        HttpRequest request = postApplicationXmlWithBody(uri, dataCiteXml);
+    /**
+     * Variant of {@link #postMetadata(String, String)} sending the encoded XML as it is, without first decoding it
+     * into a String.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml resource metadata as DataCite XML, encoded with UTF-8. Must not be modified while the
+     *                    request is being sent.
+     * @return HttpResponse
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<String> postMetadata(String doi, byte[] dataCiteXml) throws IOException, InterruptedException {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return sendForStatus(POST_METADATA_OPERATION,
+            createPostMetadataRequest(doi, BodyPublishers.ofByteArray(dataCiteXml)));
+    }
+
+    /**
+     * Variant of {@link #postMetadata(String, String)} sending the remaining bytes of a buffer. Heap buffers are sent
+     * without copying, and the position of the buffer is left unchanged.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml resource metadata as DataCite XML, encoded with UTF-8.
+     * @return HttpResponse
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<String> postMetadata(String doi, ByteBuffer dataCiteXml)
+        throws IOException, InterruptedException {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return sendForStatus(POST_METADATA_OPERATION,
+            createPostMetadataRequest(doi, ofByteBuffer(dataCiteXml)));
+    }
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Variant of {@link #postMetadata(String, String)} streaming the XML to DataCite as it is read.
+     *
+     * <p>The supplier is called once for every time the request is sent, so it must return a new stream each time.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml supplies streams of resource metadata as DataCite XML, encoded with UTF-8.
+     * @return HttpResponse
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<String> postMetadata(String doi, Supplier<? extends InputStream> dataCiteXml)
+        throws IOException, InterruptedException {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return sendForStatus(POST_METADATA_OPERATION,
+            createPostMetadataRequest(doi, BodyPublishers.ofInputStream(dataCiteXml)));
+    }
+
+    /**
+     * Variant of {@link #postMetadata(String, String)} streaming the XML from a file.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml file with resource metadata as DataCite XML, encoded with UTF-8.
+     * @return HttpResponse
+     * @throws IOException          IOException, also when the file does not exist.
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<String> postMetadata(String doi, Path dataCiteXml) throws IOException, InterruptedException {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return postMetadata(doi, BodyPublishers.ofFile(dataCiteXml));
+    }
+
+    /**
+     * Variant of {@link #postMetadata(String, String)} sending the body of a publisher. Lets callers open the body,
+     * like a file, once and before the request is sent, so failing to open it is not taken for a failed request.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml publisher of resource metadata as DataCite XML, encoded with UTF-8.
+     * @return HttpResponse
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<String> postMetadata(String doi, BodyPublisher dataCiteXml)
+        throws IOException, InterruptedException {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return sendForStatus(POST_METADATA_OPERATION, createPostMetadataRequest(doi, dataCiteXml));
+    }
+
+    /**
+     * Non-blocking variant of {@link #postMetadata(String, String)}.
+     *
+     * @param doi         prefix/suffix
+     * @param dataCiteXml resource metadata as DataCite XML, encoded with UTF-8.
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<String>> postMetadataAsync(String doi, String dataCiteXml) {
+        Objects.requireNonNull(dataCiteXml, MISSING_DATACITE_XML_ARGUMENT);
+        return sendForStatusAsync(POST_METADATA_OPERATION,
+            createPostMetadataRequest(doi, BodyPublishers.ofString(dataCiteXml)));
     }
 
     /**
@@ -81,19 +213,16 @@ public class DataCiteMdsConnection {
      * @param doi prefix/suffix
      * @return CloseableHttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> getMetadata(String doi) throws IOException, URISyntaxException, InterruptedException {
+    public HttpResponse<String> getMetadata(String doi) throws IOException, InterruptedException {
         Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
-        URI uri = createApiEndpointBase()
-            .setPath(createPathMetadataWithDoiIdentifier(doi))
-            .build();
+        URI uri = metadataEndpoint.resolve(doi);
 
         HttpRequest request = getRequest(uri)
             .build();
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return sendRead(GET_METADATA_OPERATION, request);
     }
 
     /**
@@ -102,19 +231,20 @@ public class DataCiteMdsConnection {
      * @param doi prefix/suffix
      * @return HttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> deleteMetadata(String doi) throws IOException, URISyntaxException,
-                                                                  InterruptedException {
-        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
-        URI uri = createApiEndpointBase()
-            .setPath(createPathMetadataWithDoiIdentifier(doi))
-            .build();
-
-        HttpRequest request = deleteRequest(uri).build();
+    public HttpResponse<String> deleteMetadata(String doi) throws IOException, InterruptedException {
+        return sendForStatus(DELETE_METADATA_OPERATION, createDeleteMetadataRequest(doi));
+    }
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Non-blocking variant of {@link #deleteMetadata(String)}.
+     *
+     * @param doi prefix/suffix
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<String>> deleteMetadataAsync(String doi) {
+        return sendForStatusAsync(DELETE_METADATA_OPERATION, createDeleteMetadataRequest(doi));
     }
 
     /**
@@ -123,18 +253,15 @@ public class DataCiteMdsConnection {
      * @param doi prefix/suffix
      * @return HttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> getDoi(String doi) throws IOException, URISyntaxException, InterruptedException {
+    public HttpResponse<String> getDoi(String doi) throws IOException, InterruptedException {
         Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
-        URI uri = createApiEndpointBase()
-            .setPath(createPathDoiWithDoiIdentifier(doi))
-            .build();
+        URI uri = doiEndpoint.resolve(doi);
 
         HttpRequest request = getRequest(uri).build();
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        return sendRead(GET_DOI_OPERATION, request);
     }
 
     /**
@@ -143,19 +270,20 @@ public class DataCiteMdsConnection {
      * @param doi prefix/suffix
      * @return HttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> deleteDoi(String doi) throws IOException, URISyntaxException, InterruptedException {
-        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
-        URI uri = createApiEndpointBase()
-            .setPath(createPathDoiWithDoiIdentifier(doi))
-            .build();
-
-        HttpRequest request = deleteRequest(uri)
-            .build();
+    public HttpResponse<String> deleteDoi(String doi) throws IOException, InterruptedException {
+        return sendForStatus(DELETE_DOI_OPERATION, createDeleteDoiRequest(doi));
+    }
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Non-blocking variant of {@link #deleteDoi(String)}.
+     *
+     * @param doi prefix/suffix
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<String>> deleteDoiAsync(String doi) {
+        return sendForStatusAsync(DELETE_DOI_OPERATION, createDeleteDoiRequest(doi));
     }
 
     /**
@@ -166,76 +294,224 @@ public class DataCiteMdsConnection {
      * @param landingPage landing page landingPage
      * @return HttpResponse
      * @throws IOException          IOException
-     * @throws URISyntaxException   URISyntaxException
      * @throws InterruptedException InterruptedException
      */
-    public HttpResponse<String> registerUrl(String doi, String landingPage) throws IOException, URISyntaxException,
-                                                                                   InterruptedException {
-        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
-        Objects.requireNonNull(landingPage, MISSING_LANDING_PAGE_ARGUMENT);
-
-        URI uri = createApiEndpointBase()
-            .setPath(createPathDoiWithDoiIdentifier(doi))
-            .build();
-
-        String requestBody = createRequestBodyForRegisterUrl(doi, landingPage);
+    public HttpResponse<String> registerUrl(String doi, String landingPage) throws IOException, InterruptedException {
+        return sendForStatus(REGISTER_URL_OPERATION, createRegisterUrlRequest(doi, landingPage));
+    }
 
-        HttpRequest request = putLandingPage(uri, requestBody).build();
+    /**
+     * Non-blocking variant of {@link #registerUrl(String, String)}.
+     *
+     * @param doi         prefix/suffix
+     * @param landingPage landing page landingPage
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<String>> registerUrlAsync(String doi, String landingPage) {
+        return sendForStatusAsync(REGISTER_URL_OPERATION, createRegisterUrlRequest(doi, landingPage));
+    }
 
-        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    public String getHost() {
+        return host;
     }
 
     protected HttpClient getHttpClient() {
         return httpClient;
     }
 
-    private String createPathDoiWithDoiIdentifier(String doi) {
-        return DATACITE_PATH_DOI + CHARACTER_SLASH + doi;
+    private HttpResponse<String> sendRead(String operation, HttpRequest request)
+        throws IOException, InterruptedException {
+        if (requestHedgers.isEnabled()) {
+            return connectionMetrics.measure(operation, request, HttpResponse.BodyHandlers.ofString(),
+                bodyHandler -> requestHedgers.getRequestHedger(host, operation)
+                    .send(() -> sendAsync(request, bodyHandler)));
+        }
+        return send(operation, request, HttpResponse.BodyHandlers.ofString());
     }
 
-    private String createPathMetadataWithDoiIdentifier(String doi) {
-        return DATACITE_PATH_METADATA + CHARACTER_SLASH + doi;
+    private CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request, BodyHandler<String> bodyHandler) {
+        return RequestHedger.composeCancellable(rateLimiter.acquireAsync(),
+            () -> httpClient.sendAsync(request, bodyHandler));
     }
 
-    private Builder getRequest(URI uri) {
-        return HttpRequest.newBuilder()
-            .GET()
-            .uri(uri);
+    private HttpResponse<String> send(String operation, HttpRequest request, BodyHandler<String> bodyHandler)
+        throws IOException, InterruptedException {
+        rateLimiter.acquire();
+        return connectionMetrics.measure(operation, request, bodyHandler,
+            countingBodyHandler -> httpClient.send(request, countingBodyHandler));
     }
 
-    private Builder deleteRequest(URI uri) {
-        return HttpRequest.newBuilder()
-            .DELETE()
-            .uri(uri);
+    private HttpResponse<String> sendForStatus(String operation, HttpRequest request)
+        throws IOException, InterruptedException {
+        return send(operation, request, STATUS_ONLY_BODY_HANDLER);
     }
 
-    private Builder putLandingPage(URI uri, String requestBody) {
-        return HttpRequest.newBuilder()
+    private CompletableFuture<HttpResponse<String>> sendForStatusAsync(String operation, HttpRequest request) {
+        return rateLimiter.acquireAsync()
+            .thenCompose(permit -> connectionMetrics.measureAsync(operation, request, STATUS_ONLY_BODY_HANDLER,
+                bodyHandler -> httpClient.sendAsync(request, bodyHandler)));
+    }
+
+    private static BodyPublisher ofByteBuffer(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            return BodyPublishers.ofByteArray(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return BodyPublishers.ofByteArray(bytes);
+    }
+
+    private HttpRequest createPostMetadataRequest(String doi, BodyPublisher dataCiteXml) {
+        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
+        URI uri = metadataEndpoint.resolve(doi);
+
+        return postApplicationXmlWithBody(uri, dataCiteXml);
+    }
+
+    private HttpRequest createDeleteMetadataRequest(String doi) {
+        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
+        URI uri = metadataEndpoint.resolve(doi);
+
+        return deleteRequest(uri).build();
+    }
+
+    private HttpRequest createDeleteDoiRequest(String doi) {
+        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
+        URI uri = doiEndpoint.resolve(doi);
+
+        return deleteRequest(uri).build();
+    }
+
+    private HttpRequest createRegisterUrlRequest(String doi, String landingPage) {
+        Objects.requireNonNull(doi, MISSING_DOI_IDENTIFIER_ARGUMENT);
+        Objects.requireNonNull(landingPage, MISSING_LANDING_PAGE_ARGUMENT);
+
+        URI uri = doiEndpoint.resolve(doi);
+
+        String requestBody = createRequestBodyForRegisterUrl(doi, landingPage);
+
+        return putLandingPage(uri, requestBody).build();
+    }
+
+    private HttpRequest.Builder newRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().uri(uri);
+        if (nonNull(authorizationHeader)) {
+            builder.header(BasicAuthorization.AUTHORIZATION_HEADER, authorizationHeader);
+        }
+        return builder;
+    }
+
+    private HttpRequest.Builder getRequest(URI uri) {
+        return newRequest(uri)
+            .GET();
+    }
+
+    private HttpRequest.Builder deleteRequest(URI uri) {
+        return newRequest(uri)
+            .DELETE();
+    }
+
+    private HttpRequest.Builder putLandingPage(URI uri, String requestBody) {
+        return newRequest(uri)
             .PUT(HttpRequest.BodyPublishers.ofString(requestBody))
-            .uri(uri)
-            .header(HttpHeaders.CONTENT_TYPE, DataCiteMdsConnection.TEXT_PLAIN_CHARSET_UTF_8);
+            .header(CONTENT_TYPE, DataCiteMdsConnection.TEXT_PLAIN_CHARSET_UTF_8);
     }
 
-    private Builder postApplicationXml(URI uri) {
-        return HttpRequest.newBuilder()
-            .header(HttpHeaders.CONTENT_TYPE, APPLICATION_XML_CHARSET_UTF_8)
-            .uri(uri);
+    private HttpRequest.Builder postApplicationXml(URI uri) {
+        return newRequest(uri)
+            .header(CONTENT_TYPE, APPLICATION_XML_CHARSET_UTF_8);
     }
 
-    private HttpRequest postApplicationXmlWithBody(URI uri, String dataciteXml) {
+    private HttpRequest postApplicationXmlWithBody(URI uri, BodyPublisher dataciteXml) {
         return postApplicationXml(uri)
-            .POST(HttpRequest.BodyPublishers.ofString(dataciteXml))
+            .POST(dataciteXml)
             .build();
     }
 
-    private String createRequestBodyForRegisterUrl(String doi, String landingPage) throws JsonProcessingException {
+    private String createRequestBodyForRegisterUrl(String doi, String landingPage) {
         return String.format(LANDING_PAGE_BODY_FORMAT, doi, landingPage);
     }
 
-    private URIBuilder createApiEndpointBase() {
-        return new URIBuilder()
-            .setScheme(HTTPS)
-            .setHost(host)
-            .setPort(port);
+    /**
+     * Builder for {@link DataCiteMdsConnection}.
+     */
+    public static final class Builder {
+
+        private HttpClient httpClient;
+        private String host;
+        private int port;
+        private String authorizationHeader;
+        private RateLimiter rateLimiter = RateLimiter.UNLIMITED;
+        private RequestHedgers requestHedgers = RequestHedgers.disabled();
+        private ConnectionMetrics connectionMetrics = ConnectionMetrics.disabled();
+
+        private Builder() {
+        }
+
+        public Builder withHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder withHost(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Send pre-emptive Basic authentication with every request.
+         *
+         * @param authorizationHeader value of the Authorization header, or {@code null} to rely on the HttpClient's
+         *                            authenticator.
+         * @return the builder
+         */
+        public Builder withAuthorizationHeader(String authorizationHeader) {
+            this.authorizationHeader = authorizationHeader;
+            return this;
+        }
+
+        /**
+         * Wait for a permit from the customer's {@link RateLimiter} before every request.
+         *
+         * @param rateLimiter rate limiter of the customer.
+         * @return the builder
+         */
+        public Builder withRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Hedge {@link DataCiteMdsConnection#getDoi(String)} and {@link DataCiteMdsConnection#getMetadata(String)}
+         * when hedging is enabled.
+         *
+         * @param requestHedgers request hedgers shared by all connections.
+         * @return the builder
+         */
+        public Builder withRequestHedgers(RequestHedgers requestHedgers) {
+            this.requestHedgers = requestHedgers;
+            return this;
+        }
+
+        /**
+         * Measure every request.
+         *
+         * @param connectionMetrics measures the requests of the connection.
+         * @return the builder
+         */
+        public Builder withConnectionMetrics(ConnectionMetrics connectionMetrics) {
+            this.connectionMetrics = connectionMetrics;
+            return this;
+        }
+
+        public DataCiteMdsConnection build() {
+            return new DataCiteMdsConnection(this);
+        }
     }
 }
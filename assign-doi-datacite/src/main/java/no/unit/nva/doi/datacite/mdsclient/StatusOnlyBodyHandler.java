@@ -0,0 +1,90 @@
+package no.unit.nva.doi.datacite.mdsclient;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow.Subscription;
+
+/**
+ * Reads the body of MDS responses where the client only looks at the status code.
+ *
+ * <p>The body of a successful response is discarded without being decoded, and the response body is an empty
+ * String. Of an unsuccessful response only the first bytes of the body are kept, decoded as UTF-8, for the error
+ * message. The rest of the body is read and discarded, so the connection can be reused.
+ */
+public class StatusOnlyBodyHandler implements BodyHandler<String> {
+
+    public static final int DEFAULT_ERROR_BODY_LIMIT = 1024;
+    public static final String DISCARDED_BODY = "";
+    private static final int SUCCESSFUL_STATUS_CLASS = 2;
+    private static final int HTTP_STATUS_CLASS = 100;
+
+    private final int errorBodyLimit;
+
+    public StatusOnlyBodyHandler() {
+        this(DEFAULT_ERROR_BODY_LIMIT);
+    }
+
+    /**
+     * Construct a handler keeping at most the given number of bytes of an unsuccessful response body.
+     *
+     * @param errorBodyLimit maximum number of bytes kept.
+     */
+    public StatusOnlyBodyHandler(int errorBodyLimit) {
+        this.errorBodyLimit = errorBodyLimit;
+    }
+
+    @Override
+    public BodySubscriber<String> apply(ResponseInfo responseInfo) {
+        if (responseInfo.statusCode() / HTTP_STATUS_CLASS == SUCCESSFUL_STATUS_CLASS) {
+            return BodySubscribers.replacing(DISCARDED_BODY);
+        }
+        return new BoundedBodySubscriber(errorBodyLimit);
+    }
+
+    private static class BoundedBodySubscriber implements BodySubscriber<String> {
+
+        private final CompletableFuture<String> body = new CompletableFuture<>();
+        private final byte[] prefix;
+        private int length;
+
+        public BoundedBodySubscriber(int limit) {
+            this.prefix = new byte[limit];
+        }
+
+        @Override
+        public CompletionStage<String> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                int kept = Math.min(buffer.remaining(), prefix.length - length);
+                buffer.get(prefix, length, kept);
+                length += kept;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(new String(prefix, 0, length, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes of the response bodies read by another {@link BodyHandler}.
+ *
+ * <p>The bytes are counted as the HttpClient hands them to the body subscriber, so chunked responses and responses
+ * without a {@code Content-Length} are counted too. Compressed bodies are counted as received, before decompression.
+ * A handler counts every response it is applied to, like both responses of a hedged request.
+ *
+ * @param <T> the type of the response body.
+ */
+public class ByteCountingBodyHandler<T> implements BodyHandler<T> {
+
+    private final BodyHandler<T> bodyHandler;
+    private final LongAdder bytesReceived = new LongAdder();
+
+    public ByteCountingBodyHandler(BodyHandler<T> bodyHandler) {
+        this.bodyHandler = bodyHandler;
+    }
+
+    @Override
+    public BodySubscriber<T> apply(ResponseInfo responseInfo) {
+        return new ByteCountingBodySubscriber<>(bodyHandler.apply(responseInfo), bytesReceived);
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    private static class ByteCountingBodySubscriber<T> implements BodySubscriber<T> {
+
+        private final BodySubscriber<T> bodySubscriber;
+        private final LongAdder bytesReceived;
+
+        public ByteCountingBodySubscriber(BodySubscriber<T> bodySubscriber, LongAdder bytesReceived) {
+            this.bodySubscriber = bodySubscriber;
+            this.bytesReceived = bytesReceived;
+        }
+
+        @Override
+        public CompletionStage<T> getBody() {
+            return bodySubscriber.getBody();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            bodySubscriber.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            for (ByteBuffer buffer : buffers) {
+                bytesReceived.add(buffer.remaining());
+            }
+            bodySubscriber.onNext(buffers);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            bodySubscriber.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            bodySubscriber.onComplete();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static java.util.Objects.isNull;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures the requests of one MDS or REST connection, which sends requests to one host on behalf of one customer,
+ * and reports them to a {@link MeterRegistry}.
+ *
+ * <p>A hedged request is measured once, from sending the first request until the first response, since that is the
+ * latency the caller sees. Nothing is reported to the registry when it is {@link MeterRegistry#NO_OP}.
+ *
+ * <p>The bytes received are counted by wrapping the body handler of the request in a {@link ByteCountingBodyHandler},
+ * so responses without a {@code Content-Length}, like chunked responses, are measured too.
+ *
+ * <p>Every request is also recorded as a {@link DataCiteExchangeEvent} when a Flight Recorder recording has enabled
+ * it, whether the registry is enabled or not.
+ */
+public class ConnectionMetrics {
+
+    private static final long UNKNOWN_LENGTH = 0L;
+    private static final char PATH_SEPARATOR = '/';
+    private static final int NOT_FOUND = -1;
+    private static final String NO_DOI = "";
+    private static final String NO_HOST = null;
+    private static final URI NO_CUSTOMER = null;
+
+    private final MeterRegistry meterRegistry;
+    private final String host;
+    private final URI customerId;
+    private final LongSupplier nanoClock;
+
+    public ConnectionMetrics(MeterRegistry meterRegistry, String host, URI customerId) {
+        this(meterRegistry, host, customerId, System::nanoTime);
+    }
+
+    /**
+     * Constructor for testing.
+     *
+     * @param meterRegistry registry receiving the measurements.
+     * @param host          DataCite host of the connection.
+     * @param customerId    customer of the connection.
+     * @param nanoClock     source of monotonic time in nanoseconds.
+     */
+    public ConnectionMetrics(MeterRegistry meterRegistry, String host, URI customerId, LongSupplier nanoClock) {
+        this.meterRegistry = meterRegistry;
+        this.host = host;
+        this.customerId = customerId;
+        this.nanoClock = nanoClock;
+    }
+
+    public static ConnectionMetrics disabled() {
+        return new ConnectionMetrics(MeterRegistry.NO_OP, NO_HOST, NO_CUSTOMER);
+    }
+
+    public boolean isEnabled() {
+        return meterRegistry != MeterRegistry.NO_OP;
+    }
+
+    /**
+     * Send a request, blocking, and measure it.
+     *
+     * @param <T>         the type of the response body.
+     * @param operation   name of the operation, like {@code getDoi}.
+     * @param request     the request, to measure the size of its body.
+     * @param bodyHandler reads the response body, and is wrapped to count the bytes of the body.
+     * @param send        sends the request with the given body handler.
+     * @return the response.
+     * @throws IOException          when sending failed, which is measured as a transport failure.
+     * @throws InterruptedException when interrupted, which is measured as a transport failure.
+     */
+    public <T> HttpResponse<T> measure(String operation, HttpRequest request, BodyHandler<T> bodyHandler,
+                                       Send<T> send)
+        throws IOException, InterruptedException {
+        DataCiteExchangeEvent event = new DataCiteExchangeEvent();
+        if (!isEnabled() && !event.isEnabled()) {
+            return send.send(bodyHandler);
+        }
+        RequestTags tags = started(operation, event);
+        ByteCountingBodyHandler<T> countingBodyHandler = new ByteCountingBodyHandler<>(bodyHandler);
+        long start = nanoClock.getAsLong();
+        HttpResponse<T> response = null;
+        try {
+            response = send.send(countingBodyHandler);
+            return response;
+        } finally {
+            complete(tags, event, request, start, response, countingBodyHandler);
+        }
+    }
+
+    /**
+     * Send a request without blocking, and measure it once the response arrives.
+     *
+     * @param <T>         the type of the response body.
+     * @param operation   name of the operation, like {@code getDoi}.
+     * @param request     the request, to measure the size of its body.
+     * @param bodyHandler reads the response body, and is wrapped to count the bytes of the body.
+     * @param send        sends the request with the given body handler.
+     * @return future completed with the response, after it has been measured.
+     */
+    public <T> CompletableFuture<HttpResponse<T>> measureAsync(
+        String operation, HttpRequest request, BodyHandler<T> bodyHandler,
+        Function<BodyHandler<T>, CompletableFuture<HttpResponse<T>>> send) {
+        DataCiteExchangeEvent event = new DataCiteExchangeEvent();
+        if (!isEnabled() && !event.isEnabled()) {
+            return send.apply(bodyHandler);
+        }
+        RequestTags tags = started(operation, event);
+        ByteCountingBodyHandler<T> countingBodyHandler = new ByteCountingBodyHandler<>(bodyHandler);
+        long start = nanoClock.getAsLong();
+        return send.apply(countingBodyHandler)
+            .whenComplete((response, error) -> complete(tags, event, request, start, response, countingBodyHandler));
+    }
+
+    private RequestTags started(String operation, DataCiteExchangeEvent event) {
+        RequestTags tags = new RequestTags(operation, host, customerId);
+        if (isEnabled()) {
+            meterRegistry.requestStarted(tags);
+        }
+        event.begin();
+        return tags;
+    }
+
+    private <T> void complete(RequestTags tags, DataCiteExchangeEvent event, HttpRequest request, long start,
+                              HttpResponse<T> response, ByteCountingBodyHandler<T> bodyHandler) {
+        event.end();
+        Duration latency = Duration.ofNanos(nanoClock.getAsLong() - start);
+        int statusCode = isNull(response) ? RequestMeasurement.TRANSPORT_FAILURE : response.statusCode();
+        RequestMeasurement measurement = new RequestMeasurement(latency, statusCode, bytesSent(request),
+            bodyHandler.getBytesReceived());
+        if (event.shouldCommit()) {
+            event.commit(tags, doiOf(request), measurement);
+        }
+        if (isEnabled()) {
+            meterRegistry.requestCompleted(tags, measurement);
+        }
+    }
+
+    /**
+     * The DOI of a request, which is the path after the collection, like {@code 10.5072/abc} in
+     * {@code /metadata/10.5072/abc}.
+     *
+     * @param request the request.
+     * @return the DOI, or empty when the request is for the collection itself.
+     */
+    private static String doiOf(HttpRequest request) {
+        String path = request.uri().getPath();
+        int doiStart = path.indexOf(PATH_SEPARATOR, 1);
+        return doiStart == NOT_FOUND ? NO_DOI : path.substring(doiStart + 1);
+    }
+
+    private static long bytesSent(HttpRequest request) {
+        return request.bodyPublisher()
+            .map(BodyPublisher::contentLength)
+            .filter(length -> length > UNKNOWN_LENGTH)
+            .orElse(UNKNOWN_LENGTH);
+    }
+
+    /**
+     * Sends a request, blocking.
+     *
+     * @param <T> the type of the response body.
+     */
+    @FunctionalInterface
+    public interface Send<T> {
+
+        HttpResponse<T> send(BodyHandler<T> bodyHandler) throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,71 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one request to the DataCite MDS or REST API, from sending it until its response has been
+ * read or it has failed.
+ *
+ * <p>The event is committed by {@link ConnectionMetrics} for every request of every connection, independently of its
+ * {@link MeterRegistry}. It costs next to nothing unless a recording has enabled it, like
+ * {@code -XX:StartFlightRecording}, and shows the time spent waiting for DataCite next to GC pauses and CPU samples.
+ */
+@Name(DataCiteExchangeEvent.NAME)
+@Label("DataCite Exchange")
+@Category({"NVA", "DataCite"})
+@Description("A request to the DataCite MDS or REST API")
+@StackTrace(false)
+@SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"}) // Fields are read by Flight Recorder.
+public class DataCiteExchangeEvent extends Event {
+
+    public static final String NAME = "no.unit.nva.doi.datacite.Exchange";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Host")
+    private String host;
+
+    @Label("Customer")
+    private String customer;
+
+    @Label("DOI")
+    @Description("The DOI in the request path, or empty when the request has none, like creating a DOI")
+    private String doi;
+
+    @Label("Status Code")
+    @Description("HTTP status code of the response, or 0 when the request failed without a response")
+    private int statusCode;
+
+    @Label("Request Size")
+    @DataAmount
+    private long requestSize;
+
+    @Label("Response Size")
+    @DataAmount
+    private long responseSize;
+
+    /**
+     * Set the fields of the event, and commit it.
+     *
+     * @param tags        the operation, host and customer of the request.
+     * @param doi         the DOI of the request.
+     * @param measurement status code and sizes of the request.
+     */
+    public void commit(RequestTags tags, String doi, RequestMeasurement measurement) {
+        this.operation = tags.getOperation();
+        this.host = tags.getHost();
+        this.customer = String.valueOf(tags.getCustomerId());
+        this.doi = doi;
+        this.statusCode = measurement.getStatusCode();
+        this.requestSize = measurement.getBytesSent();
+        this.responseSize = measurement.getBytesReceived();
+        commit();
+    }
+}
@@ -0,0 +1,394 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static java.util.Objects.isNull;
+import static nva.commons.core.JsonUtils.objectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * {@link MeterRegistry} writing the measurements as CloudWatch Embedded Metric Format (EMF) log lines, which
+ * CloudWatch turns into metrics without any agent or API call, also from a Lambda function.
+ *
+ * <p>Measurements are aggregated per operation, host and customer, and written as one line per combination when
+ * flushed. A line has the latencies of every request as a list, so that CloudWatch can compute percentiles, the
+ * number of requests per status code class, the bytes sent and received, and the most requests in flight at once.
+ * The metrics are published with the dimensions operation and host, and operation, host and customer. The waits for
+ * a rate limiter permit are written as another line per customer, with the customer as dimension.
+ *
+ * <p>Lines are flushed when the flush interval has passed since the last flush, when a combination has
+ * {@link #MAXIMUM_VALUES_PER_LINE} latencies or permit waits, which is the most EMF accepts, or by calling
+ * {@link #flush()}. Use a zero flush interval in Lambda functions, which may be frozen between invocations, so that
+ * every request is written as soon as it completes.
+ */
+public class EmbeddedMetricFormatRegistry implements MeterRegistry {
+
+    public static final int MAXIMUM_VALUES_PER_LINE = 100;
+    public static final String OPERATION = "Operation";
+    public static final String HOST = "Host";
+    public static final String CUSTOMER = "Customer";
+    public static final String LATENCY = "Latency";
+    public static final String REQUESTS = "Requests";
+    public static final String STATUS_2XX = "Status2xx";
+    public static final String STATUS_3XX = "Status3xx";
+    public static final String STATUS_4XX = "Status4xx";
+    public static final String STATUS_5XX = "Status5xx";
+    public static final String TRANSPORT_FAILURES = "TransportFailures";
+    public static final String BYTES_SENT = "BytesSent";
+    public static final String BYTES_RECEIVED = "BytesReceived";
+    public static final String MAXIMUM_IN_FLIGHT = "MaximumInFlight";
+    public static final String PERMIT_WAIT = "PermitWait";
+    private static final String AWS = "_aws";
+    private static final String TIMESTAMP = "Timestamp";
+    private static final String CLOUD_WATCH_METRICS = "CloudWatchMetrics";
+    private static final String NAMESPACE = "Namespace";
+    private static final String DIMENSIONS = "Dimensions";
+    private static final String METRICS = "Metrics";
+    private static final String NAME = "Name";
+    private static final String UNIT = "Unit";
+    private static final String MILLISECONDS = "Milliseconds";
+    private static final String COUNT = "Count";
+    private static final String BYTES = "Bytes";
+    private static final double NANOS_PER_MILLI = Duration.ofMillis(1).toNanos();
+    private static final int SUCCESSFUL = 2;
+    private static final int REDIRECTION = 3;
+    private static final int CLIENT_ERROR = 4;
+    private static final int SERVER_ERROR = 5;
+
+    private final String namespace;
+    private final Duration flushInterval;
+    private final Consumer<String> sink;
+    private final Clock clock;
+    private final Map<RequestTags, OperationStatistics> statistics = new ConcurrentHashMap<>();
+    private final Map<URI, PermitWaitStatistics> permitWaits = new ConcurrentHashMap<>();
+    private final AtomicReference<Instant> lastFlush;
+
+    /**
+     * Create a registry writing the lines to standard output, which Lambda sends to CloudWatch Logs.
+     *
+     * @param namespace     CloudWatch namespace of the metrics.
+     * @param flushInterval how often the aggregated measurements are written.
+     */
+    public EmbeddedMetricFormatRegistry(String namespace, Duration flushInterval) {
+        this(namespace, flushInterval, System.out::println, Clock.systemUTC());
+    }
+
+    /**
+     * Create a registry writing the lines to a custom sink.
+     *
+     * @param namespace     CloudWatch namespace of the metrics.
+     * @param flushInterval how often the aggregated measurements are written.
+     * @param sink          receives every line, which must be logged without any prefix.
+     * @param clock         clock of the timestamps and the flush interval.
+     */
+    public EmbeddedMetricFormatRegistry(String namespace, Duration flushInterval, Consumer<String> sink,
+                                        Clock clock) {
+        this.namespace = namespace;
+        this.flushInterval = flushInterval;
+        this.sink = sink;
+        this.clock = clock;
+        this.lastFlush = new AtomicReference<>(clock.instant());
+    }
+
+    /**
+     * Registry for a Lambda function, writing every request to standard output as soon as it completes.
+     *
+     * @param namespace CloudWatch namespace of the metrics, or empty for no metrics.
+     * @return the registry, or {@link MeterRegistry#NO_OP} without a namespace.
+     */
+    public static MeterRegistry forLambda(String namespace) {
+        if (isNull(namespace) || namespace.isBlank()) {
+            return NO_OP;
+        }
+        return new EmbeddedMetricFormatRegistry(namespace, Duration.ZERO);
+    }
+
+    @Override
+    public void requestStarted(RequestTags tags) {
+        statisticsOf(tags).started();
+    }
+
+    @Override
+    public void requestCompleted(RequestTags tags, RequestMeasurement measurement) {
+        boolean full = statisticsOf(tags).completed(measurement);
+        if (full) {
+            flush(tags);
+        }
+        flushWhenIntervalHasPassed();
+    }
+
+    @Override
+    public void permitWaited(URI customerId, Duration wait) {
+        boolean full = permitWaitsOf(customerId).add(wait);
+        if (full) {
+            flushPermitWaits(customerId);
+        }
+        flushWhenIntervalHasPassed();
+    }
+
+    /**
+     * Write one line for every operation, host and customer with requests completed since the last flush, and one
+     * line for every customer with permit waits since the last flush.
+     */
+    public void flush() {
+        lastFlush.set(clock.instant());
+        for (RequestTags tags : statistics.keySet()) {
+            flush(tags);
+        }
+        for (URI customerId : permitWaits.keySet()) {
+            flushPermitWaits(customerId);
+        }
+    }
+
+    private void flush(RequestTags tags) {
+        statisticsOf(tags).drain()
+            .map(snapshot -> toLine(tags, snapshot))
+            .ifPresent(sink);
+    }
+
+    private void flushWhenIntervalHasPassed() {
+        Instant now = clock.instant();
+        Instant previousFlush = lastFlush.get();
+        if (!now.isBefore(previousFlush.plus(flushInterval)) && lastFlush.compareAndSet(previousFlush, now)) {
+            flush();
+        }
+    }
+
+    private void flushPermitWaits(URI customerId) {
+        permitWaitsOf(customerId).drain()
+            .map(waits -> toPermitWaitLine(customerId, waits))
+            .ifPresent(sink);
+    }
+
+    private OperationStatistics statisticsOf(RequestTags tags) {
+        return statistics.computeIfAbsent(tags, key -> new OperationStatistics());
+    }
+
+    private PermitWaitStatistics permitWaitsOf(URI customerId) {
+        return permitWaits.computeIfAbsent(customerId, key -> new PermitWaitStatistics());
+    }
+
+    private String toLine(RequestTags tags, OperationStatistics.Snapshot snapshot) {
+        ObjectNode line = objectMapper.createObjectNode();
+        ObjectNode metricDirective = addMetricDirective(line);
+        ArrayNode dimensions = metricDirective.putArray(DIMENSIONS);
+        dimensions.addArray().add(OPERATION).add(HOST);
+        dimensions.addArray().add(OPERATION).add(HOST).add(CUSTOMER);
+        ArrayNode metrics = metricDirective.putArray(METRICS);
+        addMetric(metrics, LATENCY, MILLISECONDS);
+        addMetric(metrics, REQUESTS, COUNT);
+        addMetric(metrics, STATUS_2XX, COUNT);
+        addMetric(metrics, STATUS_3XX, COUNT);
+        addMetric(metrics, STATUS_4XX, COUNT);
+        addMetric(metrics, STATUS_5XX, COUNT);
+        addMetric(metrics, TRANSPORT_FAILURES, COUNT);
+        addMetric(metrics, BYTES_SENT, BYTES);
+        addMetric(metrics, BYTES_RECEIVED, BYTES);
+        addMetric(metrics, MAXIMUM_IN_FLIGHT, COUNT);
+
+        line.put(OPERATION, tags.getOperation());
+        line.put(HOST, tags.getHost());
+        line.put(CUSTOMER, String.valueOf(tags.getCustomerId()));
+        addMillis(line.putArray(LATENCY), snapshot.getLatencies());
+        line.put(REQUESTS, snapshot.getLatencies().size());
+        line.put(STATUS_2XX, snapshot.getStatusClassCount(SUCCESSFUL));
+        line.put(STATUS_3XX, snapshot.getStatusClassCount(REDIRECTION));
+        line.put(STATUS_4XX, snapshot.getStatusClassCount(CLIENT_ERROR));
+        line.put(STATUS_5XX, snapshot.getStatusClassCount(SERVER_ERROR));
+        line.put(TRANSPORT_FAILURES, snapshot.getTransportFailures());
+        line.put(BYTES_SENT, snapshot.getBytesSent());
+        line.put(BYTES_RECEIVED, snapshot.getBytesReceived());
+        line.put(MAXIMUM_IN_FLIGHT, snapshot.getMaximumInFlight());
+        return attempt(() -> objectMapper.writeValueAsString(line)).orElseThrow();
+    }
+
+    private String toPermitWaitLine(URI customerId, List<Duration> waits) {
+        ObjectNode line = objectMapper.createObjectNode();
+        ObjectNode metricDirective = addMetricDirective(line);
+        metricDirective.putArray(DIMENSIONS).addArray().add(CUSTOMER);
+        addMetric(metricDirective.putArray(METRICS), PERMIT_WAIT, MILLISECONDS);
+
+        line.put(CUSTOMER, String.valueOf(customerId));
+        addMillis(line.putArray(PERMIT_WAIT), waits);
+        return attempt(() -> objectMapper.writeValueAsString(line)).orElseThrow();
+    }
+
+    private ObjectNode addMetricDirective(ObjectNode line) {
+        ObjectNode aws = line.putObject(AWS);
+        aws.put(TIMESTAMP, clock.millis());
+        ObjectNode metricDirective = aws.putArray(CLOUD_WATCH_METRICS).addObject();
+        metricDirective.put(NAMESPACE, namespace);
+        return metricDirective;
+    }
+
+    private static void addMillis(ArrayNode values, List<Duration> durations) {
+        durations.forEach(duration -> values.add(duration.toNanos() / NANOS_PER_MILLI));
+    }
+
+    private static void addMetric(ArrayNode metrics, String name, String unit) {
+        metrics.addObject().put(NAME, name).put(UNIT, unit);
+    }
+
+    /**
+     * Permit waits of one customer since the last flush.
+     */
+    private static class PermitWaitStatistics {
+
+        private final Object lock = new Object();
+        private final List<Duration> waits = new ArrayList<>();
+
+        /**
+         * Add the wait of a permit.
+         *
+         * @param wait the wait.
+         * @return {@code true} when the statistics are full, and must be flushed.
+         */
+        public boolean add(Duration wait) {
+            synchronized (lock) {
+                waits.add(wait);
+                return waits.size() >= MAXIMUM_VALUES_PER_LINE;
+            }
+        }
+
+        /**
+         * Take the waits, and start over.
+         *
+         * @return the waits, or empty when no permit has been reserved since the last time.
+         */
+        public Optional<List<Duration>> drain() {
+            synchronized (lock) {
+                if (waits.isEmpty()) {
+                    return Optional.empty();
+                }
+                final List<Duration> snapshot = List.copyOf(waits);
+                waits.clear();
+                return Optional.of(snapshot);
+            }
+        }
+    }
+
+    /**
+     * Measurements of one operation, host and customer since the last flush.
+     */
+    private static class OperationStatistics {
+
+        private static final int STATUS_CLASSES = 6;
+        private static final int STATUS_CLASS_DIVISOR = 100;
+
+        private final Object lock = new Object();
+        private final List<Duration> latencies = new ArrayList<>();
+        private final long[] statusClassCounts = new long[STATUS_CLASSES];
+        private long transportFailures;
+        private long bytesSent;
+        private long bytesReceived;
+        private int inFlight;
+        private int maximumInFlight;
+
+        public void started() {
+            synchronized (lock) {
+                inFlight++;
+                maximumInFlight = Math.max(maximumInFlight, inFlight);
+            }
+        }
+
+        /**
+         * Add a completed request.
+         *
+         * @param measurement the measurement of the request.
+         * @return {@code true} when the statistics are full, and must be flushed.
+         */
+        public boolean completed(RequestMeasurement measurement) {
+            int statusClass = Math.min(measurement.getStatusCode() / STATUS_CLASS_DIVISOR, STATUS_CLASSES - 1);
+            synchronized (lock) {
+                inFlight--;
+                latencies.add(measurement.getLatency());
+                if (measurement.isTransportFailure()) {
+                    transportFailures++;
+                } else {
+                    statusClassCounts[statusClass]++;
+                }
+                bytesSent += measurement.getBytesSent();
+                bytesReceived += measurement.getBytesReceived();
+                return latencies.size() >= MAXIMUM_VALUES_PER_LINE;
+            }
+        }
+
+        /**
+         * Take the measurements, and start over. Requests still in flight are kept.
+         *
+         * @return the measurements, or empty when no request has completed since the last time.
+         */
+        public Optional<Snapshot> drain() {
+            synchronized (lock) {
+                if (latencies.isEmpty()) {
+                    return Optional.empty();
+                }
+                final Snapshot snapshot = new Snapshot(List.copyOf(latencies), statusClassCounts.clone(),
+                    transportFailures, bytesSent, bytesReceived, maximumInFlight);
+                latencies.clear();
+                Arrays.fill(statusClassCounts, 0);
+                transportFailures = 0;
+                bytesSent = 0;
+                bytesReceived = 0;
+                maximumInFlight = inFlight;
+                return Optional.of(snapshot);
+            }
+        }
+
+        private static final class Snapshot {
+
+            private final List<Duration> latencies;
+            private final long[] statusClassCounts;
+            private final long transportFailures;
+            private final long bytesSent;
+            private final long bytesReceived;
+            private final int maximumInFlight;
+
+            private Snapshot(List<Duration> latencies, long[] statusClassCounts, long transportFailures,
+                             long bytesSent, long bytesReceived, int maximumInFlight) {
+                this.latencies = latencies;
+                this.statusClassCounts = statusClassCounts;
+                this.transportFailures = transportFailures;
+                this.bytesSent = bytesSent;
+                this.bytesReceived = bytesReceived;
+                this.maximumInFlight = maximumInFlight;
+            }
+
+            public List<Duration> getLatencies() {
+                return latencies;
+            }
+
+            public long getStatusClassCount(int statusClass) {
+                return statusClassCounts[statusClass];
+            }
+
+            public long getTransportFailures() {
+                return transportFailures;
+            }
+
+            public long getBytesSent() {
+                return bytesSent;
+            }
+
+            public long getBytesReceived() {
+                return bytesReceived;
+            }
+
+            public int getMaximumInFlight() {
+                return maximumInFlight;
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of one phase of a DOI handler, like validating the incoming publication or marshalling it as
+ * DataCite XML, so that a recording shows the handler's own work next to its {@link DataCiteExchangeEvent}s.
+ *
+ * <p>Use {@link #measure(String, String, Phase)} around a phase. The phase is run as it is when no recording has
+ * enabled the event.
+ */
+@Name(HandlerPhaseEvent.NAME)
+@Label("DOI Handler Phase")
+@Category({"NVA", "DataCite"})
+@Description("A phase of handling a DOI event")
+@StackTrace(false)
+@SuppressWarnings({"PMD.UnusedPrivateField", "PMD.SingularField"}) // Fields are read by Flight Recorder.
+public class HandlerPhaseEvent extends Event {
+
+    public static final String NAME = "no.unit.nva.doi.datacite.HandlerPhase";
+    public static final String VALIDATION = "validation";
+    public static final String MAPPING = "mapping";
+    public static final String MARSHALLING = "marshalling";
+
+    @Label("Handler")
+    private String handler;
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Failed")
+    @Description("Whether the phase threw an exception")
+    private boolean failed;
+
+    /**
+     * Run a phase of a handler, and record it.
+     *
+     * @param <T>     the result of the phase.
+     * @param <E>     the exception thrown by the phase.
+     * @param handler name of the handler, like {@code FindableDoiEventHandler}.
+     * @param phase   name of the phase, like {@link #VALIDATION}.
+     * @param step    the phase.
+     * @return the result of the phase.
+     * @throws E when the phase fails, which is recorded as a failed phase.
+     */
+    public static <T, E extends Exception> T measure(String handler, String phase, Phase<T, E> step) throws E {
+        HandlerPhaseEvent event = new HandlerPhaseEvent();
+        event.begin();
+        boolean completed = false;
+        try {
+            T result = step.run();
+            completed = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.handler = handler;
+                event.phase = phase;
+                event.failed = !completed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * A phase of a handler.
+     *
+     * @param <T> the result of the phase.
+     * @param <E> the exception thrown by the phase.
+     */
+    @FunctionalInterface
+    public interface Phase<T, E extends Exception> {
+
+        T run() throws E;
+    }
+}
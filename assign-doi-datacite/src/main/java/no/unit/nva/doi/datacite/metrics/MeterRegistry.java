@@ -0,0 +1,43 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Receives the measurements of every request the MDS and REST connections send to DataCite.
+ *
+ * <p>Implementations must be thread safe, since requests of all customers are measured concurrently. Every started
+ * request is completed exactly once, also when it fails, so that the number of requests in flight can be tracked.
+ * {@link #NO_OP} is used unless a registry is given to the connection factory, and then nothing is measured.
+ */
+public interface MeterRegistry {
+
+    MeterRegistry NO_OP = new MeterRegistry() {
+    };
+
+    /**
+     * A request is about to be sent.
+     *
+     * @param tags the operation, host and customer of the request.
+     */
+    default void requestStarted(RequestTags tags) {
+    }
+
+    /**
+     * A request has been answered, or has failed.
+     *
+     * @param tags        the operation, host and customer of the request.
+     * @param measurement latency, status code and sizes of the request.
+     */
+    default void requestCompleted(RequestTags tags, RequestMeasurement measurement) {
+    }
+
+    /**
+     * A request has been given a permit by the rate limiter of its customer, after waiting for it.
+     *
+     * @param customerId NVA customer id.
+     * @param wait       the time the request waits for the permit, which is zero when it did not wait.
+     */
+    default void permitWaited(URI customerId, Duration wait) {
+    }
+}
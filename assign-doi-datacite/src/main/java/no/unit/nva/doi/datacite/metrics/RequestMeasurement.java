@@ -0,0 +1,55 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import java.time.Duration;
+
+/**
+ * Measurement of one completed DataCite request.
+ *
+ * <p>Requests failing without a response, like timeouts or refused connections, have the status code
+ * {@link #TRANSPORT_FAILURE}. Bytes sent are counted from the {@code Content-Length} of the request, so streamed
+ * request bodies of unknown length count as zero. Bytes received are the bytes of the response body as received.
+ */
+public final class RequestMeasurement {
+
+    public static final int TRANSPORT_FAILURE = 0;
+
+    private final Duration latency;
+    private final int statusCode;
+    private final long bytesSent;
+    private final long bytesReceived;
+
+    /**
+     * Create a measurement.
+     *
+     * @param latency       time from sending the request until the response was received, or the request failed.
+     * @param statusCode    HTTP status code of the response, or {@link #TRANSPORT_FAILURE}.
+     * @param bytesSent     length of the request body.
+     * @param bytesReceived number of bytes of the response body received.
+     */
+    public RequestMeasurement(Duration latency, int statusCode, long bytesSent, long bytesReceived) {
+        this.latency = latency;
+        this.statusCode = statusCode;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    public boolean isTransportFailure() {
+        return statusCode == TRANSPORT_FAILURE;
+    }
+}
@@ -0,0 +1,59 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * What a DataCite request is measured by: the operation, the DataCite host it was sent to, and the customer it was
+ * sent on behalf of.
+ */
+public final class RequestTags {
+
+    private final String operation;
+    private final String host;
+    private final URI customerId;
+
+    /**
+     * Create the tags of a request.
+     *
+     * @param operation  name of the operation, like {@code getDoi}.
+     * @param host       DataCite host.
+     * @param customerId NVA customer id.
+     */
+    public RequestTags(String operation, String host, URI customerId) {
+        this.operation = operation;
+        this.host = host;
+        this.customerId = customerId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public URI getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RequestTags)) {
+            return false;
+        }
+        RequestTags that = (RequestTags) o;
+        return Objects.equals(operation, that.operation)
+               && Objects.equals(host, that.host)
+               && Objects.equals(customerId, that.customerId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operation, host, customerId);
+    }
+}
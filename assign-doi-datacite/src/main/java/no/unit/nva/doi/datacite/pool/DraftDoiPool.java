@@ -0,0 +1,132 @@
+package no.unit.nva.doi.datacite.pool;
+
+import static java.util.Objects.nonNull;
+import java.net.URI;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import no.unit.nva.doi.DoiClient;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.models.Doi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands out draft DOIs minted in advance, so that drafting a DOI does not wait for DataCite.
+ *
+ * <p>Each customer has its own pool in the {@link DraftDoiStore}. Claiming a DOI takes one from the customer's pool,
+ * and refills the pool in the background when it runs low. Only one refill per customer runs at a time. When the pool
+ * is empty, the DOI is minted while the caller waits, as without a pool.
+ *
+ * <p>Pooled DOIs are drafts in DataCite, and DOIs lost with the store, like an in-memory store when the process ends,
+ * stay drafts that are never used. A disabled pool always mints the DOI while the caller waits.
+ */
+public class DraftDoiPool {
+
+    public static final String POOL_EMPTY_LOG = "No pooled draft DOI for {}, minting one";
+    public static final String REFILL_FAILED_LOG = "Failed refilling draft DOI pool of {}";
+    private static final DraftDoiStore NO_STORE = null;
+    private static final Logger logger = LoggerFactory.getLogger(DraftDoiPool.class);
+
+    private final DoiClient doiClient;
+    private final DraftDoiStore store;
+    private final DraftDoiPoolConfig config;
+    private final Executor refillExecutor;
+    private final Set<URI> refillingCustomers = ConcurrentHashMap.newKeySet();
+    private final LongAdder pooledClaims = new LongAdder();
+    private final LongAdder synchronousMints = new LongAdder();
+
+    public DraftDoiPool(DoiClient doiClient, DraftDoiStore store, DraftDoiPoolConfig config) {
+        this(doiClient, store, config, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Construct a DraftDoiPool refilling the pools with the given executor.
+     *
+     * @param doiClient      client minting the draft DOIs.
+     * @param store          where the minted DOIs are kept until claimed.
+     * @param config         when pools are refilled, and by how many DOIs.
+     * @param refillExecutor runs the refills in the background.
+     */
+    public DraftDoiPool(DoiClient doiClient, DraftDoiStore store, DraftDoiPoolConfig config,
+                        Executor refillExecutor) {
+        this.doiClient = doiClient;
+        this.store = store;
+        this.config = config;
+        this.refillExecutor = refillExecutor;
+    }
+
+    public static DraftDoiPool disabled(DoiClient doiClient) {
+        return new DraftDoiPool(doiClient, NO_STORE, DraftDoiPoolConfig.defaultConfig());
+    }
+
+    public boolean isEnabled() {
+        return nonNull(store);
+    }
+
+    /**
+     * Claim a draft DOI of a customer, minting one when the customer's pool is empty.
+     *
+     * @param customerId NVA customerId
+     * @return a draft DOI, which is not handed out again.
+     * @throws ClientException when the pool is empty and minting the DOI fails.
+     */
+    public Doi claimDoi(URI customerId) throws ClientException {
+        if (!isEnabled()) {
+            return doiClient.createDoi(customerId);
+        }
+        Optional<Doi> pooledDoi = store.claim(customerId);
+        refillIfLow(customerId);
+        if (pooledDoi.isPresent()) {
+            pooledClaims.increment();
+            return pooledDoi.get();
+        }
+        logger.info(POOL_EMPTY_LOG, customerId);
+        synchronousMints.increment();
+        return doiClient.createDoi(customerId);
+    }
+
+    /**
+     * Mint a batch of draft DOIs into the pool of a customer, while the caller waits. A failure to mint a DOI is
+     * logged, and ends the refill. Does nothing when the pool is disabled.
+     *
+     * @param customerId NVA customerId
+     */
+    public void refill(URI customerId) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            for (int minted = 0; minted < config.getBatchSize(); minted++) {
+                store.add(customerId, doiClient.createDoi(customerId));
+            }
+        } catch (ClientException e) {
+            logger.warn(REFILL_FAILED_LOG, customerId, e);
+        }
+    }
+
+    public long getPooledClaims() {
+        return pooledClaims.sum();
+    }
+
+    public long getSynchronousMints() {
+        return synchronousMints.sum();
+    }
+
+    private void refillIfLow(URI customerId) {
+        if (store.size(customerId) < config.getLowWatermark() && refillingCustomers.add(customerId)) {
+            refillExecutor.execute(() -> refillOnce(customerId));
+        }
+    }
+
+    private void refillOnce(URI customerId) {
+        try {
+            refill(customerId);
+        } finally {
+            refillingCustomers.remove(customerId);
+        }
+    }
+}
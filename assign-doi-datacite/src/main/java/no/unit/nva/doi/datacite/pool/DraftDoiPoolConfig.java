@@ -0,0 +1,80 @@
+package no.unit.nva.doi.datacite.pool;
+
+/**
+ * When a {@link DraftDoiPool} mints draft DOIs in advance, and how many.
+ *
+ * <p>When fewer than {@code lowWatermark} DOIs are left for a customer after a claim, the pool mints
+ * {@code batchSize} new DOIs for the customer in the background.
+ */
+public final class DraftDoiPoolConfig {
+
+    public static final int DEFAULT_LOW_WATERMARK = 5;
+    public static final int DEFAULT_BATCH_SIZE = 10;
+    public static final String ILLEGAL_LOW_WATERMARK = "Low watermark must be positive";
+    public static final String ILLEGAL_BATCH_SIZE = "Batch size must be positive";
+
+    private final int lowWatermark;
+    private final int batchSize;
+
+    private DraftDoiPoolConfig(Builder builder) {
+        this.lowWatermark = builder.lowWatermark;
+        this.batchSize = builder.batchSize;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static DraftDoiPoolConfig defaultConfig() {
+        return builder().build();
+    }
+
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public static final class Builder {
+
+        private int lowWatermark = DEFAULT_LOW_WATERMARK;
+        private int batchSize = DEFAULT_BATCH_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Number of DOIs below which the pool of a customer is refilled.
+         *
+         * @param lowWatermark number of DOIs left after a claim.
+         * @return the builder
+         */
+        public Builder withLowWatermark(int lowWatermark) {
+            if (lowWatermark <= 0) {
+                throw new IllegalArgumentException(ILLEGAL_LOW_WATERMARK);
+            }
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Number of DOIs minted by each refill.
+         *
+         * @param batchSize number of DOIs.
+         * @return the builder
+         */
+        public Builder withBatchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException(ILLEGAL_BATCH_SIZE);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public DraftDoiPoolConfig build() {
+            return new DraftDoiPoolConfig(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.doi.datacite.pool;
+
+import java.net.URI;
+import java.util.Optional;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * Storage of the draft DOIs a {@link DraftDoiPool} has minted in advance, per customer.
+ *
+ * <p>Every stored DOI is claimed at most once, also when several processes share the store.
+ */
+public interface DraftDoiStore {
+
+    /**
+     * Remove a draft DOI of a customer from the store.
+     *
+     * @param customerId NVA customerId
+     * @return the claimed DOI, or empty when the customer has no stored DOIs.
+     */
+    Optional<Doi> claim(URI customerId);
+
+    /**
+     * Store a draft DOI minted for a customer.
+     *
+     * @param customerId NVA customerId
+     * @param doi        the draft DOI.
+     */
+    void add(URI customerId, Doi doi);
+
+    /**
+     * The number of draft DOIs stored for a customer.
+     *
+     * @param customerId NVA customerId
+     * @return the number of DOIs that can be claimed.
+     */
+    int size(URI customerId);
+}
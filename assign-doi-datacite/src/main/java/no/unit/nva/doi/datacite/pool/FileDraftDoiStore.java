@@ -0,0 +1,114 @@
+package no.unit.nva.doi.datacite.pool;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+import no.unit.nva.doi.models.Doi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link DraftDoiStore} keeping one empty file per draft DOI in a directory per customer, so that the DOIs outlive the
+ * process as long as the directory does.
+ *
+ * <p>Directories and files are named by the URL encoded customerId and DOI. A DOI is claimed by deleting its file,
+ * which succeeds for one claimer only, so the directory can be shared by several processes. Failures to read or write
+ * the directory are logged, and the customer is then treated as having no stored DOIs.
+ */
+public class FileDraftDoiStore implements DraftDoiStore {
+
+    private static final String CLAIM_FAILED_LOG = "Failed claiming draft DOI of {} from {}";
+    private static final String ADD_FAILED_LOG = "Failed storing draft DOI {} of {} in {}";
+    private static final String ALREADY_STORED_LOG = "Draft DOI is already stored in {}";
+    private static final String COUNT_FAILED_LOG = "Failed counting draft DOIs of {} in {}";
+    private static final Logger logger = LoggerFactory.getLogger(FileDraftDoiStore.class);
+
+    private final Path directory;
+
+    public FileDraftDoiStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public Optional<Doi> claim(URI customerId) {
+        Path customerDirectory = directoryOf(customerId);
+        try (Stream<Path> files = Files.list(customerDirectory)) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (delete(file)) {
+                    return Optional.of(toDoi(file));
+                }
+            }
+            return Optional.empty();
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            logger.warn(CLAIM_FAILED_LOG, customerId, customerDirectory, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void add(URI customerId, Doi doi) {
+        Path customerDirectory = directoryOf(customerId);
+        try {
+            Files.createDirectories(customerDirectory);
+            createFileUnlessExists(customerDirectory.resolve(encode(doi.toIdentifier())));
+        } catch (IOException e) {
+            logger.warn(ADD_FAILED_LOG, doi.toIdentifier(), customerId, customerDirectory, e);
+        }
+    }
+
+    @Override
+    public int size(URI customerId) {
+        Path customerDirectory = directoryOf(customerId);
+        try (Stream<Path> files = Files.list(customerDirectory)) {
+            return Math.toIntExact(files.count());
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException e) {
+            logger.warn(COUNT_FAILED_LOG, customerId, customerDirectory, e);
+            return 0;
+        }
+    }
+
+    private static void createFileUnlessExists(Path file) throws IOException {
+        try {
+            Files.createFile(file);
+        } catch (FileAlreadyExistsException e) {
+            logger.debug(ALREADY_STORED_LOG, file);
+        }
+    }
+
+    private static boolean delete(Path file) throws IOException {
+        try {
+            Files.delete(file);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    private static Doi toDoi(Path file) {
+        String identifier = URLDecoder.decode(file.getFileName().toString(), StandardCharsets.UTF_8);
+        return Doi.builder().withIdentifier(identifier).build();
+    }
+
+    private Path directoryOf(URI customerId) {
+        return directory.resolve(encode(customerId.toString()));
+    }
+
+    private static String encode(String name) {
+        return URLEncoder.encode(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,38 @@
+package no.unit.nva.doi.datacite.pool;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import no.unit.nva.doi.models.Doi;
+
+/**
+ * {@link DraftDoiStore} keeping the draft DOIs in memory, so they only outlive a request as long as the process.
+ *
+ * <p>DOIs are claimed in the order they were stored.
+ */
+public class InMemoryDraftDoiStore implements DraftDoiStore {
+
+    private final ConcurrentMap<URI, Queue<Doi>> draftDoisByCustomer = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Doi> claim(URI customerId) {
+        return Optional.ofNullable(draftDoisOf(customerId).poll());
+    }
+
+    @Override
+    public void add(URI customerId, Doi doi) {
+        draftDoisOf(customerId).add(doi);
+    }
+
+    @Override
+    public int size(URI customerId) {
+        return draftDoisOf(customerId).size();
+    }
+
+    private Queue<Doi> draftDoisOf(URI customerId) {
+        return draftDoisByCustomer.computeIfAbsent(customerId, key -> new ConcurrentLinkedQueue<>());
+    }
+}
@@ -0,0 +1,115 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import static java.util.Objects.isNull;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One {@link RateLimiter} per customer, shared by the MDS and REST connections of that customer, since DataCite
+ * throttles each repository account as a whole.
+ *
+ * <p>Customers get their own configured {@link RateLimit}, or else the default one. Without either, requests for
+ * the customer are not limited.
+ *
+ * <p>The wait for every permit is logged at debug level, or given to the permit wait listener, and recorded in the
+ * {@link MeterRegistry}, if one is given.
+ */
+public class CustomerRateLimiters {
+
+    public static final String PERMIT_WAIT_LOG = "Waiting {} ms for a DataCite request permit for customer {}";
+    private static final Logger logger = LoggerFactory.getLogger(CustomerRateLimiters.class);
+
+    private final RateLimit defaultRateLimit;
+    private final Map<URI, RateLimit> customerRateLimits;
+    private final LongSupplier nanoClock;
+    private final PermitWaitListener permitWaitListener;
+    private final Map<URI, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    private CustomerRateLimiters(Builder builder) {
+        this.defaultRateLimit = builder.defaultRateLimit;
+        this.customerRateLimits = Map.copyOf(builder.customerRateLimits);
+        this.nanoClock = builder.nanoClock;
+        this.permitWaitListener = builder.permitWaitListener.andThen(builder.meterRegistry::permitWaited);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static CustomerRateLimiters unlimited() {
+        return builder().build();
+    }
+
+    /**
+     * Get the rate limiter of a customer.
+     *
+     * @param customerId NVA customer id
+     * @return the same RateLimiter for every call with the same customer.
+     */
+    public RateLimiter forCustomer(URI customerId) {
+        return rateLimiters.computeIfAbsent(customerId, this::createRateLimiter);
+    }
+
+    private RateLimiter createRateLimiter(URI customerId) {
+        RateLimit rateLimit = customerRateLimits.getOrDefault(customerId, defaultRateLimit);
+        if (isNull(rateLimit)) {
+            return RateLimiter.UNLIMITED;
+        }
+        return new TokenBucketRateLimiter(customerId, rateLimit, nanoClock, permitWaitListener);
+    }
+
+    private static void logPermitWait(URI customerId, Duration wait) {
+        if (!wait.isZero()) {
+            logger.debug(PERMIT_WAIT_LOG, wait.toMillis(), customerId);
+        }
+    }
+
+    public static final class Builder {
+
+        private final Map<URI, RateLimit> customerRateLimits;
+        private RateLimit defaultRateLimit;
+        private LongSupplier nanoClock = System::nanoTime;
+        private PermitWaitListener permitWaitListener = CustomerRateLimiters::logPermitWait;
+        private MeterRegistry meterRegistry = MeterRegistry.NO_OP;
+
+        private Builder() {
+            this.customerRateLimits = new HashMap<>();
+        }
+
+        public Builder withDefaultRateLimit(RateLimit defaultRateLimit) {
+            this.defaultRateLimit = defaultRateLimit;
+            return this;
+        }
+
+        public Builder withCustomerRateLimit(URI customerId, RateLimit rateLimit) {
+            this.customerRateLimits.put(customerId, rateLimit);
+            return this;
+        }
+
+        public Builder withNanoClock(LongSupplier nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
+        public Builder withPermitWaitListener(PermitWaitListener permitWaitListener) {
+            this.permitWaitListener = permitWaitListener;
+            return this;
+        }
+
+        public Builder withMeterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public CustomerRateLimiters build() {
+            return new CustomerRateLimiters(this);
+        }
+    }
+}
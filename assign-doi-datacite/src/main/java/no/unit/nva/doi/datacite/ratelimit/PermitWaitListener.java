@@ -0,0 +1,27 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Receives the time each request waits for a rate limiter permit, to tell when the limiter rather than DataCite is
+ * the bottleneck.
+ */
+@FunctionalInterface
+public interface PermitWaitListener {
+
+    void permitReserved(URI customerId, Duration wait);
+
+    /**
+     * Combine this listener with another one.
+     *
+     * @param next the listener receiving the waits after this one.
+     * @return a listener passing every wait to this listener and then to the next.
+     */
+    default PermitWaitListener andThen(PermitWaitListener next) {
+        return (customerId, wait) -> {
+            permitReserved(customerId, wait);
+            next.permitReserved(customerId, wait);
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+/**
+ * Sustained request rate and burst size allowed towards DataCite for one customer.
+ */
+public final class RateLimit {
+
+    public static final String ILLEGAL_PERMITS_PER_SECOND = "Permits per second must be positive";
+    public static final String ILLEGAL_BURST = "Burst must be positive";
+
+    private final double permitsPerSecond;
+    private final int burst;
+
+    private RateLimit(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException(ILLEGAL_PERMITS_PER_SECOND);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException(ILLEGAL_BURST);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * Create a rate limit.
+     *
+     * @param permitsPerSecond sustained number of requests per second.
+     * @param burst            number of requests which may be sent at once after an idle period.
+     * @return a RateLimit
+     */
+    public static RateLimit perSecond(double permitsPerSecond, int burst) {
+        return new RateLimit(permitsPerSecond, burst);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
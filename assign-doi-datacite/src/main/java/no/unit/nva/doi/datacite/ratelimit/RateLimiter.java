@@ -0,0 +1,50 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out permits for sending requests to DataCite on behalf of one customer.
+ *
+ * <p>A permit is reserved immediately, and the caller is told how long to wait before using it. Blocking callers
+ * sleep for that long, while non-blocking callers get a future completing once the permit may be used.
+ */
+@FunctionalInterface
+public interface RateLimiter {
+
+    RateLimiter UNLIMITED = () -> Duration.ZERO;
+
+    /**
+     * Reserve a permit.
+     *
+     * @return how long the caller must wait before sending its request.
+     */
+    Duration reserve();
+
+    /**
+     * Reserve a permit and block until it may be used.
+     *
+     * @throws InterruptedException when interrupted while waiting.
+     */
+    default void acquire() throws InterruptedException {
+        Duration wait = reserve();
+        if (!wait.isZero()) {
+            TimeUnit.NANOSECONDS.sleep(wait.toNanos());
+        }
+    }
+
+    /**
+     * Reserve a permit without blocking.
+     *
+     * @return a future completing once the permit may be used.
+     */
+    default CompletableFuture<Void> acquireAsync() {
+        Duration wait = reserve();
+        if (wait.isZero()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+        }, CompletableFuture.delayedExecutor(wait.toNanos(), TimeUnit.NANOSECONDS));
+    }
+}
@@ -0,0 +1,66 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket {@link RateLimiter}.
+ *
+ * <p>The bucket holds up to {@code burst} tokens and is refilled with {@code permitsPerSecond} tokens per second.
+ * Every permit takes one token. When the bucket is empty the token count goes negative, and each caller is told to
+ * wait until the tokens reserved before it, and its own, have been refilled. Callers are thereby queued in the order
+ * they asked, and no request is sent before DataCite is expected to accept it.
+ */
+public class TokenBucketRateLimiter implements RateLimiter {
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final URI customerId;
+    private final double permitsPerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final PermitWaitListener permitWaitListener;
+    private final Object lock = new Object();
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * Construct a full {@link TokenBucketRateLimiter}.
+     *
+     * @param customerId         the customer the permits are for.
+     * @param rateLimit          rate and burst of the bucket.
+     * @param nanoClock          source of monotonic time in nanoseconds, like {@link System#nanoTime()}.
+     * @param permitWaitListener receives the wait of every reserved permit.
+     */
+    public TokenBucketRateLimiter(URI customerId, RateLimit rateLimit, LongSupplier nanoClock,
+                                  PermitWaitListener permitWaitListener) {
+        this.customerId = customerId;
+        this.permitsPerNano = rateLimit.getPermitsPerSecond() / NANOS_PER_SECOND;
+        this.burst = rateLimit.getBurst();
+        this.nanoClock = nanoClock;
+        this.permitWaitListener = permitWaitListener;
+        this.tokens = burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    @Override
+    public Duration reserve() {
+        Duration wait = reserveToken();
+        permitWaitListener.permitReserved(customerId, wait);
+        return wait;
+    }
+
+    private Duration reserveToken() {
+        synchronized (lock) {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) * permitsPerNano);
+            lastRefillNanos = now;
+            tokens -= 1;
+            return tokens >= 0
+                ? Duration.ZERO
+                : Duration.ofNanos((long) Math.ceil(-tokens / permitsPerNano));
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package no.unit.nva.doi.datacite.restclient;
 
-import static nva.commons.core.attempt.Try.attempt;
+import static java.util.Objects.nonNull;
 import java.io.IOException;
-import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpRequest.BodyPublishers;
 import java.net.http.HttpResponse;
-import java.util.Base64;
+import java.net.http.HttpResponse.BodyHandler;
+import java.util.concurrent.CompletableFuture;
+import no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization;
+import no.unit.nva.doi.datacite.connectionfactories.EndpointUri;
+import no.unit.nva.doi.datacite.hedging.RequestHedger;
+import no.unit.nva.doi.datacite.hedging.RequestHedgers;
+import no.unit.nva.doi.datacite.metrics.ConnectionMetrics;
+import no.unit.nva.doi.datacite.ratelimit.RateLimiter;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
 import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.datacite.restclient.models.PublishDoiDto;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
 
 public class DataCiteRestConnection {
@@ -20,12 +27,20 @@ public class DataCiteRestConnection {
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String ACCEPT = "Accept";
     public static final String COLON = ":";
-    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final String AUTHORIZATION_HEADER = BasicAuthorization.AUTHORIZATION_HEADER;
     public static final String SEPARATOR = "/";
+    public static final String GET_DOI_OPERATION = "getDoi";
+    public static final String CREATE_DOI_OPERATION = "createDoi";
+    public static final String PUBLISH_DOI_OPERATION = "publishDoi";
+    private static final BodyHandler<DoiAttributes> DOI_ATTRIBUTES_BODY_HANDLER = new DoiAttributesBodyHandler();
     private final HttpClient httpClient;
     private final String host;
-    private final int port;
+    private final EndpointUri doisEndpoint;
     private final DataCiteMdsClientSecretConfig configWithSecretes;
+    private final String authorizationHeader;
+    private final RateLimiter rateLimiter;
+    private final RequestHedgers requestHedgers;
+    private final ConnectionMetrics connectionMetrics;
 
     /**
      * A DataCite connection for the RestApi.
@@ -36,90 +51,236 @@ public class DataCiteRestConnection {
      */
     public DataCiteRestConnection(HttpClient httpClient, String host, int port,
                                   DataCiteMdsClientSecretConfig configWithSecrets) {
-        this.httpClient = httpClient;
-        this.host = host;
-        this.port = port;
-        this.configWithSecretes = configWithSecrets;
+        this(builder().withHttpClient(httpClient).withHost(host).withPort(port).withCredentials(configWithSecrets));
+    }
+
+    private DataCiteRestConnection(Builder builder) {
+        this.httpClient = builder.httpClient;
+        this.host = builder.host;
+        this.doisEndpoint = EndpointUri.https(builder.host, builder.port, DOIS_PATH);
+        this.configWithSecretes = builder.configWithSecrets;
+        this.authorizationHeader = nonNull(builder.authorizationHeader)
+            ? builder.authorizationHeader
+            : BasicAuthorization.headerValue(builder.configWithSecrets);
+        this.rateLimiter = builder.rateLimiter;
+        this.requestHedgers = builder.requestHedgers;
+        this.connectionMetrics = builder.connectionMetrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
     }
 
     /**
      * This request stores a new version of metadata.
      *
-     * @return HttpResponse
+     * @return HttpResponse with the attributes of the new draft DOI
      * @throws IOException          IOException
      * @throws InterruptedException InterruptedException
      */
     // TODO: remove the Authorization Header when DataCite REST-API prompts for Authentication
-    public HttpResponse<String> createDoi()
+    public HttpResponse<DoiAttributes> createDoi()
         throws IOException, InterruptedException {
+        return send(CREATE_DOI_OPERATION, createDoiRequest());
+    }
 
-        String bodyJson = requestBodyContainingTheDoiPrefix();
-        HttpRequest postRequest = HttpRequest.newBuilder()
-            .uri(requestTargetUri())
-            .POST(BodyPublishers.ofString(bodyJson))
-            .header(CONTENT_TYPE, JSON_API_CONTENT_TYPE)
-            .headers(AUTHORIZATION_HEADER, authorizationString())
-            .build();
-        return httpClient.send(postRequest, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Non-blocking variant of {@link #createDoi()}.
+     *
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<DoiAttributes>> createDoiAsync() {
+        return sendMeasuredAsync(CREATE_DOI_OPERATION, createDoiRequest());
+    }
+
+    /**
+     * Create a draft DOI with a suffix generated by the client, without blocking. DataCite answers with 422
+     * Unprocessable Entity when the DOI already exists.
+     *
+     * @param suffix the suffix of the new DOI.
+     * @return CompletableFuture completed with the HttpResponse
+     */
+    public CompletableFuture<HttpResponse<DoiAttributes>> createDoiAsync(String suffix) {
+        return sendMeasuredAsync(CREATE_DOI_OPERATION,
+            createDoiRequest(DraftDoiDto.create(configWithSecretes.getCustomerDoiPrefix(), suffix)));
     }
 
-    public HttpResponse<String> getDoi(String id)
+    /**
+     * Get the attributes of a DOI. The request is hedged when hedging is enabled.
+     *
+     * @param id the DOI, as prefix/suffix.
+     * @return HttpResponse with the attributes of the DOI
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<DoiAttributes> getDoi(String id)
             throws IOException, InterruptedException {
+        HttpRequest request = getDoiRequest(id);
+        if (requestHedgers.isEnabled()) {
+            return connectionMetrics.measure(GET_DOI_OPERATION, request, DOI_ATTRIBUTES_BODY_HANDLER,
+                bodyHandler -> requestHedgers.getRequestHedger(host, GET_DOI_OPERATION)
+                    .send(() -> sendAsync(request, bodyHandler)));
+        }
+        return send(GET_DOI_OPERATION, request);
+    }
 
-        HttpRequest postRequest = HttpRequest.newBuilder()
-                .uri(requestTargetUriToDoi(id))
-                .GET()
-                .header(ACCEPT, JSON_API_CONTENT_TYPE)
-                .headers(AUTHORIZATION_HEADER, authorizationString())
-                .build();
-        return httpClient.send(postRequest, HttpResponse.BodyHandlers.ofString());
+    /**
+     * Update the metadata and the landing page of a DOI, and make it findable, in one request.
+     *
+     * @param id                  the DOI, as prefix/suffix.
+     * @param url                 the landing page of the DOI.
+     * @param metadataDataCiteXml datacite schema serialized xml.
+     * @return HttpResponse with the attributes of the published DOI
+     * @throws IOException          IOException
+     * @throws InterruptedException InterruptedException
+     */
+    public HttpResponse<DoiAttributes> publishDoi(String id, String url, String metadataDataCiteXml)
+        throws IOException, InterruptedException {
+        return send(PUBLISH_DOI_OPERATION, publishDoiRequest(id, new PublishDoiDto(id, url, metadataDataCiteXml)));
     }
 
+    public CompletableFuture<HttpResponse<DoiAttributes>> getDoiAsync(String id) {
+        return sendMeasuredAsync(GET_DOI_OPERATION, getDoiRequest(id));
+    }
 
-    private String requestBodyContainingTheDoiPrefix() {
-        DraftDoiDto bodyObject = DraftDoiDto.fromPrefix(configWithSecretes.getCustomerDoiPrefix());
-        return bodyObject.toJson();
+    public String getHost() {
+        return host;
     }
 
-    private String authorizationString() {
-        return basicAuth(
-            configWithSecretes.getDataCiteMdsClientUsername(),
-            configWithSecretes.getDataCiteMdsClientPassword()
-        );
+    private HttpResponse<DoiAttributes> send(String operation, HttpRequest request)
+        throws IOException, InterruptedException {
+        rateLimiter.acquire();
+        return connectionMetrics.measure(operation, request, DOI_ATTRIBUTES_BODY_HANDLER,
+            bodyHandler -> httpClient.send(request, bodyHandler));
     }
 
-    private static String basicAuth(String username, String password) {
-        return "Basic " + Base64.getEncoder().encodeToString((username + COLON + password).getBytes());
+    private CompletableFuture<HttpResponse<DoiAttributes>> sendMeasuredAsync(String operation, HttpRequest request) {
+        return rateLimiter.acquireAsync()
+            .thenCompose(permit -> connectionMetrics.measureAsync(operation, request, DOI_ATTRIBUTES_BODY_HANDLER,
+                bodyHandler -> httpClient.sendAsync(request, bodyHandler)));
     }
 
+    private CompletableFuture<HttpResponse<DoiAttributes>> sendAsync(HttpRequest request,
+                                                                     BodyHandler<DoiAttributes> bodyHandler) {
+        return RequestHedger.composeCancellable(rateLimiter.acquireAsync(),
+            () -> httpClient.sendAsync(request, bodyHandler));
+    }
+
+    private HttpRequest createDoiRequest() {
+        return createDoiRequest(DraftDoiDto.fromPrefix(configWithSecretes.getCustomerDoiPrefix()));
+    }
 
-    private URI requestTargetUri() {
-        return attempt(this::buildUri).orElseThrow();
+    private HttpRequest createDoiRequest(DraftDoiDto draftDoi) {
+        return HttpRequest.newBuilder()
+            .uri(doisEndpoint.toUri())
+            .POST(BodyPublishers.ofString(draftDoi.toJson()))
+            .header(CONTENT_TYPE, JSON_API_CONTENT_TYPE)
+            .headers(AUTHORIZATION_HEADER, authorizationHeader)
+            .build();
     }
 
-    private URI buildUri() throws URISyntaxException {
-        return new URI(HTTPS,
-                null,
-                host,
-                port,
-                SEPARATOR + DOIS_PATH,
-                null,
-                null
-        );
+    private HttpRequest publishDoiRequest(String id, PublishDoiDto publishDoi) {
+        return HttpRequest.newBuilder()
+            .uri(doisEndpoint.resolve(id))
+            .PUT(BodyPublishers.ofString(publishDoi.toJson()))
+            .header(CONTENT_TYPE, JSON_API_CONTENT_TYPE)
+            .headers(AUTHORIZATION_HEADER, authorizationHeader)
+            .build();
     }
 
-    private URI requestTargetUriToDoi(String id) {
-        return attempt(() -> buildUriToDoi(id)).orElseThrow();
+    private HttpRequest getDoiRequest(String id) {
+        return HttpRequest.newBuilder()
+                .uri(doisEndpoint.resolve(id))
+                .GET()
+                .header(ACCEPT, JSON_API_CONTENT_TYPE)
+                .headers(AUTHORIZATION_HEADER, authorizationHeader)
+                .build();
     }
 
-    private URI buildUriToDoi(String id) throws URISyntaxException {
-        return new URI(HTTPS,
-                null,
-                host,
-                port,
-                SEPARATOR + DOIS_PATH + SEPARATOR + id,
-                null,
-                null
-        );
+    /**
+     * Builder for {@link DataCiteRestConnection}.
+     */
+    public static final class Builder {
+
+        private HttpClient httpClient;
+        private String host;
+        private int port;
+        private DataCiteMdsClientSecretConfig configWithSecrets;
+        private String authorizationHeader;
+        private RateLimiter rateLimiter = RateLimiter.UNLIMITED;
+        private RequestHedgers requestHedgers = RequestHedgers.disabled();
+        private ConnectionMetrics connectionMetrics = ConnectionMetrics.disabled();
+
+        private Builder() {
+        }
+
+        public Builder withHttpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder withHost(String host) {
+            this.host = host;
+            return this;
+        }
+
+        public Builder withPort(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder withCredentials(DataCiteMdsClientSecretConfig configWithSecrets) {
+            this.configWithSecrets = configWithSecrets;
+            return this;
+        }
+
+        /**
+         * Send an authorization header derived beforehand from the customer's credentials, instead of deriving it
+         * when the connection is built.
+         *
+         * @param authorizationHeader value of the Authorization header for the customer's credentials.
+         * @return the builder
+         */
+        public Builder withAuthorizationHeader(String authorizationHeader) {
+            this.authorizationHeader = authorizationHeader;
+            return this;
+        }
+
+        /**
+         * Wait for a permit from the customer's {@link RateLimiter} before every request.
+         *
+         * @param rateLimiter rate limiter of the customer.
+         * @return the builder
+         */
+        public Builder withRateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * Hedge {@link DataCiteRestConnection#getDoi(String)} when hedging is enabled.
+         *
+         * @param requestHedgers request hedgers shared by all connections.
+         * @return the builder
+         */
+        public Builder withRequestHedgers(RequestHedgers requestHedgers) {
+            this.requestHedgers = requestHedgers;
+            return this;
+        }
+
+        /**
+         * Measure every request.
+         *
+         * @param connectionMetrics measures the requests of the connection.
+         * @return the builder
+         */
+        public Builder withConnectionMetrics(ConnectionMetrics connectionMetrics) {
+            this.connectionMetrics = connectionMetrics;
+            return this;
+        }
+
+        public DataCiteRestConnection build() {
+            return new DataCiteRestConnection(this);
+        }
     }
 }
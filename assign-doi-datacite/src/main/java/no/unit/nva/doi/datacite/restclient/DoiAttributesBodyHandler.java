@@ -0,0 +1,82 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow.Subscription;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+
+/**
+ * Reads the {@link DoiAttributes} of a DataCite REST API response while the body arrives.
+ *
+ * <p>The body of a successful response is fed chunk by chunk to a {@link DoiAttributesParser}, without buffering it
+ * as a String or building a JSON tree first. The body of an unsuccessful response is kept as text, see {@link
+ * DoiAttributes#unparsed(String)}.
+ */
+public class DoiAttributesBodyHandler implements BodyHandler<DoiAttributes> {
+
+    private static final int SUCCESSFUL_STATUS_CLASS = 2;
+    private static final int HTTP_STATUS_CLASS = 100;
+
+    @Override
+    public BodySubscriber<DoiAttributes> apply(ResponseInfo responseInfo) {
+        if (responseInfo.statusCode() / HTTP_STATUS_CLASS == SUCCESSFUL_STATUS_CLASS) {
+            return new StreamingBodySubscriber();
+        }
+        return BodySubscribers.mapping(BodyHandlers.ofString().apply(responseInfo), DoiAttributes::unparsed);
+    }
+
+    private static class StreamingBodySubscriber implements BodySubscriber<DoiAttributes> {
+
+        private final CompletableFuture<DoiAttributes> body = new CompletableFuture<>();
+        private final DoiAttributesParser parser = new DoiAttributesParser();
+        private Subscription subscription;
+
+        @Override
+        public CompletionStage<DoiAttributes> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            if (body.isDone()) {
+                return;
+            }
+            try {
+                for (ByteBuffer buffer : buffers) {
+                    parser.feed(buffer);
+                }
+            } catch (IOException e) {
+                subscription.cancel();
+                body.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                body.complete(parser.finish());
+            } catch (IOException e) {
+                body.completeExceptionally(e);
+            }
+        }
+    }
+}
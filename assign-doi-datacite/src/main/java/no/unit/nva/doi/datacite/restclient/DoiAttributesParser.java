@@ -0,0 +1,183 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import static java.util.Objects.nonNull;
+import static nva.commons.core.JsonUtils.objectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+
+/**
+ * Incremental parser of a DataCite REST API JSON:API document, reading only {@code data.attributes.doi}, {@code
+ * prefix}, {@code suffix}, {@code state} and {@code url}.
+ *
+ * <p>The document is fed as it arrives, one chunk at a time, to a non-blocking Jackson parser. Nothing is built for
+ * the rest of the document, like relationships and the base64 encoded XML, which is tokenized and then skipped.
+ * Chunks are parsed completely before {@link #feed} returns, so the caller may reuse their buffers.
+ *
+ * <p>A parser reads one document and is not thread safe.
+ */
+public class DoiAttributesParser {
+
+    public static final String DATA_FIELD = "data";
+    public static final String ATTRIBUTES_FIELD = "attributes";
+    public static final String DOI_FIELD = "doi";
+    public static final String PREFIX_FIELD = "prefix";
+    public static final String SUFFIX_FIELD = "suffix";
+    public static final String STATE_FIELD = "state";
+    public static final String URL_FIELD = "url";
+    private static final int DATA_DEPTH = 2;
+    private static final int ATTRIBUTES_DEPTH = 3;
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final String[] containerNames = new String[ATTRIBUTES_DEPTH + 1];
+    private byte[] copyBuffer = NO_BYTES;
+    private int depth;
+    private String doi;
+    private String prefix;
+    private String suffix;
+    private String state;
+    private String url;
+
+    /**
+     * Construct a parser for one document.
+     */
+    public DoiAttributesParser() {
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parse a whole document.
+     *
+     * @param json the document.
+     * @return the attributes of the DOI.
+     * @throws IOException if the document is not valid JSON.
+     */
+    public static DoiAttributes parse(String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        DoiAttributesParser attributesParser = new DoiAttributesParser();
+        attributesParser.feed(bytes, 0, bytes.length);
+        return attributesParser.finish();
+    }
+
+    /**
+     * Parse the next chunk of the document, consuming the remaining bytes of the buffer.
+     *
+     * @param buffer the chunk.
+     * @throws IOException if the document is not valid JSON.
+     */
+    public void feed(ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+            buffer.position(buffer.limit());
+        } else {
+            if (copyBuffer.length < length) {
+                copyBuffer = new byte[length];
+            }
+            buffer.get(copyBuffer, 0, length);
+            feed(copyBuffer, 0, length);
+        }
+    }
+
+    /**
+     * Parse the next chunk of the document.
+     *
+     * @param bytes  array holding the chunk.
+     * @param offset index of the first byte of the chunk.
+     * @param length number of bytes in the chunk.
+     * @throws IOException if the document is not valid JSON.
+     */
+    public void feed(byte[] bytes, int offset, int length) throws IOException {
+        feeder.feedInput(bytes, offset, offset + length);
+        readAvailableTokens();
+    }
+
+    /**
+     * Signal the end of the document.
+     *
+     * @return the attributes of the DOI, with {@code null} for attributes missing in the document.
+     * @throws IOException if the document is not valid JSON, or ends before it is complete.
+     */
+    public DoiAttributes finish() throws IOException {
+        feeder.endOfInput();
+        readAvailableTokens();
+        parser.close();
+        return new DoiAttributes(doi, prefix, suffix, state, url);
+    }
+
+    private void readAvailableTokens() throws IOException {
+        JsonToken token = parser.nextToken();
+        while (token != null && token != JsonToken.NOT_AVAILABLE) {
+            readToken(token);
+            token = parser.nextToken();
+        }
+    }
+
+    private void readToken(JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                depth++;
+                if (depth < containerNames.length) {
+                    containerNames[depth] = parser.getCurrentName();
+                }
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                break;
+            case VALUE_STRING:
+                readAttributeIfInAttributes();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void readAttributeIfInAttributes() throws IOException {
+        String fieldName = parser.getCurrentName();
+        if (nonNull(fieldName) && isInAttributes()) {
+            readAttribute(fieldName, parser.getText());
+        }
+    }
+
+    private boolean isInAttributes() {
+        return depth == ATTRIBUTES_DEPTH
+               && DATA_FIELD.equals(containerNames[DATA_DEPTH])
+               && ATTRIBUTES_FIELD.equals(containerNames[ATTRIBUTES_DEPTH]);
+    }
+
+    private void readAttribute(String name, String value) {
+        switch (name) {
+            case DOI_FIELD:
+                doi = value;
+                break;
+            case PREFIX_FIELD:
+                prefix = value;
+                break;
+            case SUFFIX_FIELD:
+                suffix = value;
+                break;
+            case STATE_FIELD:
+                state = value;
+                break;
+            case URL_FIELD:
+                url = value;
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package no.unit.nva.doi.datacite.restclient.models;
+
+/**
+ * The attributes of a DOI in a response from the DataCite REST API, read from {@code data.attributes} of the JSON:API
+ * document.
+ *
+ * <p>Only the attributes the client uses are kept. The body of an unsuccessful response is not parsed, and is kept
+ * as text for error messages instead.
+ */
+public class DoiAttributes {
+
+    private final String doi;
+    private final String prefix;
+    private final String suffix;
+    private final String state;
+    private final String url;
+    private final String unparsedBody;
+
+    /**
+     * Construct the attributes of a DOI.
+     *
+     * @param doi    the DOI, as prefix/suffix.
+     * @param prefix the DOI prefix.
+     * @param suffix the DOI suffix.
+     * @param state  the DOI state, like {@code draft} or {@code findable}.
+     * @param url    the landing page of the DOI.
+     */
+    public DoiAttributes(String doi, String prefix, String suffix, String state, String url) {
+        this(doi, prefix, suffix, state, url, null);
+    }
+
+    private DoiAttributes(String doi, String prefix, String suffix, String state, String url, String unparsedBody) {
+        this.doi = doi;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.state = state;
+        this.url = url;
+        this.unparsedBody = unparsedBody;
+    }
+
+    /**
+     * Keep the body of an unsuccessful response without parsing it.
+     *
+     * @param body the response body.
+     * @return DoiAttributes without attributes.
+     */
+    public static DoiAttributes unparsed(String body) {
+        return new DoiAttributes(null, null, null, null, null, body);
+    }
+
+    public String getDoi() {
+        return doi;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String getSuffix() {
+        return suffix;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUnparsedBody() {
+        return unparsedBody;
+    }
+}
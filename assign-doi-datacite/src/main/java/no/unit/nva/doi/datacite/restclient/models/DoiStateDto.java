@@ -1,23 +1,30 @@
 package no.unit.nva.doi.datacite.restclient.models;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import nva.commons.core.JacocoGenerated;
-import static nva.commons.core.JsonUtils.objectMapper;
-import static nva.commons.core.attempt.Try.attempt;
 
 public class DoiStateDto {
 
-    public static final String DATA_FIELD = "data";
-    public static final String ATTRIBUTES_FIELD = "attributes";
-    public static final String STATE = "state";
-    public static final String DOI = "doi";
+    private static final String NO_URL = null;
 
     private final String doi;
     private final String state;
+    private final String url;
 
     public DoiStateDto(String doi, String state) {
+        this(doi, state, NO_URL);
+    }
+
+    /**
+     * Create a DoiStateDto with the landing page the DOI resolves to.
+     *
+     * @param doi   the DOI identifier.
+     * @param state the DataCite state, like {@code findable}.
+     * @param url   the registered landing page, or {@code null} if it is unknown.
+     */
+    public DoiStateDto(String doi, String state, String url) {
         this.doi = doi;
         this.state = state;
+        this.url = url;
     }
 
     @JacocoGenerated
@@ -30,19 +37,17 @@ public class DoiStateDto {
         return state;
     }
 
+    public String getUrl() {
+        return url;
+    }
+
     /**
-     * Create a DoiStateDto from a Json string.
+     * Create a DoiStateDto from the attributes read from a response of the GET /dois/id endpoint in DataCite.
      *
-     * @param json a json object as it is expected and retuned from GET /dois/id endpoint in DataCite.
+     * @param attributes the attributes of the DOI.
      * @return a DoiStateDto.
      */
-    public static DoiStateDto fromJson(String json) {
-        JsonNode tree = attempt(() -> objectMapper.readTree(json)).orElseThrow();
-        JsonNode attributes = tree.path(DATA_FIELD).path(ATTRIBUTES_FIELD);
-
-        String doi = attributes.path(DOI).textValue();
-        String state = attributes.path(STATE).textValue();
-
-        return new DoiStateDto(doi, state);
+    public static DoiStateDto fromAttributes(DoiAttributes attributes) {
+        return new DoiStateDto(attributes.getDoi(), attributes.getState(), attributes.getUrl());
     }
 }
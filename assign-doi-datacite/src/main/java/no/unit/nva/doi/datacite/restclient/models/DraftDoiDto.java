@@ -4,7 +4,6 @@ import static java.util.Objects.nonNull;
 import static nva.commons.core.JsonUtils.objectMapper;
 import static nva.commons.core.attempt.Try.attempt;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import java.net.URI;
 import no.unit.nva.doi.models.Doi;
@@ -63,18 +62,16 @@ public class DraftDoiDto {
     }
 
     /**
-     * Create a DraftDoiDto from a Json string.
+     * Create a DraftDoiDto from the attributes read from a response of the POST /dois endpoint in DataCite.
      *
-     * @param json a json object as it is expected and retuned from POST /dois endpoint in DataCite.
+     * @param attributes the attributes of the new draft DOI.
      * @return a DraftDoiDto.
      */
-    public static DraftDoiDto fromJson(String json) {
-        JsonNode tree = attempt(() -> objectMapper.readTree(json)).orElseThrow();
+    public static DraftDoiDto fromAttributes(DoiAttributes attributes) {
         DraftDoiDto draftDoiDto = new DraftDoiDto();
-        JsonNode attributes = tree.path(DATA_FIELD).path(ATTRIBUTES_FIELD);
-        draftDoiDto.prefix = attributes.get(PREFIX_FIELD).textValue();
-        draftDoiDto.suffix = attributes.get(SUFFIX_FIELD).textValue();
-        draftDoiDto.doi = attributes.get(DOI_FIELD).textValue();
+        draftDoiDto.prefix = attributes.getPrefix();
+        draftDoiDto.suffix = attributes.getSuffix();
+        draftDoiDto.doi = attributes.getDoi();
         return draftDoiDto;
     }
 
@@ -0,0 +1,56 @@
+package no.unit.nva.doi.datacite.restclient.models;
+
+import static nva.commons.core.JsonUtils.objectMapper;
+import static nva.commons.core.attempt.Try.attempt;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Request body of the PUT /dois/{id} endpoint in DataCite, which updates the metadata and the landing page of a DOI,
+ * and makes it findable, in one request.
+ *
+ * <p>The metadata is sent as base64 encoded DataCite XML, as the REST API expects it.
+ */
+public class PublishDoiDto {
+
+    public static final String DATA_FIELD = "data";
+    public static final String ATTRIBUTES_FIELD = "attributes";
+    public static final String ID_FIELD = "id";
+    public static final String TYPE_FIELD = "type";
+    public static final String TYPE_FIELD_VALUE = "dois";
+    public static final String EVENT_FIELD = "event";
+    public static final String PUBLISH_EVENT = "publish";
+    public static final String URL_FIELD = "url";
+    public static final String XML_FIELD = "xml";
+
+    private final String doi;
+    private final String url;
+    private final String xml;
+
+    /**
+     * Creates the body of a request publishing a DOI.
+     *
+     * @param doi                 the DOI, as prefix/suffix.
+     * @param url                 the landing page of the DOI.
+     * @param metadataDataCiteXml datacite schema serialized xml.
+     */
+    public PublishDoiDto(String doi, String url, String metadataDataCiteXml) {
+        this.doi = doi;
+        this.url = url;
+        this.xml = Base64.getEncoder().encodeToString(metadataDataCiteXml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String toJson() {
+        ObjectNode rootNode = objectMapper.createObjectNode();
+        ObjectNode data = rootNode.putObject(DATA_FIELD);
+        data.put(ID_FIELD, doi);
+        data.put(TYPE_FIELD, TYPE_FIELD_VALUE);
+        ObjectNode attributes = data.putObject(ATTRIBUTES_FIELD);
+        attributes.put(EVENT_FIELD, PUBLISH_EVENT);
+        attributes.put(URL_FIELD, url);
+        attributes.put(XML_FIELD, xml);
+        return attempt(() -> objectMapper.writeValueAsString(rootNode)).orElseThrow();
+    }
+}
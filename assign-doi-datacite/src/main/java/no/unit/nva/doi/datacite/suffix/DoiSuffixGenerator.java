@@ -0,0 +1,90 @@
+package no.unit.nva.doi.datacite.suffix;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates random DOI suffixes locally, so that a draft DOI can be registered with a known suffix instead of waiting
+ * for DataCite to generate one.
+ *
+ * <p>Suffixes are {@value #NUMBER_OF_RANDOM_SYMBOLS} random symbols of Crockford's base32 alphabet, in groups of
+ * {@value #GROUP_SIZE} separated by a hyphen, followed by a check symbol, like {@code 5s9p-qv76z}. The random symbols
+ * carry 40 bits, so collisions are rare, and the registration of a DOI with a colliding suffix fails. The check
+ * symbol is computed with the Luhn mod N algorithm over the same alphabet, so every suffix consists of base32 symbols
+ * only. It detects every single mistyped symbol and most swaps of adjacent symbols. Suffixes are lower case, as
+ * DataCite returns them.
+ */
+public class DoiSuffixGenerator {
+
+    public static final int NUMBER_OF_RANDOM_SYMBOLS = 8;
+    public static final int GROUP_SIZE = 4;
+    public static final char GROUP_SEPARATOR = '-';
+    public static final String SYMBOLS = "0123456789abcdefghjkmnpqrstvwxyz";
+    private static final int DOUBLED = 2;
+
+    private final Random random;
+
+    public DoiSuffixGenerator(Random random) {
+        this.random = random;
+    }
+
+    public static DoiSuffixGenerator withDefaults() {
+        return new DoiSuffixGenerator(new SecureRandom());
+    }
+
+    /**
+     * Generate a new random suffix.
+     *
+     * @return a suffix like {@code 5s9p-qv76z}.
+     */
+    public String generate() {
+        StringBuilder suffix = new StringBuilder();
+        StringBuilder symbols = new StringBuilder();
+        for (int index = 0; index < NUMBER_OF_RANDOM_SYMBOLS; index++) {
+            if (index > 0 && index % GROUP_SIZE == 0) {
+                suffix.append(GROUP_SEPARATOR);
+            }
+            char symbol = SYMBOLS.charAt(random.nextInt(SYMBOLS.length()));
+            suffix.append(symbol);
+            symbols.append(symbol);
+        }
+        return suffix.append(checkSymbolOf(symbols)).toString();
+    }
+
+    /**
+     * Whether a suffix has the form of a generated suffix, and its check symbol matches.
+     *
+     * @param suffix the suffix, in any case.
+     * @return {@code true} if the suffix may have been generated by a DoiSuffixGenerator.
+     */
+    public static boolean isValid(String suffix) {
+        String symbols = suffix.toLowerCase(Locale.ROOT).replace(String.valueOf(GROUP_SEPARATOR), "");
+        if (symbols.length() != NUMBER_OF_RANDOM_SYMBOLS + 1) {
+            return false;
+        }
+        for (int index = 0; index < NUMBER_OF_RANDOM_SYMBOLS; index++) {
+            if (SYMBOLS.indexOf(symbols.charAt(index)) < 0) {
+                return false;
+            }
+        }
+        char checkSymbol = symbols.charAt(NUMBER_OF_RANDOM_SYMBOLS);
+        return checkSymbol == checkSymbolOf(symbols.substring(0, NUMBER_OF_RANDOM_SYMBOLS));
+    }
+
+    /**
+     * Luhn mod N check symbol: from the rightmost symbol, every other symbol value is doubled and its base32 digits
+     * are summed, and the check symbol brings the total to a multiple of 32.
+     */
+    private static char checkSymbolOf(CharSequence symbols) {
+        int base = SYMBOLS.length();
+        int factor = DOUBLED;
+        int sum = 0;
+        for (int index = symbols.length() - 1; index >= 0; index--) {
+            int addend = factor * SYMBOLS.indexOf(symbols.charAt(index));
+            sum += addend / base + addend % base;
+            factor = DOUBLED + 1 - factor;
+        }
+        return SYMBOLS.charAt((base - sum % base) % base);
+    }
+}
@@ -1,10 +1,13 @@
 package no.unit.nva.doi;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.mockito.Mockito.mock;
+import no.unit.nva.doi.batch.BatchDoiClient;
+import no.unit.nva.doi.datacite.clients.AsyncDataCiteClient;
 import no.unit.nva.doi.datacite.clients.DataCiteClient;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
@@ -20,4 +23,24 @@ class DoiClientFactoryTest {
         assertThat(actual, is(instanceOf(DataCiteClient.class)));
         assertThat(actual, isA(DoiClient.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAsyncClientWithDataciteThenReturnAsyncDoiClient() {
+        var dataciteConfigurationFactory = mock(DataCiteConfigurationFactory.class);
+        var dataciteConnectionFactory = mock(DataCiteConnectionFactory.class);
+        var actual = DoiClientFactory.getAsyncClient(dataciteConfigurationFactory, dataciteConnectionFactory);
+        assertThat(actual, is(instanceOf(AsyncDataCiteClient.class)));
+        assertThat(actual, isA(AsyncDoiClient.class));
+    }
+
+    @Test
+    void getBatchClientWithDataciteThenReturnBatchDoiClientWithMaximumConcurrency() {
+        var dataciteConfigurationFactory = mock(DataCiteConfigurationFactory.class);
+        var dataciteConnectionFactory = mock(DataCiteConnectionFactory.class);
+        int maximumConcurrency = 8;
+        var actual = DoiClientFactory.getBatchClient(dataciteConfigurationFactory, dataciteConnectionFactory,
+            maximumConcurrency);
+        assertThat(actual, is(instanceOf(BatchDoiClient.class)));
+        assertThat(actual.getMaximumConcurrency(), is(equalTo(maximumConcurrency)));
+    }
+}
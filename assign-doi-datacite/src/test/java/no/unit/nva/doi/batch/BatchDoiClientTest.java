@@ -0,0 +1,160 @@
+package no.unit.nva.doi.batch;
+
+import static no.unit.nva.doi.batch.BatchDoiClient.ILLEGAL_MAXIMUM_CONCURRENCY;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import no.unit.nva.doi.AsyncDoiClient;
+import no.unit.nva.doi.datacite.clients.exception.UpdateMetadataException;
+import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
+import no.unit.nva.doi.models.Doi;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchDoiClientTest {
+
+    private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/4512");
+    private static final URI EXAMPLE_LANDING_PAGE = URI.create("https://example.net/nva/publication/203124124");
+    private static final String DEMO_PREFIX = "10.5072";
+    private static final String EXAMPLE_METADATA = "<resource/>";
+    private static final int MAXIMUM_CONCURRENCY = 2;
+    private static final int NUMBER_OF_ITEMS = 10;
+    private static final long RESPONSE_DELAY_MILLIS = 20;
+
+    private AsyncDoiClient asyncDoiClient;
+    private ExecutorService responseExecutor;
+    private BatchDoiClient sut;
+
+    @BeforeEach
+    void setUp() {
+        asyncDoiClient = mock(AsyncDoiClient.class);
+        responseExecutor = Executors.newCachedThreadPool();
+        sut = new BatchDoiClient(asyncDoiClient, MAXIMUM_CONCURRENCY);
+    }
+
+    @AfterEach
+    void tearDown() {
+        responseExecutor.shutdownNow();
+    }
+
+    @Test
+    void updateMetadataReportsOutcomeOfEveryItemInSubmittedOrder() {
+        Doi failingDoi = createDoi("failing");
+        Doi succeedingDoi = createDoi("succeeding");
+        when(asyncDoiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, failingDoi, EXAMPLE_METADATA))
+            .thenReturn(CompletableFuture.failedFuture(
+                new UpdateMetadataException(failingDoi, HttpStatus.SC_BAD_REQUEST)));
+        when(asyncDoiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, succeedingDoi, EXAMPLE_METADATA))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        BatchReport<String> report = sut.updateMetadata(List.of(
+            new BatchItem<>(EXAMPLE_CUSTOMER_ID, failingDoi, EXAMPLE_METADATA),
+            new BatchItem<>(EXAMPLE_CUSTOMER_ID, succeedingDoi, EXAMPLE_METADATA)));
+
+        assertThat(report.isAllSucceeded(), is(false));
+        assertThat(dois(report.getResults()), contains(failingDoi, succeedingDoi));
+        assertThat(dois(report.getSucceeded()), contains(succeedingDoi));
+        BatchItemResult<String> failed = report.getFailed().get(0);
+        assertThat(failed.getItem().getDoi(), is(equalTo(failingDoi)));
+        assertThat(failed.getStatusCode(), is(equalTo(OptionalInt.of(HttpStatus.SC_BAD_REQUEST))));
+        assertThat(failed.getException().orElseThrow(), is(instanceOf(UpdateMetadataException.class)));
+        assertThat(report.getSucceeded().get(0).getStatusCode(), is(equalTo(OptionalInt.empty())));
+    }
+
+    @Test
+    void setLandingPageKeepsNumberOfRequestsInFlightWithinMaximumConcurrency() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maximumInFlight = new AtomicInteger();
+        when(asyncDoiClient.setLandingPage(eq(EXAMPLE_CUSTOMER_ID), any(Doi.class), eq(EXAMPLE_LANDING_PAGE)))
+            .thenAnswer(invocation -> {
+                maximumInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                return CompletableFuture.runAsync(() -> respondAfterDelay(inFlight), responseExecutor);
+            });
+
+        BatchReport<URI> report = sut.setLandingPage(createLandingPageItems());
+
+        assertThat(report.isAllSucceeded(), is(true));
+        assertThat(report.getResults().size(), is(equalTo(NUMBER_OF_ITEMS)));
+        assertThat(maximumInFlight.get(), is(lessThanOrEqualTo(MAXIMUM_CONCURRENCY)));
+    }
+
+    @Test
+    void setLandingPageReportsItemAsFailedWhenClientThrowsException() {
+        var exception = new NoCredentialsForCustomerRuntimeException();
+        when(asyncDoiClient.setLandingPage(any(URI.class), any(Doi.class), any(URI.class))).thenThrow(exception);
+
+        BatchReport<URI> report = sut.setLandingPage(createLandingPageItems());
+
+        assertThat(report.getFailed().size(), is(equalTo(NUMBER_OF_ITEMS)));
+        assertThat(report.getFailed().get(0).getException().orElseThrow(), is(equalTo(exception)));
+    }
+
+    @Test
+    void updateMetadataReportsRemainingItemsAsFailedWhenInterrupted() {
+        when(asyncDoiClient.updateMetadata(any(URI.class), any(Doi.class), anyString()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        Thread.currentThread().interrupt();
+
+        BatchReport<String> report = sut.updateMetadata(List.of(
+            new BatchItem<>(EXAMPLE_CUSTOMER_ID, createDoi("interrupted"), EXAMPLE_METADATA)));
+
+        assertThat(Thread.interrupted(), is(true));
+        assertThat(report.getFailed().get(0).getException().orElseThrow(), is(instanceOf(InterruptedException.class)));
+    }
+
+    @Test
+    void constructorThrowsExceptionWhenMaximumConcurrencyIsNotPositive() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> new BatchDoiClient(asyncDoiClient, 0));
+        assertThat(exception.getMessage(), is(equalTo(ILLEGAL_MAXIMUM_CONCURRENCY)));
+    }
+
+    @Test
+    void getMaximumConcurrencyReturnsConfiguredValue() {
+        assertThat(sut.getMaximumConcurrency(), is(equalTo(MAXIMUM_CONCURRENCY)));
+    }
+
+    private void respondAfterDelay(AtomicInteger inFlight) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(RESPONSE_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private List<BatchItem<URI>> createLandingPageItems() {
+        return IntStream.range(0, NUMBER_OF_ITEMS)
+            .mapToObj(index -> new BatchItem<>(EXAMPLE_CUSTOMER_ID, createDoi(String.valueOf(index)),
+                EXAMPLE_LANDING_PAGE))
+            .collect(Collectors.toList());
+    }
+
+    private <T> List<Doi> dois(List<BatchItemResult<T>> results) {
+        return results.stream().map(result -> result.getItem().getDoi()).collect(Collectors.toList());
+    }
+
+    private Doi createDoi(String suffix) {
+        return Doi.builder().withPrefix(DEMO_PREFIX).withSuffix(suffix).build();
+    }
+}
@@ -0,0 +1,165 @@
+package no.unit.nva.doi.datacite.bootstrap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import org.junit.jupiter.api.Test;
+
+class HandlerBootstrapTest {
+
+    public static final String DEPENDENCIES = "dependencies";
+    public static final String WARM_UP = "warm-up";
+    public static final Duration SHORT_TIMEOUT = Duration.ofMillis(10);
+    public static final long TEST_TIMEOUT_SECONDS = 5;
+    public static final String NO_CUSTOMERS = "[]";
+
+    @Test
+    void bootstrapWithoutWarmUpsReturnsDependencies() {
+        String actual = HandlerBootstrap.builder().build().bootstrap(() -> DEPENDENCIES);
+
+        assertThat(actual, is(equalTo(DEPENDENCIES)));
+    }
+
+    @Test
+    void bootstrapWithParallelWarmUpsRunsWarmUpsWhileCreatingDependencies() {
+        CountDownLatch warmUpStarted = new CountDownLatch(1);
+        AtomicBoolean warmedUp = new AtomicBoolean();
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder()
+            .withWarmUp(WARM_UP, () -> {
+                warmUpStarted.countDown();
+                warmedUp.set(true);
+            })
+            .withParallelWarmUps(true)
+            .build();
+
+        String actual = bootstrap.bootstrap(() -> awaitThenReturn(warmUpStarted));
+
+        assertThat(actual, is(equalTo(DEPENDENCIES)));
+        assertThat(warmedUp.get(), is(true));
+    }
+
+    @Test
+    void bootstrapRunsWarmUpsOnCallingThreadAfterCreatingDependencies() {
+        AtomicBoolean created = new AtomicBoolean();
+        AtomicReference<Thread> warmUpThread = new AtomicReference<>();
+        AtomicBoolean warmedUpAfterCreating = new AtomicBoolean();
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder()
+            .withWarmUp(WARM_UP, () -> {
+                warmUpThread.set(Thread.currentThread());
+                warmedUpAfterCreating.set(created.get());
+            })
+            .build();
+
+        String actual = bootstrap.bootstrap(() -> {
+            created.set(true);
+            return DEPENDENCIES;
+        });
+
+        assertThat(actual, is(equalTo(DEPENDENCIES)));
+        assertThat(warmUpThread.get(), is(equalTo(Thread.currentThread())));
+        assertThat(warmedUpAfterCreating.get(), is(true));
+    }
+
+    @Test
+    void bootstrapReturnsDependenciesWhenWarmUpFails() {
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder()
+            .withWarmUp(WARM_UP, () -> {
+                throw new IllegalStateException("Warm-up failed");
+            })
+            .build();
+
+        assertThat(bootstrap.bootstrap(() -> DEPENDENCIES), is(equalTo(DEPENDENCIES)));
+    }
+
+    @Test
+    void bootstrapAbandonsWarmUpsNotCompletedWithinTimeout() {
+        CountDownLatch never = new CountDownLatch(1);
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder()
+            .withWarmUp(WARM_UP, () -> awaitThenReturn(never))
+            .withWarmUpTimeout(SHORT_TIMEOUT)
+            .withParallelWarmUps(true)
+            .build();
+
+        assertThat(bootstrap.bootstrap(() -> DEPENDENCIES), is(equalTo(DEPENDENCIES)));
+        never.countDown();
+    }
+
+    @Test
+    void bootstrapThrowsWhenDependenciesCannotBeCreated() {
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder().withTlsWarmUp().build();
+
+        assertThrows(IllegalStateException.class, () -> bootstrap.bootstrap(() -> {
+            throw new IllegalStateException("Could not parse secret configuration");
+        }));
+    }
+
+    @Test
+    void bootstrapRunsJsonAndTlsWarmUps() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        HandlerBootstrap bootstrap = HandlerBootstrap.builder()
+            .withJsonWarmUp(DraftDoiDto.class, DoiStateDto.class)
+            .withTlsWarmUp()
+            .withExecutor(executor)
+            .withParallelWarmUps(true)
+            .build();
+
+        assertThat(bootstrap.bootstrap(() -> DEPENDENCIES), is(equalTo(DEPENDENCIES)));
+        executor.shutdown();
+    }
+
+    @Test
+    void buildSharedHttpClientBuildsClientOnlyWithPreemptiveAuthentication() {
+        HttpClient.Builder preemptiveHttpBuilder = mockHttpClientBuilder();
+        HttpClient.Builder authenticatingHttpBuilder = mockHttpClientBuilder();
+
+        HandlerBootstrap.buildSharedHttpClient(createConnectionFactory(preemptiveHttpBuilder, true));
+        HandlerBootstrap.buildSharedHttpClient(createConnectionFactory(authenticatingHttpBuilder, false));
+
+        verify(preemptiveHttpBuilder).build();
+        verify(authenticatingHttpBuilder, never()).build();
+    }
+
+    private static DataCiteConnectionFactory createConnectionFactory(HttpClient.Builder httpBuilder,
+                                                                     boolean preemptiveAuthentication) {
+        return DataCiteConnectionFactory.builder()
+            .withHttpClientBuilder(httpBuilder)
+            .withConfigurationFactory(new DataCiteConfigurationFactory(NO_CUSTOMERS))
+            .withPreemptiveAuthentication(preemptiveAuthentication)
+            .build();
+    }
+
+    private static HttpClient.Builder mockHttpClientBuilder() {
+        HttpClient.Builder httpBuilder = mock(HttpClient.Builder.class);
+        when(httpBuilder.version(any())).thenReturn(httpBuilder);
+        when(httpBuilder.connectTimeout(any())).thenReturn(httpBuilder);
+        when(httpBuilder.build()).thenReturn(mock(HttpClient.class));
+        return httpBuilder;
+    }
+
+    private static String awaitThenReturn(CountDownLatch latch) {
+        try {
+            latch.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return DEPENDENCIES;
+    }
+}
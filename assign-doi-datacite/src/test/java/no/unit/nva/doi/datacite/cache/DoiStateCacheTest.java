@@ -0,0 +1,84 @@
+package no.unit.nva.doi.datacite.cache;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import java.time.Duration;
+import java.util.Optional;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.models.Doi;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DoiStateCacheTest {
+
+    private static final int MAXIMUM_SIZE = 2;
+    private static final Duration TIME_TO_LIVE = Duration.ofMinutes(5);
+    private static final Doi EXAMPLE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("abc-def").build();
+    private static final Doi EXAMPLE_DOI_IN_UPPER_CASE =
+        Doi.builder().withPrefix("10.5072").withSuffix("ABC-DEF").build();
+    private static final DoiStateDto DRAFT_STATE = new DoiStateDto("10.5072/abc-def", DoiStateCache.DRAFT);
+
+    private MutableClock clock;
+    private DoiStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new DoiStateCache(MAXIMUM_SIZE, TIME_TO_LIVE, clock);
+    }
+
+    @Test
+    void getReturnsCachedStateOfDoiRegardlessOfCase() {
+        cache.put(EXAMPLE_DOI, DRAFT_STATE);
+
+        assertThat(cache.get(EXAMPLE_DOI_IN_UPPER_CASE).orElseThrow(), is(sameInstance(DRAFT_STATE)));
+    }
+
+    @Test
+    void getReturnsEmptyWhenStateWasCachedLongerThanTimeToLiveAgoAlsoWhenReadInBetween() {
+        cache.put(EXAMPLE_DOI, DRAFT_STATE);
+        clock.advance(TIME_TO_LIVE.minusSeconds(1));
+        cache.get(EXAMPLE_DOI);
+        clock.advance(Duration.ofSeconds(2));
+
+        assertThat(cache.get(EXAMPLE_DOI), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void putWithStateReplacesCachedStateOfDoi() {
+        cache.put(EXAMPLE_DOI, DRAFT_STATE);
+
+        cache.put(EXAMPLE_DOI_IN_UPPER_CASE, DoiStateCache.FINDABLE);
+
+        DoiStateDto actual = cache.get(EXAMPLE_DOI).orElseThrow();
+        assertThat(actual.getState(), is(equalTo(DoiStateCache.FINDABLE)));
+        assertThat(actual.getDoi(), is(equalTo(EXAMPLE_DOI_IN_UPPER_CASE.toIdentifier())));
+    }
+
+    @Test
+    void invalidateRemovesCachedStateOfDoi() {
+        cache.put(EXAMPLE_DOI, DRAFT_STATE);
+
+        cache.invalidate(EXAMPLE_DOI_IN_UPPER_CASE);
+
+        assertThat(cache.get(EXAMPLE_DOI), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void disabledCacheNeverReturnsState() {
+        DoiStateCache disabled = DoiStateCache.disabled();
+
+        disabled.put(EXAMPLE_DOI, DRAFT_STATE);
+        disabled.invalidate(EXAMPLE_DOI);
+
+        assertThat(disabled.isEnabled(), is(false));
+        assertThat(disabled.get(EXAMPLE_DOI), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void cacheWithDefaultsIsEnabled() {
+        assertThat(DoiStateCache.withDefaults().isEnabled(), is(true));
+    }
+}
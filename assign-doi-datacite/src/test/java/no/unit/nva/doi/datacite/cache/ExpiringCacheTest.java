@@ -0,0 +1,113 @@
+package no.unit.nva.doi.datacite.cache;
+
+import static no.unit.nva.doi.datacite.cache.ExpiringCache.ILLEGAL_IDLE_EXPIRY;
+import static no.unit.nva.doi.datacite.cache.ExpiringCache.ILLEGAL_MAXIMUM_SIZE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+    private static final int MAXIMUM_SIZE = 2;
+    private static final Duration IDLE_EXPIRY = Duration.ofMinutes(5);
+    private static final String FIRST_KEY = "first";
+    private static final String SECOND_KEY = "second";
+    private static final String THIRD_KEY = "third";
+
+    private MutableClock clock;
+    private ExpiringCache<String, Object> cache;
+    private AtomicInteger createdValues;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        cache = new ExpiringCache<>(MAXIMUM_SIZE, IDLE_EXPIRY, clock);
+        createdValues = new AtomicInteger();
+    }
+
+    @Test
+    void computeIfAbsentReturnsSameValueForSameKey() {
+        final Object first = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+        Object second = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(createdValues.get(), is(equalTo(1)));
+    }
+
+    @Test
+    void computeIfAbsentEvictsLeastRecentlyUsedEntryWhenFull() {
+        final Object first = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+        cache.computeIfAbsent(SECOND_KEY, this::createValue);
+        cache.computeIfAbsent(FIRST_KEY, this::createValue);
+        cache.computeIfAbsent(THIRD_KEY, this::createValue);
+
+        assertThat(cache.size(), is(equalTo(MAXIMUM_SIZE)));
+        assertThat(cache.get(FIRST_KEY), is(sameInstance(first)));
+        assertThat(cache.get(SECOND_KEY), is(nullValue()));
+    }
+
+    @Test
+    void computeIfAbsentCreatesNewValueWhenEntryHasBeenIdleLongerThanExpiry() {
+        final Object first = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+        clock.advance(IDLE_EXPIRY.plusSeconds(1));
+
+        Object second = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+
+        assertThat(second, is(not(sameInstance(first))));
+        assertThat(createdValues.get(), is(equalTo(2)));
+    }
+
+    @Test
+    void accessKeepsEntryAliveBeyondIdleExpiryFromCreation() {
+        final Object first = cache.computeIfAbsent(FIRST_KEY, this::createValue);
+        clock.advance(IDLE_EXPIRY.minusSeconds(1));
+        cache.get(FIRST_KEY);
+        clock.advance(IDLE_EXPIRY.minusSeconds(1));
+
+        assertThat(cache.get(FIRST_KEY), is(sameInstance(first)));
+    }
+
+    @Test
+    void putReplacesValueAndInvalidateRemovesIt() {
+        cache.put(FIRST_KEY, FIRST_KEY);
+        cache.put(FIRST_KEY, SECOND_KEY);
+        assertThat(cache.get(FIRST_KEY), is(equalTo(SECOND_KEY)));
+
+        cache.invalidate(FIRST_KEY);
+        assertThat(cache.get(FIRST_KEY), is(nullValue()));
+    }
+
+    @Test
+    void invalidateAllRemovesAllEntries() {
+        cache.put(FIRST_KEY, FIRST_KEY);
+        cache.put(SECOND_KEY, SECOND_KEY);
+
+        cache.invalidateAll();
+
+        assertThat(cache.size(), is(equalTo(0)));
+    }
+
+    @Test
+    void constructorThrowsExceptionOnInvalidLimits() {
+        var sizeException = assertThrows(IllegalArgumentException.class,
+            () -> new ExpiringCache<String, Object>(0, IDLE_EXPIRY));
+        assertThat(sizeException.getMessage(), is(equalTo(ILLEGAL_MAXIMUM_SIZE)));
+
+        var expiryException = assertThrows(IllegalArgumentException.class,
+            () -> new ExpiringCache<String, Object>(MAXIMUM_SIZE, Duration.ZERO));
+        assertThat(expiryException.getMessage(), is(equalTo(ILLEGAL_IDLE_EXPIRY)));
+    }
+
+    private Object createValue(String key) {
+        createdValues.incrementAndGet();
+        return new Object();
+    }
+}
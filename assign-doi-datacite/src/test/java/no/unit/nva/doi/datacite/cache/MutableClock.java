@@ -0,0 +1,39 @@
+package no.unit.nva.doi.datacite.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Clock which only moves when advanced by the test.
+ */
+class MutableClock extends Clock {
+
+    private Instant now = Instant.parse("2021-01-01T00:00:00Z");
+
+    /**
+     * Move the clock forward.
+     *
+     * @param duration how far to move the clock.
+     */
+    void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
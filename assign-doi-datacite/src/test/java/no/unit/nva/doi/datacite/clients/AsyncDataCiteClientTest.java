@@ -0,0 +1,248 @@
+package no.unit.nva.doi.datacite.clients;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
+import no.unit.nva.doi.datacite.clients.exception.DeleteDraftDoiException;
+import no.unit.nva.doi.datacite.clients.exception.DeleteMetadataException;
+import no.unit.nva.doi.datacite.clients.exception.GetDoiException;
+import no.unit.nva.doi.datacite.clients.exception.SetLandingPageException;
+import no.unit.nva.doi.datacite.clients.exception.UpdateMetadataException;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactoryForSystemTests;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteMdsConfigValidationFailedException;
+import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
+import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import no.unit.nva.doi.datacite.restclient.DataCiteRestConnection;
+import no.unit.nva.doi.datacite.restclient.DoiAttributesParser;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
+import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.models.Doi;
+import nva.commons.core.ioutils.IoUtils;
+import nva.commons.logutils.LogUtils;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncDataCiteClientTest extends DataciteClientTestBase {
+
+    private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/4512");
+    private static final URI UNKNOWN_CUSTOMER_ID = URI.create("https://example.net/customer/id/unknown");
+    private static final URI EXAMPLE_LANDING_PAGE = URI.create("https://example.net/nva/publication/203124124");
+    private static final String EXAMPLE_MDS_USERNAME = "exampleUserName";
+    private static final String EXAMPLE_MDS_PASSWORD = "examplePassword";
+    private static final String EXAMPLE_METADATA = "<resource/>";
+    private static final String GET_DOI_RESPONSE_JSON = "getDoiResponse.json";
+    private static final String EXAMPLE_DOI_FROM_FILE = "10.23/456789";
+    private static final String DRAFT = "draft";
+    private static final String NO_BODY = null;
+
+    private DataCiteMdsConnection mdsConnection;
+    private DataCiteRestConnection restConnection;
+    private AsyncDataCiteClient sut;
+
+    @BeforeEach
+    void setUp() {
+        final var configurationFactory = new DataCiteConfigurationFactoryForSystemTests(Map.of(EXAMPLE_CUSTOMER_ID,
+            new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, DEMO_PREFIX, EXAMPLE_MDS_USERNAME,
+                EXAMPLE_MDS_PASSWORD)));
+        var connectionFactory = mock(DataCiteConnectionFactory.class);
+        mdsConnection = mock(DataCiteMdsConnection.class);
+        restConnection = mock(DataCiteRestConnection.class);
+        when(connectionFactory.getAuthenticatedMdsConnection(any(URI.class))).thenReturn(mdsConnection);
+        when(connectionFactory.getAuthenticatedRestConnection(any(URI.class))).thenReturn(restConnection);
+        when(connectionFactory.getAuthenticatedMdsConnection(UNKNOWN_CUSTOMER_ID))
+            .thenThrow(new NoCredentialsForCustomerRuntimeException());
+        when(connectionFactory.getAuthenticatedRestConnection(UNKNOWN_CUSTOMER_ID))
+            .thenThrow(new NoCredentialsForCustomerRuntimeException());
+
+        sut = new AsyncDataCiteClient(configurationFactory, connectionFactory);
+    }
+
+    @Test
+    void createDoiCompletesWithDoiOnSuccess() throws ExecutionException, InterruptedException, IOException {
+        DoiAttributes body = DoiAttributesParser.parse(DraftDoiDto.create(DEMO_PREFIX, EXAMPLE_DOI_SUFFIX).toJson());
+        var response = response(HttpStatus.SC_CREATED, body);
+        when(restConnection.createDoiAsync()).thenReturn(response);
+
+        Doi actual = sut.createDoi(EXAMPLE_CUSTOMER_ID).get();
+
+        assertThat(actual.toIdentifier(), is(equalTo(createDoiWithDemoPrefixAndExampleSuffix().toIdentifier())));
+    }
+
+    @Test
+    void createDoiCompletesExceptionallyWithCreateDoiExceptionOnUnsuccessfulResponse() {
+        String expectedResponseMessage = "ExpectedResponseMessage";
+        var response = response(HttpStatus.SC_FORBIDDEN, DoiAttributes.unparsed(expectedResponseMessage));
+        when(restConnection.createDoiAsync()).thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.createDoi(EXAMPLE_CUSTOMER_ID));
+
+        assertThat(actual, is(instanceOf(CreateDoiException.class)));
+        assertThat(actual.getMessage(), containsString(expectedResponseMessage));
+    }
+
+    @Test
+    void createDoiCompletesExceptionallyWhenCustomerIsNotConfigured() {
+        Throwable actual = causeOfFailure(sut.createDoi(UNKNOWN_CUSTOMER_ID));
+
+        assertThat(actual, is(instanceOf(DataCiteMdsConfigValidationFailedException.class)));
+    }
+
+    @Test
+    void updateMetadataCompletesOnSuccess() throws ExecutionException, InterruptedException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_CREATED, NO_BODY);
+        when(mdsConnection.postMetadataAsync(doi.toIdentifier(), EXAMPLE_METADATA))
+            .thenReturn(response);
+
+        assertThat(sut.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_METADATA).get(), is(nullValue()));
+    }
+
+    @Test
+    void updateMetadataCompletesExceptionallyWithUpdateMetadataExceptionOnUnsuccessfulResponse() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_BAD_REQUEST, NO_BODY);
+        when(mdsConnection.postMetadataAsync(doi.toIdentifier(), EXAMPLE_METADATA))
+            .thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_METADATA));
+
+        assertThat(actual, is(instanceOf(UpdateMetadataException.class)));
+        assertThat(((UpdateMetadataException) actual).getStatusCode(), is(equalTo(HttpStatus.SC_BAD_REQUEST)));
+    }
+
+    @Test
+    void setLandingPageCompletesOnSuccess() throws ExecutionException, InterruptedException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_CREATED, NO_BODY);
+        when(mdsConnection.registerUrlAsync(doi.toIdentifier(), EXAMPLE_LANDING_PAGE.toASCIIString()))
+            .thenReturn(response);
+
+        assertThat(sut.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE).get(), is(nullValue()));
+    }
+
+    @Test
+    void setLandingPageCompletesExceptionallyWithSetLandingPageExceptionOnUnsuccessfulResponse() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_PRECONDITION_FAILED, NO_BODY);
+        when(mdsConnection.registerUrlAsync(doi.toIdentifier(), EXAMPLE_LANDING_PAGE.toASCIIString()))
+            .thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE));
+
+        assertThat(actual, is(instanceOf(SetLandingPageException.class)));
+    }
+
+    @Test
+    void deleteMetadataCompletesExceptionallyWithDeleteMetadataExceptionOnUnsuccessfulResponse() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_NOT_FOUND, NO_BODY);
+        when(mdsConnection.deleteMetadataAsync(doi.toIdentifier()))
+            .thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.deleteMetadata(EXAMPLE_CUSTOMER_ID, doi));
+
+        assertThat(actual, is(instanceOf(DeleteMetadataException.class)));
+    }
+
+    @Test
+    void deleteDraftDoiCompletesExceptionallyWithDeleteDraftDoiExceptionOnUnsuccessfulResponse() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_METHOD_NOT_ALLOWED, NO_BODY);
+        when(mdsConnection.deleteDoiAsync(doi.toIdentifier()))
+            .thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.deleteDraftDoi(EXAMPLE_CUSTOMER_ID, doi));
+
+        assertThat(actual, is(instanceOf(DeleteDraftDoiException.class)));
+    }
+
+    @Test
+    void deleteDraftDoiCompletesExceptionallyWithClientExceptionOnTransportFailure() {
+        final var appender = LogUtils.getTestingAppender(AsyncDataCiteClient.class);
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        when(mdsConnection.deleteDoiAsync(anyString()))
+            .thenReturn(CompletableFuture.failedFuture(new IOException()));
+
+        Throwable actual = causeOfFailure(sut.deleteDraftDoi(EXAMPLE_CUSTOMER_ID, doi));
+
+        assertThat(actual.getClass(), is(equalTo(ClientException.class)));
+        assertThat(actual.getCause(), is(instanceOf(IOException.class)));
+        assertThat(actual.getMessage(), containsString("deleteDraftDoi"));
+        assertThat(appender.getMessages(), containsString("deleteDraftDoi"));
+    }
+
+    @Test
+    void getDoiCompletesWithDoiStateOnSuccess() throws ExecutionException, InterruptedException, IOException {
+        DoiAttributes body = DoiAttributesParser.parse(IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON)));
+        Doi requestedDoi = Doi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        var response = response(HttpStatus.SC_OK, body);
+        when(restConnection.getDoiAsync(EXAMPLE_DOI_FROM_FILE)).thenReturn(response);
+
+        DoiStateDto actual = sut.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi).get();
+
+        assertThat(actual.getDoi(), is(equalTo(EXAMPLE_DOI_FROM_FILE)));
+        assertThat(actual.getState(), is(equalTo(DRAFT)));
+    }
+
+    @Test
+    void getDoiCompletesExceptionallyWithGetDoiExceptionOnUnsuccessfulResponse() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        var response = response(HttpStatus.SC_NOT_FOUND, DoiAttributes.unparsed(null));
+        when(restConnection.getDoiAsync(doi.toIdentifier())).thenReturn(response);
+
+        Throwable actual = causeOfFailure(sut.getDoi(EXAMPLE_CUSTOMER_ID, doi));
+
+        assertThat(actual, is(instanceOf(GetDoiException.class)));
+    }
+
+    @Test
+    void updateMetadataCompletesExceptionallyWhenCustomerHasNoCredentials() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+
+        CompletableFuture<Void> actual = sut.updateMetadata(UNKNOWN_CUSTOMER_ID, doi, EXAMPLE_METADATA);
+
+        assertThat(causeOfFailure(actual), is(instanceOf(NoCredentialsForCustomerRuntimeException.class)));
+    }
+
+    @Test
+    void getDoiCompletesExceptionallyWhenCustomerHasNoCredentials() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+
+        CompletableFuture<DoiStateDto> actual = sut.getDoi(UNKNOWN_CUSTOMER_ID, doi);
+
+        assertThat(causeOfFailure(actual), is(instanceOf(NoCredentialsForCustomerRuntimeException.class)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<HttpResponse<T>> response(int statusCode, T body) {
+        HttpResponse<T> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.body()).thenReturn(body);
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private Throwable causeOfFailure(CompletableFuture<?> future) {
+        return assertThrows(ExecutionException.class, future::get).getCause();
+    }
+}
@@ -2,9 +2,11 @@ package no.unit.nva.doi.datacite.clients;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
 import static com.github.tomakehurst.wiremock.client.WireMock.delete;
 import static com.github.tomakehurst.wiremock.client.WireMock.deleteRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
@@ -18,42 +20,76 @@ import static no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection.TEXT_PLAI
 import static no.unit.nva.doi.datacite.restclient.DataCiteRestConnection.CONTENT_TYPE;
 import static no.unit.nva.doi.datacite.restclient.DataCiteRestConnection.JSON_API_CONTENT_TYPE;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.BasicCredentials;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.http.Fault;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.Socket;
 import java.net.URI;
 import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.time.Clock;
 import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.X509ExtendedTrustManager;
+import no.unit.nva.doi.datacite.cache.DoiStateCache;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakerConfig;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakers;
+import no.unit.nva.doi.datacite.clients.exception.CircuitBreakerOpenException;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
 import no.unit.nva.doi.datacite.clients.exception.DeleteDraftDoiException;
+import no.unit.nva.doi.datacite.clients.exception.PublishDoiException;
+import no.unit.nva.doi.datacite.clients.exception.UpdateMetadataException;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactoryForSystemTests;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteMdsConfigValidationFailedException;
+import no.unit.nva.doi.datacite.hedging.HedgingConfig;
+import no.unit.nva.doi.datacite.hedging.HedgingStatistics;
+import no.unit.nva.doi.datacite.hedging.RequestHedgers;
 import no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection;
+import no.unit.nva.doi.datacite.mdsclient.StatusOnlyBodyHandler;
+import no.unit.nva.doi.datacite.metrics.EmbeddedMetricFormatRegistry;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import no.unit.nva.doi.datacite.ratelimit.CustomerRateLimiters;
+import no.unit.nva.doi.datacite.ratelimit.RateLimit;
+import no.unit.nva.doi.datacite.restclient.DataCiteRestConnection;
 import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
 import no.unit.nva.doi.datacite.restclient.models.DraftDoiDto;
+import no.unit.nva.doi.datacite.suffix.DoiSuffixGenerator;
 import no.unit.nva.doi.models.Doi;
 import no.unit.nva.doi.models.ImmutableDoi;
 import nva.commons.core.ioutils.IoUtils;
@@ -66,6 +102,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
 
 class DataCiteClientSystemTest extends DataciteClientTestBase {
 
@@ -76,6 +113,22 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
         "Failed to configure the trust everything rule for the http client, which is required to connect to "
             + "wiremock server and local signed SSL certificate for now.";
     public static final String DOIS_PATH_PREFIX = "/dois";
+    public static final String RETRY_SCENARIO = "retry";
+    public static final String RECOVERED_STATE = "recovered";
+    public static final long SUFFIX_SEED = 42;
+    public static final int REGISTRATION_DELAY_MILLIS = 1000;
+    public static final int CHUNKS_OF_CHUNKED_RESPONSE = 4;
+    public static final int CHUNKED_RESPONSE_DURATION_MILLIS = 20;
+    public static final String PUBLISH_FAILURE_RESPONSE = "{\"errors\":[{\"title\":\"Invalid metadata\"}]}";
+    public static final int RATE_LIMIT_PER_SECOND = 100;
+    public static final int RATE_LIMIT_BURST = 10;
+    public static final int CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS = 2;
+    public static final String METADATA_FILE_NAME = "metadata.xml";
+    public static final String INVALID_METADATA_RESPONSE = "Invalid XML: ";
+    public static final String HEDGING_SCENARIO = "hedging";
+    public static final String HEDGED_STATE = "hedged";
+    public static final int SLOW_RESPONSE_DELAY_MILLIS = 2000;
+    public static final Duration SHORT_HEDGE_DELAY = Duration.ofMillis(100);
     private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/4512");
     private static final char FORWARD_SLASH = '/';
     private static final String metadataPathPrefix =
@@ -88,13 +141,19 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
     private static final String doiPath = FORWARD_SLASH + DataCiteMdsConnection.DATACITE_PATH_DOI;
     public static final String DRAFT = "draft";
     public static final String GET_DOI_RESPONSE_JSON = "getDoiResponse.json";
+    public static final String GET_FINDABLE_DOI_RESPONSE_JSON = "getDoiFullResponse.json";
     public static final String EXAMPLE_DOI_FROM_FILE = "10.23/456789";
+    public static final String METRICS_NAMESPACE = "NVA/DataCite";
+    public static final String JSON_FIELD_TEMPLATE = "\"%s\":%s";
+    public static final String JSON_TEXT_FIELD_TEMPLATE = "\"%s\":\"%s\"";
     private String mdsHost;
     private String restHost;
     private DataCiteMdsClientSecretConfig validSecretConfig;
     private int mdsPort;
     private DataCiteClient doiClient;
     private WireMockServer wireMockServer;
+    private DataCiteConfigurationFactory configurationFactory;
+    private HttpClient.Builder httpClientBuilder;
 
     void startProxyToWireMock() {
         wireMockServer = new WireMockServer(WireMockConfiguration.options().dynamicHttpsPort());
@@ -121,22 +180,17 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
         startProxyToWireMock();
         stubRequireAuthenticationForAllApiCalls();
 
-        DataCiteConfigurationFactory configurationFactory = new DataCiteConfigurationFactoryForSystemTests(
+        configurationFactory = new DataCiteConfigurationFactoryForSystemTests(
             Map.of(EXAMPLE_CUSTOMER_ID, validSecretConfig));
 
-        var httpClientBuilder = HttpClient.newBuilder()
+        httpClientBuilder = HttpClient.newBuilder()
             .connectTimeout(Duration.ofMinutes(1))
             .sslContext(createInsecureSslContextTrustingEverything());
 
         DataCiteMdsClientSecretConfig configWithSecrets = (DataCiteMdsClientSecretConfig)
             configurationFactory.getConfig(EXAMPLE_CUSTOMER_ID);
 
-        DataCiteConnectionFactory mdsConnectionFactory = new DataCiteConnectionFactory(httpClientBuilder,
-            configurationFactory,
-            mdsHost,
-            restHost,
-            mdsPort);
-        doiClient = new DataCiteClient(configurationFactory, mdsConnectionFactory);
+        doiClient = new DataCiteClient(configurationFactory, createConnectionFactory());
     }
 
     @Test
@@ -180,6 +234,98 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
         verifyCreateDoiResponse(actual.getPrefix());
     }
 
+    @Test
+    void createDoiWithGeneratedSuffixReturnsGeneratedDoiBeforeDataCiteHasRegisteredIt()
+        throws ClientException, ExecutionException, InterruptedException {
+        String expectedSuffix = new DoiSuffixGenerator(new Random(SUFFIX_SEED)).generate();
+        stubFor(post(urlEqualTo(DOIS_PATH_PREFIX))
+            .withBasicAuth(EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD)
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.SC_CREATED)
+                .withBody(DraftDoiDto.create(DEMO_PREFIX, expectedSuffix).toJson())
+                .withFixedDelay(REGISTRATION_DELAY_MILLIS)));
+        doiClient = createDoiClientWithGeneratedSuffixes();
+
+        DraftDoiRegistration actual = doiClient.createDoiWithGeneratedSuffix(EXAMPLE_CUSTOMER_ID, null);
+
+        assertThat(actual.getDoi().getPrefix(), is(equalTo(DEMO_PREFIX)));
+        assertThat(actual.getDoi().getSuffix(), is(equalTo(expectedSuffix)));
+        assertThat(actual.getRegistration().isDone(), is(false));
+        assertThat(actual.getRegistration().get(), is(equalTo(actual.getDoi())));
+        verify(1, postRequestedFor(urlEqualTo(DOIS_PATH_PREFIX))
+            .withRequestBody(containing(DEMO_PREFIX + FORWARD_SLASH + expectedSuffix)));
+    }
+
+    @Test
+    void createDoiWithGeneratedSuffixFailsRegistrationWithCreateDoiExceptionWhenDoiIsTaken() throws ClientException {
+        stubFor(post(urlEqualTo(DOIS_PATH_PREFIX))
+            .willReturn(aResponse().withStatus(HttpStatus.SC_UNPROCESSABLE_ENTITY)));
+        doiClient = createDoiClientWithGeneratedSuffixes();
+
+        DraftDoiRegistration actual = doiClient.createDoiWithGeneratedSuffix(EXAMPLE_CUSTOMER_ID, null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> actual.getRegistration().get());
+        CreateDoiException cause = (CreateDoiException) exception.getCause();
+        assertThat(cause.getStatusCode(), is(equalTo(HttpStatus.SC_UNPROCESSABLE_ENTITY)));
+        verify(1, postRequestedFor(urlEqualTo(DOIS_PATH_PREFIX)));
+    }
+
+    @Test
+    void createDoiWithGeneratedSuffixFailsRegistrationWithClientExceptionOnTransportFailure() throws ClientException {
+        stubFor(post(urlEqualTo(DOIS_PATH_PREFIX))
+            .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        doiClient = createDoiClientWithGeneratedSuffixes();
+
+        DraftDoiRegistration actual = doiClient.createDoiWithGeneratedSuffix(EXAMPLE_CUSTOMER_ID, null);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> actual.getRegistration().get());
+        assertThat(exception.getCause().getClass(), is(equalTo(ClientException.class)));
+        assertThat(exception.getCause().getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void publishDoiSendsMetadataAndLandingPageWithPublishEventInOneRequest() throws ClientException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubPublishDoiResponse(doi);
+        String metadata = getValidMetadataPayload();
+        String encodedMetadata = Base64.getEncoder().encodeToString(metadata.getBytes(StandardCharsets.UTF_8));
+
+        doiClient.publishDoi(EXAMPLE_CUSTOMER_ID, doi, metadata, EXAMPLE_LANDING_PAGE);
+
+        verify(1, putRequestedFor(urlEqualTo(createDoisIdentifierPath(doi)))
+            .withHeader(CONTENT_TYPE, WireMock.equalTo(JSON_API_CONTENT_TYPE))
+            .withRequestBody(containing("\"event\":\"publish\""))
+            .withRequestBody(containing(EXAMPLE_LANDING_PAGE.toString()))
+            .withRequestBody(containing(encodedMetadata)));
+    }
+
+    @Test
+    void publishDoiWithStateCacheCachesDoiAsFindableAtLandingPage() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubPublishDoiResponse(doi);
+
+        doiClient.publishDoi(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload(), EXAMPLE_LANDING_PAGE);
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, doi);
+
+        assertThat(actual.getState(), is(equalTo(DoiStateCache.FINDABLE)));
+        assertThat(actual.getUrl(), is(equalTo(EXAMPLE_LANDING_PAGE.toString())));
+        verify(0, getRequestedFor(urlEqualTo(createDoisIdentifierPath(doi))));
+    }
+
+    @Test
+    void publishDoiThrowsPublishDoiExceptionWithResponseWhenRequestFails() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubPublishDoiFailedResponse(doi);
+
+        Executable action = () -> doiClient.publishDoi(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload(),
+            EXAMPLE_LANDING_PAGE);
+
+        PublishDoiException exception = assertThrows(PublishDoiException.class, action);
+        assertThat(exception.getMessage(), containsString(String.valueOf(HttpStatus.SC_UNPROCESSABLE_ENTITY)));
+        assertThat(exception.getMessage(), containsString(PUBLISH_FAILURE_RESPONSE));
+    }
+
     @Test
     void createDoiLogsResponseFromDataCiteWhenRequestFails() {
         TestAppender logAppender = LogUtils.getTestingAppender(DataCiteClient.class);
@@ -215,6 +361,430 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
         verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
     }
 
+    @Test
+    void updateMetadataIncludesOnlyStartOfResponseBodyInExceptionWhenRequestFails() {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        String responseBody = INVALID_METADATA_RESPONSE + "x".repeat(StatusOnlyBodyHandler.DEFAULT_ERROR_BODY_LIMIT);
+        stubFor(post(urlEqualTo(expectedPathForUpdatingMetadata))
+            .withBasicAuth(EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD)
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+                .withBody(responseBody)));
+
+        UpdateMetadataException exception = assertThrows(UpdateMetadataException.class,
+            () -> doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload()));
+
+        assertThat(exception.getStatusCode(), is(equalTo(HttpStatus.SC_UNPROCESSABLE_ENTITY)));
+        assertThat(exception.getMessage(), containsString(INVALID_METADATA_RESPONSE));
+        assertThat(exception.getMessage(), not(containsString(responseBody)));
+    }
+
+    @Test
+    void updateMetadataWithChallengeAuthenticationSendsUnauthenticatedRequestFirst() throws ClientException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+
+        verify(2, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata)));
+        verify(1, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata))
+            .withBasicAuth(getExpectedAuthenticatedCredentials()));
+    }
+
+    @Test
+    void updateMetadataWithPreemptiveAuthenticationSendsSingleAuthenticatedRequest() throws ClientException {
+        doiClient = createDoiClientWithPreemptiveAuthentication();
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+
+        verify(1, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata)));
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void updateMetadataWithByteArraySendsMetadataUnchanged() throws ClientException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayloadBytes());
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void updateMetadataWithByteBufferSendsMetadataUnchanged() throws ClientException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, ByteBuffer.wrap(getValidMetadataPayloadBytes()));
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void updateMetadataWithInputStreamSupplierSendsMetadataUnchangedAlsoWhenResendingAfterChallenge()
+        throws ClientException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+        byte[] metadata = getValidMetadataPayloadBytes();
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, () -> new ByteArrayInputStream(metadata));
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void updateMetadataWithPathSendsMetadataFromFileUnchanged(@TempDir Path directory)
+        throws ClientException, IOException {
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+        Path metadataFile = Files.write(directory.resolve(METADATA_FILE_NAME), getValidMetadataPayloadBytes());
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, metadataFile);
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void getDoiWithPreemptiveAuthenticationReturnsDoiStateOnSuccess() throws ClientException {
+        doiClient = createDoiClientWithPreemptiveAuthentication();
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        var requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubGetDoiResponse(getDoiResponseJson, requestedDoi);
+
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(actual.getDoi(), is(equalTo(requestedDoi.toIdentifier())));
+        verify(1, getRequestedFor(urlEqualTo(createDoisIdentifierPath(requestedDoi))));
+    }
+
+    @Test
+    void getDoiWithMeterRegistryWritesRequestTaggedWithOperationHostAndCustomer() throws ClientException {
+        List<String> metricLines = new CopyOnWriteArrayList<>();
+        doiClient = createDoiClientWithMeterRegistry(metricLines);
+        Doi requestedDoi = stubGetDoiResponseOfDoiFromFile();
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(metricLines.size(), is(equalTo(1)));
+        String metricLine = metricLines.get(0);
+        assertThat(metricLine, containsString(jsonTextField(EmbeddedMetricFormatRegistry.OPERATION, "getDoi")));
+        assertThat(metricLine, containsString(jsonTextField(EmbeddedMetricFormatRegistry.HOST, restHost)));
+        assertThat(metricLine, containsString(jsonTextField(EmbeddedMetricFormatRegistry.CUSTOMER,
+            EXAMPLE_CUSTOMER_ID.toString())));
+        assertThat(metricLine, containsString(jsonField(EmbeddedMetricFormatRegistry.STATUS_2XX, 1)));
+    }
+
+    @Test
+    void getDoiWithMeterRegistryWritesBytesReceivedOfChunkedResponse() throws ClientException {
+        List<String> metricLines = new CopyOnWriteArrayList<>();
+        doiClient = createDoiClientWithMeterRegistry(metricLines);
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        Doi requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubFor(get(urlEqualTo(createDoisIdentifierPath(requestedDoi)))
+            .willReturn(aResponse()
+                .withHeader(CONTENT_TYPE, APPLICATION_VND_API_JSON)
+                .withStatus(HttpStatus.SC_OK)
+                .withBody(getDoiResponseJson)
+                .withChunkedDribbleDelay(CHUNKS_OF_CHUNKED_RESPONSE, CHUNKED_RESPONSE_DURATION_MILLIS)));
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(metricLines.get(0), containsString(jsonField(EmbeddedMetricFormatRegistry.BYTES_RECEIVED,
+            getDoiResponseJson.getBytes(StandardCharsets.UTF_8).length)));
+    }
+
+    @Test
+    void updateMetadataWithMeterRegistryWritesBytesSentToMds() throws ClientException {
+        List<String> metricLines = new CopyOnWriteArrayList<>();
+        doiClient = createDoiClientWithMeterRegistry(metricLines);
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubUpdateMetadataResponse(createMetadataDoiIdentifierPath(doi));
+        String metadata = getValidMetadataPayload();
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, metadata);
+
+        String metricLine = metricLines.get(0);
+        assertThat(metricLine, containsString(jsonTextField(EmbeddedMetricFormatRegistry.OPERATION,
+            DataCiteMdsConnection.POST_METADATA_OPERATION)));
+        assertThat(metricLine, containsString(jsonTextField(EmbeddedMetricFormatRegistry.HOST, mdsHost)));
+        assertThat(metricLine, containsString(jsonField(EmbeddedMetricFormatRegistry.BYTES_SENT,
+            metadata.getBytes(StandardCharsets.UTF_8).length)));
+    }
+
+    @Test
+    void updateMetadataWithRetriesResendsRequestAfterServiceUnavailable() throws ClientException {
+        doiClient = createDoiClientWithPreemptiveAuthenticationAndRetries();
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubServiceUnavailableOnceThenOk(post(urlEqualTo(expectedPathForUpdatingMetadata)));
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+
+        verify(2, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata)));
+    }
+
+    @Test
+    void createDoiWithRetriesDoesNotResendRequestAfterServiceUnavailable() {
+        doiClient = createDoiClientWithPreemptiveAuthenticationAndRetries();
+        stubServiceUnavailableOnceThenOk(post(urlEqualTo(DOIS_PATH_PREFIX)));
+
+        Executable action = () -> doiClient.createDoi(EXAMPLE_CUSTOMER_ID);
+
+        CreateDoiException exception = assertThrows(CreateDoiException.class, action);
+        assertThat(exception.getStatusCode(), is(equalTo(HttpURLConnection.HTTP_UNAVAILABLE)));
+        verify(1, postRequestedFor(urlEqualTo(DOIS_PATH_PREFIX)));
+    }
+
+    @Test
+    void updateMetadataFailsFastWithoutSendingRequestWhileCircuitBreakerIsOpen() {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.builder()
+            .withSlidingWindowSize(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS)
+            .withMinimumNumberOfCalls(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS)
+            .build();
+        doiClient = DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(createPreemptiveConnectionFactoryBuilder().build())
+            .withCircuitBreakers(new CircuitBreakers(circuitBreakerConfig))
+            .build();
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubFor(post(urlEqualTo(expectedPathForUpdatingMetadata))
+            .willReturn(aResponse().withStatus(HttpURLConnection.HTTP_UNAVAILABLE)));
+        Executable action = () -> doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+        for (int call = 0; call < CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS; call++) {
+            assertThrows(UpdateMetadataException.class, action);
+        }
+
+        CircuitBreakerOpenException exception = assertThrows(CircuitBreakerOpenException.class, action);
+
+        assertThat(exception.getHost(), is(equalTo(mdsHost)));
+        verify(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata)));
+    }
+
+    @Test
+    void updateMetadataWithMissingFileFailsWithoutSendingRequestOrOpeningCircuitBreaker(@TempDir Path directory)
+        throws ClientException {
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.builder()
+            .withSlidingWindowSize(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS)
+            .withMinimumNumberOfCalls(CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS)
+            .build();
+        doiClient = DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(createPreemptiveConnectionFactoryBuilder().build())
+            .withCircuitBreakers(new CircuitBreakers(circuitBreakerConfig))
+            .build();
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+        Path missingFile = directory.resolve(METADATA_FILE_NAME);
+        for (int call = 0; call < CIRCUIT_BREAKER_MINIMUM_NUMBER_OF_CALLS; call++) {
+            ClientException exception = assertThrows(ClientException.class,
+                () -> doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, missingFile));
+            assertThat(exception.getCause(), is(instanceOf(FileNotFoundException.class)));
+        }
+        verify(0, postRequestedFor(urlEqualTo(expectedPathForUpdatingMetadata)));
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
+    @Test
+    void mdsAndRestRequestsOfCustomerWaitForPermitsOfCustomerRateLimiter() throws ClientException {
+        List<URI> permitsReservedForCustomers = new CopyOnWriteArrayList<>();
+        CustomerRateLimiters rateLimiters = CustomerRateLimiters.builder()
+            .withDefaultRateLimit(RateLimit.perSecond(RATE_LIMIT_PER_SECOND, RATE_LIMIT_BURST))
+            .withPermitWaitListener((customerId, wait) -> permitsReservedForCustomers.add(customerId))
+            .build();
+        doiClient = createDoiClientWithRateLimiters(rateLimiters);
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubUpdateMetadataResponse(createMetadataDoiIdentifierPath(doi));
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        var requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubGetDoiResponse(getDoiResponseJson, requestedDoi);
+
+        doiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload());
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(permitsReservedForCustomers, contains(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_ID));
+    }
+
+    @Test
+    void getDoiWithHedgingReturnsResponseOfHedgeWhenFirstRequestIsSlow() throws ClientException {
+        RequestHedgers requestHedgers = new RequestHedgers(HedgingConfig.builder()
+            .withHedgeDelay(SHORT_HEDGE_DELAY)
+            .withHedgeDelayPercentile(HedgingConfig.FIXED_DELAY)
+            .build());
+        doiClient = new DataCiteClient(configurationFactory, createPreemptiveConnectionFactoryBuilder()
+            .withRequestHedgers(requestHedgers)
+            .build());
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        var requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubSlowGetDoiResponseOnceThenFast(getDoiResponseJson, requestedDoi);
+
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(actual.getDoi(), is(equalTo(requestedDoi.toIdentifier())));
+        HedgingStatistics statistics = requestHedgers.getRequestHedger(restHost,
+            DataCiteRestConnection.GET_DOI_OPERATION).getStatistics();
+        assertThat(statistics.getHedgedRequests(), is(equalTo(1L)));
+        assertThat(statistics.getHedgeWins(), is(equalTo(1L)));
+    }
+
+    @Test
+    void getDoiWithStateCacheReadsStateFromDataCiteOnlyOnce() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        Doi requestedDoi = stubGetDoiResponseOfDoiFromFile();
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(actual.getState(), is(equalTo(DRAFT)));
+        verify(1, getRequestedFor(urlEqualTo(createDoisIdentifierPath(requestedDoi))));
+    }
+
+    @Test
+    void getDoiWithStateCacheReturnsFindableStateAfterSettingLandingPage() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        Doi requestedDoi = stubGetDoiResponseOfDoiFromFile();
+        stubSetLandingPageResponse(requestedDoi);
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, requestedDoi, EXAMPLE_LANDING_PAGE);
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(actual.getState(), is(equalTo(DoiStateCache.FINDABLE)));
+        verify(1, getRequestedFor(urlEqualTo(createDoisIdentifierPath(requestedDoi))));
+    }
+
+    @Test
+    void getDoiWithStateCacheReturnsRegisteredStateAfterDeletingMetadata() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        Doi requestedDoi = stubGetDoiResponseOfDoiFromFile();
+        stubDeleteMetadataResponse(createMetadataDoiIdentifierPath(requestedDoi));
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        doiClient.deleteMetadata(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(actual.getState(), is(equalTo(DoiStateCache.REGISTERED)));
+        verify(1, getRequestedFor(urlEqualTo(createDoisIdentifierPath(requestedDoi))));
+    }
+
+    @Test
+    void getDoiWithStateCacheReadsStateFromDataCiteAgainAfterDeletingDraftDoi() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        Doi requestedDoi = stubGetDoiResponseOfDoiFromFile();
+        stubDeleteDraftApiResponse(createDoiIdentifierPath(requestedDoi));
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        doiClient.deleteDraftDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        verify(2, getRequestedFor(urlEqualTo(createDoisIdentifierPath(requestedDoi))));
+    }
+
+    @Test
+    void createDoiWithStateCacheCachesNewDoiAsDraft() throws ClientException {
+        doiClient = createDoiClientWithStateCache();
+        String randomSuffix = UUID.randomUUID().toString();
+        stubCreateDoiResponse(DraftDoiDto.create(DEMO_PREFIX, randomSuffix));
+
+        Doi createdDoi = doiClient.createDoi(EXAMPLE_CUSTOMER_ID);
+        DoiStateDto actual = doiClient.getDoi(EXAMPLE_CUSTOMER_ID, createdDoi);
+
+        assertThat(actual.getState(), is(equalTo(DoiStateCache.DRAFT)));
+        verify(0, getRequestedFor(urlEqualTo(createDoisIdentifierPath(createdDoi))));
+    }
+
+    @Test
+    void setLandingPageWithConditionalRegistrationsSkipsRegisteringSameLandingPageAgain() throws ClientException {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+        doiClient = createDoiClientWithConditionalLandingPageRegistrations(registrations);
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubSetLandingPageResponse(doi);
+
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE);
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE);
+
+        verify(1, putRequestedFor(urlEqualTo(createDoiIdentifierPath(doi))));
+        assertThat(registrations.getSentRegistrations(), is(equalTo(1L)));
+        assertThat(registrations.getSkippedRegistrations(), is(equalTo(1L)));
+    }
+
+    @Test
+    void setLandingPageWithConditionalRegistrationsRegistersLandingPageAgainAfterDeletingMetadata()
+        throws ClientException {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+        doiClient = createDoiClientWithConditionalLandingPageRegistrations(registrations);
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        stubSetLandingPageResponse(doi);
+        stubDeleteMetadataResponse(createMetadataDoiIdentifierPath(doi));
+
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE);
+        doiClient.deleteMetadata(EXAMPLE_CUSTOMER_ID, doi);
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, doi, EXAMPLE_LANDING_PAGE);
+
+        verify(2, putRequestedFor(urlEqualTo(createDoiIdentifierPath(doi))));
+        assertThat(registrations.getSentRegistrations(), is(equalTo(2L)));
+    }
+
+    @Test
+    void setLandingPageWithConditionalRegistrationsSkipsLandingPageOfCachedFindableDoi() throws ClientException {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+        doiClient = createDoiClientWithConditionalLandingPageRegistrations(registrations);
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_FINDABLE_DOI_RESPONSE_JSON));
+        Doi requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubGetDoiResponse(getDoiResponseJson, requestedDoi);
+        stubSetLandingPageResponse(requestedDoi);
+
+        doiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, requestedDoi, EXAMPLE_LANDING_PAGE);
+        doiClient.setLandingPage(EXAMPLE_CUSTOMER_ID, requestedDoi, URI.create("https://example.net/nva/other"));
+
+        verify(1, putRequestedFor(urlEqualTo(createDoiIdentifierPath(requestedDoi))));
+        assertThat(registrations.getSkippedRegistrations(), is(equalTo(1L)));
+        assertThat(registrations.getSentRegistrations(), is(equalTo(1L)));
+    }
+
+    @Test
+    void asyncClientCreatesDoiAndReadsItsStateWithoutBlocking() throws ExecutionException, InterruptedException {
+        var asyncDoiClient = new AsyncDataCiteClient(configurationFactory, createConnectionFactory());
+        String randomSuffix = UUID.randomUUID().toString();
+        stubCreateDoiResponse(DraftDoiDto.create(DEMO_PREFIX, randomSuffix));
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        var requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubGetDoiResponse(getDoiResponseJson, requestedDoi);
+
+        var createdDoi = asyncDoiClient.createDoi(EXAMPLE_CUSTOMER_ID);
+        var doiState = asyncDoiClient.getDoi(EXAMPLE_CUSTOMER_ID, requestedDoi);
+
+        assertThat(createdDoi.get().getSuffix(), is(equalTo(randomSuffix)));
+        assertThat(doiState.get().getState(), is(equalTo(DRAFT)));
+    }
+
+    @Test
+    void asyncClientUpdatesMetadataForCustomerSuccessfully() throws ExecutionException, InterruptedException {
+        var asyncDoiClient = new AsyncDataCiteClient(configurationFactory, createConnectionFactory());
+        Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
+        String expectedPathForUpdatingMetadata = createMetadataDoiIdentifierPath(doi);
+        stubUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+
+        asyncDoiClient.updateMetadata(EXAMPLE_CUSTOMER_ID, doi, getValidMetadataPayload()).get();
+
+        verifyUpdateMetadataResponse(expectedPathForUpdatingMetadata);
+    }
+
     @Test
     void setLandingPageForCustomerSuccessfully() throws ClientException {
         Doi doi = createDoiWithDemoPrefixAndExampleSuffix();
@@ -261,6 +831,131 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
         assertThat(actualException.getMessage(), containsString(String.valueOf(HttpStatus.SC_METHOD_NOT_ALLOWED)));
     }
 
+    private DataCiteConnectionFactory createConnectionFactory() {
+        return new DataCiteConnectionFactory(httpClientBuilder,
+            configurationFactory,
+            mdsHost,
+            restHost,
+            mdsPort);
+    }
+
+    private DataCiteClient createDoiClientWithPreemptiveAuthentication() {
+        DataCiteConnectionFactory connectionFactory = createPreemptiveConnectionFactoryBuilder().build();
+        return new DataCiteClient(configurationFactory, connectionFactory);
+    }
+
+    private DataCiteClient createDoiClientWithRateLimiters(CustomerRateLimiters rateLimiters) {
+        DataCiteConnectionFactory connectionFactory = createPreemptiveConnectionFactoryBuilder()
+            .withRateLimiters(rateLimiters)
+            .build();
+        return new DataCiteClient(configurationFactory, connectionFactory);
+    }
+
+    private DataCiteClient createDoiClientWithGeneratedSuffixes() {
+        return DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(createPreemptiveConnectionFactoryBuilder().build())
+            .withDoiSuffixGenerator(new DoiSuffixGenerator(new Random(SUFFIX_SEED)))
+            .build();
+    }
+
+    private DataCiteClient createDoiClientWithStateCache() {
+        return DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(createPreemptiveConnectionFactoryBuilder().build())
+            .withDoiStateCache(DoiStateCache.withDefaults())
+            .build();
+    }
+
+    private DataCiteClient createDoiClientWithConditionalLandingPageRegistrations(
+        LandingPageRegistrations registrations) {
+        return DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(createPreemptiveConnectionFactoryBuilder().build())
+            .withDoiStateCache(DoiStateCache.withDefaults())
+            .withLandingPageRegistrations(registrations)
+            .build();
+    }
+
+    private DataCiteClient createDoiClientWithMeterRegistry(List<String> metricLines) {
+        MeterRegistry meterRegistry = new EmbeddedMetricFormatRegistry(METRICS_NAMESPACE, Duration.ZERO,
+            metricLines::add, Clock.systemUTC());
+        return new DataCiteClient(configurationFactory,
+            createPreemptiveConnectionFactoryBuilder().withMeterRegistry(meterRegistry).build());
+    }
+
+    private static String jsonField(String name, long value) {
+        return String.format(JSON_FIELD_TEMPLATE, name, value);
+    }
+
+    private static String jsonTextField(String name, String value) {
+        return String.format(JSON_TEXT_FIELD_TEMPLATE, name, value);
+    }
+
+    private Doi stubGetDoiResponseOfDoiFromFile() {
+        String getDoiResponseJson = IoUtils.stringFromResources(Path.of(GET_DOI_RESPONSE_JSON));
+        Doi requestedDoi = ImmutableDoi.builder().withIdentifier(EXAMPLE_DOI_FROM_FILE).build();
+        stubGetDoiResponse(getDoiResponseJson, requestedDoi);
+        return requestedDoi;
+    }
+
+    private DataCiteConnectionFactory.Builder createPreemptiveConnectionFactoryBuilder() {
+        return DataCiteConnectionFactory.builder()
+            .withHttpClientBuilder(httpClientBuilder)
+            .withConfigurationFactory(configurationFactory)
+            .withMdsApiHostName(mdsHost)
+            .withRestApiHostName(restHost)
+            .withApiPort(mdsPort)
+            .withPreemptiveAuthentication(true);
+    }
+
+    private DataCiteClient createDoiClientWithPreemptiveAuthenticationAndRetries() {
+        DataCiteConnectionFactory connectionFactory = createPreemptiveConnectionFactoryBuilder().build();
+        RetryingExecutor retryingExecutor = RetryingExecutor.builder()
+            .withSleeper(duration -> {
+            })
+            .build();
+        return DataCiteClient.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withConnectionFactory(connectionFactory)
+            .withRetryingExecutor(retryingExecutor)
+            .build();
+    }
+
+    private void stubSlowGetDoiResponseOnceThenFast(String getDoiResponseJson, Doi requestedDoi) {
+        MappingBuilder request = get(urlEqualTo(createDoisIdentifierPath(requestedDoi)));
+        stubFor(request
+            .inScenario(HEDGING_SCENARIO)
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse()
+                .withHeader(CONTENT_TYPE, APPLICATION_VND_API_JSON)
+                .withStatus(HttpStatus.SC_OK)
+                .withBody(getDoiResponseJson)
+                .withFixedDelay(SLOW_RESPONSE_DELAY_MILLIS))
+            .willSetStateTo(HEDGED_STATE));
+        stubFor(request
+            .inScenario(HEDGING_SCENARIO)
+            .whenScenarioStateIs(HEDGED_STATE)
+            .willReturn(aResponse()
+                .withHeader(CONTENT_TYPE, APPLICATION_VND_API_JSON)
+                .withStatus(HttpStatus.SC_OK)
+                .withBody(getDoiResponseJson)));
+    }
+
+    private void stubServiceUnavailableOnceThenOk(MappingBuilder request) {
+        stubFor(request
+            .inScenario(RETRY_SCENARIO)
+            .whenScenarioStateIs(Scenario.STARTED)
+            .willReturn(aResponse().withStatus(HttpURLConnection.HTTP_UNAVAILABLE))
+            .willSetStateTo(RECOVERED_STATE));
+        stubFor(request
+            .inScenario(RETRY_SCENARIO)
+            .whenScenarioStateIs(RECOVERED_STATE)
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.SC_OK)
+                .withBody(HTTP_RESPONSE_OK)));
+    }
+
     private String createMetadataDoiIdentifierPath(Doi doi) {
         return metadataPathPrefix + FORWARD_SLASH + doi.toIdentifier();
     }
@@ -361,6 +1056,22 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
                 .withBody(expectedResponseBody.toJson())));
     }
 
+    private void stubPublishDoiResponse(Doi doi) {
+        stubFor(put(urlEqualTo(createDoisIdentifierPath(doi)))
+            .withBasicAuth(EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD)
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.SC_OK)
+                .withBody(DraftDoiDto.create(doi.getPrefix(), doi.getSuffix()).toJson())));
+    }
+
+    private void stubPublishDoiFailedResponse(Doi doi) {
+        stubFor(put(urlEqualTo(createDoisIdentifierPath(doi)))
+            .withBasicAuth(EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD)
+            .willReturn(aResponse()
+                .withStatus(HttpStatus.SC_UNPROCESSABLE_ENTITY)
+                .withBody(PUBLISH_FAILURE_RESPONSE)));
+    }
+
     private void stubCreateFailedResponse(String expectedBody) {
 
         stubFor(post(urlEqualTo(DOIS_PATH_PREFIX))
@@ -448,4 +1159,8 @@ class DataCiteClientSystemTest extends DataciteClientTestBase {
     private String getValidMetadataPayload() {
         return IoUtils.stringFromResources(Path.of("dataciteXmlResourceExample.xml"));
     }
+
+    private byte[] getValidMetadataPayloadBytes() {
+        return getValidMetadataPayload().getBytes(StandardCharsets.UTF_8);
+    }
 }
\ No newline at end of file
@@ -9,7 +9,6 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.util.Map;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
@@ -40,7 +39,7 @@ class DataCiteClientTest extends DataciteClientTestBase {
     private DataCiteMdsConnection mdsConnectionThrowingIoException;
 
     @BeforeEach
-    void setUp() throws InterruptedException, IOException, URISyntaxException {
+    void setUp() throws InterruptedException, IOException {
         configurationFactory = createDataConfigurationFactoryForTest();
 
         mdsConnectionFactory = mock(DataCiteConnectionFactory.class);
@@ -0,0 +1,59 @@
+package no.unit.nva.doi.datacite.clients;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.net.URI;
+import no.unit.nva.doi.models.Doi;
+import org.junit.jupiter.api.Test;
+
+class LandingPageRegistrationsTest {
+
+    private static final Doi EXAMPLE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("abc").build();
+    private static final Doi UPPER_CASE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("ABC").build();
+    private static final URI LANDING_PAGE = URI.create("https://example.net/nva/publication/1");
+    private static final URI OTHER_LANDING_PAGE = URI.create("https://example.net/nva/publication/2");
+
+    @Test
+    void unconditionalRegistrationsAreNeverRegisteredButCounted() {
+        LandingPageRegistrations registrations = LandingPageRegistrations.unconditional();
+
+        registrations.recordSent(EXAMPLE_DOI, LANDING_PAGE);
+        registrations.forget(EXAMPLE_DOI);
+
+        assertThat(registrations.isConditional(), is(false));
+        assertThat(registrations.isRegistered(EXAMPLE_DOI, LANDING_PAGE), is(false));
+        assertThat(registrations.getSentRegistrations(), is(equalTo(1L)));
+    }
+
+    @Test
+    void conditionalRegistrationsRememberLastLandingPageOfDoiRegardlessOfCase() {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+
+        registrations.recordSent(EXAMPLE_DOI, OTHER_LANDING_PAGE);
+        registrations.recordSent(EXAMPLE_DOI, LANDING_PAGE);
+
+        assertThat(registrations.isRegistered(UPPER_CASE_DOI, LANDING_PAGE), is(true));
+        assertThat(registrations.isRegistered(UPPER_CASE_DOI, OTHER_LANDING_PAGE), is(false));
+    }
+
+    @Test
+    void forgetMakesDoiUnregistered() {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+        registrations.recordSent(EXAMPLE_DOI, LANDING_PAGE);
+
+        registrations.forget(UPPER_CASE_DOI);
+
+        assertThat(registrations.isRegistered(EXAMPLE_DOI, LANDING_PAGE), is(false));
+    }
+
+    @Test
+    void recordSkippedCountsSkippedRegistrations() {
+        LandingPageRegistrations registrations = LandingPageRegistrations.conditional();
+
+        registrations.recordSkipped();
+
+        assertThat(registrations.getSkippedRegistrations(), is(equalTo(1L)));
+        assertThat(registrations.getSentRegistrations(), is(equalTo(0L)));
+    }
+}
@@ -0,0 +1,54 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import static no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakerConfig.ILLEGAL_CALL_COUNT;
+import static no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakerConfig.ILLEGAL_MINIMUM_NUMBER_OF_CALLS;
+import static no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreakerConfig.ILLEGAL_RATE_THRESHOLD;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+class CircuitBreakerConfigTest {
+
+    @Test
+    void defaultConfigUsesDefaultValues() {
+        CircuitBreakerConfig config = CircuitBreakerConfig.defaultConfig();
+
+        assertThat(config.getFailureRateThreshold(),
+            is(equalTo(CircuitBreakerConfig.DEFAULT_FAILURE_RATE_THRESHOLD)));
+        assertThat(config.getSlidingWindowSize(), is(equalTo(CircuitBreakerConfig.DEFAULT_SLIDING_WINDOW_SIZE)));
+    }
+
+    @Test
+    void withFailureRateThresholdThrowsIllegalArgumentExceptionWhenAboveOne() {
+        assertThrowsWithMessage(() -> CircuitBreakerConfig.builder().withFailureRateThreshold(1.5),
+            ILLEGAL_RATE_THRESHOLD);
+    }
+
+    @Test
+    void withSlowCallRateThresholdThrowsIllegalArgumentExceptionWhenNotPositive() {
+        assertThrowsWithMessage(() -> CircuitBreakerConfig.builder().withSlowCallRateThreshold(0),
+            ILLEGAL_RATE_THRESHOLD);
+    }
+
+    @Test
+    void withSlidingWindowSizeThrowsIllegalArgumentExceptionWhenNotPositive() {
+        assertThrowsWithMessage(() -> CircuitBreakerConfig.builder().withSlidingWindowSize(0), ILLEGAL_CALL_COUNT);
+    }
+
+    @Test
+    void buildThrowsIllegalArgumentExceptionWhenMinimumNumberOfCallsIsLargerThanSlidingWindow() {
+        CircuitBreakerConfig.Builder builder = CircuitBreakerConfig.builder()
+            .withSlidingWindowSize(2)
+            .withMinimumNumberOfCalls(3);
+
+        assertThrowsWithMessage(builder::build, ILLEGAL_MINIMUM_NUMBER_OF_CALLS);
+    }
+
+    private void assertThrowsWithMessage(Executable action, String expectedMessage) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, action);
+        assertThat(exception.getMessage(), is(equalTo(expectedMessage)));
+    }
+}
@@ -0,0 +1,152 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreaker.State;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final String EXAMPLE_NAME = "mds.example.net/updateMetadata";
+    private static final int SLIDING_WINDOW_SIZE = 4;
+    private static final int MINIMUM_NUMBER_OF_CALLS = 2;
+    private static final int PERMITTED_CALLS_IN_HALF_OPEN_STATE = 2;
+    private static final Duration SLOW_CALL_DURATION_THRESHOLD = Duration.ofSeconds(1);
+    private static final Duration WAIT_DURATION_IN_OPEN_STATE = Duration.ofSeconds(30);
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW = Duration.ofSeconds(2);
+
+    private AtomicLong nanoClock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        nanoClock = new AtomicLong();
+        CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+            .withFailureRateThreshold(0.5)
+            .withSlowCallRateThreshold(0.5)
+            .withSlowCallDurationThreshold(SLOW_CALL_DURATION_THRESHOLD)
+            .withSlidingWindowSize(SLIDING_WINDOW_SIZE)
+            .withMinimumNumberOfCalls(MINIMUM_NUMBER_OF_CALLS)
+            .withWaitDurationInOpenState(WAIT_DURATION_IN_OPEN_STATE)
+            .withPermittedCallsInHalfOpenState(PERMITTED_CALLS_IN_HALF_OPEN_STATE)
+            .build();
+        circuitBreaker = new CircuitBreaker(EXAMPLE_NAME, config, nanoClock::get);
+    }
+
+    @Test
+    void circuitBreakerStaysClosedBeforeMinimumNumberOfCalls() {
+        recordCalls(1, true, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.CLOSED)));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+    }
+
+    @Test
+    void circuitBreakerOpensWhenFailureRateReachesThreshold() {
+        recordCalls(1, false, FAST);
+        recordCalls(1, true, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.OPEN)));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    @Test
+    void circuitBreakerOpensWhenSlowCallRateReachesThreshold() {
+        recordCalls(1, false, FAST);
+        recordCalls(1, false, SLOW);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.OPEN)));
+    }
+
+    @Test
+    void circuitBreakerStaysClosedWhenOldFailuresLeaveSlidingWindow() {
+        recordCalls(3, false, FAST);
+        recordCalls(1, true, FAST);
+        recordCalls(SLIDING_WINDOW_SIZE, false, FAST);
+        recordCalls(1, true, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.CLOSED)));
+    }
+
+    @Test
+    void circuitBreakerPermitsLimitedTrialCallsAfterWaitDurationInOpenState() {
+        openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_DURATION_IN_OPEN_STATE.toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.getState(), is(equalTo(State.HALF_OPEN)));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    @Test
+    void circuitBreakerPermitsNewTrialCallsWhenEarlierTrialCallsNeverReported() {
+        openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_DURATION_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+        nanoClock.addAndGet(WAIT_DURATION_IN_OPEN_STATE.toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission(), is(true));
+        assertThat(circuitBreaker.getState(), is(equalTo(State.HALF_OPEN)));
+    }
+
+    @Test
+    void circuitBreakerClosesWhenTrialCallsSucceed() {
+        openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_DURATION_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        recordCalls(PERMITTED_CALLS_IN_HALF_OPEN_STATE, false, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.CLOSED)));
+    }
+
+    @Test
+    void circuitBreakerOpensAgainWhenTrialCallsFail() {
+        openCircuitBreaker();
+        nanoClock.addAndGet(WAIT_DURATION_IN_OPEN_STATE.toNanos());
+        circuitBreaker.tryAcquirePermission();
+
+        recordCalls(PERMITTED_CALLS_IN_HALF_OPEN_STATE, true, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.OPEN)));
+        assertThat(circuitBreaker.tryAcquirePermission(), is(false));
+    }
+
+    @Test
+    void circuitBreakerIgnoresResultsWhileOpen() {
+        openCircuitBreaker();
+
+        recordCalls(SLIDING_WINDOW_SIZE, false, FAST);
+
+        assertThat(circuitBreaker.getState(), is(equalTo(State.OPEN)));
+    }
+
+    @Test
+    void circuitBreakerLogsStateTransitions() {
+        TestAppender appender = LogUtils.getTestingAppender(CircuitBreaker.class);
+
+        openCircuitBreaker();
+
+        assertThat(appender.getMessages(), containsString(EXAMPLE_NAME));
+        assertThat(appender.getMessages(), containsString(State.OPEN.name()));
+    }
+
+    private void openCircuitBreaker() {
+        recordCalls(MINIMUM_NUMBER_OF_CALLS, true, FAST);
+    }
+
+    private void recordCalls(int numberOfCalls, boolean failed, Duration duration) {
+        IntStream.range(0, numberOfCalls).forEach(call -> circuitBreaker.onResult(failed, duration));
+    }
+}
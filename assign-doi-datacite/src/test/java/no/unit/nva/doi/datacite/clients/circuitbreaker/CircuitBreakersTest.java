@@ -0,0 +1,135 @@
+package no.unit.nva.doi.datacite.clients.circuitbreaker;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import no.unit.nva.doi.datacite.clients.DoiClientOperation;
+import no.unit.nva.doi.datacite.clients.circuitbreaker.CircuitBreaker.State;
+import no.unit.nva.doi.datacite.clients.exception.CircuitBreakerOpenException;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor.HttpRequestAttempt;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakersTest {
+
+    private static final String MDS_HOST = "mds.example.net";
+    private static final String REST_HOST = "api.example.net";
+    private static final int MINIMUM_NUMBER_OF_CALLS = 2;
+
+    private HttpRequestAttempt<String> request;
+    private CircuitBreakers circuitBreakers;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        request = mock(HttpRequestAttempt.class);
+        CircuitBreakerConfig config = CircuitBreakerConfig.builder()
+            .withMinimumNumberOfCalls(MINIMUM_NUMBER_OF_CALLS)
+            .build();
+        circuitBreakers = new CircuitBreakers(config, () -> 0L);
+    }
+
+    @Test
+    void executeRejectsRequestWithCircuitBreakerOpenExceptionAfterServerErrors() throws Exception {
+        var serverError = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        when(request.send()).thenReturn(serverError);
+        executeTimes(MINIMUM_NUMBER_OF_CALLS);
+
+        CircuitBreakerOpenException exception = assertThrows(CircuitBreakerOpenException.class,
+            () -> circuitBreakers.execute(MDS_HOST, DoiClientOperation.UPDATE_METADATA, request));
+
+        assertThat(exception.getHost(), is(equalTo(MDS_HOST)));
+        assertThat(exception.getDoiClientMethodName(), is(equalTo(DoiClientOperation.UPDATE_METADATA.getMethodName())));
+        verify(request, times(MINIMUM_NUMBER_OF_CALLS)).send();
+    }
+
+    @Test
+    void executeCountsTransportFailuresAsFailures() throws Exception {
+        when(request.send()).thenThrow(new IOException());
+
+        for (int call = 0; call < MINIMUM_NUMBER_OF_CALLS; call++) {
+            assertThrows(IOException.class,
+                () -> circuitBreakers.execute(MDS_HOST, DoiClientOperation.UPDATE_METADATA, request));
+        }
+
+        assertThat(stateOf(MDS_HOST, DoiClientOperation.UPDATE_METADATA), is(equalTo(State.OPEN)));
+    }
+
+    @Test
+    void executeDoesNotCountClientErrorsAsFailures() throws Exception {
+        var notFound = response(HttpStatus.SC_NOT_FOUND);
+        when(request.send()).thenReturn(notFound);
+
+        executeTimes(MINIMUM_NUMBER_OF_CALLS);
+
+        assertThat(stateOf(MDS_HOST, DoiClientOperation.UPDATE_METADATA), is(equalTo(State.CLOSED)));
+    }
+
+    @Test
+    void executeKeepsCircuitBreakersOfOtherHostsAndOperationsClosed() throws Exception {
+        var serverError = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        when(request.send()).thenReturn(serverError);
+
+        executeTimes(MINIMUM_NUMBER_OF_CALLS);
+
+        assertThat(stateOf(MDS_HOST, DoiClientOperation.SET_LANDING_PAGE), is(equalTo(State.CLOSED)));
+        assertThat(stateOf(REST_HOST, DoiClientOperation.UPDATE_METADATA), is(equalTo(State.CLOSED)));
+    }
+
+    @Test
+    void getCircuitBreakerReturnsSameCircuitBreakerForSameHostAndOperation() {
+        assertThat(circuitBreakers.getCircuitBreaker(MDS_HOST, DoiClientOperation.GET_DOI),
+            is(sameInstance(circuitBreakers.getCircuitBreaker(MDS_HOST, DoiClientOperation.GET_DOI))));
+        assertThat(circuitBreakers.getCircuitBreaker(MDS_HOST, DoiClientOperation.GET_DOI),
+            is(not(sameInstance(circuitBreakers.getCircuitBreaker(REST_HOST, DoiClientOperation.GET_DOI)))));
+    }
+
+    @Test
+    void disabledCircuitBreakersNeverRejectRequests() throws Exception {
+        var serverError = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        when(request.send()).thenReturn(serverError);
+        circuitBreakers = CircuitBreakers.disabled();
+
+        executeTimes(CircuitBreakerConfig.DEFAULT_SLIDING_WINDOW_SIZE + 1);
+
+        verify(request, times(CircuitBreakerConfig.DEFAULT_SLIDING_WINDOW_SIZE + 1)).send();
+    }
+
+    @Test
+    void withDefaultsUsesDefaultConfiguration() throws Exception {
+        var serverError = response(HttpStatus.SC_SERVICE_UNAVAILABLE);
+        when(request.send()).thenReturn(serverError);
+        circuitBreakers = CircuitBreakers.withDefaults();
+
+        executeTimes(CircuitBreakerConfig.DEFAULT_MINIMUM_NUMBER_OF_CALLS);
+
+        assertThat(stateOf(MDS_HOST, DoiClientOperation.UPDATE_METADATA), is(equalTo(State.OPEN)));
+    }
+
+    private void executeTimes(int numberOfCalls) throws Exception {
+        for (int call = 0; call < numberOfCalls; call++) {
+            circuitBreakers.execute(MDS_HOST, DoiClientOperation.UPDATE_METADATA, request);
+        }
+    }
+
+    private State stateOf(String host, DoiClientOperation operation) {
+        return circuitBreakers.getCircuitBreaker(host, operation).getState();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<String> response(int statusCode) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        return response;
+    }
+}
@@ -0,0 +1,37 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @Test
+    void tryAcquireRetryReturnsFalseWhenTokensAreSpent() {
+        RetryBudget budget = new RetryBudget(1, 0.5);
+
+        assertThat(budget.tryAcquireRetry(), is(true));
+        assertThat(budget.tryAcquireRetry(), is(false));
+    }
+
+    @Test
+    void recordSuccessEarnsTokensBackUpToMaximum() {
+        RetryBudget budget = new RetryBudget(1, 0.5);
+        budget.tryAcquireRetry();
+
+        budget.recordSuccess();
+        budget.recordSuccess();
+        budget.recordSuccess();
+
+        assertThat(budget.getAvailableTokens(), is(equalTo(1.0)));
+        assertThat(budget.tryAcquireRetry(), is(true));
+    }
+
+    @Test
+    void defaultBudgetStartsWithMaximumTokens() {
+        RetryBudget budget = RetryBudget.defaultBudget();
+
+        assertThat(budget.getAvailableTokens(), is(equalTo((double) RetryBudget.DEFAULT_MAXIMUM_TOKENS)));
+    }
+}
@@ -0,0 +1,51 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import static no.unit.nva.doi.datacite.clients.retry.RetryPolicy.ILLEGAL_MAXIMUM_ATTEMPTS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import java.util.Set;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+    private static final Duration BASE_DELAY = Duration.ofMillis(100);
+    private static final Duration MAXIMUM_DELAY = Duration.ofMillis(500);
+
+    @Test
+    void backoffCeilingDoublesForEveryRetryUpToMaximumDelay() {
+        RetryPolicy policy = RetryPolicy.builder()
+            .withBaseDelay(BASE_DELAY)
+            .withMaximumDelay(MAXIMUM_DELAY)
+            .build();
+
+        assertThat(policy.backoffCeiling(1), is(equalTo(BASE_DELAY)));
+        assertThat(policy.backoffCeiling(2), is(equalTo(Duration.ofMillis(200))));
+        assertThat(policy.backoffCeiling(3), is(equalTo(Duration.ofMillis(400))));
+        assertThat(policy.backoffCeiling(4), is(equalTo(MAXIMUM_DELAY)));
+        assertThat(policy.backoffCeiling(Integer.MAX_VALUE), is(equalTo(MAXIMUM_DELAY)));
+    }
+
+    @Test
+    void isRetryableStatusCodeReturnsTrueOnlyForConfiguredStatusCodes() {
+        RetryPolicy policy = RetryPolicy.builder()
+            .withRetryableStatusCodes(Set.of(HttpStatus.SC_INTERNAL_SERVER_ERROR))
+            .build();
+
+        assertThat(policy.isRetryableStatusCode(HttpStatus.SC_INTERNAL_SERVER_ERROR), is(true));
+        assertThat(policy.isRetryableStatusCode(HttpStatus.SC_SERVICE_UNAVAILABLE), is(false));
+    }
+
+    @Test
+    void withMaximumAttemptsThrowsIllegalArgumentExceptionWhenNotPositive() {
+        RetryPolicy.Builder builder = RetryPolicy.builder();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> builder.withMaximumAttempts(0));
+
+        assertThat(exception.getMessage(), is(equalTo(ILLEGAL_MAXIMUM_ATTEMPTS)));
+    }
+}
@@ -0,0 +1,305 @@
+package no.unit.nva.doi.datacite.clients.retry;
+
+import static no.unit.nva.doi.datacite.clients.retry.RetryingExecutor.RETRY_AFTER_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import no.unit.nva.doi.datacite.clients.DoiClientOperation;
+import no.unit.nva.doi.datacite.clients.retry.RetryingExecutor.HttpRequestAttempt;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RetryingExecutorTest {
+
+    private static final double HALF = 0.5;
+    private static final Duration HALF_OF_BASE_DELAY = Duration.ofMillis(100);
+    private static final Duration HALF_OF_DOUBLE_BASE_DELAY = Duration.ofMillis(200);
+    private static final Instant NOW = Instant.parse("2020-10-01T12:00:00Z");
+    private static final Clock FIXED_CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    private List<Duration> sleeps;
+    private HttpRequestAttempt<String> request;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        sleeps = new ArrayList<>();
+        request = mock(HttpRequestAttempt.class);
+    }
+
+    @Test
+    void executeRetriesIdempotentOperationWithExponentialBackoffUntilSuccess() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(unavailable, unavailable, ok);
+
+        var actual = createExecutor().execute(DoiClientOperation.UPDATE_METADATA, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpStatus.SC_OK)));
+        assertThat(sleeps, contains(HALF_OF_BASE_DELAY, HALF_OF_DOUBLE_BASE_DELAY));
+    }
+
+    @Test
+    void executeReturnsLastResponseWhenMaximumAttemptsAreUsed() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        when(request.send()).thenReturn(unavailable);
+
+        var actual = createExecutor().execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpURLConnection.HTTP_UNAVAILABLE)));
+        verify(request, times(RetryPolicy.DEFAULT_MAXIMUM_ATTEMPTS)).send();
+    }
+
+    @Test
+    void executeDoesNotRetryStatusCodeWhichIsNotRetryable() throws Exception {
+        var badRequest = response(HttpStatus.SC_BAD_REQUEST);
+        when(request.send()).thenReturn(badRequest);
+
+        var actual = createExecutor().execute(DoiClientOperation.UPDATE_METADATA, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpStatus.SC_BAD_REQUEST)));
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void executeDoesNotRetryCreateDoiOnServerError() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        when(request.send()).thenReturn(unavailable);
+
+        createExecutor().execute(DoiClientOperation.CREATE_DOI, request);
+
+        verify(request, times(1)).send();
+        assertThat(sleeps, is(empty()));
+    }
+
+    @Test
+    void executeRetriesCreateDoiOnTooManyRequests() throws Exception {
+        var tooManyRequests = response(RetryPolicy.TOO_MANY_REQUESTS);
+        var created = response(HttpStatus.SC_CREATED);
+        when(request.send()).thenReturn(tooManyRequests, created);
+
+        var actual = createExecutor().execute(DoiClientOperation.CREATE_DOI, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpStatus.SC_CREATED)));
+        verify(request, times(2)).send();
+    }
+
+    @Test
+    void executeWaitsForRetryAfterSecondsWhenPresent() throws Exception {
+        var tooManyRequests = response(RetryPolicy.TOO_MANY_REQUESTS, "1");
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(tooManyRequests, ok);
+
+        createExecutor().execute(DoiClientOperation.SET_LANDING_PAGE, request);
+
+        assertThat(sleeps, contains(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void executeWaitsUntilRetryAfterDateWhenPresent() throws Exception {
+        var retryAt = DateTimeFormatter.RFC_1123_DATE_TIME.format(NOW.plusSeconds(1).atZone(ZoneOffset.UTC));
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE, retryAt);
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(unavailable, ok);
+
+        createExecutor().execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(sleeps, contains(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void executeRetriesImmediatelyWhenRetryAfterDateHasPassed() throws Exception {
+        var retryAt = DateTimeFormatter.RFC_1123_DATE_TIME.format(NOW.minusSeconds(1).atZone(ZoneOffset.UTC));
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE, retryAt);
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(unavailable, ok);
+
+        createExecutor().execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(sleeps, contains(Duration.ZERO));
+    }
+
+    @Test
+    void executeUsesBackoffWhenRetryAfterIsInvalid() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE, "soon");
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(unavailable, ok);
+
+        createExecutor().execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(sleeps, contains(HALF_OF_BASE_DELAY));
+    }
+
+    @Test
+    void executeDoesNotRetryWhenRetryAfterIsLongerThanMaximumDelay() throws Exception {
+        var tooManyRequests = response(RetryPolicy.TOO_MANY_REQUESTS, "60");
+        when(request.send()).thenReturn(tooManyRequests);
+
+        var actual = createExecutor().execute(DoiClientOperation.UPDATE_METADATA, request);
+
+        assertThat(actual.statusCode(), is(equalTo(RetryPolicy.TOO_MANY_REQUESTS)));
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void executeDoesNotRetryWhenRetryAfterSecondsOverflowLong() throws Exception {
+        var tooManyRequests = response(RetryPolicy.TOO_MANY_REQUESTS, "99999999999999999999");
+        when(request.send()).thenReturn(tooManyRequests);
+
+        var actual = createExecutor().execute(DoiClientOperation.UPDATE_METADATA, request);
+
+        assertThat(actual.statusCode(), is(equalTo(RetryPolicy.TOO_MANY_REQUESTS)));
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void executeRetriesIdempotentOperationAfterIOException() throws Exception {
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenThrow(new IOException()).thenReturn(ok);
+
+        var actual = createExecutor().execute(DoiClientOperation.SET_LANDING_PAGE, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpStatus.SC_OK)));
+        assertThat(sleeps, contains(HALF_OF_BASE_DELAY));
+    }
+
+    @Test
+    void executeRethrowsIOExceptionForOperationWhichIsNotIdempotent() throws Exception {
+        when(request.send()).thenThrow(new IOException());
+
+        RetryingExecutor executor = createExecutor();
+        assertThrows(IOException.class, () -> executor.execute(DoiClientOperation.DELETE_METADATA, request));
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void executeRethrowsIOExceptionWhenMaximumAttemptsAreUsed() throws Exception {
+        when(request.send()).thenThrow(new IOException());
+
+        RetryingExecutor executor = createExecutor();
+        assertThrows(IOException.class, () -> executor.execute(DoiClientOperation.GET_DOI, request));
+        verify(request, times(RetryPolicy.DEFAULT_MAXIMUM_ATTEMPTS)).send();
+    }
+
+    @Test
+    void executeStopsRetryingWhenRetryBudgetIsSpent() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(unavailable, unavailable, ok);
+        RetryingExecutor executor = createExecutorBuilder()
+            .withRetryBudget(new RetryBudget(1, 0))
+            .build();
+
+        var actual = executor.execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(actual.statusCode(), is(equalTo(HttpURLConnection.HTTP_UNAVAILABLE)));
+        verify(request, times(2)).send();
+    }
+
+    @Test
+    void executeEarnsRetryBudgetOnSuccessfulResponse() throws Exception {
+        var ok = response(HttpStatus.SC_OK);
+        when(request.send()).thenReturn(ok);
+        RetryBudget retryBudget = new RetryBudget(1, 1);
+        retryBudget.tryAcquireRetry();
+        RetryingExecutor executor = createExecutorBuilder().withRetryBudget(retryBudget).build();
+
+        executor.execute(DoiClientOperation.GET_DOI, request);
+
+        assertThat(retryBudget.getAvailableTokens(), is(equalTo(1.0)));
+    }
+
+    @Test
+    void executeUsesPolicyConfiguredForOperation() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        when(request.send()).thenReturn(unavailable);
+        RetryingExecutor executor = createExecutorBuilder()
+            .withPolicy(DoiClientOperation.GET_DOI, RetryPolicy.noRetries())
+            .build();
+
+        executor.execute(DoiClientOperation.GET_DOI, request);
+
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void noRetriesSendsEveryRequestOnce() throws Exception {
+        var unavailable = response(HttpURLConnection.HTTP_UNAVAILABLE);
+        when(request.send()).thenReturn(unavailable);
+
+        RetryingExecutor.noRetries().execute(DoiClientOperation.UPDATE_METADATA, request);
+
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void withDefaultsUsesDefaultPolicyForEveryOperation() {
+        RetryingExecutor executor = RetryingExecutor.withDefaults();
+
+        assertThat(executor.getPolicy(DoiClientOperation.CREATE_DOI).getMaximumAttempts(),
+            is(equalTo(RetryPolicy.DEFAULT_MAXIMUM_ATTEMPTS)));
+    }
+
+    @Test
+    void executePropagatesInterruptedExceptionWithoutRetrying() throws Exception {
+        when(request.send()).thenThrow(new InterruptedException());
+
+        RetryingExecutor executor = createExecutor();
+        assertThrows(InterruptedException.class, () -> executor.execute(DoiClientOperation.GET_DOI, request));
+        verify(request, times(1)).send();
+    }
+
+    @Test
+    void threadSleeperReturnsWhenDurationHasPassed() throws InterruptedException {
+        Sleeper.THREAD_SLEEPER.sleep(Duration.ZERO);
+
+        assertThat(Thread.currentThread().isInterrupted(), is(false));
+    }
+
+    private RetryingExecutor createExecutor() {
+        return createExecutorBuilder().build();
+    }
+
+    private RetryingExecutor.Builder createExecutorBuilder() {
+        return RetryingExecutor.builder()
+            .withSleeper(sleeps::add)
+            .withJitter(() -> HALF)
+            .withClock(FIXED_CLOCK);
+    }
+
+    private HttpResponse<String> response(int statusCode) {
+        return response(statusCode, Map.of());
+    }
+
+    private HttpResponse<String> response(int statusCode, String retryAfter) {
+        return response(statusCode, Map.of(RETRY_AFTER_HEADER, List.of(retryAfter)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private HttpResponse<String> response(int statusCode, Map<String, List<String>> headers) {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        when(response.headers()).thenReturn(HttpHeaders.of(headers, (name, value) -> true));
+        return response;
+    }
+}
@@ -0,0 +1,30 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.net.URI;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import org.junit.jupiter.api.Test;
+
+class BasicAuthorizationTest {
+
+    private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/1234");
+    private static final String DEMO_PREFIX = "10.5072";
+    private static final String EXAMPLE_USERNAME = "Aladdin";
+    private static final String EXAMPLE_PASSWORD = "open sesame";
+    private static final String EXPECTED_HEADER_VALUE = "Basic QWxhZGRpbjpvcGVuIHNlc2FtZQ==";
+
+    @Test
+    void headerValueReturnsBasicSchemeWithBase64EncodedCredentials() {
+        var credentials = new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, DEMO_PREFIX,
+            EXAMPLE_USERNAME, EXAMPLE_PASSWORD);
+
+        assertThat(BasicAuthorization.headerValue(credentials), is(equalTo(EXPECTED_HEADER_VALUE)));
+    }
+
+    @Test
+    void headerValueEncodesCredentialsAsUtf8() {
+        assertThat(BasicAuthorization.headerValue("test", "123£"), is(equalTo("Basic dGVzdDoxMjPCow==")));
+    }
+}
@@ -10,6 +10,8 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
@@ -18,6 +20,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientConfig;
@@ -46,6 +49,10 @@ class DataCiteConfigurationFactoryTest {
         new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX,
             EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD));
     private static final String KNOWN_CUSTOMER2_PASSWORD = "randompasswd2";
+    private static final String ROTATED_MDS_PASSWORD = UUID.randomUUID().toString();
+    private static final List<DataCiteMdsClientConfig> ROTATED_CLIENT_CONFIGS = List.of(
+        new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX,
+            EXAMPLE_MDS_USERNAME, ROTATED_MDS_PASSWORD));
     private SecretsReader secretsReader;
     private DataCiteConfigurationFactory dataCiteConfigurationFactory;
 
@@ -154,6 +161,51 @@ class DataCiteConfigurationFactoryTest {
             () -> dataCiteConfigurationFactory.getCredentials(UNKNOWN_CUSTOMER_ID));
     }
 
+    @Test
+    void reloadReadsRotatedSecretAgain() throws JsonProcessingException, ErrorReadingSecretException {
+        when(secretsReader.fetchSecret(CUSTOMER_SECRETS_SECRET_NAME_EVN_VAR, CUSTOMER_SECRETS_SECRET_KEY_ENV_VAR))
+            .thenReturn(objectMapper.writeValueAsString(ROTATED_CLIENT_CONFIGS));
+
+        dataCiteConfigurationFactory.reload();
+
+        assertThat(dataCiteConfigurationFactory.getCredentials(KNOWN_CUSTOMER_ID).getDataCiteMdsClientPassword(),
+            is(equalTo(ROTATED_MDS_PASSWORD)));
+    }
+
+    @Test
+    void reloadKeepsPreviousConfigurationWhenSecretCannotBeParsed() {
+        prepareBadCredentialsConfig();
+
+        assertThrows(IllegalStateException.class, () -> dataCiteConfigurationFactory.reload());
+
+        assertThat(dataCiteConfigurationFactory.getCredentials(KNOWN_CUSTOMER_ID).getDataCiteMdsClientPassword(),
+            is(equalTo(EXAMPLE_MDS_PASSWORD)));
+    }
+
+    @Test
+    void reloadOfFactoryCreatedFromJsonParsesJsonIntoNewConfigurations() {
+        dataCiteConfigurationFactory = createDataCiteConfigurationFactoryFromString();
+        var before = dataCiteConfigurationFactory.getCredentials(KNOWN_CUSTOMER2_ID);
+
+        dataCiteConfigurationFactory.reload();
+
+        var after = dataCiteConfigurationFactory.getCredentials(KNOWN_CUSTOMER2_ID);
+        assertThat(after, is(not(sameInstance(before))));
+        assertThat(after.getDataCiteMdsClientPassword(), is(equalTo(KNOWN_CUSTOMER2_PASSWORD)));
+    }
+
+    @Test
+    void reloadOfFactoryWithPrePopulatedSecretsKeepsConfigurations() {
+        var secretConfig = new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX,
+            EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD);
+        dataCiteConfigurationFactory = new DataCiteConfigurationFactoryForSystemTests(
+            Map.of(EXAMPLE_CUSTOMER_ID, secretConfig));
+
+        dataCiteConfigurationFactory.reload();
+
+        assertThat(dataCiteConfigurationFactory.getCredentials(EXAMPLE_CUSTOMER_ID), is(sameInstance(secretConfig)));
+    }
+
     @Test
     void constructorThrowsExceptionWhenConfigurationError() {
         prepareBadCredentialsConfig();
@@ -0,0 +1,72 @@
+package no.unit.nva.doi.datacite.connectionfactories;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.List;
+import org.apache.http.client.utils.URIBuilder;
+import org.junit.jupiter.api.Test;
+
+class EndpointUriTest {
+
+    public static final String EXAMPLE_HOST = "mds.test.datacite.org";
+    public static final int EXAMPLE_PORT = 443;
+    public static final String EXAMPLE_PATH = "metadata";
+    public static final String EXAMPLE_DOI = "10.5072/abc-123";
+    public static final String INVALID_HOST = "mds test";
+    public static final List<String> DOIS_WITH_SPECIAL_CHARACTERS = List.of(
+        "10.5072/abc-123",
+        "10.5072/a b",
+        "10.5072/query?fragment#",
+        "10.5072/percent%20",
+        "10.5072/<tag>\"quoted\"",
+        "10.5072/ÆØÅ-ü",
+        "10.5072/emoji-😀",
+        "10.5072/sub-delims!$&'()*+,;=:@~",
+        "10.5072/back\\slash{braces}[brackets]|^`");
+
+    private final EndpointUri endpoint = EndpointUri.https(EXAMPLE_HOST, EXAMPLE_PORT, EXAMPLE_PATH);
+
+    @Test
+    void toUriReturnsCollectionUriWithSchemeHostPortAndPath() {
+        assertThat(endpoint.toUri(), is(equalTo(URI.create("https://mds.test.datacite.org:443/metadata"))));
+    }
+
+    @Test
+    void toUriReturnsSameInstanceForEveryCall() {
+        assertThat(endpoint.toUri(), is(sameInstance(endpoint.toUri())));
+    }
+
+    @Test
+    void resolveAppendsDoiToCollectionUri() {
+        assertThat(endpoint.resolve(EXAMPLE_DOI),
+            is(equalTo(URI.create("https://mds.test.datacite.org:443/metadata/10.5072/abc-123"))));
+    }
+
+    @Test
+    void resolveEscapesDoiLikeUriBuilder() throws URISyntaxException {
+        for (String doi : DOIS_WITH_SPECIAL_CHARACTERS) {
+            URI expected = new URIBuilder()
+                .setScheme(EndpointUri.HTTPS_SCHEME)
+                .setHost(EXAMPLE_HOST)
+                .setPort(EXAMPLE_PORT)
+                .setPath(EXAMPLE_PATH + EndpointUri.SEPARATOR + doi)
+                .build();
+
+            URI actual = endpoint.resolve(doi);
+
+            assertThat(actual, is(equalTo(expected)));
+            String expectedPath = EndpointUri.SEPARATOR + EXAMPLE_PATH + EndpointUri.SEPARATOR + doi;
+            assertThat(actual.getPath(), is(equalTo(expectedPath)));
+        }
+    }
+
+    @Test
+    void httpsThrowsIllegalArgumentExceptionWhenHostIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> EndpointUri.https(INVALID_HOST, EXAMPLE_PORT, EXAMPLE_PATH));
+    }
+}
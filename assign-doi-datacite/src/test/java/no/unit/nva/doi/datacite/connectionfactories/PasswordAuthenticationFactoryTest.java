@@ -1,15 +1,22 @@
 package no.unit.nva.doi.datacite.connectionfactories;
 
+import static nva.commons.core.JsonUtils.objectMapper;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 import no.unit.nva.doi.datacite.mdsclient.NoCredentialsForCustomerRuntimeException;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import nva.commons.secrets.ErrorReadingSecretException;
+import nva.commons.secrets.SecretsReader;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,11 +36,15 @@ class PasswordAuthenticationFactoryTest {
     private static final DataCiteMdsClientSecretConfig MOCK_DATACITE_CONFIG = new DataCiteMdsClientSecretConfig(
         EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX, EXAMPLE_MDS_USERNAME,
         EXAMPLE_MDS_PASSWORD);
+    private static final String SECRET_NAME = "secretName";
+    private static final String SECRET_KEY = "secretKey";
+    private static final String ROTATED_MDS_PASSWORD = UUID.randomUUID().toString();
+    private DataCiteConfigurationFactory configurationFactory;
     private PasswordAuthenticationFactory sut;
 
     @BeforeEach
     void setUp() {
-        DataCiteConfigurationFactory configurationFactory = getConfigurationFactoryMock();
+        configurationFactory = getConfigurationFactoryMock();
         sut = new PasswordAuthenticationFactory(configurationFactory);
     }
 
@@ -49,6 +60,70 @@ class PasswordAuthenticationFactoryTest {
         assertThrows(NoCredentialsForCustomerRuntimeException.class, () -> sut.getCredentials(UNKNOWN_CUSTOMER_ID));
     }
 
+    @Test
+    void getCredentialsReusesCredentialsWhileConfigurationIsUnchanged() {
+        assertThat(sut.getCredentials(KNOWN_CUSTOMER_ID), is(sameInstance(sut.getCredentials(KNOWN_CUSTOMER_ID))));
+    }
+
+    @Test
+    void getAuthorizationHeaderReturnsBasicAuthorizationOfCustomerCredentials() {
+        String expectedHeader = BasicAuthorization.headerValue(EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD);
+
+        assertThat(sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID), is(equalTo(expectedHeader)));
+        assertThat(sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID),
+            is(sameInstance(sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID))));
+    }
+
+    @Test
+    void getCredentialsDerivesCredentialsAgainWhenConfigurationIsReplaced() {
+        var cachedCredentials = sut.getCredentials(KNOWN_CUSTOMER_ID);
+        var rotatedConfig = new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX,
+            EXAMPLE_MDS_USERNAME, ROTATED_MDS_PASSWORD);
+        when(configurationFactory.getCredentials(KNOWN_CUSTOMER_ID)).thenReturn(rotatedConfig);
+
+        var credentials = sut.getCredentials(KNOWN_CUSTOMER_ID);
+
+        assertThat(credentials, is(not(sameInstance(cachedCredentials))));
+        assertThat(credentials.getPassword(), is(equalTo(ROTATED_MDS_PASSWORD.toCharArray())));
+        assertThat(sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID),
+            is(equalTo(BasicAuthorization.headerValue(EXAMPLE_MDS_USERNAME, ROTATED_MDS_PASSWORD))));
+    }
+
+    @Test
+    void getCredentialsDerivesCredentialsAgainWhenPasswordOfConfigurationIsChanged() {
+        var secretConfig = new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX,
+            EXAMPLE_MDS_USERNAME, EXAMPLE_MDS_PASSWORD);
+        when(configurationFactory.getCredentials(KNOWN_CUSTOMER_ID)).thenReturn(secretConfig);
+        sut.getCredentials(KNOWN_CUSTOMER_ID);
+        secretConfig.setDataCiteMdsClientPassword(ROTATED_MDS_PASSWORD);
+
+        var credentials = sut.getCredentials(KNOWN_CUSTOMER_ID);
+
+        assertThat(credentials.getPassword(), is(equalTo(ROTATED_MDS_PASSWORD.toCharArray())));
+    }
+
+    @Test
+    void getAuthorizationHeaderReflectsReloadedConfigurationOfConfigurationFactory()
+        throws ErrorReadingSecretException, JsonProcessingException {
+        SecretsReader secretsReader = mock(SecretsReader.class);
+        when(secretsReader.fetchSecret(SECRET_NAME, SECRET_KEY))
+            .thenReturn(secretConfigJson(EXAMPLE_MDS_PASSWORD))
+            .thenReturn(secretConfigJson(ROTATED_MDS_PASSWORD));
+        var reloadableConfigurationFactory = new DataCiteConfigurationFactory(secretsReader, SECRET_NAME, SECRET_KEY);
+        sut = new PasswordAuthenticationFactory(reloadableConfigurationFactory);
+        sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID);
+
+        reloadableConfigurationFactory.reload();
+
+        assertThat(sut.getAuthorizationHeader(KNOWN_CUSTOMER_ID),
+            is(equalTo(BasicAuthorization.headerValue(EXAMPLE_MDS_USERNAME, ROTATED_MDS_PASSWORD))));
+    }
+
+    private static String secretConfigJson(String password) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(List.of(new DataCiteMdsClientSecretConfig(EXAMPLE_CUSTOMER_ID,
+            EXAMPLE_CUSTOMER_DOI_PREFIX, EXAMPLE_MDS_USERNAME, password)));
+    }
+
     private DataCiteConfigurationFactory getConfigurationFactoryMock() {
         var configurationFactory = mock(DataCiteConfigurationFactory.class);
         try {
@@ -0,0 +1,79 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+import no.unit.nva.doi.models.Doi;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileMetadataFingerprintStoreTest {
+
+    public static final Doi EXAMPLE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("abc").build();
+    public static final Doi UPPER_CASE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("ABC").build();
+    public static final String FINGERPRINT = MetadataFingerprint.compute("<resource/>");
+    public static final String OTHER_FINGERPRINT = MetadataFingerprint.compute("<resource></resource>");
+    public static final String ENCODED_FILE_NAME = "10.5072%2Fabc";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getFingerprintReturnsFingerprintWrittenByOtherStoreOnSameDirectory() {
+        new FileMetadataFingerprintStore(directory.resolve("fingerprints")).putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+
+        Optional<String> actual = new FileMetadataFingerprintStore(directory.resolve("fingerprints"))
+            .getFingerprint(UPPER_CASE_DOI);
+
+        assertThat(actual, is(equalTo(Optional.of(FINGERPRINT))));
+    }
+
+    @Test
+    void putFingerprintReplacesFingerprintInOneFileNamedByEncodedDoi() throws IOException {
+        MetadataFingerprintStore store = new FileMetadataFingerprintStore(directory);
+
+        store.putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+        store.putFingerprint(EXAMPLE_DOI, OTHER_FINGERPRINT);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(file -> file.getFileName().toString()).toArray(),
+                is(equalTo(new Object[]{ENCODED_FILE_NAME})));
+        }
+        assertThat(store.isUnchanged(EXAMPLE_DOI, OTHER_FINGERPRINT), is(true));
+    }
+
+    @Test
+    void getFingerprintReturnsEmptyForDoiWithoutFile() {
+        assertThat(new FileMetadataFingerprintStore(directory).getFingerprint(EXAMPLE_DOI),
+            is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void getFingerprintLogsFailureAndReturnsEmptyWhenFileCannotBeRead() throws IOException {
+        TestAppender appender = LogUtils.getTestingAppender(FileMetadataFingerprintStore.class);
+        Files.createDirectory(directory.resolve(ENCODED_FILE_NAME));
+
+        Optional<String> actual = new FileMetadataFingerprintStore(directory).getFingerprint(EXAMPLE_DOI);
+
+        assertThat(actual, is(equalTo(Optional.empty())));
+        assertThat(appender.getMessages(), containsString("Failed reading metadata fingerprint"));
+    }
+
+    @Test
+    void putFingerprintLogsFailureWhenDirectoryCannotBeCreated() throws IOException {
+        TestAppender appender = LogUtils.getTestingAppender(FileMetadataFingerprintStore.class);
+        Path regularFile = Files.createFile(directory.resolve("not-a-directory"));
+
+        new FileMetadataFingerprintStore(regularFile).putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+
+        assertThat(appender.getMessages(), containsString("Failed writing metadata fingerprint"));
+    }
+}
@@ -0,0 +1,56 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.time.Duration;
+import java.util.Optional;
+import no.unit.nva.doi.datacite.cache.ExpiringCache;
+import no.unit.nva.doi.models.Doi;
+import org.junit.jupiter.api.Test;
+
+class InMemoryMetadataFingerprintStoreTest {
+
+    public static final Doi EXAMPLE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("abc").build();
+    public static final Doi OTHER_DOI = Doi.builder().withPrefix("10.5072").withSuffix("other").build();
+    public static final String FINGERPRINT = MetadataFingerprint.compute("<resource/>");
+    public static final String OTHER_FINGERPRINT = MetadataFingerprint.compute("<resource></resource>");
+
+    @Test
+    void getFingerprintReturnsEmptyForDoiWithoutFingerprint() {
+        assertThat(new InMemoryMetadataFingerprintStore().getFingerprint(EXAMPLE_DOI),
+            is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void isUnchangedReturnsTrueOnlyForStoredFingerprintOfDoi() {
+        MetadataFingerprintStore store = new InMemoryMetadataFingerprintStore();
+
+        store.putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+
+        assertThat(store.isUnchanged(EXAMPLE_DOI, FINGERPRINT), is(true));
+        assertThat(store.isUnchanged(EXAMPLE_DOI, OTHER_FINGERPRINT), is(false));
+        assertThat(store.isUnchanged(OTHER_DOI, FINGERPRINT), is(false));
+    }
+
+    @Test
+    void putFingerprintForgetsLeastRecentlyUsedFingerprintWhenFull() {
+        MetadataFingerprintStore store = new InMemoryMetadataFingerprintStore(
+            new ExpiringCache<>(1, Duration.ofDays(1)));
+
+        store.putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+        store.putFingerprint(OTHER_DOI, OTHER_FINGERPRINT);
+
+        assertThat(store.getFingerprint(EXAMPLE_DOI), is(equalTo(Optional.empty())));
+        assertThat(store.getFingerprint(OTHER_DOI), is(equalTo(Optional.of(OTHER_FINGERPRINT))));
+    }
+
+    @Test
+    void disabledStoreNeverReportsMetadataAsUnchanged() {
+        MetadataFingerprintStore store = MetadataFingerprintStore.DISABLED;
+
+        store.putFingerprint(EXAMPLE_DOI, FINGERPRINT);
+
+        assertThat(store.isUnchanged(EXAMPLE_DOI, FINGERPRINT), is(false));
+    }
+}
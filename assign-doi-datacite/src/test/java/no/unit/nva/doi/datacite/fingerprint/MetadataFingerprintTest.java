@@ -0,0 +1,48 @@
+package no.unit.nva.doi.datacite.fingerprint;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import no.unit.nva.doi.models.Doi;
+import org.junit.jupiter.api.Test;
+
+class MetadataFingerprintTest {
+
+    public static final String METADATA = "<resource><titles><title>Example</title></titles></resource>";
+    public static final String INDENTED_METADATA = "<?xml version=\"1.0\"?>\r\n<resource>\r\n  <titles>\r\n"
+                                                   + "    <title>Example</title>\r\n  </titles>\r\n</resource>\r\n";
+    public static final String COMPACT_METADATA = "<?xml version=\"1.0\"?><resource><titles>"
+                                                  + "<title>Example</title></titles></resource>";
+    public static final String SHA256_OF_EMPTY_STRING =
+        "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
+
+    @Test
+    void computeReturnsSha256OfMetadataAsHexadecimal() {
+        assertThat(MetadataFingerprint.compute(""), is(equalTo(SHA256_OF_EMPTY_STRING)));
+    }
+
+    @Test
+    void computeReturnsSameFingerprintForMetadataDifferingOnlyInWhitespaceBetweenElements() {
+        String compactFingerprint = MetadataFingerprint.compute(COMPACT_METADATA);
+
+        assertThat(MetadataFingerprint.compute(INDENTED_METADATA), is(equalTo(compactFingerprint)));
+    }
+
+    @Test
+    void computeReturnsNewFingerprintWhenContentChanges() {
+        String changedMetadata = METADATA.replace("Example", "Changed example");
+
+        String fingerprint = MetadataFingerprint.compute(METADATA);
+
+        assertThat(MetadataFingerprint.compute(changedMetadata), is(not(equalTo(fingerprint))));
+    }
+
+    @Test
+    void keyOfIsSameForDoisDifferingOnlyInCase() {
+        Doi doi = Doi.builder().withPrefix("10.5072").withSuffix("abc").build();
+        Doi upperCaseDoi = Doi.builder().withPrefix("10.5072").withSuffix("ABC").build();
+
+        assertThat(MetadataFingerprint.keyOf(upperCaseDoi), is(equalTo(MetadataFingerprint.keyOf(doi))));
+    }
+}
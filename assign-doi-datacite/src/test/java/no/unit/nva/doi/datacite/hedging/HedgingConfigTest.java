@@ -0,0 +1,66 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import static no.unit.nva.doi.datacite.hedging.HedgingConfig.ILLEGAL_HEDGE_DELAY;
+import static no.unit.nva.doi.datacite.hedging.HedgingConfig.ILLEGAL_MINIMUM_NUMBER_OF_SAMPLES;
+import static no.unit.nva.doi.datacite.hedging.HedgingConfig.ILLEGAL_PERCENTILE;
+import static no.unit.nva.doi.datacite.hedging.HedgingConfig.ILLEGAL_SAMPLE_COUNT;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+class HedgingConfigTest {
+
+    @Test
+    void defaultConfigUsesDefaultValues() {
+        HedgingConfig config = HedgingConfig.defaultConfig();
+
+        assertThat(config.getHedgeDelay(), is(equalTo(HedgingConfig.DEFAULT_HEDGE_DELAY)));
+        assertThat(config.getHedgeDelayPercentile(), is(equalTo(HedgingConfig.DEFAULT_HEDGE_DELAY_PERCENTILE)));
+        assertThat(config.getLatencyWindowSize(), is(equalTo(HedgingConfig.DEFAULT_LATENCY_WINDOW_SIZE)));
+        assertThat(config.getMinimumNumberOfSamples(), is(equalTo(HedgingConfig.DEFAULT_MINIMUM_NUMBER_OF_SAMPLES)));
+        assertThat(config.isAdaptive(), is(true));
+    }
+
+    @Test
+    void configWithFixedDelayIsNotAdaptive() {
+        HedgingConfig config = HedgingConfig.builder().withHedgeDelayPercentile(HedgingConfig.FIXED_DELAY).build();
+
+        assertThat(config.isAdaptive(), is(false));
+    }
+
+    @Test
+    void withHedgeDelayThrowsIllegalArgumentExceptionWhenNotPositive() {
+        assertThrowsWithMessage(() -> HedgingConfig.builder().withHedgeDelay(Duration.ZERO), ILLEGAL_HEDGE_DELAY);
+        assertThrowsWithMessage(() -> HedgingConfig.builder().withHedgeDelay(Duration.ofMillis(-1)),
+            ILLEGAL_HEDGE_DELAY);
+    }
+
+    @Test
+    void withHedgeDelayPercentileThrowsIllegalArgumentExceptionWhenOutsideRange() {
+        assertThrowsWithMessage(() -> HedgingConfig.builder().withHedgeDelayPercentile(1), ILLEGAL_PERCENTILE);
+        assertThrowsWithMessage(() -> HedgingConfig.builder().withHedgeDelayPercentile(-0.5), ILLEGAL_PERCENTILE);
+    }
+
+    @Test
+    void withLatencyWindowSizeThrowsIllegalArgumentExceptionWhenNotPositive() {
+        assertThrowsWithMessage(() -> HedgingConfig.builder().withLatencyWindowSize(0), ILLEGAL_SAMPLE_COUNT);
+    }
+
+    @Test
+    void buildThrowsIllegalArgumentExceptionWhenMinimumNumberOfSamplesIsLargerThanLatencyWindow() {
+        HedgingConfig.Builder builder = HedgingConfig.builder()
+            .withLatencyWindowSize(2)
+            .withMinimumNumberOfSamples(3);
+
+        assertThrowsWithMessage(builder::build, ILLEGAL_MINIMUM_NUMBER_OF_SAMPLES);
+    }
+
+    private void assertThrowsWithMessage(Executable action, String expectedMessage) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, action);
+        assertThat(exception.getMessage(), is(equalTo(expectedMessage)));
+    }
+}
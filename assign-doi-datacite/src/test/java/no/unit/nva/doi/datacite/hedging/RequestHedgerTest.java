@@ -0,0 +1,247 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestHedgerTest {
+
+    public static final String EXAMPLE_NAME = "api.test.datacite.org/getDoi";
+    public static final Duration SHORT_HEDGE_DELAY = Duration.ofMillis(10);
+    public static final long START = 0L;
+    public static final long MILLISECOND = Duration.ofMillis(1).toNanos();
+
+    private HttpResponse<String> primaryResponse;
+    private HttpResponse<String> hedgeResponse;
+    private CompletableFuture<HttpResponse<String>> primary;
+    private CompletableFuture<HttpResponse<String>> hedge;
+    private RequestHedger requestHedger;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        primaryResponse = mock(HttpResponse.class);
+        hedgeResponse = mock(HttpResponse.class);
+        primary = new CompletableFuture<>();
+        hedge = new CompletableFuture<>();
+        HedgingConfig fixedDelay = HedgingConfig.builder()
+            .withHedgeDelay(SHORT_HEDGE_DELAY)
+            .withHedgeDelayPercentile(HedgingConfig.FIXED_DELAY)
+            .build();
+        requestHedger = new RequestHedger(EXAMPLE_NAME, fixedDelay, System::nanoTime);
+    }
+
+    @Test
+    void sendReturnsResponseWithoutHedgingWhenAnsweredWithinHedgeDelay() throws IOException, InterruptedException {
+        primary.complete(primaryResponse);
+
+        HttpResponse<String> actual = requestHedger.send(requestsInOrder(() -> primary));
+
+        assertThat(actual, is(sameInstance(primaryResponse)));
+        assertThat(requestHedger.getStatistics().getHedgedRequests(), is(equalTo(0L)));
+    }
+
+    @Test
+    void sendReturnsResponseOfHedgeAndCancelsFirstRequestWhenHedgeAnswersFirst()
+        throws IOException, InterruptedException {
+        hedge.complete(hedgeResponse);
+
+        HttpResponse<String> actual = requestHedger.send(requestsInOrder(() -> primary, () -> hedge));
+
+        assertThat(actual, is(sameInstance(hedgeResponse)));
+        assertThat(primary.isCancelled(), is(true));
+        assertThat(requestHedger.getStatistics().getHedgedRequests(), is(equalTo(1L)));
+        assertThat(requestHedger.getStatistics().getHedgeWins(), is(equalTo(1L)));
+    }
+
+    @Test
+    void sendReturnsResponseOfFirstRequestAndCancelsHedgeWhenFirstRequestAnswersAfterHedgeIsSent()
+        throws IOException, InterruptedException {
+        HttpResponse<String> actual = requestHedger.send(requestsInOrder(() -> primary, () -> {
+            primary.complete(primaryResponse);
+            return hedge;
+        }));
+
+        assertThat(actual, is(sameInstance(primaryResponse)));
+        assertThat(hedge.isCancelled(), is(true));
+        assertThat(requestHedger.getStatistics().getHedgedRequests(), is(equalTo(1L)));
+        assertThat(requestHedger.getStatistics().getHedgeWins(), is(equalTo(0L)));
+    }
+
+    @Test
+    void sendThrowsFailureWithoutHedgingWhenFirstRequestFailsWithinHedgeDelay() {
+        IOException failure = new IOException("connection refused");
+        primary.completeExceptionally(failure);
+
+        IOException actual = assertThrows(IOException.class, () -> requestHedger.send(requestsInOrder(() -> primary)));
+
+        assertThat(actual, is(sameInstance(failure)));
+        assertThat(requestHedger.getStatistics().getHedgedRequests(), is(equalTo(0L)));
+    }
+
+    @Test
+    void sendReturnsResponseOfHedgeWhenFirstRequestFailsAfterHedgeIsSent() throws IOException, InterruptedException {
+        HttpResponse<String> actual = requestHedger.send(requestsInOrder(() -> primary, () -> {
+            primary.completeExceptionally(new IOException("connection reset"));
+            hedge.complete(hedgeResponse);
+            return hedge;
+        }));
+
+        assertThat(actual, is(sameInstance(hedgeResponse)));
+        assertThat(requestHedger.getStatistics().getHedgeWins(), is(equalTo(1L)));
+    }
+
+    @Test
+    void sendThrowsFailureOfLastRequestWhenBothRequestsFail() {
+        IOException failure = new IOException("connection reset");
+
+        IOException actual = assertThrows(IOException.class,
+            () -> requestHedger.send(requestsInOrder(() -> primary, () -> {
+                primary.completeExceptionally(new IOException("connection refused"));
+                hedge.completeExceptionally(failure);
+                return hedge;
+            })));
+
+        assertThat(actual, is(sameInstance(failure)));
+    }
+
+    @Test
+    void sendRethrowsRuntimeExceptionOfRequest() {
+        IllegalStateException failure = new IllegalStateException();
+        primary.completeExceptionally(failure);
+
+        IllegalStateException actual = assertThrows(IllegalStateException.class,
+            () -> requestHedger.send(requestsInOrder(() -> primary)));
+
+        assertThat(actual, is(sameInstance(failure)));
+    }
+
+    @Test
+    void sendWrapsCheckedExceptionOfRequestInIOException() {
+        primary.completeExceptionally(new TimeoutException());
+
+        IOException actual = assertThrows(IOException.class, () -> requestHedger.send(requestsInOrder(() -> primary)));
+
+        assertThat(actual.getCause(), is(instanceOf(TimeoutException.class)));
+    }
+
+    @Test
+    void sendCancelsRequestWhenInterrupted() {
+        Thread.currentThread().interrupt();
+
+        assertThrows(InterruptedException.class, () -> requestHedger.send(requestsInOrder(() -> primary)));
+
+        assertThat(primary.isCancelled(), is(true));
+    }
+
+    @Test
+    void getHedgeDelayReturnsPercentileOfObservedLatenciesOnceThereAreEnoughSamples()
+        throws IOException, InterruptedException {
+        HedgingConfig config = HedgingConfig.builder()
+            .withHedgeDelayPercentile(0.5)
+            .withLatencyWindowSize(3)
+            .withMinimumNumberOfSamples(2)
+            .build();
+        Iterator<Long> clock = LongStream.of(START, 30 * MILLISECOND, START, 10 * MILLISECOND, START,
+            20 * MILLISECOND, START, 40 * MILLISECOND).iterator();
+        RequestHedger adaptiveHedger = new RequestHedger(EXAMPLE_NAME, config, clock::next);
+        primary.complete(primaryResponse);
+
+        adaptiveHedger.send(() -> primary);
+        assertThat(adaptiveHedger.getHedgeDelay(), is(equalTo(HedgingConfig.DEFAULT_HEDGE_DELAY)));
+        adaptiveHedger.send(() -> primary);
+        assertThat(adaptiveHedger.getHedgeDelay(), is(equalTo(Duration.ofMillis(10))));
+        adaptiveHedger.send(() -> primary);
+        assertThat(adaptiveHedger.getHedgeDelay(), is(equalTo(Duration.ofMillis(20))));
+        adaptiveHedger.send(() -> primary);
+        assertThat(adaptiveHedger.getHedgeDelay(), is(equalTo(Duration.ofMillis(20))));
+    }
+
+    @Test
+    void getHedgeDelayIncludesLatencyOfRequestCancelledAfterHedgeAnsweredFirst()
+        throws IOException, InterruptedException {
+        HedgingConfig config = HedgingConfig.builder()
+            .withHedgeDelay(SHORT_HEDGE_DELAY)
+            .withHedgeDelayPercentile(0.95)
+            .withLatencyWindowSize(2)
+            .withMinimumNumberOfSamples(2)
+            .build();
+        Iterator<Long> clock = LongStream.of(START, START, 5 * MILLISECOND, 50 * MILLISECOND).iterator();
+        RequestHedger adaptiveHedger = new RequestHedger(EXAMPLE_NAME, config, clock::next);
+        hedge.complete(hedgeResponse);
+
+        adaptiveHedger.send(requestsInOrder(() -> primary, () -> hedge));
+
+        assertThat(primary.isCancelled(), is(true));
+        assertThat(adaptiveHedger.getHedgeDelay(), is(equalTo(Duration.ofMillis(50))));
+    }
+
+    @Test
+    void composeCancellableSendsRequestWhenFirstStageCompletes() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+
+        CompletableFuture<HttpResponse<String>> actual = RequestHedger.composeCancellable(permit, () -> primary);
+        permit.complete(null);
+        primary.complete(primaryResponse);
+
+        assertThat(actual.join(), is(sameInstance(primaryResponse)));
+    }
+
+    @Test
+    void composeCancellableCancelsSentRequestWhenCancelled() {
+        CompletableFuture<HttpResponse<String>> actual =
+            RequestHedger.composeCancellable(CompletableFuture.completedFuture(null), () -> primary);
+
+        actual.cancel(true);
+
+        assertThat(primary.isCancelled(), is(true));
+    }
+
+    @Test
+    void composeCancellableCancelsFirstStageWithoutSendingRequestWhenCancelledBeforeIt() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        Supplier<CompletableFuture<HttpResponse<String>>> noRequest = () -> {
+            throw new AssertionError("Request sent after cancelling");
+        };
+
+        RequestHedger.composeCancellable(permit, noRequest).cancel(true);
+
+        assertThat(permit.isCancelled(), is(true));
+    }
+
+    @Test
+    void composeCancellableFailsWhenFirstStageOrRequestFails() {
+        IOException failure = new IOException("Connection reset");
+
+        CompletableFuture<HttpResponse<String>> failedPermit =
+            RequestHedger.composeCancellable(CompletableFuture.failedFuture(failure), () -> primary);
+        CompletableFuture<HttpResponse<String>> failedRequest = RequestHedger.composeCancellable(
+            CompletableFuture.completedFuture(null), () -> CompletableFuture.failedFuture(failure));
+
+        assertThat(assertThrows(ExecutionException.class, failedPermit::get).getCause(), is(sameInstance(failure)));
+        assertThat(assertThrows(ExecutionException.class, failedRequest::get).getCause(), is(sameInstance(failure)));
+    }
+
+    @SafeVarargs
+    private static Supplier<CompletableFuture<HttpResponse<String>>> requestsInOrder(
+        Supplier<CompletableFuture<HttpResponse<String>>>... requests) {
+        Iterator<Supplier<CompletableFuture<HttpResponse<String>>>> remaining = List.of(requests).iterator();
+        return () -> remaining.next().get();
+    }
+}
@@ -0,0 +1,88 @@
+package no.unit.nva.doi.datacite.hedging;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.mock;
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class RequestHedgersTest {
+
+    public static final String EXAMPLE_HOST = "api.test.datacite.org";
+    public static final String GET_DOI = "getDoi";
+    public static final String GET_METADATA = "getMetadata";
+
+    @Test
+    void disabledRequestHedgersAreNotEnabled() {
+        assertThat(RequestHedgers.disabled().isEnabled(), is(false));
+        assertThat(RequestHedgers.withDefaults().isEnabled(), is(true));
+    }
+
+    @Test
+    void getRequestHedgerReturnsSameRequestHedgerForSameHostAndOperation() {
+        RequestHedgers requestHedgers = RequestHedgers.withDefaults();
+
+        RequestHedger requestHedger = requestHedgers.getRequestHedger(EXAMPLE_HOST, GET_DOI);
+
+        assertThat(requestHedgers.getRequestHedger(EXAMPLE_HOST, GET_DOI), is(sameInstance(requestHedger)));
+        assertThat(requestHedgers.getRequestHedger(EXAMPLE_HOST, GET_METADATA), is(not(sameInstance(requestHedger))));
+    }
+
+    @Test
+    void getStatisticsReturnsStatisticsOfEveryRequestHedgerNamedByHostAndOperation() {
+        RequestHedgers requestHedgers = RequestHedgers.withDefaults();
+        requestHedgers.getRequestHedger(EXAMPLE_HOST, GET_DOI);
+
+        List<String> names = requestHedgers.getStatistics().stream()
+            .map(HedgingStatistics::getName)
+            .collect(Collectors.toList());
+
+        assertThat(names, contains(EXAMPLE_HOST + RequestHedgers.NAME_SEPARATOR + GET_DOI));
+    }
+
+    @Test
+    void statisticsReportZeroRatesWithoutRequests() {
+        HedgingStatistics statistics = RequestHedgers.withDefaults()
+            .getRequestHedger(EXAMPLE_HOST, GET_DOI)
+            .getStatistics();
+
+        assertThat(statistics.getHedgeRate(), is(equalTo(0.0)));
+        assertThat(statistics.getWinRate(), is(equalTo(0.0)));
+        assertThat(statistics.getHedgeDelay(), is(equalTo(HedgingConfig.DEFAULT_HEDGE_DELAY)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statisticsReportRequestsOfRequestHedger() throws IOException, InterruptedException {
+        RequestHedger requestHedger = RequestHedgers.withDefaults().getRequestHedger(EXAMPLE_HOST, GET_DOI);
+        HttpResponse<String> response = mock(HttpResponse.class);
+
+        requestHedger.send(() -> CompletableFuture.completedFuture(response));
+        HedgingStatistics statistics = requestHedger.getStatistics();
+
+        assertThat(statistics.getRequests(), is(equalTo(1L)));
+        assertThat(statistics.getHedgedRequests(), is(equalTo(0L)));
+        assertThat(statistics.getHedgeWins(), is(equalTo(0L)));
+        assertThat(statistics.toString(), containsString("1 requests, 0 hedged (0.0%)"));
+    }
+
+    @Test
+    void statisticsReportHedgeRateAndWinRate() {
+        HedgingStatistics statistics = new HedgingStatistics(GET_DOI, 20, 4, 1, Duration.ofMillis(250));
+
+        assertThat(statistics.getHedgeRate(), is(equalTo(0.2)));
+        assertThat(statistics.getWinRate(), is(equalTo(0.25)));
+        assertThat(statistics.toString(),
+            is(equalTo("getDoi: 20 requests, 4 hedged (20.0%), 1 won by hedge (25.0%), hedge delay 250 ms")));
+    }
+}
@@ -1,8 +1,11 @@
 package no.unit.nva.doi.datacite.mdsclient;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -13,10 +16,17 @@ import java.net.MalformedURLException;
 import java.net.PasswordAuthentication;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import javax.net.ssl.SSLContext;
+import no.unit.nva.doi.datacite.cache.ExpiringCache;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
+import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactoryForSystemTests;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteMdsConfigValidationFailedException;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientConfig;
 import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
@@ -38,6 +48,9 @@ class DataCiteConnectionFactoryTest {
     private static final DataCiteMdsClientConfig MOCK_DATACITE_CONFIG = new DataCiteMdsClientSecretConfig(
         EXAMPLE_CUSTOMER_ID, EXAMPLE_CUSTOMER_DOI_PREFIX, EXAMPLE_MDS_USERNAME,
         EXAMPLE_MDS_PASSWORD);
+    private static final DataCiteMdsClientSecretConfig MOCK_DATACITE_SECRET_CONFIG =
+        (DataCiteMdsClientSecretConfig) MOCK_DATACITE_CONFIG;
+    private static final URI OTHER_CUSTOMER_ID = URI.create("https://example.net/customer/id/5678");
     private static final URI UNKNOWN_CUSTOMER_ID = URI.create("https://example.net/customer/id/41515-unknown-customer");
 
     private DataCiteConfigurationFactory configurationFactory;
@@ -79,6 +92,104 @@ class DataCiteConnectionFactoryTest {
         assertThat(authenticator.isPresent(), is(true));
     }
 
+    @Test
+    void getAuthenticatedHttpClientReturnsSameHttpClientForSameCustomer() {
+        HttpClient first = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+        HttpClient second = sut.getAuthenticatedMdsConnection(KNOWN_CUSTOMER_ID).getHttpClient();
+
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    void getAuthenticatedHttpClientReturnsDifferentHttpClientsForDifferentCustomers() {
+        HttpClient knownCustomerClient = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+        HttpClient unknownCustomerClient = sut.getAuthenticatedHttpClientForDatacite(UNKNOWN_CUSTOMER_ID);
+
+        assertThat(unknownCustomerClient, is(not(sameInstance(knownCustomerClient))));
+    }
+
+    @Test
+    void getAuthenticatedHttpClientCreatesNewHttpClientWhenCachedClientIsEvicted() {
+        var singleEntryCache = new ExpiringCache<URI, HttpClient>(1, Duration.ofMinutes(1));
+        sut = new DataCiteConnectionFactory(HttpClient.newBuilder(), configurationFactory,
+            EXAMPLE_MDS_API_ENDPOINT.getHost(),
+            EXAMPLE_REST_API_ENDPOINT.getHost(),
+            EXAMPLE_MDS_API_ENDPOINT.getPort(),
+            singleEntryCache);
+
+        HttpClient first = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+        sut.getAuthenticatedHttpClientForDatacite(UNKNOWN_CUSTOMER_ID);
+        HttpClient afterEviction = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+
+        assertThat(afterEviction, is(not(sameInstance(first))));
+    }
+
+    @Test
+    void getSharedHttpClientHasNoAuthenticatorWhenPerCustomerClientWasCreatedFirst() {
+        sut = createBuilder().build();
+
+        HttpClient customerClient = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+
+        assertThat(customerClient.authenticator().isPresent(), is(true));
+        assertThat(sut.getSharedHttpClient().authenticator().isEmpty(), is(true));
+    }
+
+    @Test
+    void getAuthenticatedHttpClientKeepsSettingsOfHttpClientBuilder() throws GeneralSecurityException {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        sut = createBuilder().withHttpClientBuilder(HttpClient.newBuilder().sslContext(sslContext)).build();
+
+        HttpClient customerClient = sut.getAuthenticatedHttpClientForDatacite(KNOWN_CUSTOMER_ID);
+
+        assertThat(customerClient.sslContext(), is(sameInstance(sslContext)));
+        assertThat(customerClient.connectTimeout(),
+            is(equalTo(Optional.of(DataCiteConnectionFactory.CONNECT_TIMEOUT))));
+    }
+
+    @Test
+    void builderCreatesFactoryUsingChallengeAuthenticationByDefault() {
+        sut = createBuilder().build();
+
+        assertThat(sut.isPreemptiveAuthentication(), is(false));
+        assertThat(sut.getAuthenticatedMdsConnection(KNOWN_CUSTOMER_ID).getHttpClient().authenticator().isPresent(),
+            is(true));
+    }
+
+    @Test
+    void getAuthenticatedConnectionsWithPreemptiveAuthenticationShareHttpClientWithoutAuthenticator() {
+        configurationFactory = new DataCiteConfigurationFactoryForSystemTests(Map.of(
+            KNOWN_CUSTOMER_ID, MOCK_DATACITE_SECRET_CONFIG,
+            OTHER_CUSTOMER_ID, MOCK_DATACITE_SECRET_CONFIG));
+        sut = createBuilder().withPreemptiveAuthentication(true).build();
+
+        HttpClient knownCustomerClient = sut.getAuthenticatedMdsConnection(KNOWN_CUSTOMER_ID).getHttpClient();
+        HttpClient otherCustomerClient = sut.getAuthenticatedMdsConnection(OTHER_CUSTOMER_ID).getHttpClient();
+
+        assertThat(sut.isPreemptiveAuthentication(), is(true));
+        assertThat(otherCustomerClient, is(sameInstance(knownCustomerClient)));
+        assertThat(knownCustomerClient, is(sameInstance(sut.getSharedHttpClient())));
+        assertThat(knownCustomerClient.authenticator().isPresent(), is(false));
+    }
+
+    @Test
+    void getAuthenticatedMdsConnectionWithPreemptiveAuthenticationThrowsExceptionForUnknownCustomer() {
+        configurationFactory = new DataCiteConfigurationFactoryForSystemTests(
+            Map.of(KNOWN_CUSTOMER_ID, MOCK_DATACITE_SECRET_CONFIG));
+        sut = createBuilder().withPreemptiveAuthentication(true).build();
+
+        assertThrows(NoCredentialsForCustomerRuntimeException.class,
+            () -> sut.getAuthenticatedMdsConnection(UNKNOWN_CUSTOMER_ID));
+    }
+
+    private DataCiteConnectionFactory.Builder createBuilder() {
+        return DataCiteConnectionFactory.builder()
+            .withConfigurationFactory(configurationFactory)
+            .withMdsApiHostName(EXAMPLE_MDS_API_ENDPOINT.getHost())
+            .withRestApiHostName(EXAMPLE_REST_API_ENDPOINT.getHost())
+            .withApiPort(EXAMPLE_MDS_API_ENDPOINT.getPort());
+    }
+
     private PasswordAuthentication prompAuthenticatorForCredentials(Authenticator authenticator)
         throws UnknownHostException, MalformedURLException {
         return authenticator
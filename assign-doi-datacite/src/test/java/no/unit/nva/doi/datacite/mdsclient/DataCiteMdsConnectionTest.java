@@ -1,5 +1,6 @@
 package no.unit.nva.doi.datacite.mdsclient;
 
+import static no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization.AUTHORIZATION_HEADER;
 import static no.unit.nva.doi.datacite.mdsclient.DataCiteMdsConnection.MISSING_DATACITE_XML_ARGUMENT;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -7,16 +8,31 @@ import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
 import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization;
+import no.unit.nva.doi.datacite.hedging.RequestHedgers;
+import no.unit.nva.doi.datacite.ratelimit.RateLimiter;
 import nva.commons.core.ioutils.IoUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -33,7 +49,12 @@ public class DataCiteMdsConnectionTest {
     public static final String MOCK_DOI = "prefix/suffix";
     public static final String MOCK_DATACITE_XML = "mock-xml";
     public static final String NO_METADATA = null;
+    public static final byte[] MOCK_DATACITE_XML_BYTES = MOCK_DATACITE_XML.getBytes(StandardCharsets.UTF_8);
+    public static final long UNKNOWN_CONTENT_LENGTH = -1L;
+    private static final int BUFFER_PADDING = 3;
     private static final int MOCK_PORT = 8888;
+    private static final String MOCK_USERNAME = "username";
+    private static final String MOCK_PASSWORD = "pässword";
     @Mock
     HttpClient httpClient;
 
@@ -47,7 +68,7 @@ public class DataCiteMdsConnectionTest {
 
     @Test
     public void getMetadataSuccessfullyReturnsBodyInResponse()
-        throws IOException, URISyntaxException, InterruptedException {
+        throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_XML_RESOURCE_EXAMPLE));
         stubHttpClientWithHttpResponse(body);
 
@@ -60,7 +81,7 @@ public class DataCiteMdsConnectionTest {
 
     @Test
     public void deleteMetadataSuccessfullyReturnsBodyInResponse()
-        throws IOException, URISyntaxException, InterruptedException {
+        throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE));
         stubHttpClientWithHttpResponse(body);
 
@@ -72,7 +93,7 @@ public class DataCiteMdsConnectionTest {
     }
 
     @Test
-    public void getDoiSuccessfullyReturnsBodyInResponse() throws IOException, URISyntaxException, InterruptedException {
+    public void getDoiSuccessfullyReturnsBodyInResponse() throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_MDS_GET_DOI_RESPONSE));
 
         stubHttpClientWithHttpResponse(body);
@@ -86,7 +107,7 @@ public class DataCiteMdsConnectionTest {
 
     @Test
     public void postDoiSuccessfullyReturnsBodyInResponse()
-        throws IOException, URISyntaxException, InterruptedException {
+        throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE));
         stubHttpClientWithHttpResponse(body);
 
@@ -111,7 +132,7 @@ public class DataCiteMdsConnectionTest {
 
     @Test
     public void deleteDoiSuccessfullyReturnsBodyInResponse()
-        throws IOException, URISyntaxException, InterruptedException {
+        throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE));
         stubHttpClientWithHttpResponse(body);
 
@@ -128,7 +149,7 @@ public class DataCiteMdsConnectionTest {
     }
 
     @Test
-    void postMetadataSuccessfullyReturnsBodyInResponse() throws IOException, URISyntaxException, InterruptedException {
+    void postMetadataSuccessfullyReturnsBodyInResponse() throws IOException, InterruptedException {
         String body = IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE));
         stubHttpClientWithHttpResponse(body);
 
@@ -139,6 +160,203 @@ public class DataCiteMdsConnectionTest {
         assertResponseContainsBody(httpResponse);
     }
 
+    @Test
+    void getDoiSendsAuthorizationHeaderWhenConnectionHasPreemptiveCredentials()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(MOCK_DOI);
+        String authorizationHeader = BasicAuthorization.headerValue(MOCK_USERNAME, MOCK_PASSWORD);
+        DataCiteMdsConnection dataCiteMdsConnection =
+            connectionBuilder().withAuthorizationHeader(authorizationHeader).build();
+
+        dataCiteMdsConnection.getDoi(MOCK_DOI);
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+        assertThat(request.getValue().headers().firstValue(AUTHORIZATION_HEADER).orElseThrow(),
+            is(equalTo(authorizationHeader)));
+    }
+
+    @Test
+    void getDoiSendsNoAuthorizationHeaderWhenConnectionReliesOnAuthenticator()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(MOCK_DOI);
+
+        createDataCiteMdsConnection().getDoi(MOCK_DOI);
+
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+        assertThat(request.getValue().headers().firstValue(AUTHORIZATION_HEADER).isPresent(), is(false));
+    }
+
+    @Test
+    void postMetadataAsyncSuccessfullyReturnsBodyInResponse()
+        throws ExecutionException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+
+        var httpResponse = createDataCiteMdsConnection().postMetadataAsync(MOCK_DOI, MOCK_DATACITE_XML);
+
+        assertResponseContainsBody(httpResponse.get());
+    }
+
+    @Test
+    void registerUrlAsyncSuccessfullyReturnsBodyInResponse()
+        throws ExecutionException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE)));
+
+        var httpResponse = createDataCiteMdsConnection().registerUrlAsync(MOCK_DOI, MOCK_LANDING_PAGE_URL);
+
+        assertResponseContainsBody(httpResponse.get());
+    }
+
+    @Test
+    void deleteMetadataAsyncSuccessfullyReturnsBodyInResponse()
+        throws ExecutionException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE)));
+
+        var httpResponse = createDataCiteMdsConnection().deleteMetadataAsync(MOCK_DOI);
+
+        assertResponseContainsBody(httpResponse.get());
+    }
+
+    @Test
+    void deleteDoiAsyncSuccessfullyReturnsBodyInResponse()
+        throws ExecutionException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_OK_RESPONSE)));
+
+        var httpResponse = createDataCiteMdsConnection().deleteDoiAsync(MOCK_DOI);
+
+        assertResponseContainsBody(httpResponse.get());
+    }
+
+    @Test
+    void postMetadataWaitsForRateLimiterPermitBeforeSending()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+
+        connectionBuilder().withRateLimiter(rateLimiter).build()
+            .postMetadata(MOCK_DOI, MOCK_DATACITE_XML);
+
+        InOrder inOrder = inOrder(rateLimiter, httpClient);
+        inOrder.verify(rateLimiter).acquire();
+        inOrder.verify(httpClient).send(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+    }
+
+    @Test
+    void postMetadataAsyncSendsOnceRateLimiterPermitIsAvailable()
+        throws ExecutionException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        RateLimiter rateLimiter = mock(RateLimiter.class);
+        when(rateLimiter.acquireAsync()).thenReturn(permit);
+
+        var httpResponse = connectionBuilder().withRateLimiter(rateLimiter).build()
+            .postMetadataAsync(MOCK_DOI, MOCK_DATACITE_XML);
+
+        verify(httpClient, never()).sendAsync(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+        permit.complete(null);
+        assertResponseContainsBody(httpResponse.get());
+    }
+
+    @Test
+    void getMetadataWithHedgingSendsRequestAsynchronouslyThroughRequestHedgerOfOperation()
+        throws IOException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_XML_RESOURCE_EXAMPLE)));
+        RequestHedgers requestHedgers = RequestHedgers.withDefaults();
+
+        HttpResponse<String> httpResponse = createHedgingDataCiteMdsConnection(requestHedgers).getMetadata(MOCK_DOI);
+
+        assertResponseContainsBody(httpResponse);
+        verify(httpClient, never()).send(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+        assertThat(requestHedgers.getRequestHedger(MOCK_HOST, DataCiteMdsConnection.GET_METADATA_OPERATION)
+            .getStatistics().getRequests(), is(equalTo(1L)));
+    }
+
+    @Test
+    void getDoiWithHedgingSendsRequestAsynchronouslyThroughRequestHedgerOfOperation()
+        throws IOException, InterruptedException {
+        stubHttpClientWithAsyncHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_GET_DOI_RESPONSE)));
+        RequestHedgers requestHedgers = RequestHedgers.withDefaults();
+
+        HttpResponse<String> httpResponse = createHedgingDataCiteMdsConnection(requestHedgers).getDoi(MOCK_DOI);
+
+        assertResponseContainsBody(httpResponse);
+        assertThat(requestHedgers.getRequestHedger(MOCK_HOST, DataCiteMdsConnection.GET_DOI_OPERATION)
+            .getStatistics().getRequests(), is(equalTo(1L)));
+    }
+
+    @Test
+    void postMetadataWithByteArraySendsBytesWithKnownContentLength()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+
+        createDataCiteMdsConnection().postMetadata(MOCK_DOI, MOCK_DATACITE_XML_BYTES);
+
+        assertThat(sentContentLength(), is(equalTo((long) MOCK_DATACITE_XML_BYTES.length)));
+    }
+
+    @Test
+    void postMetadataWithHeapByteBufferSendsRemainingBytesAndKeepsBufferPosition()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+        ByteBuffer buffer = ByteBuffer.allocate(MOCK_DATACITE_XML_BYTES.length + BUFFER_PADDING);
+        buffer.position(BUFFER_PADDING);
+        buffer.put(MOCK_DATACITE_XML_BYTES).position(BUFFER_PADDING);
+
+        createDataCiteMdsConnection().postMetadata(MOCK_DOI, buffer);
+
+        assertThat(sentContentLength(), is(equalTo((long) MOCK_DATACITE_XML_BYTES.length)));
+        assertThat(buffer.position(), is(equalTo(BUFFER_PADDING)));
+    }
+
+    @Test
+    void postMetadataWithDirectByteBufferSendsRemainingBytesAndKeepsBufferPosition()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(MOCK_DATACITE_XML_BYTES.length);
+        buffer.put(MOCK_DATACITE_XML_BYTES).flip();
+
+        createDataCiteMdsConnection().postMetadata(MOCK_DOI, buffer);
+
+        assertThat(sentContentLength(), is(equalTo((long) MOCK_DATACITE_XML_BYTES.length)));
+        assertThat(buffer.position(), is(equalTo(0)));
+    }
+
+    @Test
+    void postMetadataWithInputStreamSupplierStreamsBodyOfUnknownLength()
+        throws IOException, InterruptedException {
+        stubHttpClientWithHttpResponse(IoUtils.stringFromResources(Path.of(DATACITE_MDS_POST_METADATA_RESPONSE)));
+
+        createDataCiteMdsConnection().postMetadata(MOCK_DOI, () -> new ByteArrayInputStream(MOCK_DATACITE_XML_BYTES));
+
+        assertThat(sentContentLength(), is(equalTo(UNKNOWN_CONTENT_LENGTH)));
+    }
+
+    @Test
+    void postMetadataWithPathThrowsFileNotFoundExceptionWithoutSendingWhenFileIsMissing()
+        throws IOException, InterruptedException {
+        Path missingFile = Path.of("missing-datacite-metadata.xml");
+
+        assertThrows(FileNotFoundException.class,
+            () -> createDataCiteMdsConnection().postMetadata(MOCK_DOI, missingFile));
+        verify(httpClient, never()).send(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+    }
+
+    @Test
+    void postMetadataWithoutByteArrayThrowsNullPointerException() {
+        byte[] noMetadata = null;
+
+        NullPointerException actualException = assertThrows(NullPointerException.class,
+            () -> createDataCiteMdsConnection().postMetadata(MOCK_DOI, noMetadata));
+        assertThat(actualException.getMessage(), is(equalTo(MISSING_DATACITE_XML_ARGUMENT)));
+    }
+
+    private long sentContentLength() throws IOException, InterruptedException {
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any());
+        return request.getValue().bodyPublisher().orElseThrow().contentLength();
+    }
+
     private void assertResponseContainsBody(HttpResponse<String> httpResponse) {
         assertNotNull(httpResponse);
         assertNotNull(httpResponse.body());
@@ -148,6 +366,20 @@ public class DataCiteMdsConnectionTest {
         return new DataCiteMdsConnection(httpClient, MOCK_HOST, MOCK_PORT);
     }
 
+    private DataCiteMdsConnection createHedgingDataCiteMdsConnection(RequestHedgers requestHedgers) {
+        return connectionBuilder().withRequestHedgers(requestHedgers).build();
+    }
+
+    private DataCiteMdsConnection.Builder connectionBuilder() {
+        return DataCiteMdsConnection.builder().withHttpClient(httpClient).withHost(MOCK_HOST).withPort(MOCK_PORT);
+    }
+
+    private void stubHttpClientWithAsyncHttpResponse(String body) {
+        when(httpResponse.body()).thenReturn(body);
+        when(httpClient.sendAsync(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any()))
+            .thenReturn(CompletableFuture.completedFuture(httpResponse));
+    }
+
     private void stubHttpClientWithHttpResponse(String body) throws IOException, InterruptedException {
         when(httpResponse.body()).thenReturn(body);
         when(httpClient.send(any(), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any())).thenReturn(httpResponse);
@@ -0,0 +1,107 @@
+package no.unit.nva.doi.datacite.mdsclient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow.Subscription;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class StatusOnlyBodyHandlerTest {
+
+    public static final int ERROR_BODY_LIMIT = 8;
+    public static final String OK_BODY = "OK (10.5072/abc)";
+    public static final String FIRST_ERROR_CHUNK = "Invalid ";
+    public static final String SECOND_ERROR_CHUNK = "XML: cvc-complex-type";
+    public static final String SHORT_ERROR_BODY = "Gone";
+
+    private StatusOnlyBodyHandler bodyHandler;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        bodyHandler = new StatusOnlyBodyHandler(ERROR_BODY_LIMIT);
+        subscription = mock(Subscription.class);
+    }
+
+    @Test
+    void subscriberOfSuccessfulResponseDiscardsBody() throws ExecutionException, InterruptedException {
+        BodySubscriber<String> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_CREATED));
+
+        String actual = readBody(subscriber, OK_BODY);
+
+        assertThat(actual, is(equalTo(StatusOnlyBodyHandler.DISCARDED_BODY)));
+    }
+
+    @Test
+    void subscriberOfUnsuccessfulResponseKeepsOnlyStartOfBody() throws ExecutionException, InterruptedException {
+        BodySubscriber<String> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_UNPROCESSABLE_ENTITY));
+
+        String actual = readBody(subscriber, FIRST_ERROR_CHUNK, SECOND_ERROR_CHUNK);
+
+        verify(subscription).request(Long.MAX_VALUE);
+        assertThat(actual, is(equalTo(FIRST_ERROR_CHUNK)));
+    }
+
+    @Test
+    void subscriberOfUnsuccessfulResponseKeepsBodyShorterThanLimit() throws ExecutionException,
+                                                                             InterruptedException {
+        BodySubscriber<String> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_GONE));
+
+        String actual = readBody(subscriber, SHORT_ERROR_BODY);
+
+        assertThat(actual, is(equalTo(SHORT_ERROR_BODY)));
+    }
+
+    @Test
+    void defaultHandlerKeepsDefaultLimitOfUnsuccessfulResponseBody() throws ExecutionException, InterruptedException {
+        String longBody = "x".repeat(2 * StatusOnlyBodyHandler.DEFAULT_ERROR_BODY_LIMIT);
+        BodySubscriber<String> subscriber = new StatusOnlyBodyHandler()
+            .apply(responseInfo(HttpStatus.SC_INTERNAL_SERVER_ERROR));
+
+        String actual = readBody(subscriber, longBody);
+
+        assertThat(actual.length(), is(equalTo(StatusOnlyBodyHandler.DEFAULT_ERROR_BODY_LIMIT)));
+    }
+
+    @Test
+    void subscriberOfUnsuccessfulResponseFailsWithErrorOfTheResponse() {
+        BodySubscriber<String> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_BAD_GATEWAY));
+        IOException error = new IOException("connection reset");
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onError(error);
+
+        ExecutionException actual = assertThrows(ExecutionException.class,
+            () -> subscriber.getBody().toCompletableFuture().get());
+        assertThat(actual.getCause(), is(equalTo(error)));
+    }
+
+    private String readBody(BodySubscriber<String> subscriber, String... chunks)
+        throws ExecutionException, InterruptedException {
+        subscriber.onSubscribe(subscription);
+        for (String chunk : chunks) {
+            subscriber.onNext(List.of(ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }
+        subscriber.onComplete();
+        return subscriber.getBody().toCompletableFuture().get();
+    }
+
+    private static ResponseInfo responseInfo(int statusCode) {
+        ResponseInfo responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        return responseInfo;
+    }
+}
@@ -0,0 +1,82 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow.Subscription;
+import org.junit.jupiter.api.Test;
+
+class ByteCountingBodyHandlerTest {
+
+    public static final String FIRST_CHUNK = "{\"data\":";
+    public static final String SECOND_CHUNK = "{\"id\":\"10.5072/abc\"}}";
+
+    private final ByteCountingBodyHandler<String> bodyHandler = new ByteCountingBodyHandler<>(BodyHandlers.ofString());
+
+    @Test
+    void countsBytesOfEveryChunkAndPassesTheBodyOn() {
+        BodySubscriber<String> bodySubscriber = subscribe();
+
+        bodySubscriber.onNext(List.of(bufferOf(FIRST_CHUNK)));
+        bodySubscriber.onNext(List.of(bufferOf(SECOND_CHUNK)));
+        bodySubscriber.onComplete();
+
+        assertThat(bodySubscriber.getBody().toCompletableFuture().join(), is(equalTo(FIRST_CHUNK + SECOND_CHUNK)));
+        assertThat(bodyHandler.getBytesReceived(), is(equalTo(lengthOf(FIRST_CHUNK) + lengthOf(SECOND_CHUNK))));
+    }
+
+    @Test
+    void countsBytesOfEveryResponseTheHandlerIsAppliedTo() {
+        BodySubscriber<String> first = subscribe();
+        BodySubscriber<String> second = subscribe();
+
+        first.onNext(List.of(bufferOf(FIRST_CHUNK)));
+        second.onNext(List.of(bufferOf(FIRST_CHUNK)));
+
+        assertThat(bodyHandler.getBytesReceived(), is(equalTo(2 * lengthOf(FIRST_CHUNK))));
+    }
+
+    @Test
+    void keepsCountedBytesAndPassesErrorOn() {
+        BodySubscriber<String> bodySubscriber = subscribe();
+        IOException failure = new IOException("Connection reset");
+
+        bodySubscriber.onNext(List.of(bufferOf(FIRST_CHUNK)));
+        bodySubscriber.onError(failure);
+
+        CompletionException actual = assertThrows(CompletionException.class,
+            () -> bodySubscriber.getBody().toCompletableFuture().join());
+        assertThat(actual.getCause(), is(sameInstance(failure)));
+        assertThat(bodyHandler.getBytesReceived(), is(equalTo(lengthOf(FIRST_CHUNK))));
+    }
+
+    private BodySubscriber<String> subscribe() {
+        ResponseInfo responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        BodySubscriber<String> bodySubscriber = bodyHandler.apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Subscription.class));
+        return bodySubscriber;
+    }
+
+    private static ByteBuffer bufferOf(String chunk) {
+        return ByteBuffer.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long lengthOf(String chunk) {
+        return chunk.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
@@ -0,0 +1,248 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.atomic.AtomicLong;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class ConnectionMetricsTest {
+
+    public static final String EXAMPLE_HOST = "mds.test.datacite.org";
+    public static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/1234");
+    public static final String POST_METADATA = "postMetadata";
+    public static final String EXAMPLE_BODY = "<resource/>";
+    public static final String EXAMPLE_RESPONSE_BODY = "OK (10.5072/abc)";
+    public static final long RESPONSE_LENGTH = EXAMPLE_RESPONSE_BODY.getBytes(StandardCharsets.UTF_8).length;
+    public static final Duration LATENCY = Duration.ofMillis(25);
+    public static final RequestTags EXAMPLE_TAGS = new RequestTags(POST_METADATA, EXAMPLE_HOST, EXAMPLE_CUSTOMER_ID);
+    public static final String EXAMPLE_DOI = "10.5072/abc";
+    private static final int HTTP_CREATED = 201;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final RecordingMeterRegistry meterRegistry = new RecordingMeterRegistry();
+    private final ConnectionMetrics connectionMetrics = new ConnectionMetrics(meterRegistry, EXAMPLE_HOST,
+        EXAMPLE_CUSTOMER_ID, nanoTime::get);
+
+    @Test
+    void disabledConnectionMetricsAreNotEnabled() {
+        assertThat(ConnectionMetrics.disabled().isEnabled(), is(false));
+        assertThat(connectionMetrics.isEnabled(), is(true));
+    }
+
+    @Test
+    void measureReportsStartAndCompletionTaggedWithOperationHostAndCustomer()
+        throws IOException, InterruptedException {
+        HttpResponse<String> response = createResponse();
+
+        HttpResponse<String> actual = connectionMetrics.measure(POST_METADATA, createRequest(), BodyHandlers.ofString(),
+            bodyHandler -> respondAfterLatency(response, bodyHandler));
+
+        assertThat(actual, is(sameInstance(response)));
+        assertThat(meterRegistry.started, contains(EXAMPLE_TAGS));
+        assertThat(meterRegistry.completed, contains(EXAMPLE_TAGS));
+    }
+
+    @Test
+    void measureReportsLatencyStatusCodeAndBodySizes() throws IOException, InterruptedException {
+        HttpResponse<String> response = createResponse();
+
+        connectionMetrics.measure(POST_METADATA, createRequest(), BodyHandlers.ofString(),
+            bodyHandler -> respondAfterLatency(response, bodyHandler));
+
+        RequestMeasurement measurement = meterRegistry.measurements.get(0);
+        assertThat(measurement.getLatency(), is(equalTo(LATENCY)));
+        assertThat(measurement.getStatusCode(), is(equalTo(HTTP_CREATED)));
+        long requestLength = EXAMPLE_BODY.getBytes(StandardCharsets.UTF_8).length;
+        assertThat(measurement.getBytesSent(), is(equalTo(requestLength)));
+        assertThat(measurement.getBytesReceived(), is(equalTo(RESPONSE_LENGTH)));
+    }
+
+    @Test
+    void measureReportsTransportFailureAndRethrowsIt() {
+        IOException failure = new IOException("Connection reset");
+
+        IOException actual = assertThrows(IOException.class,
+            () -> connectionMetrics.measure(POST_METADATA, createRequest(), BodyHandlers.ofString(), bodyHandler -> {
+                throw failure;
+            }));
+
+        assertThat(actual, is(sameInstance(failure)));
+        assertThat(meterRegistry.measurements.get(0).isTransportFailure(), is(true));
+        assertThat(meterRegistry.measurements.get(0).getBytesReceived(), is(equalTo(0L)));
+    }
+
+    @Test
+    void measureAsyncReportsCompletionWhenResponseArrives() {
+        CompletableFuture<HttpResponse<String>> pending = new CompletableFuture<>();
+
+        final CompletableFuture<HttpResponse<String>> response = connectionMetrics.measureAsync(POST_METADATA,
+            createRequest(), BodyHandlers.ofString(), bodyHandler -> pending);
+
+        assertThat(meterRegistry.started, contains(EXAMPLE_TAGS));
+        assertThat(meterRegistry.completed.isEmpty(), is(true));
+
+        nanoTime.addAndGet(LATENCY.toNanos());
+        pending.complete(createResponse());
+
+        assertThat(response.isDone(), is(true));
+        assertThat(meterRegistry.measurements.get(0).getLatency(), is(equalTo(LATENCY)));
+    }
+
+    @Test
+    void disabledConnectionMetricsSendWithoutMeasuring() throws IOException, InterruptedException {
+        HttpResponse<String> response = createResponse();
+        ConnectionMetrics disabled = ConnectionMetrics.disabled();
+
+        BodyHandler<String> bodyHandler = BodyHandlers.ofString();
+
+        assertThat(disabled.measure(POST_METADATA, createRequest(), bodyHandler,
+            actualBodyHandler -> actualBodyHandler == bodyHandler ? response : null), is(sameInstance(response)));
+        assertThat(disabled.measureAsync(POST_METADATA, createRequest(), bodyHandler,
+            actualBodyHandler -> CompletableFuture.completedFuture(actualBodyHandler == bodyHandler ? response : null))
+            .join(), is(sameInstance(response)));
+    }
+
+    @Test
+    void noOpMeterRegistryIgnoresMeasurements() {
+        MeterRegistry.NO_OP.requestStarted(EXAMPLE_TAGS);
+        MeterRegistry.NO_OP.requestCompleted(EXAMPLE_TAGS, new RequestMeasurement(LATENCY, HTTP_CREATED, 0, 0));
+
+        assertThat(ConnectionMetrics.disabled().isEnabled(), is(false));
+    }
+
+    @Test
+    void measureRecordsExchangeEventWithOperationDoiStatusAndSizes() throws IOException, InterruptedException {
+        HttpResponse<String> response = createResponse();
+
+        List<RecordedEvent> events = recordExchangeEvents(
+            () -> connectionMetrics.measure(POST_METADATA, createRequest(), BodyHandlers.ofString(),
+                bodyHandler -> respondAfterLatency(response, bodyHandler)));
+
+        assertThat(events.size(), is(equalTo(1)));
+        RecordedEvent event = events.get(0);
+        assertThat(event.getString("operation"), is(equalTo(POST_METADATA)));
+        assertThat(event.getString("host"), is(equalTo(EXAMPLE_HOST)));
+        assertThat(event.getString("customer"), is(equalTo(EXAMPLE_CUSTOMER_ID.toString())));
+        assertThat(event.getString("doi"), is(equalTo(EXAMPLE_DOI)));
+        assertThat(event.getInt("statusCode"), is(equalTo(HTTP_CREATED)));
+        assertThat(event.getLong("requestSize"), is(equalTo((long) EXAMPLE_BODY.length())));
+        assertThat(event.getLong("responseSize"), is(equalTo(RESPONSE_LENGTH)));
+    }
+
+    @Test
+    void disabledConnectionMetricsRecordExchangeEventsWithoutDoiForCollectionRequests()
+        throws IOException, InterruptedException {
+        HttpResponse<String> response = createResponse();
+        HttpRequest collectionRequest = HttpRequest.newBuilder(URI.create("https://" + EXAMPLE_HOST + "/dois"))
+            .GET()
+            .build();
+
+        List<RecordedEvent> events = recordExchangeEvents(() -> ConnectionMetrics.disabled()
+            .measureAsync(POST_METADATA, collectionRequest, BodyHandlers.ofString(),
+                bodyHandler -> CompletableFuture.completedFuture(response))
+            .join());
+
+        assertThat(events.size(), is(equalTo(1)));
+        assertThat(events.get(0).getString("doi"), is(equalTo("")));
+        assertThat(meterRegistry.started.isEmpty(), is(true));
+    }
+
+    private static List<RecordedEvent> recordExchangeEvents(Exchange exchange)
+        throws IOException, InterruptedException {
+        Path dump = Files.createTempFile("exchange", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(DataCiteExchangeEvent.NAME);
+            recording.start();
+            exchange.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private HttpResponse<String> respondAfterLatency(HttpResponse<String> response,
+                                                     BodyHandler<String> bodyHandler) {
+        nanoTime.addAndGet(LATENCY.toNanos());
+        receiveChunkedBody(bodyHandler);
+        return response;
+    }
+
+    private static void receiveChunkedBody(BodyHandler<String> bodyHandler) {
+        ResponseInfo responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        BodySubscriber<String> bodySubscriber = bodyHandler.apply(responseInfo);
+        bodySubscriber.onSubscribe(mock(Subscription.class));
+        byte[] body = EXAMPLE_RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+        int half = body.length / 2;
+        bodySubscriber.onNext(List.of(ByteBuffer.wrap(body, 0, half), ByteBuffer.wrap(body, half, body.length - half)));
+        bodySubscriber.onComplete();
+    }
+
+    private static HttpRequest createRequest() {
+        return HttpRequest.newBuilder(URI.create("https://" + EXAMPLE_HOST + "/metadata/" + EXAMPLE_DOI))
+            .POST(BodyPublishers.ofString(EXAMPLE_BODY))
+            .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<String> createResponse() {
+        HttpResponse<String> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(HTTP_CREATED);
+        return response;
+    }
+
+    @FunctionalInterface
+    private interface Exchange {
+
+        void run() throws IOException, InterruptedException;
+    }
+
+    private static class RecordingMeterRegistry implements MeterRegistry {
+
+        private final List<RequestTags> started = new ArrayList<>();
+        private final List<RequestTags> completed = new ArrayList<>();
+        private final List<RequestMeasurement> measurements = new ArrayList<>();
+
+        @Override
+        public void requestStarted(RequestTags tags) {
+            started.add(tags);
+        }
+
+        @Override
+        public void requestCompleted(RequestTags tags, RequestMeasurement measurement) {
+            completed.add(tags);
+            measurements.add(measurement);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static nva.commons.core.JsonUtils.objectMapper;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmbeddedMetricFormatRegistryTest {
+
+    public static final String NAMESPACE = "NVA/DataCite";
+    public static final String EXAMPLE_HOST = "api.test.datacite.org";
+    public static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/1234");
+    public static final RequestTags GET_DOI = new RequestTags("getDoi", EXAMPLE_HOST, EXAMPLE_CUSTOMER_ID);
+    public static final RequestTags CREATE_DOI = new RequestTags("createDoi", EXAMPLE_HOST, EXAMPLE_CUSTOMER_ID);
+    public static final Instant NOW = Instant.parse("2021-01-01T00:00:00Z");
+    public static final Duration LONG_FLUSH_INTERVAL = Duration.ofMinutes(1);
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_SERVICE_UNAVAILABLE = 503;
+    private static final long BYTES_SENT = 10L;
+    private static final long BYTES_RECEIVED = 300L;
+
+    private final List<String> lines = new ArrayList<>();
+
+    @Test
+    void forLambdaReturnsNoOpRegistryWithoutNamespace() {
+        assertThat(EmbeddedMetricFormatRegistry.forLambda(null), is(sameInstance(MeterRegistry.NO_OP)));
+        assertThat(EmbeddedMetricFormatRegistry.forLambda(" "), is(sameInstance(MeterRegistry.NO_OP)));
+        assertThat(EmbeddedMetricFormatRegistry.forLambda(NAMESPACE), is(instanceOf(
+            EmbeddedMetricFormatRegistry.class)));
+    }
+
+    @Test
+    void zeroFlushIntervalWritesEveryRequestWhenItCompletes() {
+        EmbeddedMetricFormatRegistry registry = createRegistry(Duration.ZERO);
+
+        measure(registry, GET_DOI, HTTP_OK);
+        measure(registry, GET_DOI, HTTP_OK);
+
+        assertThat(lines, hasSize(2));
+    }
+
+    @Test
+    void flushWritesOneLinePerOperationHostAndCustomer() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+        measure(registry, GET_DOI, HTTP_OK);
+        measure(registry, GET_DOI, HTTP_NOT_FOUND);
+        measure(registry, CREATE_DOI, HTTP_SERVICE_UNAVAILABLE);
+        assertThat(lines.isEmpty(), is(true));
+
+        registry.flush();
+
+        assertThat(lines, hasSize(2));
+        JsonNode getDoiLine = lineOf(GET_DOI.getOperation());
+        assertThat(getDoiLine.get(EmbeddedMetricFormatRegistry.REQUESTS).asLong(), is(equalTo(2L)));
+        assertThat(getDoiLine.get(EmbeddedMetricFormatRegistry.STATUS_2XX).asLong(), is(equalTo(1L)));
+        assertThat(getDoiLine.get(EmbeddedMetricFormatRegistry.STATUS_4XX).asLong(), is(equalTo(1L)));
+        assertThat(getDoiLine.get(EmbeddedMetricFormatRegistry.BYTES_SENT).asLong(), is(equalTo(2 * BYTES_SENT)));
+        assertThat(getDoiLine.get(EmbeddedMetricFormatRegistry.BYTES_RECEIVED).asLong(),
+            is(equalTo(2 * BYTES_RECEIVED)));
+        assertThat(lineOf(CREATE_DOI.getOperation()).get(EmbeddedMetricFormatRegistry.STATUS_5XX).asLong(),
+            is(equalTo(1L)));
+    }
+
+    @Test
+    void flushWritesNothingWithoutCompletedRequests() {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+        measure(registry, GET_DOI, HTTP_OK);
+        registry.flush();
+        lines.clear();
+
+        registry.flush();
+
+        assertThat(lines.isEmpty(), is(true));
+    }
+
+    @Test
+    void lineIsEmbeddedMetricFormatWithDimensionsAndLatencyValues() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(Duration.ZERO);
+
+        measure(registry, GET_DOI, HTTP_OK);
+
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        JsonNode metricDirective = line.at("/_aws/CloudWatchMetrics/0");
+        assertThat(line.at("/_aws/Timestamp").asLong(), is(equalTo(NOW.toEpochMilli())));
+        assertThat(metricDirective.get("Namespace").asText(), is(equalTo(NAMESPACE)));
+        assertThat(metricDirective.at("/Dimensions/1/2").asText(), is(equalTo(EmbeddedMetricFormatRegistry.CUSTOMER)));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.OPERATION).asText(), is(equalTo(GET_DOI.getOperation())));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.HOST).asText(), is(equalTo(EXAMPLE_HOST)));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.CUSTOMER).asText(),
+            is(equalTo(EXAMPLE_CUSTOMER_ID.toString())));
+        assertThat(line.at("/Latency/0").asDouble(), is(equalTo(12.5)));
+    }
+
+    @Test
+    void transportFailuresAreCountedApartFromStatusCodes() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(Duration.ZERO);
+
+        measure(registry, GET_DOI, RequestMeasurement.TRANSPORT_FAILURE);
+
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.TRANSPORT_FAILURES).asLong(), is(equalTo(1L)));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.STATUS_2XX).asLong(), is(equalTo(0L)));
+    }
+
+    @Test
+    void maximumInFlightCountsConcurrentRequestsSinceLastFlush() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+        registry.requestStarted(GET_DOI);
+        registry.requestStarted(GET_DOI);
+        registry.requestCompleted(GET_DOI, measurement(HTTP_OK));
+        registry.flush();
+        registry.requestCompleted(GET_DOI, measurement(HTTP_OK));
+        registry.flush();
+
+        assertThat(objectMapper.readTree(lines.get(0)).get(EmbeddedMetricFormatRegistry.MAXIMUM_IN_FLIGHT).asInt(),
+            is(equalTo(2)));
+        assertThat(objectMapper.readTree(lines.get(1)).get(EmbeddedMetricFormatRegistry.MAXIMUM_IN_FLIGHT).asInt(),
+            is(equalTo(1)));
+    }
+
+    @Test
+    void operationIsFlushedWhenItHasAsManyLatenciesAsOneLineHolds() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+
+        for (int i = 0; i < EmbeddedMetricFormatRegistry.MAXIMUM_VALUES_PER_LINE; i++) {
+            measure(registry, GET_DOI, HTTP_OK);
+        }
+
+        assertThat(lines, hasSize(1));
+        assertThat(objectMapper.readTree(lines.get(0)).get(EmbeddedMetricFormatRegistry.LATENCY).size(),
+            is(equalTo(EmbeddedMetricFormatRegistry.MAXIMUM_VALUES_PER_LINE)));
+    }
+
+    @Test
+    void permitWaitsAreWrittenAsOneLinePerCustomer() throws JsonProcessingException {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+        registry.permitWaited(EXAMPLE_CUSTOMER_ID, Duration.ZERO);
+        registry.permitWaited(EXAMPLE_CUSTOMER_ID, Duration.ofMillis(100));
+
+        registry.flush();
+
+        assertThat(lines, hasSize(1));
+        JsonNode line = objectMapper.readTree(lines.get(0));
+        JsonNode metricDirective = line.at("/_aws/CloudWatchMetrics/0");
+        assertThat(metricDirective.at("/Dimensions/0/0").asText(), is(equalTo(EmbeddedMetricFormatRegistry.CUSTOMER)));
+        assertThat(metricDirective.at("/Metrics/0/Name").asText(),
+            is(equalTo(EmbeddedMetricFormatRegistry.PERMIT_WAIT)));
+        assertThat(line.get(EmbeddedMetricFormatRegistry.CUSTOMER).asText(),
+            is(equalTo(EXAMPLE_CUSTOMER_ID.toString())));
+        assertThat(line.at("/PermitWait/1").asDouble(), is(equalTo(100.0)));
+    }
+
+    @Test
+    void permitWaitsAreFlushedWhenCustomerHasAsManyWaitsAsOneLineHolds() {
+        EmbeddedMetricFormatRegistry registry = createRegistry(LONG_FLUSH_INTERVAL);
+
+        for (int i = 0; i < EmbeddedMetricFormatRegistry.MAXIMUM_VALUES_PER_LINE; i++) {
+            registry.permitWaited(EXAMPLE_CUSTOMER_ID, Duration.ZERO);
+        }
+        registry.flush();
+
+        assertThat(lines, hasSize(1));
+    }
+
+    private EmbeddedMetricFormatRegistry createRegistry(Duration flushInterval) {
+        return new EmbeddedMetricFormatRegistry(NAMESPACE, flushInterval, lines::add,
+            Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static void measure(EmbeddedMetricFormatRegistry registry, RequestTags tags, int statusCode) {
+        registry.requestStarted(tags);
+        registry.requestCompleted(tags, measurement(statusCode));
+    }
+
+    private static RequestMeasurement measurement(int statusCode) {
+        return new RequestMeasurement(Duration.ofMillis(12).plusNanos(500_000), statusCode, BYTES_SENT,
+            BYTES_RECEIVED);
+    }
+
+    private JsonNode lineOf(String operation) throws JsonProcessingException {
+        for (String line : lines) {
+            JsonNode json = objectMapper.readTree(line);
+            if (operation.equals(json.get(EmbeddedMetricFormatRegistry.OPERATION).asText())) {
+                return json;
+            }
+        }
+        throw new AssertionError(operation);
+    }
+}
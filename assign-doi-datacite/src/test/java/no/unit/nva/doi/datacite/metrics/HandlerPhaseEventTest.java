@@ -0,0 +1,70 @@
+package no.unit.nva.doi.datacite.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+class HandlerPhaseEventTest {
+
+    public static final String EXAMPLE_HANDLER = "FindableDoiEventHandler";
+    public static final String EXAMPLE_RESULT = "<resource/>";
+
+    @Test
+    void measureReturnsResultOfPhaseWithoutRecording() {
+        String actual = HandlerPhaseEvent.measure(EXAMPLE_HANDLER, HandlerPhaseEvent.MARSHALLING,
+            () -> EXAMPLE_RESULT);
+
+        assertThat(actual, is(equalTo(EXAMPLE_RESULT)));
+    }
+
+    @Test
+    void measureRecordsHandlerAndPhase() throws IOException {
+        List<RecordedEvent> events = recordPhaseEvents(() -> HandlerPhaseEvent.measure(EXAMPLE_HANDLER,
+            HandlerPhaseEvent.MAPPING, () -> EXAMPLE_RESULT));
+
+        assertThat(events.size(), is(equalTo(1)));
+        assertThat(events.get(0).getString("handler"), is(equalTo(EXAMPLE_HANDLER)));
+        assertThat(events.get(0).getString("phase"), is(equalTo(HandlerPhaseEvent.MAPPING)));
+        assertThat(events.get(0).getBoolean("failed"), is(false));
+    }
+
+    @Test
+    void measureRecordsFailedPhaseAndRethrowsItsException() throws IOException {
+        IllegalArgumentException failure = new IllegalArgumentException("Publication is missing");
+
+        List<RecordedEvent> events = recordPhaseEvents(() -> {
+            IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+                () -> HandlerPhaseEvent.measure(EXAMPLE_HANDLER, HandlerPhaseEvent.VALIDATION, () -> {
+                    throw failure;
+                }));
+            assertThat(actual, is(failure));
+        });
+
+        assertThat(events.size(), is(equalTo(1)));
+        assertThat(events.get(0).getString("phase"), is(equalTo(HandlerPhaseEvent.VALIDATION)));
+        assertThat(events.get(0).getBoolean("failed"), is(true));
+    }
+
+    private static List<RecordedEvent> recordPhaseEvents(Runnable phases) throws IOException {
+        Path dump = Files.createTempFile("phases", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(HandlerPhaseEvent.NAME);
+            recording.start();
+            phases.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
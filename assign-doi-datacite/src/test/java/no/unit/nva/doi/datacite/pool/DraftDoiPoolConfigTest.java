@@ -0,0 +1,34 @@
+package no.unit.nva.doi.datacite.pool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+class DraftDoiPoolConfigTest {
+
+    @Test
+    void defaultConfigHasDefaultLowWatermarkAndBatchSize() {
+        DraftDoiPoolConfig config = DraftDoiPoolConfig.defaultConfig();
+
+        assertThat(config.getLowWatermark(), is(equalTo(DraftDoiPoolConfig.DEFAULT_LOW_WATERMARK)));
+        assertThat(config.getBatchSize(), is(equalTo(DraftDoiPoolConfig.DEFAULT_BATCH_SIZE)));
+    }
+
+    @Test
+    void builderThrowsIllegalArgumentExceptionWhenLowWatermarkIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> DraftDoiPoolConfig.builder().withLowWatermark(0));
+
+        assertThat(exception.getMessage(), is(equalTo(DraftDoiPoolConfig.ILLEGAL_LOW_WATERMARK)));
+    }
+
+    @Test
+    void builderThrowsIllegalArgumentExceptionWhenBatchSizeIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> DraftDoiPoolConfig.builder().withBatchSize(0));
+
+        assertThat(exception.getMessage(), is(equalTo(DraftDoiPoolConfig.ILLEGAL_BATCH_SIZE)));
+    }
+}
@@ -0,0 +1,118 @@
+package no.unit.nva.doi.datacite.pool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import no.unit.nva.doi.DoiClient;
+import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
+import no.unit.nva.doi.models.Doi;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DraftDoiPoolTest {
+
+    public static final URI CUSTOMER_ID = URI.create("https://example.net/customer/1");
+    public static final String DOI_PREFIX = "10.5072";
+    public static final int SERVER_ERROR = 500;
+    public static final DraftDoiPoolConfig CONFIG = DraftDoiPoolConfig.builder()
+        .withLowWatermark(2)
+        .withBatchSize(3)
+        .build();
+
+    private final AtomicInteger mintedDois = new AtomicInteger();
+    private final List<Runnable> refills = new ArrayList<>();
+    private DoiClient doiClient;
+    private DraftDoiStore store;
+
+    @BeforeEach
+    void setUp() throws ClientException {
+        doiClient = mock(DoiClient.class);
+        when(doiClient.createDoi(any())).thenAnswer(invocation -> mintDoi());
+        store = new InMemoryDraftDoiStore();
+    }
+
+    @Test
+    void claimDoiMintsDoiWhilePoolIsEmptyAndRefillsPoolOnceInBackground() throws ClientException {
+        DraftDoiPool pool = new DraftDoiPool(doiClient, store, CONFIG, refills::add);
+
+        Doi first = pool.claimDoi(CUSTOMER_ID);
+        pool.claimDoi(CUSTOMER_ID);
+
+        assertThat(first.getSuffix(), is(equalTo("1")));
+        assertThat(refills.size(), is(equalTo(1)));
+        assertThat(pool.getSynchronousMints(), is(equalTo(2L)));
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(0)));
+
+        refills.get(0).run();
+
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(CONFIG.getBatchSize())));
+    }
+
+    @Test
+    void claimDoiReturnsPooledDoiWithoutMintingAndRefillsBelowLowWatermark() throws ClientException {
+        DraftDoiPool pool = new DraftDoiPool(doiClient, store, CONFIG, Runnable::run);
+        pool.refill(CUSTOMER_ID);
+
+        Doi claimed = pool.claimDoi(CUSTOMER_ID);
+        pool.claimDoi(CUSTOMER_ID);
+
+        assertThat(claimed.getSuffix(), is(equalTo("1")));
+        assertThat(pool.getPooledClaims(), is(equalTo(2L)));
+        assertThat(pool.getSynchronousMints(), is(equalTo(0L)));
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(1 + CONFIG.getBatchSize())));
+        verify(doiClient, times(2 * CONFIG.getBatchSize())).createDoi(CUSTOMER_ID);
+    }
+
+    @Test
+    void refillLogsFailureAndKeepsDoisMintedBeforeTheFailure() throws ClientException {
+        when(doiClient.createDoi(any()))
+            .thenAnswer(invocation -> mintDoi())
+            .thenThrow(new CreateDoiException(DOI_PREFIX, SERVER_ERROR, "Failure"));
+        TestAppender appender = LogUtils.getTestingAppender(DraftDoiPool.class);
+        DraftDoiPool pool = new DraftDoiPool(doiClient, store, CONFIG);
+
+        pool.refill(CUSTOMER_ID);
+
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(1)));
+        assertThat(appender.getMessages(), containsString("Failed refilling draft DOI pool"));
+    }
+
+    @Test
+    void disabledPoolMintsEveryDoiWhileCallerWaits() throws ClientException {
+        DraftDoiPool pool = DraftDoiPool.disabled(doiClient);
+
+        pool.refill(CUSTOMER_ID);
+        Doi doi = pool.claimDoi(CUSTOMER_ID);
+
+        assertThat(pool.isEnabled(), is(false));
+        assertThat(doi.getSuffix(), is(equalTo("1")));
+        assertThat(pool.getSynchronousMints(), is(equalTo(0L)));
+        verify(doiClient, times(1)).createDoi(CUSTOMER_ID);
+    }
+
+    @Test
+    void claimDoiThrowsClientExceptionWhenPoolIsEmptyAndMintingFails() throws ClientException {
+        when(doiClient.createDoi(any())).thenThrow(new CreateDoiException(DOI_PREFIX, SERVER_ERROR, "Failure"));
+        DraftDoiPool pool = new DraftDoiPool(doiClient, store, CONFIG, refills::add);
+
+        assertThrows(ClientException.class, () -> pool.claimDoi(CUSTOMER_ID));
+    }
+
+    private Doi mintDoi() {
+        return Doi.builder().withPrefix(DOI_PREFIX).withSuffix(String.valueOf(mintedDois.incrementAndGet())).build();
+    }
+}
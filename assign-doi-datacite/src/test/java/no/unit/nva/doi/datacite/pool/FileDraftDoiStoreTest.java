@@ -0,0 +1,70 @@
+package no.unit.nva.doi.datacite.pool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import no.unit.nva.doi.models.Doi;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileDraftDoiStoreTest {
+
+    public static final URI CUSTOMER_ID = URI.create("https://example.net/customer/1");
+    public static final URI OTHER_CUSTOMER_ID = URI.create("https://example.net/customer/2");
+    public static final Doi EXAMPLE_DOI = Doi.builder().withPrefix("10.5072").withSuffix("abc/def").build();
+    public static final String ENCODED_CUSTOMER_DIRECTORY = "https%3A%2F%2Fexample.net%2Fcustomer%2F1";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void claimReturnsDoiStoredByOtherStoreOnSameDirectoryOnlyOnce() {
+        new FileDraftDoiStore(directory).add(CUSTOMER_ID, EXAMPLE_DOI);
+        DraftDoiStore store = new FileDraftDoiStore(directory);
+
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.of(EXAMPLE_DOI))));
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void addStoresSameDoiOnce() {
+        DraftDoiStore store = new FileDraftDoiStore(directory);
+
+        store.add(CUSTOMER_ID, EXAMPLE_DOI);
+        store.add(CUSTOMER_ID, EXAMPLE_DOI);
+
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(1)));
+        assertThat(Files.isDirectory(directory.resolve(ENCODED_CUSTOMER_DIRECTORY)), is(true));
+    }
+
+    @Test
+    void claimAndSizeReturnNothingForCustomerWithoutDirectory() {
+        DraftDoiStore store = new FileDraftDoiStore(directory);
+
+        assertThat(store.claim(OTHER_CUSTOMER_ID), is(equalTo(Optional.empty())));
+        assertThat(store.size(OTHER_CUSTOMER_ID), is(equalTo(0)));
+    }
+
+    @Test
+    void storeLogsFailuresAndReturnsNothingWhenCustomerDirectoryIsAFile() throws IOException {
+        Files.createFile(directory.resolve(ENCODED_CUSTOMER_DIRECTORY));
+        DraftDoiStore store = new FileDraftDoiStore(directory);
+        final TestAppender appender = LogUtils.getTestingAppender(FileDraftDoiStore.class);
+
+        store.add(CUSTOMER_ID, EXAMPLE_DOI);
+
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.empty())));
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(0)));
+        assertThat(appender.getMessages(), containsString("Failed storing draft DOI"));
+        assertThat(appender.getMessages(), containsString("Failed claiming draft DOI"));
+        assertThat(appender.getMessages(), containsString("Failed counting draft DOIs"));
+    }
+}
@@ -0,0 +1,38 @@
+package no.unit.nva.doi.datacite.pool;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.net.URI;
+import java.util.Optional;
+import no.unit.nva.doi.models.Doi;
+import org.junit.jupiter.api.Test;
+
+class InMemoryDraftDoiStoreTest {
+
+    public static final URI CUSTOMER_ID = URI.create("https://example.net/customer/1");
+    public static final URI OTHER_CUSTOMER_ID = URI.create("https://example.net/customer/2");
+    public static final Doi FIRST_DOI = Doi.builder().withPrefix("10.5072").withSuffix("first").build();
+    public static final Doi SECOND_DOI = Doi.builder().withPrefix("10.5072").withSuffix("second").build();
+
+    @Test
+    void claimReturnsDoisOfCustomerInStoredOrderOnlyOnce() {
+        DraftDoiStore store = new InMemoryDraftDoiStore();
+        store.add(CUSTOMER_ID, FIRST_DOI);
+        store.add(CUSTOMER_ID, SECOND_DOI);
+
+        assertThat(store.size(CUSTOMER_ID), is(equalTo(2)));
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.of(FIRST_DOI))));
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.of(SECOND_DOI))));
+        assertThat(store.claim(CUSTOMER_ID), is(equalTo(Optional.empty())));
+    }
+
+    @Test
+    void claimReturnsEmptyForCustomerWithoutStoredDois() {
+        DraftDoiStore store = new InMemoryDraftDoiStore();
+        store.add(CUSTOMER_ID, FIRST_DOI);
+
+        assertThat(store.claim(OTHER_CUSTOMER_ID), is(equalTo(Optional.empty())));
+        assertThat(store.size(OTHER_CUSTOMER_ID), is(equalTo(0)));
+    }
+}
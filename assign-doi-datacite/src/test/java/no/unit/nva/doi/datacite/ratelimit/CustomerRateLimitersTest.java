@@ -0,0 +1,121 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import static no.unit.nva.doi.datacite.ratelimit.RateLimit.ILLEGAL_BURST;
+import static no.unit.nva.doi.datacite.ratelimit.RateLimit.ILLEGAL_PERMITS_PER_SECOND;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import nva.commons.logutils.LogUtils;
+import nva.commons.logutils.TestAppender;
+import org.junit.jupiter.api.Test;
+
+class CustomerRateLimitersTest {
+
+    private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/4512");
+    private static final URI OTHER_CUSTOMER_ID = URI.create("https://example.net/customer/id/other");
+    private static final Duration ONE_PERMIT_INTERVAL_AT_TEN_PER_SECOND = Duration.ofMillis(100);
+
+    @Test
+    void forCustomerReturnsSameRateLimiterForSameCustomer() {
+        CustomerRateLimiters rateLimiters = createRateLimitersWithDefault(RateLimit.perSecond(10, 1));
+
+        assertThat(rateLimiters.forCustomer(EXAMPLE_CUSTOMER_ID),
+            is(sameInstance(rateLimiters.forCustomer(EXAMPLE_CUSTOMER_ID))));
+        assertThat(rateLimiters.forCustomer(EXAMPLE_CUSTOMER_ID),
+            is(not(sameInstance(rateLimiters.forCustomer(OTHER_CUSTOMER_ID)))));
+    }
+
+    @Test
+    void forCustomerReturnsUnlimitedRateLimiterWhenNoRateLimitIsConfigured() {
+        CustomerRateLimiters rateLimiters = CustomerRateLimiters.unlimited();
+
+        assertThat(rateLimiters.forCustomer(EXAMPLE_CUSTOMER_ID), is(sameInstance(RateLimiter.UNLIMITED)));
+    }
+
+    @Test
+    void forCustomerUsesCustomerRateLimitBeforeDefault() {
+        CustomerRateLimiters rateLimiters = CustomerRateLimiters.builder()
+            .withDefaultRateLimit(RateLimit.perSecond(1, 1))
+            .withCustomerRateLimit(EXAMPLE_CUSTOMER_ID, RateLimit.perSecond(10, 1))
+            .withNanoClock(() -> 0L)
+            .build();
+        RateLimiter rateLimiter = rateLimiters.forCustomer(EXAMPLE_CUSTOMER_ID);
+
+        rateLimiter.reserve();
+
+        assertThat(rateLimiter, is(instanceOf(TokenBucketRateLimiter.class)));
+        assertThat(rateLimiter.reserve(), is(equalTo(ONE_PERMIT_INTERVAL_AT_TEN_PER_SECOND)));
+    }
+
+    @Test
+    void forCustomerReturnsRateLimiterLoggingPermitWaitsByDefault() {
+        TestAppender appender = LogUtils.getTestingAppender(CustomerRateLimiters.class);
+        RateLimiter rateLimiter = CustomerRateLimiters.builder()
+            .withDefaultRateLimit(RateLimit.perSecond(10, 1))
+            .withNanoClock(() -> 0L)
+            .build()
+            .forCustomer(EXAMPLE_CUSTOMER_ID);
+        rateLimiter.reserve();
+
+        rateLimiter.reserve();
+
+        assertThat(appender.getMessages(), containsString(EXAMPLE_CUSTOMER_ID.toString()));
+    }
+
+    @Test
+    void forCustomerReturnsRateLimiterRecordingPermitWaitsInMeterRegistry() {
+        List<Duration> recordedWaits = new ArrayList<>();
+        MeterRegistry meterRegistry = new MeterRegistry() {
+            @Override
+            public void permitWaited(URI customerId, Duration wait) {
+                recordedWaits.add(wait);
+            }
+        };
+        RateLimiter rateLimiter = CustomerRateLimiters.builder()
+            .withDefaultRateLimit(RateLimit.perSecond(10, 1))
+            .withNanoClock(() -> 0L)
+            .withMeterRegistry(meterRegistry)
+            .build()
+            .forCustomer(EXAMPLE_CUSTOMER_ID);
+        rateLimiter.reserve();
+
+        rateLimiter.reserve();
+
+        assertThat(recordedWaits, contains(Duration.ZERO, ONE_PERMIT_INTERVAL_AT_TEN_PER_SECOND));
+    }
+
+    @Test
+    void rateLimitThrowsIllegalArgumentExceptionWhenPermitsPerSecondIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> RateLimit.perSecond(0, 1));
+
+        assertThat(exception.getMessage(), is(equalTo(ILLEGAL_PERMITS_PER_SECOND)));
+    }
+
+    @Test
+    void rateLimitThrowsIllegalArgumentExceptionWhenBurstIsNotPositive() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> RateLimit.perSecond(1, 0));
+
+        assertThat(exception.getMessage(), is(equalTo(ILLEGAL_BURST)));
+    }
+
+    private CustomerRateLimiters createRateLimitersWithDefault(RateLimit rateLimit) {
+        return CustomerRateLimiters.builder()
+            .withDefaultRateLimit(rateLimit)
+            .withPermitWaitListener((customerId, wait) -> {
+            })
+            .build();
+    }
+}
@@ -0,0 +1,44 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final Duration SHORT_WAIT = Duration.ofMillis(20);
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+
+    @Test
+    void acquireReturnsImmediatelyWhenUnlimited() throws InterruptedException {
+        RateLimiter.UNLIMITED.acquire();
+
+        assertThat(RateLimiter.UNLIMITED.acquireAsync().isDone(), is(true));
+    }
+
+    @Test
+    void acquireBlocksForReservedWait() throws InterruptedException {
+        RateLimiter rateLimiter = () -> SHORT_WAIT;
+        long start = System.nanoTime();
+
+        rateLimiter.acquire();
+
+        assertThat(System.nanoTime() - start, is(greaterThanOrEqualTo(SHORT_WAIT.toNanos())));
+    }
+
+    @Test
+    void acquireAsyncCompletesAfterReservedWait()
+        throws InterruptedException, ExecutionException, TimeoutException {
+        RateLimiter rateLimiter = () -> SHORT_WAIT;
+        long start = System.nanoTime();
+
+        rateLimiter.acquireAsync().get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        assertThat(System.nanoTime() - start, is(greaterThanOrEqualTo(SHORT_WAIT.toNanos())));
+    }
+}
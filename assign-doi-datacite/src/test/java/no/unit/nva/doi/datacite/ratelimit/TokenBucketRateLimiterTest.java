@@ -0,0 +1,67 @@
+package no.unit.nva.doi.datacite.ratelimit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    private static final URI EXAMPLE_CUSTOMER_ID = URI.create("https://example.net/customer/id/4512");
+    private static final RateLimit TEN_PER_SECOND_WITH_BURST_OF_TWO = RateLimit.perSecond(10, 2);
+    private static final Duration ONE_PERMIT_INTERVAL = Duration.ofMillis(100);
+
+    private AtomicLong nanoClock;
+    private List<Duration> recordedWaits;
+    private TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        nanoClock = new AtomicLong();
+        recordedWaits = new ArrayList<>();
+        rateLimiter = new TokenBucketRateLimiter(EXAMPLE_CUSTOMER_ID, TEN_PER_SECOND_WITH_BURST_OF_TWO,
+            nanoClock::get, (customerId, wait) -> recordedWaits.add(wait));
+    }
+
+    @Test
+    void reserveReturnsNoWaitWithinBurst() {
+        assertThat(rateLimiter.reserve(), is(equalTo(Duration.ZERO)));
+        assertThat(rateLimiter.reserve(), is(equalTo(Duration.ZERO)));
+    }
+
+    @Test
+    void reserveQueuesCallersBeyondBurstAtConfiguredRate() {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        assertThat(rateLimiter.reserve(), is(equalTo(ONE_PERMIT_INTERVAL)));
+        assertThat(rateLimiter.reserve(), is(equalTo(ONE_PERMIT_INTERVAL.multipliedBy(2))));
+    }
+
+    @Test
+    void reserveRefillsTokensOverTimeUpToBurst() {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+        nanoClock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(rateLimiter.reserve(), is(equalTo(Duration.ZERO)));
+        assertThat(rateLimiter.reserve(), is(equalTo(Duration.ZERO)));
+        assertThat(rateLimiter.reserve(), is(equalTo(ONE_PERMIT_INTERVAL)));
+    }
+
+    @Test
+    void reserveReportsEveryWaitToListener() {
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+        rateLimiter.reserve();
+
+        assertThat(recordedWaits, contains(Duration.ZERO, Duration.ZERO, ONE_PERMIT_INTERVAL));
+    }
+}
@@ -0,0 +1,61 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import static no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization.AUTHORIZATION_HEADER;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandler;
+import no.unit.nva.doi.datacite.connectionfactories.BasicAuthorization;
+import no.unit.nva.doi.datacite.models.DataCiteMdsClientSecretConfig;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+
+class DataCiteRestConnectionTest {
+
+    public static final String MOCK_HOST = "nva-mock.unit.no";
+    public static final String MOCK_DOI = "prefix/suffix";
+    public static final String MOCK_USERNAME = "username";
+    public static final String MOCK_PASSWORD = "password";
+    public static final String OTHER_AUTHORIZATION_HEADER = "Basic b3RoZXI6cGFzc3dvcmQ=";
+    private static final int MOCK_PORT = 8888;
+    private static final DataCiteMdsClientSecretConfig MOCK_CREDENTIALS = new DataCiteMdsClientSecretConfig(
+        URI.create("https://example.net/customer/123"), "prefix", MOCK_USERNAME, MOCK_PASSWORD);
+
+    private final HttpClient httpClient = mock(HttpClient.class);
+
+    @Test
+    void getDoiSendsAuthorizationHeaderDerivedFromCredentials() throws IOException, InterruptedException {
+        new DataCiteRestConnection(httpClient, MOCK_HOST, MOCK_PORT, MOCK_CREDENTIALS).getDoi(MOCK_DOI);
+
+        assertThat(sentAuthorizationHeader(),
+            is(equalTo(BasicAuthorization.headerValue(MOCK_USERNAME, MOCK_PASSWORD))));
+    }
+
+    @Test
+    void getDoiSendsAuthorizationHeaderGivenToBuilder() throws IOException, InterruptedException {
+        DataCiteRestConnection.builder()
+            .withHttpClient(httpClient)
+            .withHost(MOCK_HOST)
+            .withPort(MOCK_PORT)
+            .withCredentials(MOCK_CREDENTIALS)
+            .withAuthorizationHeader(OTHER_AUTHORIZATION_HEADER)
+            .build()
+            .getDoi(MOCK_DOI);
+
+        assertThat(sentAuthorizationHeader(), is(equalTo(OTHER_AUTHORIZATION_HEADER)));
+    }
+
+    private String sentAuthorizationHeader() throws IOException, InterruptedException {
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).send(request.capture(), ArgumentMatchers.<BodyHandler<DoiAttributes>>any());
+        return request.getValue().headers().firstValue(AUTHORIZATION_HEADER).orElseThrow();
+    }
+}
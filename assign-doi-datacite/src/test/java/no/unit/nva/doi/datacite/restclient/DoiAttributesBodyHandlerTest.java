@@ -0,0 +1,126 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.io.IOException;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.ResponseInfo;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow.Subscription;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+import org.apache.http.HttpStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DoiAttributesBodyHandlerTest {
+
+    public static final String FIRST_CHUNK = "{\"data\":{\"attributes\":{\"doi\":\"10.23/4";
+    public static final String SECOND_CHUNK = "56789\",\"state\":\"draft\"}}}";
+    public static final String EXAMPLE_DOI = "10.23/456789";
+    public static final String EXAMPLE_STATE = "draft";
+    public static final String ERROR_BODY = "{\"errors\":[{\"status\":\"403\",\"title\":\"Access denied\"}]}";
+    public static final String INVALID_DOCUMENT = "{\"data\":]";
+
+    private DoiAttributesBodyHandler bodyHandler;
+    private Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        bodyHandler = new DoiAttributesBodyHandler();
+        subscription = mock(Subscription.class);
+    }
+
+    @Test
+    void subscriberOfSuccessfulResponseReadsAttributesFromChunks() throws ExecutionException, InterruptedException {
+        BodySubscriber<DoiAttributes> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_OK));
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(chunk(FIRST_CHUNK)));
+        subscriber.onNext(List.of(chunk(SECOND_CHUNK)));
+        subscriber.onComplete();
+
+        DoiAttributes actual = subscriber.getBody().toCompletableFuture().get();
+        verify(subscription).request(Long.MAX_VALUE);
+        assertThat(actual.getDoi(), is(equalTo(EXAMPLE_DOI)));
+        assertThat(actual.getState(), is(equalTo(EXAMPLE_STATE)));
+        assertThat(actual.getUnparsedBody(), is(nullValue()));
+    }
+
+    @Test
+    void subscriberOfUnsuccessfulResponseKeepsBodyAsText() throws ExecutionException, InterruptedException {
+        BodySubscriber<DoiAttributes> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_FORBIDDEN));
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(chunk(ERROR_BODY)));
+        subscriber.onComplete();
+
+        DoiAttributes actual = subscriber.getBody().toCompletableFuture().get();
+        assertThat(actual.getUnparsedBody(), is(equalTo(ERROR_BODY)));
+        assertThat(actual.getDoi(), is(nullValue()));
+    }
+
+    @Test
+    void subscriberCancelsSubscriptionAndFailsWhenBodyIsNotValidJson() {
+        BodySubscriber<DoiAttributes> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_OK));
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(chunk(INVALID_DOCUMENT)));
+        subscriber.onNext(List.of(chunk(SECOND_CHUNK)));
+        subscriber.onComplete();
+
+        verify(subscription).cancel();
+        ExecutionException actual = assertThrows(ExecutionException.class,
+            () -> subscriber.getBody().toCompletableFuture().get());
+        assertThat(actual.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void subscriberFailsWhenBodyEndsBeforeDocumentIsComplete() {
+        BodySubscriber<DoiAttributes> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_OK));
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(chunk(FIRST_CHUNK)));
+        subscriber.onComplete();
+
+        ExecutionException actual = assertThrows(ExecutionException.class,
+            () -> subscriber.getBody().toCompletableFuture().get());
+        assertThat(actual.getCause(), is(instanceOf(IOException.class)));
+    }
+
+    @Test
+    void subscriberFailsWithErrorOfTheResponse() {
+        BodySubscriber<DoiAttributes> subscriber = bodyHandler.apply(responseInfo(HttpStatus.SC_OK));
+        IOException error = new IOException("connection reset");
+
+        subscriber.onSubscribe(subscription);
+        subscriber.onNext(List.of(chunk(FIRST_CHUNK)));
+        subscriber.onError(error);
+
+        ExecutionException actual = assertThrows(ExecutionException.class,
+            () -> subscriber.getBody().toCompletableFuture().get());
+        assertThat(actual.getCause(), is(equalTo(error)));
+    }
+
+    private static ResponseInfo responseInfo(int statusCode) {
+        ResponseInfo responseInfo = mock(ResponseInfo.class);
+        when(responseInfo.statusCode()).thenReturn(statusCode);
+        when(responseInfo.headers()).thenReturn(HttpHeaders.of(Map.of(), (name, value) -> true));
+        return responseInfo;
+    }
+
+    private static ByteBuffer chunk(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,110 @@
+package no.unit.nva.doi.datacite.restclient;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import no.unit.nva.doi.datacite.restclient.models.DoiAttributes;
+import nva.commons.core.ioutils.IoUtils;
+import org.junit.jupiter.api.Test;
+
+class DoiAttributesParserTest {
+
+    public static final String GET_DOI_FULL_RESPONSE_JSON = "getDoiFullResponse.json";
+    public static final String EXAMPLE_DOI = "10.23/456789";
+    public static final String EXAMPLE_PREFIX = "10.23";
+    public static final String EXAMPLE_SUFFIX = "456789";
+    public static final String EXAMPLE_STATE = "findable";
+    public static final String EXAMPLE_URL = "https://example.net/nva/publication/203124124";
+    public static final String ATTRIBUTES_AS_ARRAY = "{\"data\":{\"attributes\":[\"doi\",\"10.23/456789\"]}}";
+    public static final String TRUNCATED_DOCUMENT = "{\"data\":{\"attributes\":{\"doi\":\"10.23/456789\"";
+    public static final String INVALID_DOCUMENT = "{\"data\":]";
+    public static final int BUFFER_PADDING = 3;
+
+    @Test
+    void parseReadsOnlyAttributesOfTheDataObject() throws IOException {
+        DoiAttributes actual = DoiAttributesParser.parse(fullResponse());
+
+        assertThatExampleAttributesAreRead(actual);
+    }
+
+    @Test
+    void feedReadsAttributesSplitAtEveryByte() throws IOException {
+        byte[] document = fullResponse().getBytes(StandardCharsets.UTF_8);
+        DoiAttributesParser parser = new DoiAttributesParser();
+        for (int index = 0; index < document.length; index++) {
+            parser.feed(document, index, 1);
+        }
+
+        assertThatExampleAttributesAreRead(parser.finish());
+    }
+
+    @Test
+    void feedReadsRemainingBytesOfHeapBuffer() throws IOException {
+        byte[] document = fullResponse().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer padded = ByteBuffer.allocate(document.length + 2 * BUFFER_PADDING);
+        padded.position(BUFFER_PADDING);
+        padded.put(document);
+        padded.position(BUFFER_PADDING).limit(BUFFER_PADDING + document.length);
+        ByteBuffer buffer = padded.slice();
+        DoiAttributesParser parser = new DoiAttributesParser();
+
+        parser.feed(buffer);
+
+        assertThat(buffer.hasRemaining(), is(false));
+        assertThatExampleAttributesAreRead(parser.finish());
+    }
+
+    @Test
+    void feedReadsRemainingBytesOfBuffersWithoutAccessibleArray() throws IOException {
+        byte[] document = fullResponse().getBytes(StandardCharsets.UTF_8);
+        int half = document.length / 2;
+        ByteBuffer direct = ByteBuffer.allocateDirect(half);
+        direct.put(document, 0, half).flip();
+        ByteBuffer readOnly = ByteBuffer.wrap(document, half, document.length - half).asReadOnlyBuffer();
+        DoiAttributesParser parser = new DoiAttributesParser();
+
+        parser.feed(direct);
+        parser.feed(readOnly);
+
+        assertThat(direct.hasRemaining(), is(false));
+        assertThat(readOnly.hasRemaining(), is(false));
+        assertThatExampleAttributesAreRead(parser.finish());
+    }
+
+    @Test
+    void parseReturnsNullForMissingAttributes() throws IOException {
+        DoiAttributes actual = DoiAttributesParser.parse(ATTRIBUTES_AS_ARRAY);
+
+        assertThat(actual.getDoi(), is(nullValue()));
+        assertThat(actual.getState(), is(nullValue()));
+        assertThat(actual.getUnparsedBody(), is(nullValue()));
+    }
+
+    @Test
+    void parseThrowsIOExceptionWhenDocumentEndsBeforeItIsComplete() {
+        assertThrows(IOException.class, () -> DoiAttributesParser.parse(TRUNCATED_DOCUMENT));
+    }
+
+    @Test
+    void parseThrowsIOExceptionWhenDocumentIsNotValidJson() {
+        assertThrows(IOException.class, () -> DoiAttributesParser.parse(INVALID_DOCUMENT));
+    }
+
+    private static String fullResponse() {
+        return IoUtils.stringFromResources(Path.of(GET_DOI_FULL_RESPONSE_JSON));
+    }
+
+    private static void assertThatExampleAttributesAreRead(DoiAttributes actual) {
+        assertThat(actual.getDoi(), is(equalTo(EXAMPLE_DOI)));
+        assertThat(actual.getPrefix(), is(equalTo(EXAMPLE_PREFIX)));
+        assertThat(actual.getSuffix(), is(equalTo(EXAMPLE_SUFFIX)));
+        assertThat(actual.getState(), is(equalTo(EXAMPLE_STATE)));
+        assertThat(actual.getUrl(), is(equalTo(EXAMPLE_URL)));
+    }
+}
@@ -0,0 +1,65 @@
+package no.unit.nva.doi.datacite.suffix;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.matchesPattern;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class DoiSuffixGeneratorTest {
+
+    public static final String SUFFIX_PATTERN = "[0-9a-hjkmnp-tv-z]{4}-[0-9a-hjkmnp-tv-z]{4}[0-9a-hjkmnp-tv-z]";
+    public static final int NUMBER_OF_SUFFIXES = 1000;
+
+    @Test
+    void generateReturnsGroupedBase32SuffixesWithValidCheckSymbol() {
+        DoiSuffixGenerator generator = DoiSuffixGenerator.withDefaults();
+
+        for (int count = 0; count < NUMBER_OF_SUFFIXES; count++) {
+            String suffix = generator.generate();
+            assertThat(suffix, matchesPattern(SUFFIX_PATTERN));
+            assertThat(DoiSuffixGenerator.isValid(suffix), is(true));
+        }
+    }
+
+    @Test
+    void generateReturnsDistinctSuffixes() {
+        DoiSuffixGenerator generator = new DoiSuffixGenerator(new Random(1));
+        Set<String> suffixes = new HashSet<>();
+
+        for (int count = 0; count < NUMBER_OF_SUFFIXES; count++) {
+            suffixes.add(generator.generate());
+        }
+
+        assertThat(suffixes.size(), is(equalTo(NUMBER_OF_SUFFIXES)));
+    }
+
+    @Test
+    void isValidAcceptsUpperCaseAndRejectsMistypedSymbolsAndOtherForms() {
+        String suffix = new DoiSuffixGenerator(new Random(1)).generate();
+        char mistyped = suffix.charAt(0) == '0' ? '1' : '0';
+
+        assertThat(DoiSuffixGenerator.isValid(suffix.toUpperCase(Locale.ROOT)), is(true));
+        assertThat(DoiSuffixGenerator.isValid(mistyped + suffix.substring(1)), is(false));
+        assertThat(DoiSuffixGenerator.isValid(suffix.substring(1)), is(false));
+        assertThat(DoiSuffixGenerator.isValid("iiii-iiii0"), is(false));
+    }
+
+    @Test
+    void isValidRejectsEverySingleMistypedSymbol() {
+        String suffix = new DoiSuffixGenerator(new Random(1)).generate();
+
+        for (int index = 0; index < suffix.length(); index++) {
+            for (char symbol : DoiSuffixGenerator.SYMBOLS.toCharArray()) {
+                if (suffix.charAt(index) != symbol && suffix.charAt(index) != DoiSuffixGenerator.GROUP_SEPARATOR) {
+                    String mistyped = suffix.substring(0, index) + symbol + suffix.substring(index + 1);
+                    assertThat(mistyped, DoiSuffixGenerator.isValid(mistyped), is(false));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package no.unit.nva.doi;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBException;
+import no.unit.nva.identifiers.SortableIdentifier;
+import no.unit.nva.model.Contributor;
+import no.unit.nva.model.EntityDescription;
+import no.unit.nva.model.Identity;
+import no.unit.nva.model.Organization;
+import no.unit.nva.model.Publication;
+import no.unit.nva.model.PublicationDate;
+import no.unit.nva.model.Reference;
+import no.unit.nva.model.exceptions.MalformedContributorException;
+import no.unit.nva.model.instancetypes.journal.JournalReview;
+import no.unit.nva.transformer.Transformer;
+import no.unit.nva.transformer.dto.DataCiteMetadataDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of turning a {@link Publication} into DataCite XML, as {@code FindableDoiEventHandler} does for every request:
+ * mapping it with {@link DataCiteMetadataDtoMapper}, marshalling the result with {@link Transformer}, and both.
+ *
+ * <p>Publications have one contributor, a typical number of contributors, or thousands of contributors. Both
+ * throughput and average time are reported, and the gc profiler adds {@code gc.alloc.rate.norm}, the bytes allocated
+ * per operation. Run with {@code ./gradlew :datacite-benchmarks:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCiteXmlBenchmark {
+
+    private static final Organization PUBLISHER = new Organization.Builder()
+        .withId(URI.create("https://api.dev.nva.aws.unit.no/customer/f54c8aa9-073a-46a1-8f7c-dde66c853934"))
+        .build();
+    private static final String MAIN_TITLE = "An example publication with a reasonably long main title";
+    private static final String CONTRIBUTOR_NAME = "Contributor, Example %d";
+    private static final String ARP_ID = "https://api.dev.nva.aws.unit.no/person/%d";
+
+    @Param({"1", "10", "5000"})
+    public int numberOfContributors;
+
+    private Publication publication;
+    private DataCiteMetadataDto dataCiteMetadataDto;
+
+    /**
+     * Create the publication, and the metadata it maps to.
+     *
+     * @throws MalformedContributorException if a contributor is invalid.
+     */
+    @Setup
+    public void createPublication() throws MalformedContributorException {
+        publication = new Publication.Builder()
+            .withIdentifier(SortableIdentifier.next())
+            .withPublisher(PUBLISHER)
+            .withEntityDescription(createEntityDescription())
+            .build();
+        dataCiteMetadataDto = DataCiteMetadataDtoMapper.fromPublication(publication);
+    }
+
+    @Benchmark
+    public DataCiteMetadataDto mapping() {
+        return DataCiteMetadataDtoMapper.fromPublication(publication);
+    }
+
+    @Benchmark
+    public String marshalling() throws JAXBException {
+        return new Transformer(dataCiteMetadataDto).asXml();
+    }
+
+    @Benchmark
+    public String publicationToXml() throws JAXBException {
+        return new Transformer(DataCiteMetadataDtoMapper.fromPublication(publication)).asXml();
+    }
+
+    private EntityDescription createEntityDescription() throws MalformedContributorException {
+        Reference reference = new Reference.Builder()
+            .withPublicationInstance(new JournalReview.Builder().withVolume("1").withIssue("1").build())
+            .build();
+        PublicationDate publicationDate = new PublicationDate.Builder()
+            .withYear("2021")
+            .withMonth("06")
+            .withDay("01")
+            .build();
+        return new EntityDescription.Builder()
+            .withReference(reference)
+            .withMainTitle(MAIN_TITLE)
+            .withDate(publicationDate)
+            .withContributors(createContributors())
+            .build();
+    }
+
+    private List<Contributor> createContributors() throws MalformedContributorException {
+        List<Contributor> contributors = new ArrayList<>(numberOfContributors);
+        for (int sequence = 1; sequence <= numberOfContributors; sequence++) {
+            contributors.add(new Contributor.Builder()
+                .withSequence(sequence)
+                .withAffiliations(List.of(PUBLISHER))
+                .withIdentity(new Identity.Builder()
+                    .withArpId(String.format(ARP_ID, sequence))
+                    .withName(String.format(CONTRIBUTOR_NAME, sequence))
+                    .build())
+                .build());
+        }
+        return contributors;
+    }
+}
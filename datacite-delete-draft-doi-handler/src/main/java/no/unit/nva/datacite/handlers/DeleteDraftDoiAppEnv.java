@@ -11,6 +11,12 @@ public final class DeleteDraftDoiAppEnv {
     public static final String DATACITE_REST_HOST = "DATACITE_REST_HOST";
     public static final String CUSTOMER_SECRETS_SECRET_NAME = "CUSTOMER_SECRETS_SECRET_NAME";
     public static final String CUSTOMER_SECRETS_SECRET_KEY = "CUSTOMER_SECRETS_SECRET_KEY";
+    public static final String DATACITE_PREEMPTIVE_AUTHENTICATION = "DATACITE_PREEMPTIVE_AUTHENTICATION";
+    public static final String DATACITE_RATE_LIMIT_PER_SECOND = "DATACITE_RATE_LIMIT_PER_SECOND";
+    public static final String DATACITE_RATE_LIMIT_BURST = "DATACITE_RATE_LIMIT_BURST";
+    public static final String DATACITE_METRICS_NAMESPACE = "DATACITE_METRICS_NAMESPACE";
+    public static final String BOOTSTRAP_PARALLEL_WARM_UPS = "BOOTSTRAP_PARALLEL_WARM_UPS";
+    private static final String NO_METRICS_NAMESPACE = "";
     private static final Environment ENVIRONMENT = new Environment();
 
     @JacocoGenerated
@@ -32,6 +38,31 @@ public final class DeleteDraftDoiAppEnv {
         return Integer.parseInt(getEnvValue(DATACITE_PORT));
     }
 
+    @JacocoGenerated
+    public static boolean isDataCitePreemptiveAuthentication() {
+        return Boolean.parseBoolean(getEnvValue(DATACITE_PREEMPTIVE_AUTHENTICATION));
+    }
+
+    @JacocoGenerated
+    public static double getDataCiteRateLimitPerSecond() {
+        return Double.parseDouble(getEnvValue(DATACITE_RATE_LIMIT_PER_SECOND));
+    }
+
+    @JacocoGenerated
+    public static int getDataCiteRateLimitBurst() {
+        return Integer.parseInt(getEnvValue(DATACITE_RATE_LIMIT_BURST));
+    }
+
+    @JacocoGenerated
+    public static String getDataCiteMetricsNamespace() {
+        return ENVIRONMENT.readEnvOpt(DATACITE_METRICS_NAMESPACE).orElse(NO_METRICS_NAMESPACE);
+    }
+
+    @JacocoGenerated
+    public static boolean isBootstrapParallelWarmUps() {
+        return Boolean.parseBoolean(getEnvValue(BOOTSTRAP_PARALLEL_WARM_UPS));
+    }
+
     @JacocoGenerated
     public static String getCustomerSecretsSecretName() {
         return getEnvValue(CUSTOMER_SECRETS_SECRET_NAME);
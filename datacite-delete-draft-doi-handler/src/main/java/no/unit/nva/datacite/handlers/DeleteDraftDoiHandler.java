@@ -6,6 +6,11 @@ import no.unit.nva.doi.DoiClientFactory;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.metrics.EmbeddedMetricFormatRegistry;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import no.unit.nva.doi.datacite.metrics.HandlerPhaseEvent;
+import no.unit.nva.doi.datacite.ratelimit.CustomerRateLimiters;
+import no.unit.nva.doi.datacite.ratelimit.RateLimit;
 import no.unit.nva.doi.datacite.restclient.models.DoiStateDto;
 import no.unit.nva.doi.models.ImmutableDoi;
 
@@ -17,6 +22,7 @@ import nva.commons.core.JacocoGenerated;
 
 import java.io.IOException;
 import java.net.URI;
+import no.unit.nva.doi.datacite.bootstrap.HandlerBootstrap;
 import nva.commons.secrets.SecretsReader;
 
 import static no.unit.nva.datacite.handlers.DeleteDraftDoiAppEnv.getCustomerSecretsSecretKey;
@@ -31,6 +37,7 @@ public class DeleteDraftDoiHandler
     public static final String ERROR_DELETING_DRAFT_DOI = "Error deleting draft DOI";
     public static final String EXPECTED_EVENT_WITH_DOI = "Expected event with DOI";
     public static final String NOT_DRAFT_DOI_ERROR = "DOI state is not draft, aborting deletion.";
+    private static final String HANDLER_NAME = DeleteDraftDoiHandler.class.getSimpleName();
     private final DoiClient doiClient;
 
     /**
@@ -59,18 +66,19 @@ public class DeleteDraftDoiHandler
             AwsEventBridgeEvent<AwsEventBridgeDetail<DeletePublicationEvent>> event,
             Context context) {
 
-        verifyEventHasDoi(input);
+        HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.VALIDATION, () -> verifyEventHasDoi(input));
 
         var customerId = input.getCustomerId();
-        var doi = getDoi(input);
+        var doi = HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.MAPPING, () -> getDoi(input));
         verifyDoiIsInDraftState(customerId, doi);
         return deleteDraftPublication(input, customerId, doi);
     }
 
-    private void verifyEventHasDoi(DeletePublicationEvent event) {
+    private DeletePublicationEvent verifyEventHasDoi(DeletePublicationEvent event) {
         if (!event.hasDoi()) {
             throw new RuntimeException(EXPECTED_EVENT_WITH_DOI);
         }
+        return event;
     }
 
     private ImmutableDoi getDoi(DeletePublicationEvent input) {
@@ -116,15 +124,37 @@ public class DeleteDraftDoiHandler
 
     @JacocoGenerated
     private static DoiClient defaultDoiClient() {
+        return HandlerBootstrap.builder()
+            .withJsonWarmUp(DeletePublicationEvent.class, DeletePublicationEvent.class)
+            .withTlsWarmUp()
+            .withParallelWarmUps(DeleteDraftDoiAppEnv.isBootstrapParallelWarmUps())
+            .build()
+            .bootstrap(DeleteDraftDoiHandler::createDoiClient);
+    }
+
+    @JacocoGenerated
+    private static DoiClient createDoiClient() {
 
         DataCiteConfigurationFactory configFactory = new DataCiteConfigurationFactory(
                 new SecretsReader(), getCustomerSecretsSecretName(), getCustomerSecretsSecretKey());
 
-        DataCiteConnectionFactory connectionFactory = new DataCiteConnectionFactory(
-                configFactory,
-                DeleteDraftDoiAppEnv.getDataCiteMdsApiHost(),
-                DeleteDraftDoiAppEnv.getDataCiteRestApiHost(),
-                DeleteDraftDoiAppEnv.getDataCitePort());
+        MeterRegistry meterRegistry =
+            EmbeddedMetricFormatRegistry.forLambda(DeleteDraftDoiAppEnv.getDataCiteMetricsNamespace());
+        DataCiteConnectionFactory connectionFactory = DataCiteConnectionFactory.builder()
+            .withConfigurationFactory(configFactory)
+            .withMdsApiHostName(DeleteDraftDoiAppEnv.getDataCiteMdsApiHost())
+            .withRestApiHostName(DeleteDraftDoiAppEnv.getDataCiteRestApiHost())
+            .withApiPort(DeleteDraftDoiAppEnv.getDataCitePort())
+            .withPreemptiveAuthentication(DeleteDraftDoiAppEnv.isDataCitePreemptiveAuthentication())
+            .withRateLimiters(CustomerRateLimiters.builder()
+                .withDefaultRateLimit(RateLimit.perSecond(
+                    DeleteDraftDoiAppEnv.getDataCiteRateLimitPerSecond(),
+                    DeleteDraftDoiAppEnv.getDataCiteRateLimitBurst()))
+                .withMeterRegistry(meterRegistry)
+                .build())
+            .withMeterRegistry(meterRegistry)
+            .build();
+        HandlerBootstrap.buildSharedHttpClient(connectionFactory);
         return DoiClientFactory.getClient(configFactory, connectionFactory);
     }
 }
@@ -9,9 +9,18 @@ import java.time.Instant;
 import java.util.Optional;
 import no.unit.nva.doi.DoiClient;
 import no.unit.nva.doi.DoiClientFactory;
+import no.unit.nva.doi.datacite.bootstrap.HandlerBootstrap;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.metrics.EmbeddedMetricFormatRegistry;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import no.unit.nva.doi.datacite.metrics.HandlerPhaseEvent;
+import no.unit.nva.doi.datacite.pool.DraftDoiPool;
+import no.unit.nva.doi.datacite.pool.DraftDoiPoolConfig;
+import no.unit.nva.doi.datacite.pool.InMemoryDraftDoiStore;
+import no.unit.nva.doi.datacite.ratelimit.CustomerRateLimiters;
+import no.unit.nva.doi.datacite.ratelimit.RateLimit;
 import no.unit.nva.doi.models.Doi;
 
 import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
@@ -43,32 +52,44 @@ public class DraftDoiHandler extends DestinationsEventBridgeEventHandler<Publica
     public static final String ERROR_DRAFTING_DOI_LOG = "Error drafting DOI ";
 
     private static final Logger logger = LoggerFactory.getLogger(DraftDoiHandler.class);
+    private static final String HANDLER_NAME = DraftDoiHandler.class.getSimpleName();
     public static final String NOT_APPROVED_DOI_REQUEST_ERROR = "DoiRequest has not been approved for publication:";
-    private final DoiClient doiClient;
+    public static final int POOL_DISABLED = 0;
+    private final DraftDoiPool draftDoiPool;
 
     /**
      * Default constructor for DraftDoiHandler.
      */
     @JacocoGenerated
     public DraftDoiHandler() {
-        this(defaultDoiClient());
+        this(defaultDraftDoiPool(defaultDoiClient()));
     }
 
     /**
-     * Constructor for DraftDoiHandler.
+     * Constructor for DraftDoiHandler minting every DOI while handling the request.
      *
      * @param doiClient doiClient
      */
     public DraftDoiHandler(DoiClient doiClient) {
+        this(DraftDoiPool.disabled(doiClient));
+    }
+
+    /**
+     * Constructor for DraftDoiHandler handing out DOIs minted in advance.
+     *
+     * @param draftDoiPool pool of draft DOIs per customer.
+     */
+    public DraftDoiHandler(DraftDoiPool draftDoiPool) {
         super(PublicationHolder.class);
-        this.doiClient = doiClient;
+        this.draftDoiPool = draftDoiPool;
     }
 
     @Override
     protected DoiUpdateHolder processInputPayload(PublicationHolder input,
                                                   AwsEventBridgeEvent<AwsEventBridgeDetail<PublicationHolder>> event,
                                                   Context context) {
-        Publication publication = getPublication(input);
+        Publication publication = HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.VALIDATION,
+            () -> getPublication(input));
         if (doiIsRequested(publication)) {
             URI customerId = getCustomerId(publication);
             logger.debug(RECEIVED_REQUEST_TO_CREATE_DRAFT_NEW_DOI_LOG, customerId);
@@ -82,18 +103,53 @@ public class DraftDoiHandler extends DestinationsEventBridgeEventHandler<Publica
 
     @JacocoGenerated
     private static DoiClient defaultDoiClient() {
+        return HandlerBootstrap.builder()
+            .withJsonWarmUp(PublicationHolder.class, DoiUpdateHolder.class)
+            .withTlsWarmUp()
+            .withParallelWarmUps(DraftDoiAppEnv.isBootstrapParallelWarmUps())
+            .build()
+            .bootstrap(DraftDoiHandler::createDoiClient);
+    }
+
+    @JacocoGenerated
+    private static DoiClient createDoiClient() {
 
         DataCiteConfigurationFactory configFactory = new DataCiteConfigurationFactory(
             new SecretsReader(), getCustomerSecretsSecretName(), getCustomerSecretsSecretKey());
 
-        DataCiteConnectionFactory connectionFactory = new DataCiteConnectionFactory(
-            configFactory,
-            DraftDoiAppEnv.getDataCiteMdsApiHost(),
-            DraftDoiAppEnv.getDataCiteRestApiHost(),
-            DraftDoiAppEnv.getDataCitePort());
+        MeterRegistry meterRegistry =
+            EmbeddedMetricFormatRegistry.forLambda(DraftDoiAppEnv.getDataCiteMetricsNamespace());
+        DataCiteConnectionFactory connectionFactory = DataCiteConnectionFactory.builder()
+            .withConfigurationFactory(configFactory)
+            .withMdsApiHostName(DraftDoiAppEnv.getDataCiteMdsApiHost())
+            .withRestApiHostName(DraftDoiAppEnv.getDataCiteRestApiHost())
+            .withApiPort(DraftDoiAppEnv.getDataCitePort())
+            .withPreemptiveAuthentication(DraftDoiAppEnv.isDataCitePreemptiveAuthentication())
+            .withRateLimiters(CustomerRateLimiters.builder()
+                .withDefaultRateLimit(RateLimit.perSecond(
+                    DraftDoiAppEnv.getDataCiteRateLimitPerSecond(),
+                    DraftDoiAppEnv.getDataCiteRateLimitBurst()))
+                .withMeterRegistry(meterRegistry)
+                .build())
+            .withMeterRegistry(meterRegistry)
+            .build();
+        HandlerBootstrap.buildSharedHttpClient(connectionFactory);
         return DoiClientFactory.getClient(configFactory, connectionFactory);
     }
 
+    @JacocoGenerated
+    private static DraftDoiPool defaultDraftDoiPool(DoiClient doiClient) {
+        int batchSize = DraftDoiAppEnv.getDraftDoiPoolBatchSize();
+        if (batchSize == POOL_DISABLED) {
+            return DraftDoiPool.disabled(doiClient);
+        }
+        DraftDoiPoolConfig config = DraftDoiPoolConfig.builder()
+            .withLowWatermark(DraftDoiAppEnv.getDraftDoiPoolLowWatermark())
+            .withBatchSize(batchSize)
+            .build();
+        return new DraftDoiPool(doiClient, new InMemoryDraftDoiStore(), config);
+    }
+
     private boolean doiIsRequested(Publication publication) {
         return DoiRequestStatus.REQUESTED.equals(publication.getDoiRequest().getStatus());
     }
@@ -103,9 +159,10 @@ public class DraftDoiHandler extends DestinationsEventBridgeEventHandler<Publica
     }
 
     private DoiUpdateDto createNewDoi(Publication publication, URI customerId) throws ClientException {
-        Doi doi = doiClient.createDoi(customerId);
+        Doi doi = draftDoiPool.claimDoi(customerId);
         logger.debug(DRAFTED_NEW_DOI_LOG, doi);
-        return createUpdateDoi(publication, doi);
+        return HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.MAPPING,
+            () -> createUpdateDoi(publication, doi));
     }
 
     private DoiUpdateDto createUpdateDoi(Publication input, Doi doi) {
@@ -15,6 +15,8 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import com.amazonaws.services.lambda.runtime.Context;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -29,6 +31,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import no.unit.nva.doi.DoiClient;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.clients.exception.CreateDoiException;
+import no.unit.nva.doi.datacite.pool.DraftDoiPool;
+import no.unit.nva.doi.datacite.pool.DraftDoiPoolConfig;
+import no.unit.nva.doi.datacite.pool.DraftDoiStore;
+import no.unit.nva.doi.datacite.pool.InMemoryDraftDoiStore;
 import no.unit.nva.doi.models.Doi;
 
 import no.unit.nva.identifiers.SortableIdentifier;
@@ -50,6 +56,7 @@ public class DraftDoiHandlerTest {
     public static final String EXPECTED_ERROR_MESSAGE = "DoiClientExceptedErrorMessage";
     public static final String SAMPLE_DOI_PREFIX = "10.1234";
     public static final int SAMPLE_STATUS_CODE = 500;
+    public static final String POOLED_DOI_IDENTIFIER = "10.1052/pooled";
     public static final String PUBLICATION_IDENTIFIER_IN_RESOURCE_FILES =
         "017772f8ce52-4d10352d-7974-472e-be34-484c5f4f194d";
 
@@ -104,6 +111,22 @@ public class DraftDoiHandlerTest {
         assertThat(actualCause.getMessage(), containsString(EXPECTED_ERROR_MESSAGE));
     }
 
+    @Test
+    public void handleRequestReturnsPooledDoiWithoutCreatingDoiWhenPoolHasDoiOfCustomer()
+        throws IOException, ClientException {
+        String inputString = IoUtils.stringFromResources(Path.of("doi_publication_event_valid.json"));
+        URI customerId = extractExpectedPublisherIdFromEventBridgeEvent(inputString);
+        Doi pooledDoi = Doi.builder().withIdentifier(POOLED_DOI_IDENTIFIER).build();
+        DraftDoiStore store = new InMemoryDraftDoiStore();
+        store.add(customerId, pooledDoi);
+        DraftDoiPool pool = new DraftDoiPool(doiClient, store, DraftDoiPoolConfig.defaultConfig(), refill -> { });
+
+        new DraftDoiHandler(pool).handleRequest(stringToStream(inputString), outputStream, context);
+
+        assertThat(outputStream.toString(), containsString(pooledDoi.toUri().toString()));
+        verify(doiClient, never()).createDoi(any());
+    }
+
     @Test
     public void handleRequestThrowsIllegalArgumentExceptionOnMissingEventItem() {
         InputStream inputStream = IoUtils.inputStreamFromResources(
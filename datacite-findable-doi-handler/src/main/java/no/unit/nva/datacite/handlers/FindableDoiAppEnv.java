@@ -1,6 +1,6 @@
 package no.unit.nva.datacite.handlers;
 
-
+import java.util.Optional;
 import nva.commons.core.Environment;
 import nva.commons.core.JacocoGenerated;
 
@@ -13,6 +13,15 @@ public final class FindableDoiAppEnv {
     public static final String DATACITE_PORT = "DATACITE_PORT";
     public static final String CUSTOMER_SECRETS_SECRET_NAME = "CUSTOMER_SECRETS_SECRET_NAME";
     public static final String CUSTOMER_SECRETS_SECRET_KEY = "CUSTOMER_SECRETS_SECRET_KEY";
+    public static final String DATACITE_PREEMPTIVE_AUTHENTICATION = "DATACITE_PREEMPTIVE_AUTHENTICATION";
+    public static final String DATACITE_RATE_LIMIT_PER_SECOND = "DATACITE_RATE_LIMIT_PER_SECOND";
+    public static final String DATACITE_RATE_LIMIT_BURST = "DATACITE_RATE_LIMIT_BURST";
+    public static final String DATACITE_METRICS_NAMESPACE = "DATACITE_METRICS_NAMESPACE";
+    public static final String METADATA_FINGERPRINT_DIRECTORY = "METADATA_FINGERPRINT_DIRECTORY";
+    public static final String PUBLISH_IN_SINGLE_REQUEST = "PUBLISH_IN_SINGLE_REQUEST";
+    public static final String PRIME_ON_INIT = "PRIME_ON_INIT";
+    public static final String BOOTSTRAP_PARALLEL_WARM_UPS = "BOOTSTRAP_PARALLEL_WARM_UPS";
+    private static final String NO_METRICS_NAMESPACE = "";
     private static final Environment ENVIRONMENT = new Environment();
 
     @JacocoGenerated
@@ -39,6 +48,46 @@ public final class FindableDoiAppEnv {
         return ENVIRONMENT.readEnv(name);
     }
 
+    @JacocoGenerated
+    public static boolean isDataCitePreemptiveAuthentication() {
+        return Boolean.parseBoolean(getEnvValue(DATACITE_PREEMPTIVE_AUTHENTICATION));
+    }
+
+    @JacocoGenerated
+    public static double getDataCiteRateLimitPerSecond() {
+        return Double.parseDouble(getEnvValue(DATACITE_RATE_LIMIT_PER_SECOND));
+    }
+
+    @JacocoGenerated
+    public static int getDataCiteRateLimitBurst() {
+        return Integer.parseInt(getEnvValue(DATACITE_RATE_LIMIT_BURST));
+    }
+
+    @JacocoGenerated
+    public static String getDataCiteMetricsNamespace() {
+        return ENVIRONMENT.readEnvOpt(DATACITE_METRICS_NAMESPACE).orElse(NO_METRICS_NAMESPACE);
+    }
+
+    @JacocoGenerated
+    public static Optional<String> getMetadataFingerprintDirectory() {
+        return ENVIRONMENT.readEnvOpt(METADATA_FINGERPRINT_DIRECTORY);
+    }
+
+    @JacocoGenerated
+    public static boolean isPublishInSingleRequest() {
+        return Boolean.parseBoolean(getEnvValue(PUBLISH_IN_SINGLE_REQUEST));
+    }
+
+    @JacocoGenerated
+    public static boolean isPrimeOnInit() {
+        return Boolean.parseBoolean(getEnvValue(PRIME_ON_INIT));
+    }
+
+    @JacocoGenerated
+    public static boolean isBootstrapParallelWarmUps() {
+        return Boolean.parseBoolean(getEnvValue(BOOTSTRAP_PARALLEL_WARM_UPS));
+    }
+
     @JacocoGenerated
     public static String getCustomerSecretsSecretName() {
         return getEnvValue(CUSTOMER_SECRETS_SECRET_NAME);
@@ -5,19 +5,30 @@ import static java.util.Objects.nonNull;
 import static no.unit.nva.datacite.handlers.FindableDoiAppEnv.getCustomerSecretsSecretKey;
 import static no.unit.nva.datacite.handlers.FindableDoiAppEnv.getCustomerSecretsSecretName;
 import static no.unit.nva.doi.LandingPageUtil.LANDING_PAGE_UTIL;
+import static nva.commons.core.JsonUtils.objectMapper;
 import static nva.commons.core.attempt.Try.attempt;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.net.URI;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Optional;
 import javax.xml.bind.JAXBException;
 import no.unit.nva.doi.DataCiteMetadataDtoMapper;
 import no.unit.nva.doi.DoiClient;
 import no.unit.nva.doi.DoiClientFactory;
+import no.unit.nva.doi.datacite.bootstrap.HandlerBootstrap;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
 import no.unit.nva.doi.datacite.clients.exception.ClientRuntimeException;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConfigurationFactory;
 import no.unit.nva.doi.datacite.connectionfactories.DataCiteConnectionFactory;
+import no.unit.nva.doi.datacite.fingerprint.FileMetadataFingerprintStore;
+import no.unit.nva.doi.datacite.fingerprint.MetadataFingerprint;
+import no.unit.nva.doi.datacite.fingerprint.MetadataFingerprintStore;
+import no.unit.nva.doi.datacite.metrics.EmbeddedMetricFormatRegistry;
+import no.unit.nva.doi.datacite.metrics.HandlerPhaseEvent;
+import no.unit.nva.doi.datacite.metrics.MeterRegistry;
+import no.unit.nva.doi.datacite.ratelimit.CustomerRateLimiters;
+import no.unit.nva.doi.datacite.ratelimit.RateLimit;
 import no.unit.nva.doi.models.Doi;
 import no.unit.nva.events.handlers.DestinationsEventBridgeEventHandler;
 import no.unit.nva.events.models.AwsEventBridgeDetail;
@@ -35,6 +46,7 @@ import no.unit.nva.publication.doi.update.dto.PublicationHolder;
 import no.unit.nva.transformer.Transformer;
 import no.unit.nva.transformer.dto.DataCiteMetadataDto;
 import nva.commons.core.JacocoGenerated;
+import nva.commons.core.ioutils.IoUtils;
 import nva.commons.secrets.SecretsReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -64,21 +76,55 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
                                                                 + "DataCite XMLSchema";
     public static final String CREATING_FINDABLE_DOI_FOR_DRAFT_PUBLICATION_ERROR =
         "Error: Attempting to make findable a non published publication";
+    public static final String PRIMING_PUBLICATION = "priming_publication.json";
     // log errors
     private static final String RECEIVED_REQUEST_TO_MAKE_DOI_FINDABLE_LOG =
         "Received request to set landing page (make findable) for DOI {} to landing page {} for {}";
     private static final String SUCCESSFULLY_MADE_DOI_FINDABLE = "Successfully handled request for Doi {} : {}";
+    private static final String SKIPPING_UNCHANGED_METADATA_LOG = "Metadata of Doi {} is unchanged, not updating it";
+    private static final String PRIMED_LOG =
+        "Primed handler with Doi {}, landing page {} and metadata fingerprint {} : {}";
     private static final Logger logger = LoggerFactory.getLogger(FindableDoiEventHandler.class);
+    private static final String HANDLER_NAME = FindableDoiEventHandler.class.getSimpleName();
+    private static final String PRIMING_WARM_UP = "priming";
     private final DoiClient doiClient;
+    private final MetadataFingerprintStore metadataFingerprintStore;
+    private final boolean publishInSingleRequest;
 
     @JacocoGenerated
     public FindableDoiEventHandler() {
-        this(defaultDoiClient());
+        this(defaultDoiClient(), defaultMetadataFingerprintStore(), FindableDoiAppEnv.isPublishInSingleRequest());
     }
 
     public FindableDoiEventHandler(DoiClient doiClient) {
+        this(doiClient, MetadataFingerprintStore.DISABLED);
+    }
+
+    /**
+     * Constructor for a handler skipping metadata updates when the metadata has not changed since it was last
+     * pushed. Use {@link MetadataFingerprintStore#DISABLED} to always update the metadata.
+     *
+     * @param doiClient                the DoiClient.
+     * @param metadataFingerprintStore fingerprints of the metadata last pushed for each DOI.
+     */
+    public FindableDoiEventHandler(DoiClient doiClient, MetadataFingerprintStore metadataFingerprintStore) {
+        this(doiClient, metadataFingerprintStore, false);
+    }
+
+    /**
+     * Constructor for a handler which may update the metadata and set the landing page in one request.
+     *
+     * @param doiClient                the DoiClient.
+     * @param metadataFingerprintStore fingerprints of the metadata last pushed for each DOI.
+     * @param publishInSingleRequest   whether changed metadata is sent with the landing page using
+     *                                 {@link DoiClient#publishDoi(URI, Doi, String, URI)}.
+     */
+    public FindableDoiEventHandler(DoiClient doiClient, MetadataFingerprintStore metadataFingerprintStore,
+                                   boolean publishInSingleRequest) {
         super(PublicationHolder.class);
         this.doiClient = doiClient;
+        this.metadataFingerprintStore = metadataFingerprintStore;
+        this.publishInSingleRequest = publishInSingleRequest;
     }
 
     @Override
@@ -86,8 +132,7 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
                                                   AwsEventBridgeEvent<AwsEventBridgeDetail<PublicationHolder>> event,
                                                   Context context) {
 
-        Publication publication = input.getItem();
-        verifyPublicationCanBecomeFindable(publication);
+        Publication publication = validatePublication(input);
 
         URI customerId = extractPublisher(publication);
         Doi doi = getDoi(publication);
@@ -97,8 +142,13 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
         logger.debug(RECEIVED_REQUEST_TO_MAKE_DOI_FINDABLE_LOG, doi.toUri(), landingPage, customerId);
 
         try {
-            doiClient.updateMetadata(customerId, doi, getDataCiteXmlMetadata(publication));
-            doiClient.setLandingPage(customerId, doi, landingPage);
+            String metadataDataCiteXml = getDataCiteXmlMetadata(publication);
+            if (publishInSingleRequest) {
+                publishWithMetadataIfChanged(customerId, doi, metadataDataCiteXml, landingPage);
+            } else {
+                updateMetadataIfChanged(customerId, doi, metadataDataCiteXml);
+                doiClient.setLandingPage(customerId, doi, landingPage);
+            }
             DoiUpdateHolder doiUpdateHolder = new DoiUpdateHolder(DoiUpdateHolder.DEFAULT_TYPE,
                 createDoiUpdateDto(doi, publicationIdentifier));
             logger.debug(SUCCESSFULLY_MADE_DOI_FINDABLE, doi.toUri(), doiUpdateHolder.toJsonString());
@@ -108,25 +158,105 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
         }
     }
 
-    protected <T> void requireFieldIsNotNull(T value, String fieldName) {
+    private void updateMetadataIfChanged(URI customerId, Doi doi, String metadataDataCiteXml)
+        throws ClientException {
+        String fingerprint = MetadataFingerprint.compute(metadataDataCiteXml);
+        if (metadataFingerprintStore.isUnchanged(doi, fingerprint)) {
+            logger.debug(SKIPPING_UNCHANGED_METADATA_LOG, doi.toUri());
+            return;
+        }
+        doiClient.updateMetadata(customerId, doi, metadataDataCiteXml);
+        metadataFingerprintStore.putFingerprint(doi, fingerprint);
+    }
+
+    private void publishWithMetadataIfChanged(URI customerId, Doi doi, String metadataDataCiteXml, URI landingPage)
+        throws ClientException {
+        String fingerprint = MetadataFingerprint.compute(metadataDataCiteXml);
+        if (metadataFingerprintStore.isUnchanged(doi, fingerprint)) {
+            logger.debug(SKIPPING_UNCHANGED_METADATA_LOG, doi.toUri());
+            doiClient.setLandingPage(customerId, doi, landingPage);
+            return;
+        }
+        doiClient.publishDoi(customerId, doi, metadataDataCiteXml, landingPage);
+        metadataFingerprintStore.putFingerprint(doi, fingerprint);
+    }
+
+    protected static <T> void requireFieldIsNotNull(T value, String fieldName) {
         if (isNull(value)) {
             String errorMessage = MANDATORY_FIELD_ERROR_PREFIX + fieldName;
             throw new IllegalArgumentException(errorMessage);
         }
     }
 
+    /**
+     * Push the synthetic publication {@link #PRIMING_PUBLICATION} through what the handler does with a findable DOI
+     * event before calling DataCite: deserializing the PublicationHolder, validating the publication, mapping it to
+     * DataCite metadata, marshalling the metadata as XML with the {@link Transformer} and serializing the
+     * DoiUpdateHolder. The classes of these phases are then loaded and their code has run before the first event.
+     *
+     * @return the DoiUpdateHolder for the synthetic publication.
+     */
+    public static DoiUpdateHolder prime() {
+        PublicationHolder input = attempt(() -> objectMapper.readValue(
+            IoUtils.stringFromResources(Path.of(PRIMING_PUBLICATION)), PublicationHolder.class)).orElseThrow();
+        Publication publication = validatePublication(input);
+        Doi doi = getDoi(publication);
+        URI landingPage = LANDING_PAGE_UTIL.constructResourceUri(publication.getIdentifier().toString());
+        String fingerprint = MetadataFingerprint.compute(getDataCiteXmlMetadata(publication));
+        DoiUpdateHolder doiUpdateHolder = new DoiUpdateHolder(DoiUpdateHolder.DEFAULT_TYPE,
+            createDoiUpdateDto(doi, publication.getIdentifier()));
+        logger.debug(PRIMED_LOG, doi.toUri(), landingPage, fingerprint, doiUpdateHolder.toJsonString());
+        return doiUpdateHolder;
+    }
+
+    /**
+     * The store of metadata fingerprints, when a directory is configured. The directory only belongs to one Lambda
+     * container, so skipping unchanged metadata is only correct when no other container pushes metadata for the same
+     * DOIs, and is off unless configured.
+     */
+    @JacocoGenerated
+    private static MetadataFingerprintStore defaultMetadataFingerprintStore() {
+        return FindableDoiAppEnv.getMetadataFingerprintDirectory()
+            .filter(directory -> !directory.isBlank())
+            .<MetadataFingerprintStore>map(directory -> new FileMetadataFingerprintStore(Path.of(directory)))
+            .orElse(MetadataFingerprintStore.DISABLED);
+    }
+
     @JacocoGenerated
     private static DoiClient defaultDoiClient() {
+        HandlerBootstrap.Builder bootstrap = HandlerBootstrap.builder()
+            .withJsonWarmUp(PublicationHolder.class, DoiUpdateHolder.class)
+            .withTlsWarmUp()
+            .withParallelWarmUps(FindableDoiAppEnv.isBootstrapParallelWarmUps());
+        if (FindableDoiAppEnv.isPrimeOnInit()) {
+            bootstrap.withWarmUp(PRIMING_WARM_UP, FindableDoiEventHandler::prime);
+        }
+        return bootstrap.build().bootstrap(FindableDoiEventHandler::createDoiClient);
+    }
+
+    @JacocoGenerated
+    private static DoiClient createDoiClient() {
 
         DataCiteConfigurationFactory dataCiteConfigurationFactory = new DataCiteConfigurationFactory(
             new SecretsReader(), getCustomerSecretsSecretName(), getCustomerSecretsSecretKey());
 
-        DataCiteConnectionFactory dataCiteMdsConnectionFactory = new DataCiteConnectionFactory(
-            dataCiteConfigurationFactory,
-            FindableDoiAppEnv.getDataCiteMdsApiHost(),
-            FindableDoiAppEnv.getDataCiteRestApiHost(),
-            FindableDoiAppEnv.getDataCitePort()
-        );
+        MeterRegistry meterRegistry =
+            EmbeddedMetricFormatRegistry.forLambda(FindableDoiAppEnv.getDataCiteMetricsNamespace());
+        DataCiteConnectionFactory dataCiteMdsConnectionFactory = DataCiteConnectionFactory.builder()
+            .withConfigurationFactory(dataCiteConfigurationFactory)
+            .withMdsApiHostName(FindableDoiAppEnv.getDataCiteMdsApiHost())
+            .withRestApiHostName(FindableDoiAppEnv.getDataCiteRestApiHost())
+            .withApiPort(FindableDoiAppEnv.getDataCitePort())
+            .withPreemptiveAuthentication(FindableDoiAppEnv.isDataCitePreemptiveAuthentication())
+            .withRateLimiters(CustomerRateLimiters.builder()
+                .withDefaultRateLimit(RateLimit.perSecond(
+                    FindableDoiAppEnv.getDataCiteRateLimitPerSecond(),
+                    FindableDoiAppEnv.getDataCiteRateLimitBurst()))
+                .withMeterRegistry(meterRegistry)
+                .build())
+            .withMeterRegistry(meterRegistry)
+            .build();
+        HandlerBootstrap.buildSharedHttpClient(dataCiteMdsConnectionFactory);
 
         return DoiClientFactory.getClient(dataCiteConfigurationFactory, dataCiteMdsConnectionFactory);
     }
@@ -135,13 +265,19 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
         return nonNull(publication.getPublisher()) ? publication.getPublisher().getId() : null;
     }
 
-    private void verifyPublicationCanBecomeFindable(Publication publication) {
+    private static Publication validatePublication(PublicationHolder input) {
+        return HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.VALIDATION,
+            () -> verifyPublicationCanBecomeFindable(input.getItem()));
+    }
+
+    private static Publication verifyPublicationCanBecomeFindable(Publication publication) {
         checkPublicationIsValid(publication);
         verifyPublicationIsPublished(publication);
         verifyPublicationIsCuratorApproved(publication);
+        return publication;
     }
 
-    private void checkPublicationIsValid(Publication publication) {
+    private static void checkPublicationIsValid(Publication publication) {
         requirePublicationIsNotEmpty(publication);
         mandatoryFieldsAreNotNull(publication);
         publicationDateHasYear(publication);
@@ -149,26 +285,26 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
         publicationHasNonEmptyDoi(publication);
     }
 
-    private void requirePublicationIsNotEmpty(Publication publication) {
+    private static void requirePublicationIsNotEmpty(Publication publication) {
         if (isNull(publication)) {
             throw new IllegalArgumentException(PUBLICATION_IS_MISSING_ERROR);
         }
     }
 
-    private void publicationHasNonEmptyDoi(Publication publication) {
+    private static void publicationHasNonEmptyDoi(Publication publication) {
         requireFieldIsNotNull(publication.getDoi(), DOI_IS_MISSING_OR_INVALID_ERROR);
     }
 
-    private void doiRequestMandatoryFieldsAreNotNull(Publication publication) {
+    private static void doiRequestMandatoryFieldsAreNotNull(Publication publication) {
         requireFieldIsNotNull(publication.getDoiRequest().getStatus(), DOI_REQUEST_STATUS_FIELD_INFO);
         requireFieldIsNotNull(publication.getDoiRequest().getModifiedDate(), DOI_REQUEST_MODIFIED_DATE_FIELD_INFO);
     }
 
-    private void publicationDateHasYear(Publication publication) {
+    private static void publicationDateHasYear(Publication publication) {
         requireFieldIsNotNull(publication.getEntityDescription().getDate().getYear(), PUBLICATION_DATE_YEAR_FIELD_INFO);
     }
 
-    private void mandatoryFieldsAreNotNull(Publication publication) {
+    private static void mandatoryFieldsAreNotNull(Publication publication) {
         requireFieldIsNotNull(publication.getIdentifier(), PUBLICATION_ID_FIELD_INFO);
         requireFieldIsNotNull(publication.getPublisher(), PUBLICATION_INSTITUTION_OWNER_FIELD_INFO);
         requireFieldIsNotNull(publication.getModifiedDate(), PUBLICATION_MODIFIED_DATE_FIELD_INFO);
@@ -178,14 +314,14 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
         requireFieldIsNotNull(publication.getEntityDescription().getDate(), PUBLICATION_PUBLICATION_DATE_FIELD_INFO);
     }
 
-    private String extractMainTitle(Publication publication) {
+    private static String extractMainTitle(Publication publication) {
         return Optional.of(publication)
             .map(Publication::getEntityDescription)
             .map(EntityDescription::getMainTitle)
             .orElse(null);
     }
 
-    private String extractInstanceType(Publication publication) {
+    private static String extractInstanceType(Publication publication) {
         return Optional.of(publication)
             .map(Publication::getEntityDescription)
             .map(EntityDescription::getReference)
@@ -194,14 +330,14 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
             .orElse(null);
     }
 
-    private void verifyPublicationIsPublished(Publication publication) {
+    private static void verifyPublicationIsPublished(Publication publication) {
         if (!PublicationStatus.PUBLISHED.equals(publication.getStatus())) {
             throw new IllegalStateException(CREATING_FINDABLE_DOI_FOR_DRAFT_PUBLICATION_ERROR);
         }
     }
 
 
-    private void verifyPublicationIsCuratorApproved(Publication publication) {
+    private static void verifyPublicationIsCuratorApproved(Publication publication) {
         Optional.ofNullable(publication.getDoiRequest())
             .flatMap(e -> Optional.ofNullable(e.getStatus()))
             .filter(status -> status
@@ -209,23 +345,25 @@ public class FindableDoiEventHandler extends DestinationsEventBridgeEventHandler
             .orElseThrow(() -> new IllegalArgumentException(DOI_REQUEST_STATUS_WRONG_ERROR));
     }
 
-    private DoiUpdateDto createDoiUpdateDto(Doi doi, SortableIdentifier publicationIdentifier) {
+    private static DoiUpdateDto createDoiUpdateDto(Doi doi, SortableIdentifier publicationIdentifier) {
         return new DoiUpdateDto.Builder()
             .withPublicationId(publicationIdentifier)
             .withModifiedDate(Instant.now())
             .withDoi(doi.toUri()).build();
     }
 
-    private Doi getDoi(Publication input) {
+    private static Doi getDoi(Publication input) {
         return attempt(input::getDoi)
             .map(doiUri -> Doi.builder().withDoi(doiUri).build())
             .orElseThrow((e) -> new IllegalArgumentException(DOI_IS_MISSING_OR_INVALID_ERROR, e.getException()));
     }
 
-    private String getDataCiteXmlMetadata(Publication publication) {
-        DataCiteMetadataDto dataCiteMetadataDto = DataCiteMetadataDtoMapper.fromPublication(publication);
+    private static String getDataCiteXmlMetadata(Publication publication) {
+        DataCiteMetadataDto dataCiteMetadataDto = HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.MAPPING,
+            () -> DataCiteMetadataDtoMapper.fromPublication(publication));
         try {
-            return new Transformer(dataCiteMetadataDto).asXml();
+            return HandlerPhaseEvent.measure(HANDLER_NAME, HandlerPhaseEvent.MARSHALLING,
+                () -> new Transformer(dataCiteMetadataDto).asXml());
         } catch (JAXBException e) {
             throw new RuntimeException(TRANSFORMING_PUBLICATION_ERROR, e);
         }
@@ -17,17 +17,24 @@ import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.AdditionalMatchers.and;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import com.amazonaws.services.lambda.runtime.Context;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import no.unit.nva.doi.DoiClient;
 import no.unit.nva.doi.datacite.clients.exception.ClientException;
+import no.unit.nva.doi.datacite.fingerprint.InMemoryMetadataFingerprintStore;
 import no.unit.nva.doi.models.Doi;
 import no.unit.nva.doi.models.ImmutableDoi;
 import no.unit.nva.publication.doi.update.dto.DoiUpdateHolder;
@@ -50,8 +57,11 @@ public class FindableDoiEventHandlerTest {
         "doi_publication_event_wrong_publication_uri.json";
     public static final String INVALID_SORTABLE_IDENTIFIER_ERROR_MESSAGE = "Invalid sortable identifier";
 
+    public static final String UPDATE_METADATA = "updateMetadata";
+
     private static final String EMPTY_FRAGMENT = null;
     private static final String RESOURCES_IDENTIFIER = "017781d2cecf-deeac454-fe20-4ef9-95e7-c993740c412b";
+    private static final String PRIMING_PUBLICATION_IDENTIFIER = "017781d2cecf-00000000-0000-4000-8000-000000000000";
     private final DoiClient doiClient = mock(DoiClient.class);
     private final FindableDoiEventHandler findableDoiHandler = new FindableDoiEventHandler(doiClient);
     private ByteArrayOutputStream outputStream;
@@ -96,6 +106,60 @@ public class FindableDoiEventHandlerTest {
         assertThat(testingAppender.getMessages(), containsString(SUCCESSFULLY_HANDLED_REQUEST_FOR_DOI));
     }
 
+    @Test
+    void handleRequestUpdatesMetadataEveryTimeWithoutMetadataFingerprintStore() throws ClientException {
+        findableDoiHandler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), outputStream, context);
+        findableDoiHandler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT),
+            new ByteArrayOutputStream(), context);
+
+        verify(doiClient, times(2)).updateMetadata(any(URI.class), any(Doi.class), anyString());
+        verify(doiClient, times(2)).setLandingPage(any(URI.class), any(Doi.class), any(URI.class));
+    }
+
+    @Test
+    void handleRequestSkipsUpdatingMetadataWhenUnchangedSinceLastUpdateButSetsLandingPage() throws ClientException {
+        FindableDoiEventHandler handler = new FindableDoiEventHandler(doiClient,
+            new InMemoryMetadataFingerprintStore());
+
+        handler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), outputStream, context);
+        handler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), new ByteArrayOutputStream(),
+            context);
+
+        verify(doiClient, times(1)).updateMetadata(any(URI.class), any(Doi.class), anyString());
+        verify(doiClient, times(2)).setLandingPage(any(URI.class), any(Doi.class), any(URI.class));
+    }
+
+    @Test
+    void handleRequestPublishingInSingleRequestSendsMetadataWithLandingPageAndOnlyLandingPageWhenUnchanged()
+        throws ClientException {
+        FindableDoiEventHandler handler = new FindableDoiEventHandler(doiClient,
+            new InMemoryMetadataFingerprintStore(), true);
+
+        handler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), outputStream, context);
+        handler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), new ByteArrayOutputStream(),
+            context);
+
+        verify(doiClient, times(1)).publishDoi(any(URI.class), eq(createExpectedDoi()), anyString(), any(URI.class));
+        verify(doiClient, times(1)).setLandingPage(any(URI.class), any(Doi.class), any(URI.class));
+        verify(doiClient, never()).updateMetadata(any(URI.class), any(Doi.class), anyString());
+    }
+
+    @Test
+    void handleRequestUpdatesMetadataAgainWhenPreviousUpdateFailed() throws ClientException {
+        FindableDoiEventHandler handler = new FindableDoiEventHandler(doiClient,
+            new InMemoryMetadataFingerprintStore());
+        doThrow(new ClientException(UPDATE_METADATA, new IOException()))
+            .doNothing()
+            .when(doiClient).updateMetadata(any(URI.class), any(Doi.class), anyString());
+
+        assertThrows(RuntimeException.class, () -> handler.handleRequest(
+            IoUtils.inputStreamFromResources(PUBLICATION_EVENT), outputStream, context));
+        handler.handleRequest(IoUtils.inputStreamFromResources(PUBLICATION_EVENT), new ByteArrayOutputStream(),
+            context);
+
+        verify(doiClient, times(2)).updateMetadata(any(URI.class), any(Doi.class), anyString());
+    }
+
     @Test
     public void handleRequestThrowsIllegalArgumentExceptionOnMissingCustomerId() {
         InputStream inputStream = IoUtils.inputStreamFromResources(
@@ -181,6 +245,15 @@ public class FindableDoiEventHandlerTest {
             is(equalTo(FindableDoiEventHandler.CREATING_FINDABLE_DOI_FOR_DRAFT_PUBLICATION_ERROR)));
     }
 
+    @Test
+    void primeReturnsDoiUpdateHolderOfSyntheticPublication() {
+        DoiUpdateHolder primed = FindableDoiEventHandler.prime();
+
+        assertThat(primed.getItem().getPublicationIdentifier().toString(),
+            is(equalTo(PRIMING_PUBLICATION_IDENTIFIER)));
+        assertThat(primed.getItem().getModifiedDate(), is(notNullValue()));
+    }
+
     private URI constructResourceUri(DoiUpdateHolder response) {
         return LANDING_PAGE_UTIL.constructResourceUri(response.getItem().getPublicationIdentifier().toString());
     }